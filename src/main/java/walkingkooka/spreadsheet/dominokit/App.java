@@ -20,8 +20,11 @@ package walkingkooka.spreadsheet.dominokit;
 import com.google.gwt.core.client.EntryPoint;
 import elemental2.dom.DomGlobal;
 import elemental2.dom.Headers;
+import elemental2.dom.KeyboardEvent;
+import jsinterop.base.Js;
 import walkingkooka.Binary;
 import walkingkooka.InvalidCharacterException;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.convert.BinaryNumberConverterFunction;
 import walkingkooka.convert.ConverterLike;
 import walkingkooka.convert.provider.ConverterInfoSet;
@@ -131,14 +134,27 @@ import walkingkooka.spreadsheet.dominokit.history.HistoryContextDelegator;
 import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.HistoryWatcher;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetListRenameHistoryToken;
-import walkingkooka.spreadsheet.dominokit.history.SpreadsheetListSelectHistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.recent.RecentValueSavesContext;
 import walkingkooka.spreadsheet.dominokit.history.recent.RecentValueSavesContextDelegator;
 import walkingkooka.spreadsheet.dominokit.history.recent.RecentValueSavesContexts;
+import walkingkooka.spreadsheet.dominokit.log.Logging;
+import walkingkooka.spreadsheet.dominokit.log.LoggingCategory;
+import walkingkooka.spreadsheet.dominokit.log.LoggingConsoleFunction;
 import walkingkooka.spreadsheet.dominokit.log.LoggingContext;
 import walkingkooka.spreadsheet.dominokit.log.LoggingContextDelegator;
 import walkingkooka.spreadsheet.dominokit.log.LoggingContexts;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollector;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollectors;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsOverlayComponent;
+import walkingkooka.spreadsheet.dominokit.refresh.RefreshScheduler;
+import walkingkooka.spreadsheet.dominokit.refresh.RefreshSchedulers;
+import walkingkooka.spreadsheet.dominokit.snapshot.Snapshot;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContext;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContextLoadWatcher;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContexts;
 import walkingkooka.spreadsheet.dominokit.value.currency.CurrencyComponent;
+import walkingkooka.spreadsheet.dominokit.value.label.SpreadsheetLabelNameIndex;
+import walkingkooka.spreadsheet.dominokit.value.label.SpreadsheetLabelNameIndexContexts;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportCache;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportComponent;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportComponentContexts;
@@ -226,8 +242,9 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Currency;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.OptionalInt;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -313,16 +330,31 @@ public class App implements EntryPoint,
     );
 
     public App() {
+        this.started = System.currentTimeMillis();
+
         SpreadsheetServerStartup.init();
 
         this.addWindowResizeListener(this::onWindowResize);
 
         // logging
+        LoggingCategory.setEnabledFromQueryString(DomGlobal.location.search);
+        Js.asPropertyMap(DomGlobal.window)
+            .set(
+                LoggingConsoleFunction.NAME,
+                (LoggingConsoleFunction) LoggingCategory::setEnabled
+            );
+
         this.loggingContext = AppLoggingContext.with(
-            LoggingContexts.elemental()
+            LoggingContexts.recent(
+                LoggingContexts.elemental(),
+                RECENT_LOG_ENTRIES
+            )
         );
 
         this.canGiveFocus = CanGiveFocuses.scheduler(this.loggingContext);
+        this.refreshScheduler = RefreshSchedulers.animationFrame(this.loggingContext);
+        this.metricsCollector = MetricsCollectors.performance();
+        this.snapshotContext = SnapshotContexts.indexedDb(this.loggingContext);
         AppUncaughtExceptionHandler.with(this.loggingContext);
 
         this.unmarshallContext = JsonNodeUnmarshallContexts.basic(
@@ -504,6 +536,10 @@ public class App implements EntryPoint,
 
         this.viewportCache = SpreadsheetViewportCache.empty(this);
 
+        this.labelNameIndex = SpreadsheetLabelNameIndex.with(
+            SpreadsheetLabelNameIndexContexts.appContext(this)
+        );
+
         this.spreadsheetViewportComponentKeyBindings = SpreadsheetViewportComponentKeyBindingses.basic();
 
         this.viewportComponent = SpreadsheetViewportComponent.empty(
@@ -521,6 +557,8 @@ public class App implements EntryPoint,
             this.layout.element()
         );
 
+        this.prepareMetricsOverlay();
+
         // load all Currencys
         this.currencyFetcher.getCurrencies(
             0,
@@ -546,63 +584,19 @@ public class App implements EntryPoint,
             .offsetHeight;
 
         final int newHeight = height - navigationBarHeight;
-        this.debug("App.onWindowResize: " + width + " x " + height + " navigationBarHeight: " + navigationBarHeight + " newHeight: " + newHeight);
+        this.debug(
+            Logging.APP,
+            () -> "App.onWindowResize: " + width + " x " + height + " navigationBarHeight: " + navigationBarHeight + " newHeight: " + newHeight
+        );
 
         this.viewportComponent.setWidthAndHeight(
             width,
             newHeight
         );
-
-        this.computeAndSaveSpreadsheetListDialogComponentDefaultCount(newHeight);
     }
 
     private final SpreadsheetAppLayout layout;
 
-    // defaultCount.....................................................................................................
-
-    @Override
-    public OptionalInt spreadsheetListDialogComponentDefaultCount() {
-        return this.defaultCount;
-    }
-
-    private OptionalInt defaultCount = OptionalInt.of(10);
-
-    private void computeAndSaveSpreadsheetListDialogComponentDefaultCount(final int windowHeight) {
-        // height - 350 reserved for dialog title, links along bottom etc divided by 32 for each row
-        final OptionalInt defaultCount = OptionalInt.of(
-            (windowHeight - 300) / 32
-        );
-        this.debug("App.computeAndSaveSpreadsheetListDialogComponentDefaultCount: (windowHeight: " + windowHeight + " - 300) / 32 = defaultCount): " + defaultCount);
-        this.defaultCount = defaultCount;
-
-        this.lastResize = System.currentTimeMillis();
-
-        // only reload SpreadsheetListDialogComponent after resizing stops.
-        DomGlobal.setTimeout(
-            (values) -> {
-                if (System.currentTimeMillis() - this.lastResize > SPREADSHEET_LIST_RESIZE_DELAY) {
-                    final HistoryToken historyToken = this.historyToken();
-                    if (historyToken instanceof SpreadsheetListSelectHistoryToken) {
-                        final OptionalInt count = historyToken.count();
-                        if (false == count.isPresent()) {
-                            this.pushHistoryToken(
-                                historyToken.reload()
-                            );
-                        }
-                    }
-                }
-            },
-            SPREADSHEET_LIST_RESIZE_DELAY
-        );
-    }
-
-    private final static int SPREADSHEET_LIST_RESIZE_DELAY = 1000;
-
-    /**
-     * Used to track when resizing stops, after resizing stops a reload will happen if SpreadsheetListDialogComponent is displayed.
-     */
-    private long lastResize;
-
     // EntryPoint.......................................................................................................
 
     @Override
@@ -633,6 +627,49 @@ public class App implements EntryPoint,
 
     private final CanGiveFocus canGiveFocus;
 
+    // RefreshContext...................................................................................................
+
+    @Override
+    public RefreshScheduler refreshScheduler() {
+        return this.refreshScheduler;
+    }
+
+    private final RefreshScheduler refreshScheduler;
+
+    @Override
+    public MetricsCollector metricsCollector() {
+        return this.metricsCollector;
+    }
+
+    private final MetricsCollector metricsCollector;
+
+    /**
+     * Adds the hidden {@link MetricsOverlayComponent}, which is toggled by CTRL+ALT+M or shown at startup when the
+     * query string contains {@link MetricsOverlayComponent#QUERY_PARAMETER}.
+     */
+    private void prepareMetricsOverlay() {
+        final MetricsOverlayComponent overlay = MetricsOverlayComponent.with(this.metricsCollector);
+
+        DomGlobal.document.body.append(
+            overlay.element()
+        );
+
+        DomGlobal.document.addEventListener(
+            "keydown",
+            (event) -> {
+                final KeyboardEvent keyboardEvent = Js.cast(event);
+                if (keyboardEvent.ctrlKey && keyboardEvent.altKey && "m".equalsIgnoreCase(keyboardEvent.key)) {
+                    event.preventDefault();
+                    overlay.toggle();
+                }
+            }
+        );
+
+        if (MetricsOverlayComponent.isShownFromQueryString(DomGlobal.location.search)) {
+            overlay.toggle();
+        }
+    }
+
     // ClipboardContext.................................................................................................
 
     @Override
@@ -812,6 +849,13 @@ public class App implements EntryPoint,
     public void onSpreadsheetDelta(final HttpMethod method,
                                    final AbsoluteOrRelativeUrl url,
                                    final SpreadsheetDelta delta) {
+        if (false == this.firstSpreadsheetDelta) {
+            this.firstSpreadsheetDelta = true;
+
+            // first delta will be a replayed snapshot for warm starts
+            this.info("App.onSpreadsheetDelta first delta " + (System.currentTimeMillis() - this.started) + "ms after start");
+        }
+
         // Updates the anchoredSpreadsheetSelection of the local Metadata.
         // This will prevent a PATCH of the server metadata when the history token anchoredSpreadsheetSelection changes, which
         // is fine because it was already updated when the delta above was returned.
@@ -836,6 +880,13 @@ public class App implements EntryPoint,
             );
     }
 
+    /**
+     * Used to report the time until the first {@link SpreadsheetDelta} for cold and warm starts.
+     */
+    private boolean firstSpreadsheetDelta;
+
+    private final long started;
+
     // DateTimeSymbolsFetcher...........................................................................................
 
     @Override
@@ -1356,6 +1407,11 @@ public class App implements EntryPoint,
 
     private final LoggingContext loggingContext;
 
+    /**
+     * The number of recent log entries that are logged before an error.
+     */
+    private final static int RECENT_LOG_ENTRIES = 100;
+
     // MediaTypeDetector................................................................................................
 
     @Override
@@ -1433,7 +1489,9 @@ public class App implements EntryPoint,
                     ).setAnchoredSelection(anchoredSpreadsheetSelection);
 
                 if (false == historyToken.equals(idNameSelectionHistoryToken)) {
-                    context.debug("App.onSpreadsheetMetadata from " + historyToken + " to different id/name/anchoredSelection " + idNameSelectionHistoryToken, metadata);
+                    if (Logging.APP.isEnabled()) {
+                        context.debug("App.onSpreadsheetMetadata from " + historyToken + " to different id/name/anchoredSelection " + idNameSelectionHistoryToken, metadata);
+                    }
                     context.pushHistoryToken(idNameSelectionHistoryToken);
                 } else {
                     // must have loaded a new spreadsheet, need to fire history token
@@ -1443,7 +1501,10 @@ public class App implements EntryPoint,
                         previousMetadata.id()
                             .orElse(null)
                     )) {
-                        context.debug("App.onSpreadsheetMetadata new spreadsheet " + id + " loaded, firing history token again");
+                        context.debug(
+                            Logging.APP,
+                            () -> "App.onSpreadsheetMetadata new spreadsheet " + id + " loaded, firing history token again"
+                        );
 
                         context.fireCurrentHistoryToken();
 
@@ -1469,7 +1530,9 @@ public class App implements EntryPoint,
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // IGNORE
     }
 
@@ -1569,6 +1632,28 @@ public class App implements EntryPoint,
 
     private final RecentValueSavesContext recentValueSavesContext;
 
+    // SnapshotContext..................................................................................................
+
+    @Override
+    public void loadSnapshot(final String key,
+                             final SnapshotContextLoadWatcher watcher) {
+        this.snapshotContext.loadSnapshot(
+            key,
+            watcher
+        );
+    }
+
+    @Override
+    public void saveSnapshot(final String key,
+                             final Snapshot snapshot) {
+        this.snapshotContext.saveSnapshot(
+            key,
+            snapshot
+        );
+    }
+
+    private final SnapshotContext snapshotContext;
+
     // StorageContext...................................................................................................
 
     @Override
@@ -1809,6 +1894,49 @@ public class App implements EntryPoint,
 
     private final SpreadsheetViewportCache viewportCache;
 
+    // SpreadsheetLabelNameIndex........................................................................................
+
+    @Override
+    public SpreadsheetLabelNameIndex spreadsheetLabelNameIndex() {
+        return this.labelNameIndex;
+    }
+
+    private final SpreadsheetLabelNameIndex labelNameIndex;
+
+    // sizes............................................................................................................
+
+    @Override
+    public Map<String, Integer> sizes() {
+        final Map<String, Integer> sizes = Maps.sorted();
+
+        sizes.put("historyWatchers", this.apphistoryContextHistoryWatcher.historyWatcherCount());
+
+        sizes.put("converterFetcherWatchers", this.converterFetcherWatchers.size());
+        sizes.put("currencyFetcherWatchers", this.currencyFetcherWatchers.size());
+        sizes.put("dateTimeSymbolsFetcherWatchers", this.dateTimeSymbolsFetcherWatchers.size());
+        sizes.put("decimalNumberSymbolsFetcherWatchers", this.decimalNumberSymbolsFetcherWatchers.size());
+        sizes.put("expressionFunctionFetcherWatchers", this.expressionFunctionFetcherWatchers.size());
+        sizes.put("formHandlerFetcherWatchers", this.formHandlerFetcherWatchers.size());
+        sizes.put("localeFetcherWatchers", this.localeFetcherWatchers.size());
+        sizes.put("metadataFetcherWatchers", this.metadataFetcherWatchers.size());
+        sizes.put("spreadsheetComparatorFetcherWatchers", this.spreadsheetComparatorFetcherWatchers.size());
+        sizes.put("spreadsheetDeltaFetcherWatchers", this.spreadsheetDeltaFetcherWatchers.size());
+        sizes.put("spreadsheetExporterFetcherWatchers", this.spreadsheetExporterFetcherWatchers.size());
+        sizes.put("spreadsheetFormatterFetcherWatchers", this.spreadsheetFormatterFetcherWatchers.size());
+        sizes.put("spreadsheetImporterFetcherWatchers", this.spreadsheetImporterFetcherWatchers.size());
+        sizes.put("spreadsheetParserFetcherWatchers", this.spreadsheetParserFetcherWatchers.size());
+        sizes.put("validatorFetcherWatchers", this.validatorFetcherWatchers.size());
+
+        for (final Entry<String, Integer> nameAndSize : this.viewportCache.sizes().entrySet()) {
+            sizes.put(
+                "spreadsheetViewportCache." + nameAndSize.getKey(),
+                nameAndSize.getValue()
+            );
+        }
+
+        return Maps.readOnly(sizes);
+    }
+
     // HasSpreadsheetViewportComponentKeyBindings.......................................................................
 
     @Override
@@ -56,7 +56,9 @@ import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetNameHistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.recent.RecentValueSavesContext;
 import walkingkooka.spreadsheet.dominokit.log.LoggingContext;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContext;
 import walkingkooka.spreadsheet.dominokit.value.number.NumberComponentContext;
+import walkingkooka.spreadsheet.dominokit.value.label.SpreadsheetLabelNameIndex;
 import walkingkooka.spreadsheet.dominokit.value.number.WholeNumberComponentContext;
 import walkingkooka.spreadsheet.dominokit.viewport.HasSpreadsheetViewportComponentKeyBindings;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportCache;
@@ -78,9 +80,9 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallUnmarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContextPreProcessor;
 
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.OptionalInt;
 import java.util.Set;
 
 /**
@@ -114,6 +116,7 @@ public interface AppContext extends CanGiveFocus,
     ProviderContext,
     RefreshContext,
     RecentValueSavesContext,
+    SnapshotContext,
     SpreadsheetEnvironmentContext,
     SpreadsheetFormatterContext,
     SpreadsheetParserContext,
@@ -174,7 +177,9 @@ public interface AppContext extends CanGiveFocus,
                 }
 
                 @Override
-                public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+                public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                                     final AbsoluteOrRelativeUrl url,
+                                                     final Set<SpreadsheetMetadata> metadatas) {
                     // ignore
                 }
 
@@ -243,6 +248,17 @@ public interface AppContext extends CanGiveFocus,
      */
     SpreadsheetViewportCache spreadsheetViewportCache();
 
+    /**
+     * An index of all labels for the current spreadsheet, used to answer label suggestions locally.
+     */
+    SpreadsheetLabelNameIndex spreadsheetLabelNameIndex();
+
+    /**
+     * Returns a snapshot of the number of registered watchers and the sizes of the {@link SpreadsheetViewportCache},
+     * useful to verify nothing grows during long sessions.
+     */
+    Map<String, Integer> sizes();
+
     // cellQuery.........................................................................................................
 
     /**
@@ -257,14 +273,6 @@ public interface AppContext extends CanGiveFocus,
         );
     }
 
-    // SpreadsheetListDialogComponent...................................................................................
-
-    /**
-     * The default row count to use when {@link walkingkooka.spreadsheet.dominokit.history.SpreadsheetListHistoryToken} is
-     * missing a count.
-     */
-    OptionalInt spreadsheetListDialogComponentDefaultCount();
-
     // system SpreadsheetProvider.......................................................................................
 
     /**
@@ -23,11 +23,11 @@ import walkingkooka.collect.set.Sets;
 import walkingkooka.currency.CurrencyCode;
 import walkingkooka.currency.CurrencyContext;
 import walkingkooka.currency.CurrencyContextDelegator;
-import walkingkooka.currency.CurrencyContexts;
 import walkingkooka.spreadsheet.dominokit.fetcher.CurrencyFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasCurrencyFetcherWatchers;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.util.TextPrefixIndex;
 import walkingkooka.spreadsheet.dominokit.value.currency.CurrencyComponent;
 import walkingkooka.spreadsheet.server.currency.CurrencyHateosResource;
 import walkingkooka.spreadsheet.server.currency.CurrencyHateosResourceSet;
@@ -35,7 +35,6 @@ import walkingkooka.spreadsheet.server.currency.CurrencyHateosResourceSet;
 import java.util.Comparator;
 import java.util.Currency;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -75,20 +74,36 @@ final class AppCurrencyContext implements CurrencyContextDelegator,
             throw new IllegalArgumentException("Invalid count < 0");
         }
 
-        return this.currencyCodeToText.entrySet()
-            .stream()
-            .filter(currencyCodeAndText -> {
-                final String currencyText = currencyCodeAndText.getValue();
-                return false == currencyText.isEmpty() &&
-                    (CurrencyContexts.CASE_SENSITIVITY.equals(text, currencyText) || CurrencyContexts.CASE_SENSITIVITY.startsWith(currencyText, text));
-            }).skip(offset)
-            .limit(count)
-            .map(Entry::getKey)
+        return this.currencyTextIndex()
+            .find(
+                text,
+                offset,
+                count
+            ).stream()
             .collect(
                 ImmutableSortedSet.collector(Comparator.naturalOrder())
             );
     }
 
+    /**
+     * Lazily builds the index for the current {@link #currencyCodeToText}, avoiding a scan of all currencies for every search.
+     */
+    private TextPrefixIndex<CurrencyCode> currencyTextIndex() {
+        final Map<CurrencyCode, String> currencyCodeToText = this.currencyCodeToText;
+
+        TextPrefixIndex<CurrencyCode> index = this.currencyTextIndex;
+        if (null == index || currencyCodeToText != this.currencyTextIndexSource) {
+            index = TextPrefixIndex.with(currencyCodeToText);
+            this.currencyTextIndex = index;
+            this.currencyTextIndexSource = currencyCodeToText;
+        }
+        return index;
+    }
+
+    private TextPrefixIndex<CurrencyCode> currencyTextIndex;
+
+    private Map<CurrencyCode, String> currencyTextIndexSource;
+
     @Override
     public Optional<String> currencyText(final CurrencyCode currencyCode) {
         Objects.requireNonNull(currencyCode, "currencyCode");
@@ -73,7 +73,7 @@ final class AppHistoryContextHistoryWatcher implements HistoryContext,
         final HistoryToken previousToken = this.previousToken;
 
         long start = 0;
-        if (APP_HISTORY_CONTEXT_HISTORY_WATCHER) {
+        if (APP_HISTORY_CONTEXT_HISTORY_WATCHER.isEnabled()) {
             start = System.currentTimeMillis();
             this.debug(this.getClass().getSimpleName() + ".onHashChange BEGIN from " + previousToken + " to " + token);
         }
@@ -83,7 +83,7 @@ final class AppHistoryContextHistoryWatcher implements HistoryContext,
 
         if (false == token.equals(previousToken)) {
             if (token instanceof UnknownHistoryToken) {
-                if (APP_HISTORY_CONTEXT_HISTORY_WATCHER) {
+                if (APP_HISTORY_CONTEXT_HISTORY_WATCHER.isEnabled()) {
                     this.debug(this.getClass().getSimpleName() + ".onHashChange updated with invalid token " + token + ", will restore previous " + previousToken);
                 }
                 this.pushHistoryToken(previousToken);
@@ -96,7 +96,7 @@ final class AppHistoryContextHistoryWatcher implements HistoryContext,
             }
         }
 
-        if (APP_HISTORY_CONTEXT_HISTORY_WATCHER) {
+        if (APP_HISTORY_CONTEXT_HISTORY_WATCHER.isEnabled()) {
             final long end = System.currentTimeMillis();
             this.debug(this.getClass().getSimpleName() + ".onHashChange END from " + previousToken + " to " + token + " took " + (end - start) + " ms");
         }
@@ -158,6 +158,13 @@ final class AppHistoryContextHistoryWatcher implements HistoryContext,
         return this.historyWatchers.addOnce(watcher);
     }
 
+    /**
+     * The number of {@link HistoryWatcher} that have not been removed.
+     */
+    int historyWatcherCount() {
+        return this.historyWatchers.size();
+    }
+
     private final HistoryWatchers historyWatchers;
 
     @Override
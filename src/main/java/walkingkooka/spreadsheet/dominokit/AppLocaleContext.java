@@ -28,13 +28,13 @@ import walkingkooka.spreadsheet.dominokit.fetcher.HasLocaleFetcherWatchers;
 import walkingkooka.spreadsheet.dominokit.fetcher.LocaleFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.util.TextPrefixIndex;
 import walkingkooka.spreadsheet.dominokit.value.locale.LocaleComponent;
 import walkingkooka.spreadsheet.server.locale.LocaleHateosResource;
 import walkingkooka.spreadsheet.server.locale.LocaleHateosResourceSet;
 
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -74,20 +74,36 @@ final class AppLocaleContext implements LocaleContextDelegator,
             throw new IllegalArgumentException("Invalid count < 0");
         }
 
-        return this.localeToText.entrySet()
-            .stream()
-            .filter(localeAndText -> {
-                final String localeText = localeAndText.getValue();
-                return false == localeText.isEmpty() &&
-                    (LocaleContexts.CASE_SENSITIVITY.equals(text, localeText) || LocaleContexts.CASE_SENSITIVITY.startsWith(localeText, text));
-            }).skip(offset)
-            .limit(count)
-            .map(Entry::getKey)
+        return this.localeTextIndex()
+            .find(
+                text,
+                offset,
+                count
+            ).stream()
             .collect(
                 ImmutableSortedSet.collector(LocaleContexts.LANGUAGE_TAG_COMPARATOR)
             );
     }
 
+    /**
+     * Lazily builds the index for the current {@link #localeToText}, avoiding a scan of all locales for every search.
+     */
+    private TextPrefixIndex<Locale> localeTextIndex() {
+        final Map<Locale, String> localeToText = this.localeToText;
+
+        TextPrefixIndex<Locale> index = this.localeTextIndex;
+        if (null == index || localeToText != this.localeTextIndexSource) {
+            index = TextPrefixIndex.with(localeToText);
+            this.localeTextIndex = index;
+            this.localeTextIndexSource = localeToText;
+        }
+        return index;
+    }
+
+    private TextPrefixIndex<Locale> localeTextIndex;
+
+    private Map<Locale, String> localeTextIndexSource;
+
     @Override
     public Optional<String> localeText(final Locale locale) {
         Objects.requireNonNull(locale, "locale");
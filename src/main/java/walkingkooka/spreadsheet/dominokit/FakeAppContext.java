@@ -68,6 +68,9 @@ import walkingkooka.spreadsheet.dominokit.fetcher.ValidatorFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.ValidatorFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.HistoryWatcher;
+import walkingkooka.spreadsheet.dominokit.snapshot.Snapshot;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContextLoadWatcher;
+import walkingkooka.spreadsheet.dominokit.value.label.SpreadsheetLabelNameIndex;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportCache;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportComponentKeyBindings;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
@@ -107,9 +110,9 @@ import java.time.ZoneOffset;
 import java.util.Currency;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.OptionalInt;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -673,6 +676,16 @@ public class FakeAppContext extends FakeSpreadsheetProvider
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public SpreadsheetLabelNameIndex spreadsheetLabelNameIndex() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<String, Integer> sizes() {
+        throw new UnsupportedOperationException();
+    }
+
     // CanGiveFocus.....................................................................................................
 
     @Override
@@ -903,11 +916,6 @@ public class FakeAppContext extends FakeSpreadsheetProvider
         throw new UnsupportedOperationException();
     }
 
-    @Override
-    public OptionalInt spreadsheetListDialogComponentDefaultCount() {
-        throw new UnsupportedOperationException();
-    }
-
     // system SpreadsheetProvider.......................................................................................
 
     @Override
@@ -944,6 +952,20 @@ public class FakeAppContext extends FakeSpreadsheetProvider
         throw new UnsupportedOperationException();
     }
 
+    // SnapshotContext..................................................................................................
+
+    @Override
+    public void loadSnapshot(final String key,
+                             final SnapshotContextLoadWatcher watcher) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void saveSnapshot(final String key,
+                             final Snapshot snapshot) {
+        throw new UnsupportedOperationException();
+    }
+
     // SpreadsheetViewportComponentKeyBindingsContext.......................................................................................
 
     @Override
@@ -128,10 +128,18 @@ public interface HistoryTokenAwareComponentLifecycle extends HistoryWatcher,
                         }
                         this.refresh(context);
 
-                        if (this.shouldLogLifecycleChanges()) {
-                            context.debug(prefix + ".openGiveFocus");
-                        }
-                        this.openGiveFocus(context);
+                        // focus reads the layout, so is given after all components have refreshed for this token
+                        context.refreshScheduler()
+                            .scheduleFocus(
+                                () -> {
+                                    if (this.isOpen()) {
+                                        if (this.shouldLogLifecycleChanges()) {
+                                            context.debug(prefix + ".openGiveFocus");
+                                        }
+                                        this.openGiveFocus(context);
+                                    }
+                                }
+                            );
                     }
                     // close -> close -> do nothing
                 }
@@ -20,6 +20,10 @@ package walkingkooka.spreadsheet.dominokit;
 import walkingkooka.spreadsheet.dominokit.focus.CanGiveFocus;
 import walkingkooka.spreadsheet.dominokit.history.HistoryContext;
 import walkingkooka.spreadsheet.dominokit.log.LoggingContext;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollector;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollectors;
+import walkingkooka.spreadsheet.dominokit.refresh.RefreshScheduler;
+import walkingkooka.spreadsheet.dominokit.refresh.RefreshSchedulers;
 
 public interface RefreshContext extends CanGiveFocus,
     HistoryContext,
@@ -30,4 +34,18 @@ public interface RefreshContext extends CanGiveFocus,
      * in the {@link walkingkooka.spreadsheet.dominokit.history.HistoryToken} is present(loaded).
      */
     boolean isSpreadsheetMetadataLoaded();
+
+    /**
+     * The {@link RefreshScheduler} used to coalesce component refreshes, by default refreshes happen immediately.
+     */
+    default RefreshScheduler refreshScheduler() {
+        return RefreshSchedulers.immediate();
+    }
+
+    /**
+     * The {@link MetricsCollector} used to time the stages between an input and rendering, by default nothing is recorded.
+     */
+    default MetricsCollector metricsCollector() {
+        return MetricsCollectors.nop();
+    }
 }
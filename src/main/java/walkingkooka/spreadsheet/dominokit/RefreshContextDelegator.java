@@ -21,6 +21,8 @@ import walkingkooka.spreadsheet.dominokit.history.HistoryContext;
 import walkingkooka.spreadsheet.dominokit.history.HistoryContextDelegator;
 import walkingkooka.spreadsheet.dominokit.log.LoggingContext;
 import walkingkooka.spreadsheet.dominokit.log.LoggingContextDelegator;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollector;
+import walkingkooka.spreadsheet.dominokit.refresh.RefreshScheduler;
 
 public interface RefreshContextDelegator extends RefreshContext,
     HistoryContextDelegator,
@@ -34,6 +36,18 @@ public interface RefreshContextDelegator extends RefreshContext,
             .isSpreadsheetMetadataLoaded();
     }
 
+    @Override
+    default RefreshScheduler refreshScheduler() {
+        return this.refreshContext()
+            .refreshScheduler();
+    }
+
+    @Override
+    default MetricsCollector metricsCollector() {
+        return this.refreshContext()
+            .metricsCollector();
+    }
+
     // CanGiveFocus.....................................................................................................
 
     @Override
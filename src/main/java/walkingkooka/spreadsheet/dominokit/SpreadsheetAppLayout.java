@@ -223,7 +223,7 @@ final class SpreadsheetAppLayout extends AppLayout implements
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_APP_LAYOUT;
+        return SPREADSHEET_APP_LAYOUT.isEnabled();
     }
 
     // id...............................................................................................................
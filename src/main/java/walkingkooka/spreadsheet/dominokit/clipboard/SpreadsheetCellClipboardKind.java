@@ -24,6 +24,7 @@ import walkingkooka.net.HasUrlFragment;
 import walkingkooka.net.UrlFragment;
 import walkingkooka.net.header.HasContentType;
 import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.predicate.Predicates;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetCellClipboardHistoryToken;
@@ -105,6 +106,11 @@ public enum SpreadsheetCellClipboardKind implements HasContentType,
                 range.value()
             );
         }
+
+        @Override
+        HttpMethod saveOrUpdateCellsMethod() {
+            return HttpMethod.POST;
+        }
     },
 
     /**
@@ -754,6 +760,13 @@ public enum SpreadsheetCellClipboardKind implements HasContentType,
                                            final SpreadsheetId id,
                                            final SpreadsheetCellRange range);
 
+    /**
+     * The {@link HttpMethod} of the request sent by {@link #saveOrUpdateCells(SpreadsheetDeltaFetcher, SpreadsheetId, SpreadsheetCellRange)}.
+     */
+    HttpMethod saveOrUpdateCellsMethod() {
+        return HttpMethod.PATCH;
+    }
+
     static <T> Map<SpreadsheetCellReference, T> toMap(final SpreadsheetCellRange range,
                                                       final Function<SpreadsheetCell, T> valueExtractor) {
         final Map<SpreadsheetCellReference, T> map = SpreadsheetSelectionMaps.cell();
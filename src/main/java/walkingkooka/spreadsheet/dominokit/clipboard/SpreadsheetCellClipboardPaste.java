@@ -0,0 +1,340 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.clipboard;
+
+import elemental2.dom.Headers;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.spreadsheet.dominokit.AppContext;
+import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcher;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetCellRange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.Consumer;
+
+import static walkingkooka.spreadsheet.dominokit.log.Logging.SPREADSHEET_CELL_CLIPBOARD_PASTE;
+
+/**
+ * Pastes one or more {@link SpreadsheetCellRange} from the clipboard, splitting large ranges into chunks of whole rows
+ * holding at most {@link #MAX_CELLS_PER_CHUNK} cells. Chunks are sent one at a time, the next chunk being sent when
+ * the {@link SpreadsheetDelta} response for the previous arrives, so a very large paste neither produces one giant
+ * request nor floods the server. A failure cancels any remaining chunks.
+ */
+public final class SpreadsheetCellClipboardPaste implements SpreadsheetDeltaFetcherWatcher,
+    NopFetcherWatcher,
+    NopEmptyResponseFetcherWatcher {
+
+    /**
+     * The maximum number of cells sent in a single request, unless a single row holds more.
+     */
+    public final static int MAX_CELLS_PER_CHUNK = 500;
+
+    public static SpreadsheetCellClipboardPaste with(final SpreadsheetCellClipboardKind kind,
+                                                     final SpreadsheetId id,
+                                                     final List<SpreadsheetCellRange> ranges,
+                                                     final AppContext context) {
+        Objects.requireNonNull(kind, "kind");
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(ranges, "ranges");
+        Objects.requireNonNull(context, "context");
+
+        final List<SpreadsheetCellRange> chunks = Lists.array();
+        for (final SpreadsheetCellRange range : ranges) {
+            chunks.addAll(
+                chunks(
+                    range,
+                    MAX_CELLS_PER_CHUNK
+                )
+            );
+        }
+
+        return new SpreadsheetCellClipboardPaste(
+            kind,
+            id,
+            chunks,
+            (chunk) -> kind.saveOrUpdateCells(
+                context.spreadsheetDeltaFetcher(),
+                id,
+                chunk
+            ),
+            context
+        );
+    }
+
+    /**
+     * Creates a {@link SpreadsheetCellClipboardPaste} for the given chunks, with each chunk sent by the given sender.
+     */
+    // @VisibleForTesting
+    static SpreadsheetCellClipboardPaste withChunks(final SpreadsheetCellClipboardKind kind,
+                                                    final SpreadsheetId id,
+                                                    final List<SpreadsheetCellRange> chunks,
+                                                    final Consumer<SpreadsheetCellRange> sender,
+                                                    final AppContext context) {
+        return new SpreadsheetCellClipboardPaste(
+            kind,
+            id,
+            chunks,
+            sender,
+            context
+        );
+    }
+
+    /**
+     * Splits the given {@link SpreadsheetCellRange} into chunks of whole rows, each covering every column of the
+     * original range, so together the chunks cover the same cells including empty cells that should be cleared.
+     * A range that is small enough is returned unchanged.
+     */
+    static List<SpreadsheetCellRange> chunks(final SpreadsheetCellRange range,
+                                             final int maxCells) {
+        final Set<SpreadsheetCell> cells = range.value();
+
+        final List<SpreadsheetCellRange> chunks = Lists.array();
+
+        if (cells.size() <= maxCells) {
+            chunks.add(range);
+        } else {
+            final Map<SpreadsheetRowReference, List<SpreadsheetCell>> rowToCells = SpreadsheetSelectionMaps.row();
+            for (final SpreadsheetCell cell : cells) {
+                rowToCells.computeIfAbsent(
+                    cell.reference()
+                        .row(),
+                    (r) -> Lists.array()
+                ).add(cell);
+            }
+
+            final SpreadsheetCellRangeReference cellRange = range.range();
+
+            SpreadsheetRowReference top = cellRange.begin()
+                .row();
+            SpreadsheetRowReference last = null;
+            SortedSet<SpreadsheetCell> chunkCells = newCells();
+
+            for (final Entry<SpreadsheetRowReference, List<SpreadsheetCell>> rowAndCells : rowToCells.entrySet()) {
+                final List<SpreadsheetCell> rowCells = rowAndCells.getValue();
+
+                if (null != last && chunkCells.size() + rowCells.size() > maxCells) {
+                    chunks.add(
+                        chunk(
+                            cellRange,
+                            top,
+                            last,
+                            chunkCells
+                        )
+                    );
+                    top = last.add(1);
+                    chunkCells = newCells();
+                }
+
+                chunkCells.addAll(rowCells);
+                last = rowAndCells.getKey();
+            }
+
+            chunks.add(
+                chunk(
+                    cellRange,
+                    top,
+                    cellRange.end()
+                        .row(),
+                    chunkCells
+                )
+            );
+        }
+
+        return chunks;
+    }
+
+    private static SortedSet<SpreadsheetCell> newCells() {
+        return SortedSets.tree(SpreadsheetCell.REFERENCE_COMPARATOR);
+    }
+
+    private static SpreadsheetCellRange chunk(final SpreadsheetCellRangeReference range,
+                                              final SpreadsheetRowReference top,
+                                              final SpreadsheetRowReference bottom,
+                                              final Set<SpreadsheetCell> cells) {
+        return SpreadsheetCellRange.with(
+            range.begin()
+                .setRow(top)
+                .cellRange(
+                    range.end()
+                        .setRow(bottom)
+                ),
+            cells
+        );
+    }
+
+    private SpreadsheetCellClipboardPaste(final SpreadsheetCellClipboardKind kind,
+                                          final SpreadsheetId id,
+                                          final List<SpreadsheetCellRange> chunks,
+                                          final Consumer<SpreadsheetCellRange> sender,
+                                          final AppContext context) {
+        this.kind = kind;
+        this.id = id;
+        this.chunks = chunks;
+        this.sender = sender;
+        this.context = context;
+    }
+
+    /**
+     * Sends the first chunk, the remaining chunks are sent as each response arrives.
+     */
+    public void start() {
+        if (null == this.removeWatcher && this.next < this.chunks.size()) {
+            this.removeWatcher = this.context.addSpreadsheetDeltaFetcherWatcher(this);
+            this.sendNext();
+        }
+    }
+
+    /**
+     * Stops sending any remaining chunks, a chunk that was already sent is not aborted.
+     */
+    public void cancel() {
+        final Runnable removeWatcher = this.removeWatcher;
+        if (null != removeWatcher) {
+            this.removeWatcher = null;
+            removeWatcher.run();
+        }
+        this.next = this.chunks.size();
+        this.pending = null;
+    }
+
+    private void sendNext() {
+        final SpreadsheetCellRange chunk = this.chunks.get(this.next);
+        this.next++;
+        this.pending = chunk.range();
+
+        this.sender.accept(chunk);
+    }
+
+    // SpreadsheetDeltaFetcherWatcher...................................................................................
+
+    @Override
+    public void onSpreadsheetDelta(final HttpMethod method,
+                                   final AbsoluteOrRelativeUrl url,
+                                   final SpreadsheetDelta delta) {
+        if (this.isPending(method, url)) {
+            final int count = this.chunks.size();
+            final int next = this.next;
+
+            if (SPREADSHEET_CELL_CLIPBOARD_PASTE.isEnabled()) {
+                this.context.debug(this.getClass().getSimpleName() + ".onSpreadsheetDelta " + this.pending + " " + next + "/" + count);
+            }
+
+            if (next < count) {
+                this.sendNext();
+            } else {
+                this.cancel();
+
+                if (count > 1) {
+                    this.context.info("Pasted " + count + " chunks");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onFailure(final HttpMethod method,
+                          final AbsoluteOrRelativeUrl url,
+                          final HttpStatus status,
+                          final Headers headers,
+                          final String body) {
+        if (this.isPending(method, url)) {
+            this.cancelRemaining();
+        }
+    }
+
+    /**
+     * A network or other error has no URL to match against the pending chunk, so any error while a chunk is waiting
+     * for its response cancels the remaining chunks, rather than leaving the paste and its watcher waiting forever.
+     */
+    @Override
+    public void onError(final Object cause) {
+        if (null != this.pending) {
+            this.cancelRemaining();
+        }
+    }
+
+    private void cancelRemaining() {
+        final int remaining = this.chunks.size() - this.next;
+        this.cancel();
+
+        if (remaining > 0) {
+            this.context.error("Paste failed, " + remaining + " remaining chunks cancelled");
+        }
+    }
+
+    /**
+     * Tests if the response is for the chunk that was last sent, matching the method, the spreadsheet and the range at
+     * the end of its URL path.
+     */
+    private boolean isPending(final HttpMethod method,
+                              final AbsoluteOrRelativeUrl url) {
+        final SpreadsheetCellRangeReference pending = this.pending;
+        return null != pending &&
+            this.kind.saveOrUpdateCellsMethod().equals(method) &&
+            SpreadsheetMetadataFetcher.extractSpreadsheetId(url)
+                .map(this.id::equals)
+                .orElse(false) &&
+            url.path()
+                .value()
+                .endsWith("/" + pending.toStringMaybeStar());
+    }
+
+    private final SpreadsheetCellClipboardKind kind;
+
+    private final SpreadsheetId id;
+
+    private final List<SpreadsheetCellRange> chunks;
+
+    private final Consumer<SpreadsheetCellRange> sender;
+
+    /**
+     * The index of the next chunk to send.
+     */
+    private int next;
+
+    /**
+     * The range of the chunk waiting for a response.
+     */
+    private SpreadsheetCellRangeReference pending;
+
+    private Runnable removeWatcher;
+
+    private final AppContext context;
+
+    @Override
+    public String toString() {
+        return this.kind + " " + this.next + "/" + this.chunks.size();
+    }
+}
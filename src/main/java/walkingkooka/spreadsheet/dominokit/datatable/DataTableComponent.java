@@ -25,6 +25,7 @@ import org.dominokit.domino.ui.datatable.TableConfig;
 import org.dominokit.domino.ui.datatable.plugins.pagination.BodyScrollPlugin;
 import org.dominokit.domino.ui.datatable.plugins.summary.EmptyStatePlugin;
 import org.dominokit.domino.ui.datatable.store.LocalListDataStore;
+import org.dominokit.domino.ui.events.EventType;
 import org.dominokit.domino.ui.icons.Icon;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.dominokit.SpreadsheetElementIds;
@@ -349,6 +350,100 @@ public final class DataTableComponent<T> extends DataTableComponentLike<T> {
 
     private final List<String> plugins;
 
+    // virtualScroll....................................................................................................
+
+    @Override
+    public DataTableComponent<T> virtualScroll(final int rowHeight,
+                                               final int pageSize,
+                                               final int maxPages,
+                                               final DataTableComponentPageLoader loader) {
+        if (null != this.virtualScroller) {
+            throw new IllegalStateException("Virtual scrolling already enabled");
+        }
+
+        final DataTableComponentVirtualScroller<T> scroller = DataTableComponentVirtualScroller.with(
+            rowHeight,
+            pageSize,
+            maxPages,
+            loader
+        );
+        this.virtualScroller = scroller;
+        this.plugins.add(
+            DataTableComponentLike.virtualScrollPluginText(scroller)
+        );
+
+        // the height must be limited, otherwise the table grows with the padding and every row is visible
+        this.setCssProperty(
+            "max-height",
+            (rowHeight * pageSize) + "px"
+        ).setCssProperty(
+            "overflow-y",
+            "auto"
+        );
+        this.table.element()
+            .addEventListener(
+                EventType.scroll.getName(),
+                (e) -> this.refreshVirtualWindow()
+            );
+        return this;
+    }
+
+    @Override
+    public DataTableComponent<T> setPage(final int offset,
+                                         final List<T> rows) {
+        DataTableComponentLike.virtualScrollerOrFail(this.virtualScroller)
+            .setPage(
+                offset,
+                rows
+            );
+        this.refreshVirtualWindow();
+        return this;
+    }
+
+    @Override
+    public DataTableComponent<T> clearPages() {
+        DataTableComponentLike.virtualScrollerOrFail(this.virtualScroller)
+            .clear();
+        this.table.element().scrollTop = 0;
+        this.dataStore.setData(
+            Lists.empty()
+        );
+        return this;
+    }
+
+    @Override
+    public DataTableComponent<T> loadPages() {
+        DataTableComponentLike.virtualScrollerOrFail(this.virtualScroller);
+        this.refreshVirtualWindow();
+        return this;
+    }
+
+    /**
+     * Renders only the rows around the current scroll position, with padding standing in for the rows that are not rendered.
+     */
+    private void refreshVirtualWindow() {
+        final HTMLDivElement element = this.table.element();
+
+        final DataTableComponentVirtualWindow<T> window = this.virtualScroller.scroll(
+            (int) element.scrollTop,
+            element.clientHeight
+        );
+
+        this.dataStore.setData(
+            window.rows()
+        );
+        this.setCssProperty(
+            "padding-top",
+            window.paddingTop() + "px"
+        );
+        this.setCssProperty(
+            "padding-bottom",
+            window.paddingBottom() + "px"
+        );
+    }
+
+    private DataTableComponentVirtualScroller<T> virtualScroller;
+
     // TreePrintable....................................................................................................
 
     @Override
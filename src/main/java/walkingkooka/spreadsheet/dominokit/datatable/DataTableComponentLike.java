@@ -185,6 +185,50 @@ abstract class DataTableComponentLike<T> implements TableComponent<HTMLDivElemen
         return "EmptyStatePlugin (" + icon.getName() + ") " + CharSequences.quoteAndEscape(title);
     }
 
+    /**
+     * Enables virtual scrolling, where only the rows near the visible area are rendered and pages of rows are
+     * loaded on demand using the given {@link DataTableComponentPageLoader}. Loaded pages should be given to
+     * {@link #setPage(int, List)}. No pages are loaded until {@link #loadPages()} is called. The table is limited to
+     * the height of a single page of rows and scrolls to reveal the others.
+     */
+    public abstract DataTableComponent<T> virtualScroll(final int rowHeight,
+                                                        final int pageSize,
+                                                        final int maxPages,
+                                                        final DataTableComponentPageLoader loader);
+
+    /**
+     * Accepts a page of rows previously requested by a {@link DataTableComponentPageLoader}.
+     */
+    public abstract DataTableComponent<T> setPage(final int offset,
+                                                  final List<T> rows);
+
+    /**
+     * Discards all loaded pages and scrolls back to the top, typically when a dialog is opened or reloaded.
+     */
+    public abstract DataTableComponent<T> clearPages();
+
+    /**
+     * Renders the rows for the current scroll position, loading any missing pages.
+     */
+    public abstract DataTableComponent<T> loadPages();
+
+    /**
+     * Prepares text for the virtual scroll plugin which will be printed by {@link #printTreeTable(List, boolean, DataTableComponentCellRenderer, List, IndentingPrinter)}.
+     */
+    static String virtualScrollPluginText(final DataTableComponentVirtualScroller<?> scroller) {
+        return "VirtualScrollPlugin rowHeight=" + scroller.rowHeight() + " pageSize=" + scroller.pageSize();
+    }
+
+    /**
+     * Fails if virtual scrolling has not been enabled.
+     */
+    static <T> DataTableComponentVirtualScroller<T> virtualScrollerOrFail(final DataTableComponentVirtualScroller<T> scroller) {
+        if (null == scroller) {
+            throw new IllegalStateException("Virtual scrolling not enabled");
+        }
+        return scroller;
+    }
+
     // CanBeEmpty.......................................................................................................
 
     /**
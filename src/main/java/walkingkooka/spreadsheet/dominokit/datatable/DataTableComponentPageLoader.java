@@ -0,0 +1,29 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.datatable;
+
+/**
+ * Invoked by a {@link DataTableComponentVirtualScroller} when a page of rows is required but not yet loaded.
+ * Implementations typically issue a fetch and later call {@link DataTableComponent#setPage(int, java.util.List)}.
+ */
+@FunctionalInterface
+public interface DataTableComponentPageLoader {
+
+    void loadPage(final int offset,
+                  final int count);
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.datatable;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.SortedSets;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Tracks pages of rows loaded on demand and computes the window of rows that should be rendered for a scroll position.
+ * Only a bounded number of pages are kept, the least recently used page being discarded when the limit is reached,
+ * so memory remains constant no matter how far the user scrolls.
+ */
+public final class DataTableComponentVirtualScroller<T> {
+
+    /**
+     * The minimum number of pages that must be cached, the visible page plus the page before and after.
+     */
+    public final static int MIN_PAGES = 3;
+
+    /**
+     * The number of extra rows rendered above and below the visible rows, to hide blank flashes while scrolling.
+     */
+    final static int OVERSCAN = 2;
+
+    public static <T> DataTableComponentVirtualScroller<T> with(final int rowHeight,
+                                                                final int pageSize,
+                                                                final int maxPages,
+                                                                final DataTableComponentPageLoader loader) {
+        if (rowHeight <= 0) {
+            throw new IllegalArgumentException("Invalid rowHeight " + rowHeight + " <= 0");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid pageSize " + pageSize + " <= 0");
+        }
+        if (maxPages < MIN_PAGES) {
+            throw new IllegalArgumentException("Invalid maxPages " + maxPages + " < " + MIN_PAGES);
+        }
+
+        return new DataTableComponentVirtualScroller<>(
+            rowHeight,
+            pageSize,
+            maxPages,
+            Objects.requireNonNull(loader, "loader")
+        );
+    }
+
+    private DataTableComponentVirtualScroller(final int rowHeight,
+                                              final int pageSize,
+                                              final int maxPages,
+                                              final DataTableComponentPageLoader loader) {
+        this.rowHeight = rowHeight;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.loader = loader;
+
+        this.pages = new LinkedHashMap<Integer, List<T>>(
+            maxPages,
+            0.75f,
+            true // access order
+        ) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, List<T>> eldest) {
+                return this.size() > maxPages;
+            }
+        };
+        this.loading = SortedSets.tree();
+        this.totalCount = OptionalInt.empty();
+    }
+
+    public int rowHeight() {
+        return this.rowHeight;
+    }
+
+    private final int rowHeight;
+
+    public int pageSize() {
+        return this.pageSize;
+    }
+
+    private final int pageSize;
+
+    /**
+     * The maximum number of cached pages, the rows rendered are limited so all the pages they need are cached.
+     */
+    private final int maxPages;
+
+    /**
+     * The total number of rows if known, when unknown scrolling continues until a short page is loaded.
+     */
+    public OptionalInt totalCount() {
+        return this.totalCount;
+    }
+
+    public DataTableComponentVirtualScroller<T> setTotalCount(final OptionalInt totalCount) {
+        this.totalCount = Objects.requireNonNull(totalCount, "totalCount");
+        return this;
+    }
+
+    private OptionalInt totalCount;
+
+    /**
+     * Records a page of rows, the offset must be the start of a page. A page with fewer rows than the page size
+     * is assumed to be the last page and fixes the {@link #totalCount()}.
+     */
+    public DataTableComponentVirtualScroller<T> setPage(final int offset,
+                                                        final List<T> rows) {
+        if (offset < 0 || 0 != offset % this.pageSize) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " not a multiple of " + this.pageSize);
+        }
+        Objects.requireNonNull(rows, "rows");
+
+        final int page = offset / this.pageSize;
+        this.loading.remove(page);
+        this.pages.put(
+            page,
+            Lists.immutable(rows)
+        );
+
+        if (rows.size() < this.pageSize) {
+            this.totalCount = OptionalInt.of(offset + rows.size());
+        }
+        return this;
+    }
+
+    /**
+     * Discards all loaded pages and the total count, typically because the underlying query changed.
+     */
+    public DataTableComponentVirtualScroller<T> clear() {
+        this.pages.clear();
+        this.loading.clear();
+        this.totalCount = OptionalInt.empty();
+        return this;
+    }
+
+    /**
+     * Computes the {@link DataTableComponentVirtualWindow} for the given scroll position, requesting any missing
+     * pages around the visible rows from the {@link DataTableComponentPageLoader}.
+     */
+    public DataTableComponentVirtualWindow<T> scroll(final int scrollTop,
+                                                     final int viewportHeight) {
+        final int rowHeight = this.rowHeight;
+        final int pageSize = this.pageSize;
+        final int total = this.totalCount.orElse(Integer.MAX_VALUE);
+
+        final int first = Math.min(
+            Math.max(0, scrollTop / rowHeight - OVERSCAN),
+            Math.max(0, total - 1)
+        );
+        // load the visible pages and one page either side
+        final int firstPage = Math.max(0, first / pageSize - 1);
+
+        // never render more rows than fit in the cached pages, otherwise visible pages would be evicted and loaded again
+        final int last = Math.min(
+            Math.min(
+                (Math.max(0, scrollTop) + Math.max(0, viewportHeight)) / rowHeight + OVERSCAN,
+                (firstPage + this.maxPages - 1) * pageSize - 1
+            ),
+            total - 1
+        );
+        final int lastPage = Math.max(0, last) / pageSize + 1;
+        for (int page = firstPage; page <= lastPage; page++) {
+            if (page * pageSize >= total) {
+                break;
+            }
+            if (false == this.pages.containsKey(page) && this.loading.add(page)) {
+                this.loader.loadPage(
+                    page * pageSize,
+                    pageSize
+                );
+            }
+        }
+
+        // gather the contiguous available rows beginning at first
+        final List<T> rows = Lists.array();
+        for (int i = first; i <= last; i++) {
+            final List<T> pageRows = this.pages.get(i / pageSize);
+            final int index = i % pageSize;
+            if (null == pageRows || index >= pageRows.size()) {
+                break;
+            }
+            rows.add(pageRows.get(index));
+        }
+
+        final int known = this.totalCount.isPresent() ?
+            total :
+            (lastPage + 1) * pageSize; // leave room for more rows so scrolling can continue
+
+        return DataTableComponentVirtualWindow.with(
+            first,
+            rows,
+            first * rowHeight,
+            Math.max(0, known - first - rows.size()) * rowHeight
+        );
+    }
+
+    /**
+     * Cached pages in least recently used order.
+     */
+    private final LinkedHashMap<Integer, List<T>> pages;
+
+    /**
+     * Pages that have been requested but not yet loaded.
+     */
+    private final Set<Integer> loading;
+
+    private final DataTableComponentPageLoader loader;
+
+    @Override
+    public String toString() {
+        return "rowHeight=" + this.rowHeight +
+            " pageSize=" + this.pageSize +
+            " maxPages=" + this.maxPages +
+            " pages=" + this.pages.keySet() +
+            " totalCount=" + this.totalCount;
+    }
+}
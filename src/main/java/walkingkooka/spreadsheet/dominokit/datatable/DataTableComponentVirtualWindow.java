@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.datatable;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The rows that should be rendered for the current scroll position, along with the padding above and below that
+ * stands in for the rows that are not rendered, so the scrollbar reflects the full table.
+ */
+public final class DataTableComponentVirtualWindow<T> {
+
+    static <T> DataTableComponentVirtualWindow<T> with(final int first,
+                                                       final List<T> rows,
+                                                       final int paddingTop,
+                                                       final int paddingBottom) {
+        return new DataTableComponentVirtualWindow<>(
+            first,
+            Lists.immutable(rows),
+            paddingTop,
+            paddingBottom
+        );
+    }
+
+    private DataTableComponentVirtualWindow(final int first,
+                                            final List<T> rows,
+                                            final int paddingTop,
+                                            final int paddingBottom) {
+        this.first = first;
+        this.rows = rows;
+        this.paddingTop = paddingTop;
+        this.paddingBottom = paddingBottom;
+    }
+
+    /**
+     * The index of the first row in {@link #rows()}.
+     */
+    public int first() {
+        return this.first;
+    }
+
+    private final int first;
+
+    public List<T> rows() {
+        return this.rows;
+    }
+
+    private final List<T> rows;
+
+    /**
+     * The height in pixels of the space above the rendered rows.
+     */
+    public int paddingTop() {
+        return this.paddingTop;
+    }
+
+    private final int paddingTop;
+
+    /**
+     * The height in pixels of the space below the rendered rows.
+     */
+    public int paddingBottom() {
+        return this.paddingBottom;
+    }
+
+    private final int paddingBottom;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.first,
+            this.rows,
+            this.paddingTop,
+            this.paddingBottom
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof DataTableComponentVirtualWindow &&
+                this.equals0((DataTableComponentVirtualWindow<?>) other);
+    }
+
+    private boolean equals0(final DataTableComponentVirtualWindow<?> other) {
+        return this.first == other.first &&
+            this.rows.equals(other.rows) &&
+            this.paddingTop == other.paddingTop &&
+            this.paddingBottom == other.paddingBottom;
+    }
+
+    @Override
+    public String toString() {
+        return "first=" + this.first +
+            " rows=" + this.rows.size() +
+            " paddingTop=" + this.paddingTop +
+            " paddingBottom=" + this.paddingBottom;
+    }
+}
@@ -22,15 +22,18 @@ import org.dominokit.domino.ui.datatable.CellTextAlign;
 import org.dominokit.domino.ui.datatable.ColumnConfig;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.UrlPath;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.HtmlComponent;
 import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
 import walkingkooka.spreadsheet.dominokit.card.CardComponent;
 import walkingkooka.spreadsheet.dominokit.datatable.DataTableComponent;
+import walkingkooka.spreadsheet.dominokit.datatable.DataTableComponentPageLoader;
+import walkingkooka.spreadsheet.dominokit.fetcher.Fetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
-import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
 import walkingkooka.spreadsheet.dominokit.value.TableComponent;
 import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
 import walkingkooka.text.CharSequences;
@@ -51,14 +54,17 @@ public final class SpreadsheetDeltaLabelsTableComponent implements TableComponen
     HtmlComponentDelegator<HTMLDivElement, SpreadsheetDeltaLabelsTableComponent> {
 
     public static SpreadsheetDeltaLabelsTableComponent with(final String id,
+                                                            final DataTableComponentPageLoader loader,
                                                             final SpreadsheetDeltaLabelsTableComponentContext context) {
         return new SpreadsheetDeltaLabelsTableComponent(
             CharSequences.failIfNullOrEmpty(id, "id"),
+            Objects.requireNonNull(loader, "loader"),
             Objects.requireNonNull(context, "context")
         );
     }
 
     private SpreadsheetDeltaLabelsTableComponent(final String id,
+                                                 final DataTableComponentPageLoader loader,
                                                  final SpreadsheetDeltaLabelsTableComponentContext context) {
         final String idPrefix = id + "labels-";
 
@@ -71,17 +77,35 @@ public final class SpreadsheetDeltaLabelsTableComponent implements TableComponen
                 idPrefix,
                 context
             )
-        ).bodyScrollPlugin();
-
-        this.card.appendChild(
-            this.dataTable.previousNextLinks(id)
+        ).virtualScroll(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            loader
         );
 
+        this.card.appendChild(this.dataTable);
+
         context.addSpreadsheetDeltaFetcherWatcher(this);
 
         this.context = context;
     }
 
+    /**
+     * The height in pixels of a single label row, used to compute the virtual window.
+     */
+    final static int ROW_HEIGHT = 32;
+
+    /**
+     * The number of labels requested for each page.
+     */
+    final static int PAGE_SIZE = 20;
+
+    /**
+     * The maximum number of pages of labels kept in memory.
+     */
+    final static int MAX_PAGES = 10;
+
     /**
      * The table showing labels will have four columns.
      * <pre>
@@ -142,46 +166,74 @@ public final class SpreadsheetDeltaLabelsTableComponent implements TableComponen
         Objects.requireNonNull(value, "value");
 
         this.dataTable.setValue(
-            value.map((final SpreadsheetDelta d) -> d.labels()
-                .stream()
-                .map(m ->
-                    SpreadsheetDeltaLabelsTableComponentRow.with(
-                        m,
-                        this.context.labelCell(
-                            m.label()
-                        )
-                    )
-                ).collect(Collectors.toList())
-            )
+            value.map(this::rows)
         );
         this.value = value;
 
         return this;
     }
 
+    private List<SpreadsheetDeltaLabelsTableComponentRow> rows(final SpreadsheetDelta delta) {
+        return delta.labels()
+            .stream()
+            .map(m ->
+                SpreadsheetDeltaLabelsTableComponentRow.with(
+                    m,
+                    this.context.labelCell(
+                        m.label()
+                    )
+                )
+            ).collect(Collectors.toList());
+    }
+
     private Optional<SpreadsheetDelta> value;
 
     private final SpreadsheetDeltaLabelsTableComponentContext context;
 
-    // refresh..........................................................................................................
+    // pages............................................................................................................
+
+    /**
+     * Discards all loaded labels, eg when the dialog is opened or refreshed.
+     */
+    public SpreadsheetDeltaLabelsTableComponent clearPages() {
+        this.dataTable.clearPages();
+        this.value = Optional.empty();
+        return this;
+    }
 
-    public SpreadsheetDeltaLabelsTableComponent refresh(final HistoryToken token) {
-        this.dataTable.refreshPreviousNextLinks(token);
+    /**
+     * Loads any missing pages for the visible rows.
+     */
+    public SpreadsheetDeltaLabelsTableComponent loadPages() {
+        this.dataTable.loadPages();
         return this;
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
 
     /**
-     * Replaces the cells in the {@link DataTableComponent#setValue(Optional)}.
+     * Accepts pages of labels previously requested by the {@link DataTableComponentPageLoader}, responses for other
+     * requests, offsets or counts are ignored.
      */
     @Override
     public void onSpreadsheetDelta(final HttpMethod method,
                                    final AbsoluteOrRelativeUrl url,
                                    final SpreadsheetDelta delta) {
-        this.setValue(
-            Optional.of(delta)
-        );
+        final UrlPath path = url.path();
+
+        if (SpreadsheetDeltaFetcher.isGetLabelMappings(method, path) || SpreadsheetDeltaFetcher.isGetCellLabels(method, path)) {
+            final int offset = Fetcher.offset(url)
+                .orElse(0);
+
+            if (PAGE_SIZE == Fetcher.count(url).orElse(0) && 0 == offset % PAGE_SIZE) {
+                this.value = Optional.of(delta);
+
+                this.dataTable.setPage(
+                    offset,
+                    this.rows(delta)
+                );
+            }
+        }
     }
 
     // HtmlComponentDelegator............................................................................................
@@ -45,11 +45,26 @@ public final class Doms implements PublicStaticHelper {
 
     /**
      * Creates a {@link elemental2.dom.Node} either a TextNode or Element depending on the provided {@link TextNode}.
+     * Elements are cloned from a cached template, as the same formatted values and styles appear in many cells.
      */
     public static elemental2.dom.Node node(final TextNode node) {
-        return DomsNodeTextNodeVisitor.toNode(node);
+        return node.isText() ?
+            DomsNodeTextNodeVisitor.toNode(node) :
+            NODE_TEMPLATES.get(
+                node,
+                DomsNodeTextNodeVisitor::toNode
+            ).cloneNode(true); // templates are never attached, always return a copy
     }
 
+    /**
+     * Returns the hit and miss counts for the {@link TextNode} template cache.
+     */
+    public static String nodeTemplateCacheStatistics() {
+        return NODE_TEMPLATES.toString();
+    }
+
+    private final static DomsCache<TextNode, elemental2.dom.Node> NODE_TEMPLATES = DomsCache.with(512);
+
     /**
      * Creates a {@link elemental2.dom.Text}
      */
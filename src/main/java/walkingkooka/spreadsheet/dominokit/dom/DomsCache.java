@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.dom;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A bounded least recently used cache that also counts hits and misses.
+ */
+final class DomsCache<K, V> {
+
+    static <K, V> DomsCache<K, V> with(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+
+        return new DomsCache<>(maxSize);
+    }
+
+    private DomsCache(final int maxSize) {
+        this.keyToValue = new LinkedHashMap<K, V>(
+            maxSize,
+            0.75f,
+            true // access order
+        ) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value or creates, caches and returns a new value.
+     */
+    V get(final K key,
+          final Function<K, V> factory) {
+        Objects.requireNonNull(key, "key");
+
+        V value = this.keyToValue.get(key);
+        if (null == value) {
+            value = factory.apply(key);
+            this.keyToValue.put(
+                key,
+                value
+            );
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+
+        return value;
+    }
+
+    int size() {
+        return this.keyToValue.size();
+    }
+
+    long hits() {
+        return this.hits;
+    }
+
+    private long hits;
+
+    long misses() {
+        return this.misses;
+    }
+
+    private long misses;
+
+    private final LinkedHashMap<K, V> keyToValue;
+
+    /**
+     * The percentage of lookups that were hits, or zero if there have been none.
+     */
+    int hitRate() {
+        final long total = this.hits + this.misses;
+        return 0 == total ?
+            0 :
+            (int) (this.hits * 100 / total);
+    }
+
+    @Override
+    public String toString() {
+        return "hits: " + this.hits + " misses: " + this.misses + " hit rate: " + this.hitRate() + "% size: " + this.keyToValue.size();
+    }
+}
@@ -28,6 +28,7 @@ import walkingkooka.tree.text.Text;
 import walkingkooka.tree.text.TextNode;
 import walkingkooka.tree.text.TextNodeVisitor;
 import walkingkooka.tree.text.TextPlaceholderNode;
+import walkingkooka.tree.text.TextStyle;
 import walkingkooka.tree.text.TextStyleNameNode;
 import walkingkooka.tree.text.TextStyleNode;
 import walkingkooka.visit.Visiting;
@@ -69,7 +70,10 @@ final class DomsNodeTextNodeVisitor extends TextNodeVisitor {
         this.ancestors.push(parent);
 
         final HTMLElement span = createSpan();
-        span.style.cssText = node.textStyle().text();
+        span.style.cssText = CSS.get(
+            node.textStyle(),
+            TextStyle::text
+        );
         parent.append(span);
 
         this.parent = span;
@@ -113,6 +117,11 @@ final class DomsNodeTextNodeVisitor extends TextNodeVisitor {
         );
     }
 
+    /**
+     * A cache of recently used {@link TextStyle} to their CSS text.
+     */
+    private final static DomsCache<TextStyle, String> CSS = DomsCache.with(256);
+
     private Element parent;
 
     private final Stack<Element> ancestors = Stacks.jdk();
@@ -67,7 +67,7 @@ public final class ConverterFetcher extends Fetcher<ConverterFetcherWatcher> {
 
     // GET /api/converterUrl/*
     public void getInfoSet() {
-        this.get(URL);
+        this.getWithSnapshot(URL);
     }
 
     private final static RelativeUrl URL = Url.EMPTY_RELATIVE_URL.appendPath(SpreadsheetHttpServer.API_CONVERTER);
@@ -144,6 +144,6 @@ public final class ConverterFetcher extends Fetcher<ConverterFetcherWatcher> {
 
     @Override
     boolean isDebugEnabled() {
-        return CONVERTER_FETCHER;
+        return CONVERTER_FETCHER.isEnabled();
     }
 }
@@ -78,7 +78,7 @@ public final class CurrencyFetcher extends Fetcher<CurrencyFetcherWatcher> {
             throw new IllegalArgumentException("Invalid count " + count + " < 0");
         }
 
-        get(
+        this.getWithSnapshot(
             URL.appendPathName(
                 UrlPathName.WILDCARD
             ).setQuery(
@@ -138,6 +138,6 @@ public final class CurrencyFetcher extends Fetcher<CurrencyFetcherWatcher> {
 
     @Override
     boolean isDebugEnabled() {
-        return CURRENCY_FETCHER;
+        return CURRENCY_FETCHER.isEnabled();
     }
 }
@@ -155,6 +155,6 @@ public final class DateTimeSymbolsFetcher extends Fetcher<DateTimeSymbolsFetcher
 
     @Override
     boolean isDebugEnabled() {
-        return DATE_TIME_SYMBOLS_FETCHER;
+        return DATE_TIME_SYMBOLS_FETCHER.isEnabled();
     }
 }
@@ -153,6 +153,6 @@ public final class DecimalNumberSymbolsFetcher extends Fetcher<DecimalNumberSymb
 
     @Override
     boolean isDebugEnabled() {
-        return DECIMAL_NUMBER_SYMBOLS_FETCHER;
+        return DECIMAL_NUMBER_SYMBOLS_FETCHER.isEnabled();
     }
 }
@@ -51,7 +51,7 @@ public final class ExpressionFunctionFetcher extends Fetcher<ExpressionFunctionF
 
     // GET /api/function/*
     public void getInfoSet() {
-        this.get(URL);
+        this.getWithSnapshot(URL);
     }
 
     private final static AbsoluteOrRelativeUrl URL = AbsoluteOrRelativeUrl.EMPTY_RELATIVE_URL.appendPath(SpreadsheetHttpServer.API_FUNCTION);
@@ -83,6 +83,6 @@ public final class ExpressionFunctionFetcher extends Fetcher<ExpressionFunctionF
 
     @Override
     boolean isDebugEnabled() {
-        return EXPRESSION_FUNCTION_FETCHER;
+        return EXPRESSION_FUNCTION_FETCHER.isEnabled();
     }
 }
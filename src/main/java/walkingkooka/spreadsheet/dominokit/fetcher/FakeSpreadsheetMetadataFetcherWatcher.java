@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.fetcher;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 
 import java.util.Set;
@@ -29,7 +31,9 @@ public class FakeSpreadsheetMetadataFetcherWatcher extends FakeFetcherWatcher im
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         throw new UnsupportedOperationException();
     }
 }
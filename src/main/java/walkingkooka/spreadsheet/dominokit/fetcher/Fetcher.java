@@ -21,6 +21,7 @@ import elemental2.dom.DomGlobal;
 import elemental2.dom.Headers;
 import elemental2.dom.RequestInit;
 import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.net.AbsoluteOrRelativeUrl;
 import walkingkooka.net.UrlParameterName;
 import walkingkooka.net.UrlQueryString;
@@ -32,6 +33,10 @@ import walkingkooka.net.http.HttpStatusCode;
 import walkingkooka.net.http.server.hateos.HateosResourceMappings;
 import walkingkooka.spreadsheet.dominokit.AppContext;
 import walkingkooka.spreadsheet.dominokit.log.Logging;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollector;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsSpan;
+import walkingkooka.spreadsheet.dominokit.snapshot.Snapshot;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContextLoadWatcher;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.LineEnding;
 import walkingkooka.tree.json.JsonNode;
@@ -41,6 +46,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 
 /**
  * Base class for a variety of fetchers that target HateosResources and other end points.
@@ -76,6 +82,34 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
         );
     }
 
+    /**
+     * Performs a GET like {@link #get(AbsoluteOrRelativeUrl)}, but first replays any {@link Snapshot} of a previous
+     * response for the same {@link AbsoluteOrRelativeUrl}. The real response is saved as the next {@link Snapshot},
+     * and only fired if it is different, allowing something to be drawn immediately after a reload (stale-while-revalidate).
+     * Only the first GET since the page was loaded replays, and never after a PATCH, POST or DELETE to the same url.
+     */
+    final void getWithSnapshot(final AbsoluteOrRelativeUrl url) {
+        this.getWithSnapshot(
+            url,
+            url.value()
+        );
+    }
+
+    /**
+     * Performs a GET with a {@link Snapshot} saved under the given key, which may be shared by different urls so only
+     * the last response is kept. A {@link Snapshot} for a different url is never replayed.
+     */
+    final void getWithSnapshot(final AbsoluteOrRelativeUrl url,
+                               final String snapshotKey) {
+        this.fetch(
+            HttpMethod.GET,
+            url,
+            Maps.sorted(),
+            Optional.empty(),
+            Optional.of(snapshotKey)
+        );
+    }
+
     /**
      * Performs a PATCH to the given {@link AbsoluteOrRelativeUrl} with the body and with the headers:
      * Content-Type and Accept set to Json.
@@ -117,7 +151,7 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
 
     /**
      * Performs a fetch using the given {@link HttpMethod} and url with the given body with two headers,
-     * content-type and accept both set to JSON. To use other headers the {@link #fetch(HttpMethod, AbsoluteOrRelativeUrl, Map, Optional)},
+     * content-type and accept both set to JSON. To use other headers the {@link #fetch(HttpMethod, AbsoluteOrRelativeUrl, Map, Optional, Optional)},
      * must be used.
      */
     final void fetchJson(final HttpMethod method,
@@ -136,7 +170,8 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
             method,
             url,
             headers,//entity
-            body
+            body,
+            Optional.empty() // snapshotKey
         );
     }
 
@@ -146,7 +181,8 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
     final void fetch(final HttpMethod method,
                      final AbsoluteOrRelativeUrl url,
                      final Map<HttpHeaderName<?>, Object> headers,
-                     final Optional<FetcherRequestBody<?>> body) {
+                     final Optional<FetcherRequestBody<?>> body,
+                     final Optional<String> snapshotKey) {
         final RequestInit requestInit = RequestInit.create();
         requestInit.setMethod(method.value());
 
@@ -170,7 +206,8 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
             url,
             headers,
             body,
-            requestInit
+            requestInit,
+            snapshotKey
         );
 
         if (body.isPresent()) {
@@ -189,7 +226,8 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
                          final AbsoluteOrRelativeUrl url,
                          final Map<HttpHeaderName<?>, Object> headers,
                          final Optional<FetcherRequestBody<?>> body,
-                         final RequestInit requestInit) {
+                         final RequestInit requestInit,
+                         final Optional<String> snapshotKey) {
         if (this.isDebugEnabled()) {
             if (body.isPresent()) {
                 this.context.debug(method + " " + url, body.get());
@@ -206,6 +244,23 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
 
         this.setWaitingRequestCount(this.waitingRequestCount() + 1);
 
+        final MetricsCollector metrics = this.context.metricsCollector();
+        metrics.increment(MetricsCollector.FETCH);
+        final MetricsSpan fetchSpan = metrics.span(MetricsCollector.FETCH);
+
+        final FetcherSnapshotRequest snapshotRequest = snapshotKey.isPresent() ?
+            this.snapshotRequest(
+                method,
+                url,
+                snapshotKey.get()
+            ) :
+            null;
+
+        // a local write makes any snapshot of the same url stale, eg a PATCH metadata followed by a GET metadata
+        if (false == method.isGetOrHead()) {
+            this.writtenUrls.add(url.value());
+        }
+
         DomGlobal.fetch(
                 url.value(),
                 requestInit
@@ -213,22 +268,40 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
                 response.text()
                     .then(
                         text -> {
+                            fetchSpan.end();
                             this.setWaitingRequestCount(this.waitingRequestCount() - 1);
 
                             if (response.ok) {
-                                this.fireSuccess(
-                                    method,
-                                    url,
-                                    response.headers.get(
-                                        HateosResourceMappings.X_CONTENT_TYPE_NAME.value()
-                                    ),
-                                    HttpStatusCode.NO_CONTENT.code() == response.status ?
-                                        Optional.empty() :
-                                        Optional.of(text)
+                                metrics.increment(MetricsCollector.FETCH_SUCCESS);
+                                metrics.add(
+                                    MetricsCollector.FETCH_RESPONSE_TEXT_CHARS,
+                                    text.length()
                                 );
+
+                                final String contentTypeName = response.headers.get(
+                                    HateosResourceMappings.X_CONTENT_TYPE_NAME.value()
+                                );
+                                final Optional<String> responseBody = HttpStatusCode.NO_CONTENT.code() == response.status ?
+                                    Optional.empty() :
+                                    Optional.of(text);
+
+                                if (null == snapshotRequest ||
+                                    snapshotRequest.response(
+                                        CharSequences.nullToEmpty(contentTypeName).toString(),
+                                        responseBody,
+                                        this.context
+                                    )) {
+                                    this.fireSuccess(
+                                        method,
+                                        url,
+                                        contentTypeName,
+                                        responseBody
+                                    );
+                                }
                             } else {
                                 final HttpStatus status = HttpStatusCode.withCode(response.status)
                                     .setMessage(response.statusText);
+                                metrics.increment(MetricsCollector.FETCH_FAILURE);
                                 this.onFailure(
                                     method,
                                     url,
@@ -244,6 +317,8 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
                 return null;
             })
             .catch_(error -> {
+                fetchSpan.end();
+                metrics.increment(MetricsCollector.FETCH_ERROR);
                 this.setWaitingRequestCount(this.waitingRequestCount() - 1);
 
                 this.onError(error);
@@ -251,6 +326,86 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
             });
     }
 
+    /**
+     * Creates a {@link FetcherSnapshotRequest} that will save the real response. Snapshots are only replayed for the
+     * first request for each key since the page was loaded, later requests always wait for the real response, because
+     * the {@link Snapshot} would be older than what has already been fired.
+     */
+    private FetcherSnapshotRequest snapshotRequest(final HttpMethod method,
+                                                   final AbsoluteOrRelativeUrl url,
+                                                   final String snapshotKey) {
+        final FetcherSnapshotRequest request = FetcherSnapshotRequest.with(
+            snapshotKey,
+            url.value()
+        );
+
+        if (this.snapshotKeys.add(snapshotKey) &&
+            false == this.writtenUrls.contains(url.value())) {
+            this.replaySnapshot(
+                method,
+                url,
+                request
+            );
+        }
+
+        return request;
+    }
+
+    /**
+     * Snapshot keys that have already been requested since the page was loaded.
+     */
+    private final Set<String> snapshotKeys = Sets.hash();
+
+    /**
+     * Urls that have had a PATCH, POST or DELETE since the page was loaded, a {@link Snapshot} of any of these urls
+     * is stale and never replayed.
+     */
+    private final Set<String> writtenUrls = Sets.hash();
+
+    /**
+     * Loads and fires any {@link Snapshot} for the given GET, unless the real response has already arrived.
+     */
+    private void replaySnapshot(final HttpMethod method,
+                                final AbsoluteOrRelativeUrl url,
+                                final FetcherSnapshotRequest request) {
+        this.context.loadSnapshot(
+            request.key,
+            new SnapshotContextLoadWatcher() {
+                @Override
+                public void onSnapshot(final Optional<Snapshot> snapshot) {
+                    if (snapshot.isPresent()) {
+                        final Snapshot replay = snapshot.get();
+
+                        if (request.canReplay(replay) &&
+                            false == Fetcher.this.writtenUrls.contains(url.value())) {
+                            if (Fetcher.this.isDebugEnabled()) {
+                                Fetcher.this.context.debug(Fetcher.this.getClass().getSimpleName() + ".replaySnapshot " + method + " " + url);
+                            }
+
+                            try {
+                                Fetcher.this.fireSuccess(
+                                    method,
+                                    url,
+                                    replay.contentType(),
+                                    Optional.of(replay.body())
+                                );
+                                request.replayed(replay);
+                            } catch (final RuntimeException cause) {
+                                // snapshot is probably incompatible, the real response will replace it.
+                                Fetcher.this.context.warn(Fetcher.this.getClass().getSimpleName() + ".replaySnapshot " + method + " " + url + " failed", cause);
+                            }
+                        }
+                    }
+                }
+
+                @Override
+                public void onFailure(final Object cause) {
+                    Fetcher.this.context.warn(Fetcher.this.getClass().getSimpleName() + ".replaySnapshot " + method + " " + url + " failed", cause);
+                }
+            }
+        );
+    }
+
     /**
      * Called just before a fetch begins.
      */
@@ -359,16 +514,30 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
     }
 
     /**
-     * Parses the JSON String into the requested type.
+     * Parses the JSON String into the requested type, timing the parse and unmarshall separately.
      */
     final <T> T parse(final String json,
                       final Class<T> type) {
-        return this.context.unmarshall(
-            JsonNode.parse(
-                json
-            ),
-            type
-        );
+        final AppContext context = this.context;
+        final MetricsCollector metrics = context.metricsCollector();
+
+        final MetricsSpan parseSpan = metrics.span(MetricsCollector.JSON_PARSE);
+        final JsonNode node;
+        try {
+            node = JsonNode.parse(json);
+        } finally {
+            parseSpan.end();
+        }
+
+        final MetricsSpan unmarshallSpan = metrics.span(MetricsCollector.UNMARSHALL);
+        try {
+            return context.unmarshall(
+                node,
+                type
+            );
+        } finally {
+            unmarshallSpan.end();
+        }
     }
 
     final <T> T parse(final Optional<String> json,
@@ -403,7 +572,7 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
     }
 
     /**
-     * This method is only intended to be called by {@link #fetch(HttpMethod, AbsoluteOrRelativeUrl, Map, Optional)} ,
+     * This method is only intended to be called by {@link #fetch(HttpMethod, AbsoluteOrRelativeUrl, Map, Optional, Optional)} ,
      * during various parts of the fetch lifecycle.
      */
     public final void setWaitingRequestCount(final int waitingRequestCount) {
@@ -462,4 +631,47 @@ abstract public class Fetcher<W extends FetcherWatcher> implements HasHateosCont
 
         return queryString;
     }
+
+    /**
+     * Returns the offset query parameter, if present in the given {@link AbsoluteOrRelativeUrl}.
+     */
+    public static OptionalInt offset(final AbsoluteOrRelativeUrl url) {
+        return intQueryParameter(
+            url,
+            UrlParameterName.OFFSET
+        );
+    }
+
+    /**
+     * Returns the count query parameter, if present in the given {@link AbsoluteOrRelativeUrl}.
+     */
+    public static OptionalInt count(final AbsoluteOrRelativeUrl url) {
+        return intQueryParameter(
+            url,
+            UrlParameterName.COUNT
+        );
+    }
+
+    private static OptionalInt intQueryParameter(final AbsoluteOrRelativeUrl url,
+                                                 final UrlParameterName name) {
+        Objects.requireNonNull(url, "url");
+
+        OptionalInt value = OptionalInt.empty();
+
+        final Optional<String> parameter = url.query()
+            .parameter(name);
+        if (parameter.isPresent()) {
+            try {
+                value = OptionalInt.of(
+                    Integer.parseInt(
+                        parameter.get()
+                    )
+                );
+            } catch (final NumberFormatException ignore) {
+                // ignore invalid numbers
+            }
+        }
+
+        return value;
+    }
 }
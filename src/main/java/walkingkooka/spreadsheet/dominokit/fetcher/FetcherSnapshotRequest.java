@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.fetcher;
+
+import walkingkooka.spreadsheet.dominokit.snapshot.Snapshot;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContext;
+
+import java.util.Optional;
+
+/**
+ * Tracks a single GET which may have a {@link Snapshot} replayed before the real response arrives. This is used to
+ * ignore snapshots that arrive after the real response and to skip firing a real response identical to the replayed
+ * snapshot.
+ */
+final class FetcherSnapshotRequest {
+
+    static FetcherSnapshotRequest with(final String key,
+                                       final String url) {
+        return new FetcherSnapshotRequest(
+            key,
+            url
+        );
+    }
+
+    private FetcherSnapshotRequest(final String key,
+                                   final String url) {
+        this.key = key;
+        this.url = url;
+    }
+
+    /**
+     * Returns true if the {@link Snapshot} should be replayed, which is only possible before the real response arrives,
+     * and only if the {@link Snapshot} was for the same url.
+     */
+    boolean canReplay(final Snapshot snapshot) {
+        return false == this.responded &&
+            this.url.equals(snapshot.url());
+    }
+
+    /**
+     * Records a {@link Snapshot} that was successfully replayed, an identical real response will not be fired again.
+     */
+    void replayed(final Snapshot snapshot) {
+        this.replayed = snapshot;
+    }
+
+    /**
+     * Records the real response, saving it as the next {@link Snapshot} and returns true if it is different from any
+     * replayed {@link Snapshot} and should be fired.
+     */
+    boolean response(final String contentType,
+                     final Optional<String> body,
+                     final SnapshotContext context) {
+        this.responded = true;
+
+        boolean fire = true;
+
+        if (body.isPresent()) {
+            final Snapshot snapshot = Snapshot.with(
+                this.url,
+                contentType,
+                body.get()
+            );
+
+            fire = false == snapshot.equals(this.replayed);
+            if (fire) {
+                context.saveSnapshot(
+                    this.key,
+                    snapshot
+                );
+            }
+        }
+
+        return fire;
+    }
+
+    /**
+     * The key used to load and save the {@link Snapshot}, this may be shared by several urls, eg the last viewport
+     * window of a spreadsheet.
+     */
+    final String key;
+
+    private final String url;
+
+    /**
+     * The {@link Snapshot} that was replayed, or null if none was found, it arrived too late or firing it failed.
+     */
+    private Snapshot replayed;
+
+    /**
+     * Becomes true once the real response arrives.
+     */
+    private boolean responded;
+
+    @Override
+    public String toString() {
+        return this.key + " " + this.url;
+    }
+}
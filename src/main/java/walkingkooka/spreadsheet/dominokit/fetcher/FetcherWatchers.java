@@ -38,12 +38,41 @@ abstract class FetcherWatchers<W extends FetcherWatcher> implements FetcherWatch
      * Adds a new {@link SpreadsheetMetadataFetcherWatcher} which will receive all events until removed using the returned {@link Runnable}.
      */
     public final Runnable add(final W watcher) {
-        return this.addWatcher(
+        final Runnable remover = this.addWatcher(
             watcher,
             this.watchers
         );
+        this.size++;
+
+        return new Runnable() {
+            @Override
+            public void run() {
+                if (false == this.removed) {
+                    this.removed = true;
+                    FetcherWatchers.this.size--;
+                    remover.run();
+                }
+            }
+
+            private boolean removed;
+
+            @Override
+            public String toString() {
+                return remover.toString();
+            }
+        };
+    }
+
+    /**
+     * The number of watchers added with {@link #add(FetcherWatcher)} that have not been removed, useful to detect
+     * components that never remove their watchers.
+     */
+    public final int size() {
+        return this.size;
     }
 
+    private int size;
+
     /**
      * Added once {@link FetcherWatcher} are fired before any long term watchers added with {@link #add(FetcherWatcher)}.
      */
@@ -64,7 +64,7 @@ public final class FormHandlerFetcher extends Fetcher<FormHandlerFetcherWatcher>
 
     // GET /api/formHandler/*
     public void getInfoSet() {
-        this.get(URL);
+        this.getWithSnapshot(URL);
     }
 
     final static AbsoluteOrRelativeUrl URL = RelativeUrl.EMPTY_RELATIVE_URL.appendPath(SpreadsheetHttpServer.API_FORM_HANDLER);
@@ -105,6 +105,6 @@ public final class FormHandlerFetcher extends Fetcher<FormHandlerFetcherWatcher>
 
     @Override
     boolean isDebugEnabled() {
-        return FORM_HANDLER_FETCHER;
+        return FORM_HANDLER_FETCHER.isEnabled();
     }
 }
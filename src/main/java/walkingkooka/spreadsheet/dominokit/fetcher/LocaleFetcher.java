@@ -78,7 +78,7 @@ public final class LocaleFetcher extends Fetcher<LocaleFetcherWatcher> {
             throw new IllegalArgumentException("Invalid count " + count + " < 0");
         }
 
-        get(
+        this.getWithSnapshot(
             URL.appendPathName(
                 UrlPathName.WILDCARD
             ).setQuery(
@@ -138,6 +138,6 @@ public final class LocaleFetcher extends Fetcher<LocaleFetcherWatcher> {
 
     @Override
     boolean isDebugEnabled() {
-        return LOCALE_FETCHER;
+        return LOCALE_FETCHER.isEnabled();
     }
 }
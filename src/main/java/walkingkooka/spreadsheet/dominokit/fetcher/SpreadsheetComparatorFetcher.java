@@ -54,7 +54,7 @@ public final class SpreadsheetComparatorFetcher extends Fetcher<SpreadsheetCompa
 
     // GET /api/comparator/*
     public void getInfoSet() {
-        this.get(URL);
+        this.getWithSnapshot(URL);
     }
 
     private final static RelativeUrl URL = Url.EMPTY_RELATIVE_URL.appendPath(SpreadsheetHttpServer.API_COMPARATOR);
@@ -86,6 +86,6 @@ public final class SpreadsheetComparatorFetcher extends Fetcher<SpreadsheetCompa
 
     @Override
     boolean isDebugEnabled() {
-        return SPREADSHEET_COMPARATOR_FETCHER;
+        return SPREADSHEET_COMPARATOR_FETCHER.isEnabled();
     }
 }
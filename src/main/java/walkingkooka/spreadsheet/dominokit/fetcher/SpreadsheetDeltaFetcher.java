@@ -458,6 +458,24 @@ public final class SpreadsheetDeltaFetcher extends Fetcher<SpreadsheetDeltaFetch
         );
     }
 
+    // /api/spreadsheet/SpreadsheetId/cell/SpreadsheetExpressionReference/labels
+    //  1   2           3             4    5                              6
+    public static boolean isGetCellLabels(final HttpMethod method,
+                                          final UrlPath path) {
+        boolean match = HttpMethod.GET.equals(method);
+
+        if (match) {
+            final List<UrlPathName> names = path.namesList();
+            match = names.size() == 7 &&
+                names.get(6).equals(
+                    SpreadsheetServerLinkRelations.LABELS.toUrlPathName()
+                        .get()
+                );
+        }
+
+        return match;
+    }
+
     public void getQueryCells(final SpreadsheetId id,
                               final SpreadsheetCellRangeReference cells,
                               final SpreadsheetCellQueryRequest find) {
@@ -470,8 +488,11 @@ public final class SpreadsheetDeltaFetcher extends Fetcher<SpreadsheetDeltaFetch
         );
     }
 
-    // @VisibleForTesting
-    static RelativeUrl queryCellsUrl(final SpreadsheetId id,
+    /**
+     * Builds the url used by {@link #getQueryCells(SpreadsheetId, SpreadsheetCellRangeReference, SpreadsheetCellQueryRequest)},
+     * which may be used to match its response.
+     */
+    public static RelativeUrl queryCellsUrl(final SpreadsheetId id,
                                      final SpreadsheetCellRangeReference cells,
                                      final SpreadsheetCellQueryRequest find) {
         return SpreadsheetMetadataFetcher.url(id)
@@ -522,6 +543,24 @@ public final class SpreadsheetDeltaFetcher extends Fetcher<SpreadsheetDeltaFetch
         );
     }
 
+    // /api/spreadsheet/SpreadsheetId/cell/SpreadsheetExpressionReference/references
+    //  1   2           3             4    5                              6
+    public static boolean isGetCellReferences(final HttpMethod method,
+                                              final UrlPath path) {
+        boolean match = HttpMethod.GET.equals(method);
+
+        if (match) {
+            final List<UrlPathName> names = path.namesList();
+            match = names.size() == 7 &&
+                names.get(6).equals(
+                    SpreadsheetServerLinkRelations.REFERENCES.toUrlPathName()
+                        .get()
+                );
+        }
+
+        return match;
+    }
+
     /**
      * Invokes the end-point
      * <pre>
@@ -584,7 +623,7 @@ public final class SpreadsheetDeltaFetcher extends Fetcher<SpreadsheetDeltaFetch
                          final SpreadsheetViewport viewport) {
         // load cells for the new window...
         // http://localhost:3000/api/spreadsheet/1f/cell/*/force-recompute?home=A1&width=1712&height=765&includeFrozenColumnsRows=true
-        this.get(
+        this.getWithSnapshot(
             url(
                 id,
                 SpreadsheetSelection.ALL_CELLS,
@@ -593,7 +632,12 @@ public final class SpreadsheetDeltaFetcher extends Fetcher<SpreadsheetDeltaFetch
                 viewportQueryString(
                     viewport
                 )
-            )
+            ),
+            url(
+                id,
+                SpreadsheetSelection.ALL_CELLS,
+                FORCE_RECOMPUTE // path
+            ).value() // without the viewport query string, only keep the last window for each spreadsheet
         );
     }
 
@@ -724,6 +768,22 @@ public final class SpreadsheetDeltaFetcher extends Fetcher<SpreadsheetDeltaFetch
         );
     }
 
+    // /api/spreadsheet/SpreadsheetId/label/*
+    //  1   2           3             4     5
+    public static boolean isGetLabelMappings(final HttpMethod method,
+                                             final UrlPath path) {
+        boolean match = HttpMethod.GET.equals(method);
+
+        if (match) {
+            final List<UrlPathName> names = path.namesList();
+            match = names.size() == 6 &&
+                names.get(4).equals(SpreadsheetHateosResourceNames.LABEL.toUrlPathName()) &&
+                names.get(5).equals(UrlPathName.WILDCARD);
+        }
+
+        return match;
+    }
+
     public void patchCellsFormulaText(final SpreadsheetId id,
                                       final SpreadsheetSelection selection,
                                       final Map<SpreadsheetCellReference, String> cellToFormulaTexts) {
@@ -1267,6 +1327,6 @@ public final class SpreadsheetDeltaFetcher extends Fetcher<SpreadsheetDeltaFetch
 
     @Override
     boolean isDebugEnabled() {
-        return SPREADSHEET_DELTA_FETCHER;
+        return SPREADSHEET_DELTA_FETCHER.isEnabled();
     }
 }
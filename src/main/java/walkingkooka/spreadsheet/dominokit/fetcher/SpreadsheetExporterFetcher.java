@@ -52,7 +52,7 @@ public final class SpreadsheetExporterFetcher extends Fetcher<SpreadsheetExporte
 
     // GET /api/spreadsheet/SpreadsheetId/exporter/*
     public void getInfoSet() {
-        this.get(URL);
+        this.getWithSnapshot(URL);
     }
 
     static final RelativeUrl URL = Url.EMPTY_RELATIVE_URL.appendPath(SpreadsheetHttpServer.API_EXPORTER);
@@ -84,6 +84,6 @@ public final class SpreadsheetExporterFetcher extends Fetcher<SpreadsheetExporte
 
     @Override
     boolean isDebugEnabled() {
-        return SPREADSHEET_EXPORTER_FETCHER;
+        return SPREADSHEET_EXPORTER_FETCHER.isEnabled();
     }
 }
@@ -148,7 +148,7 @@ public final class SpreadsheetFormatterFetcher extends Fetcher<SpreadsheetFormat
 
     // GET /api/formatter/*
     public void getInfoSet() {
-        this.get(
+        this.getWithSnapshot(
             GET_INFO_SET
         );
     }
@@ -247,6 +247,6 @@ public final class SpreadsheetFormatterFetcher extends Fetcher<SpreadsheetFormat
 
     @Override
     boolean isDebugEnabled() {
-        return SPREADSHEET_FORMATTER_FETCHER;
+        return SPREADSHEET_FORMATTER_FETCHER.isEnabled();
     }
 }
@@ -52,7 +52,7 @@ public final class SpreadsheetImporterFetcher extends Fetcher<SpreadsheetImporte
 
     // GET /api/importer/*
     public void getInfoSet() {
-        this.get(URL);
+        this.getWithSnapshot(URL);
     }
 
     final static RelativeUrl URL = Url.EMPTY_RELATIVE_URL.appendPath(
@@ -86,6 +86,6 @@ public final class SpreadsheetImporterFetcher extends Fetcher<SpreadsheetImporte
 
     @Override
     boolean isDebugEnabled() {
-        return SPREADSHEET_IMPORTER_FETCHER;
+        return SPREADSHEET_IMPORTER_FETCHER.isEnabled();
     }
 }
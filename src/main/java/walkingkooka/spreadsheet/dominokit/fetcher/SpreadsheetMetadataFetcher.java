@@ -152,7 +152,7 @@ public final class SpreadsheetMetadataFetcher extends Fetcher<SpreadsheetMetadat
      * Loads an existing spreadsheet
      */
     public void getSpreadsheetMetadata(final SpreadsheetId id) {
-        this.get(
+        this.getWithSnapshot(
             url(id)
         );
     }
@@ -236,6 +236,8 @@ public final class SpreadsheetMetadataFetcher extends Fetcher<SpreadsheetMetadat
                 break;
             case "SpreadsheetMetadataSet":
                 watcher.onSpreadsheetMetadataSet(
+                    method,
+                    url,
                     this.parse(
                         body,
                         SpreadsheetMetadataSet.class
@@ -251,6 +253,6 @@ public final class SpreadsheetMetadataFetcher extends Fetcher<SpreadsheetMetadat
 
     @Override
     boolean isDebugEnabled() {
-        return SPREADSHEET_METADATA_FETCHER;
+        return SPREADSHEET_METADATA_FETCHER.isEnabled();
     }
 }
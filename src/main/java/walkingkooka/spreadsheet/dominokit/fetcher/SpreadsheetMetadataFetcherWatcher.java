@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.fetcher;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 
 import java.util.Set;
@@ -25,5 +27,7 @@ public interface SpreadsheetMetadataFetcherWatcher extends FetcherWatcher {
 
     void onSpreadsheetMetadata(final SpreadsheetMetadata metadata);
 
-    void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas);
+    void onSpreadsheetMetadataSet(final HttpMethod method,
+                                  final AbsoluteOrRelativeUrl url,
+                                  final Set<SpreadsheetMetadata> metadatas);
 }
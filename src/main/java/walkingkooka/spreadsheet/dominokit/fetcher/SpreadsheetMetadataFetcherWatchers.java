@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.fetcher;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 
 import java.util.Set;
@@ -41,9 +43,15 @@ public final class SpreadsheetMetadataFetcherWatchers extends FetcherWatchers<Sp
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         this.fire(
-            SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent.with(metadatas)
+            SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent.with(
+                method,
+                url,
+                metadatas
+            )
         );
     }
 
@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.fetcher;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 
 import java.util.Set;
@@ -26,24 +28,42 @@ import java.util.Set;
  */
 final class SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent extends FetcherWatchersEvent<SpreadsheetMetadataFetcherWatcher> {
 
-    static SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent with(final Set<SpreadsheetMetadata> metadatas) {
-        return new SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent(metadatas);
+    static SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent with(final HttpMethod method,
+                                                                             final AbsoluteOrRelativeUrl url,
+                                                                             final Set<SpreadsheetMetadata> metadatas) {
+        return new SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent(
+            method,
+            url,
+            metadatas
+        );
     }
 
-    private SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent(final Set<SpreadsheetMetadata> metadatas) {
+    private SpreadsheetMetadataFetcherWatchersSetSpreadsheetMetadataEvent(final HttpMethod method,
+                                                                          final AbsoluteOrRelativeUrl url,
+                                                                          final Set<SpreadsheetMetadata> metadatas) {
         super();
+        this.method = method;
+        this.url = url;
         this.metadatas = metadatas;
     }
 
     @Override
     void fire(final SpreadsheetMetadataFetcherWatcher watcher) {
-        watcher.onSpreadsheetMetadataSet(this.metadatas);
+        watcher.onSpreadsheetMetadataSet(
+            this.method,
+            this.url,
+            this.metadatas
+        );
     }
 
+    private final HttpMethod method;
+
+    private final AbsoluteOrRelativeUrl url;
+
     private final Set<SpreadsheetMetadata> metadatas;
 
     @Override
     public String toString() {
-        return this.metadatas.toString();
+        return this.method + " " + this.url + " " + this.metadatas;
     }
 }
@@ -84,7 +84,7 @@ public final class SpreadsheetParserFetcher extends Fetcher<SpreadsheetParserFet
 
     // GET /api/parser/*
     public void getInfoSet() {
-        this.get(
+        this.getWithSnapshot(
             GET_INFO_SET_URL
         );
     }
@@ -139,6 +139,6 @@ public final class SpreadsheetParserFetcher extends Fetcher<SpreadsheetParserFet
 
     @Override
     boolean isDebugEnabled() {
-        return SPREADSHEET_PARSER_FETCHER;
+        return SPREADSHEET_PARSER_FETCHER.isEnabled();
     }
 }
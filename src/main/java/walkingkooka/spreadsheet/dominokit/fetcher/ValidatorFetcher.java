@@ -64,7 +64,7 @@ public final class ValidatorFetcher extends Fetcher<ValidatorFetcherWatcher> {
 
     // GET /api/validator/*
     public void getInfoSet() {
-        this.get(URL);
+        this.getWithSnapshot(URL);
     }
 
     final static RelativeUrl URL = AbsoluteOrRelativeUrl.EMPTY_RELATIVE_URL.appendPath(SpreadsheetHttpServer.API_VALIDATOR);
@@ -105,6 +105,6 @@ public final class ValidatorFetcher extends Fetcher<ValidatorFetcherWatcher> {
 
     @Override
     boolean isDebugEnabled() {
-        return VALIDATOR_FETCHER;
+        return VALIDATOR_FETCHER.isEnabled();
     }
 }
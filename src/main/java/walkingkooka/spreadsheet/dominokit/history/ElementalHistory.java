@@ -25,6 +25,8 @@ import walkingkooka.text.CharSequences;
 
 import java.util.Objects;
 
+import static walkingkooka.spreadsheet.dominokit.log.Logging.ELEMENTAL_HISTORY;
+
 /**
  * A wrapper around a {@link DomGlobal#location}.
  */
@@ -50,7 +52,9 @@ final class ElementalHistory implements History {
                     final String newHash = "#" + token.urlFragment();
                     final String current = DomGlobal.location.hash;
                     if (false == current.equals(newHash)) {
-                        DomGlobal.console.trace("ElementalHistory.pushHistoryToken from " + CharSequences.quoteAndEscape(current) + " to " + CharSequences.quoteAndEscape(newHash));
+                        if (ELEMENTAL_HISTORY.isEnabled()) {
+                            DomGlobal.console.trace("ElementalHistory.pushHistoryToken from " + CharSequences.quoteAndEscape(current) + " to " + CharSequences.quoteAndEscape(newHash));
+                        }
                         DomGlobal.location.hash = newHash;
                     }
                 }
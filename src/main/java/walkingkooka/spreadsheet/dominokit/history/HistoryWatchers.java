@@ -18,6 +18,8 @@
 package walkingkooka.spreadsheet.dominokit.history;
 
 import walkingkooka.spreadsheet.dominokit.AppContext;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollector;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsSpan;
 import walkingkooka.watch.Watchers;
 
 public final class HistoryWatchers implements HistoryWatcher {
@@ -27,11 +29,40 @@ public final class HistoryWatchers implements HistoryWatcher {
     }
 
     public Runnable add(final HistoryWatcher watcher) {
-        return this.watchers.add(
+        final Runnable remover = this.watchers.add(
             (e) -> e.accept(watcher)
         );
+        this.size++;
+
+        return new Runnable() {
+            @Override
+            public void run() {
+                if (false == this.removed) {
+                    this.removed = true;
+                    HistoryWatchers.this.size--;
+                    remover.run();
+                }
+            }
+
+            private boolean removed;
+
+            @Override
+            public String toString() {
+                return remover.toString();
+            }
+        };
     }
 
+    /**
+     * The number of watchers added with {@link #add(HistoryWatcher)} that have not been removed, useful to detect
+     * components that never remove their watchers.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    private int size;
+
     public Runnable addOnce(final HistoryWatcher watcher) {
         return this.watchers.addOnce(
             (e) -> e.accept(watcher)
@@ -41,12 +72,18 @@ public final class HistoryWatchers implements HistoryWatcher {
     @Override
     public void onHistoryTokenChange(final HistoryToken previous,
                                      final AppContext context) {
-        this.watchers.accept(
-            HistoryWatchersEvent.with(
-                previous,
-                context
-            )
-        );
+        final MetricsSpan span = context.metricsCollector()
+            .span(MetricsCollector.HISTORY);
+        try {
+            this.watchers.accept(
+                HistoryWatchersEvent.with(
+                    previous,
+                    context
+                )
+            );
+        } finally {
+            span.end();
+        }
     }
 
     private final Watchers<HistoryWatchersEvent> watchers = Watchers.empty();
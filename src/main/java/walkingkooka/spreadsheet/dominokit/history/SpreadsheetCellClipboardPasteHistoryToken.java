@@ -17,16 +17,18 @@
 
 package walkingkooka.spreadsheet.dominokit.history;
 
+import walkingkooka.collect.list.Lists;
 import walkingkooka.net.UrlFragment;
 import walkingkooka.predicate.Predicates;
 import walkingkooka.spreadsheet.dominokit.AppContext;
 import walkingkooka.spreadsheet.dominokit.clipboard.ClipboardContextReadWatcher;
 import walkingkooka.spreadsheet.dominokit.clipboard.ClipboardTextItem;
 import walkingkooka.spreadsheet.dominokit.clipboard.SpreadsheetCellClipboardKind;
-import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
+import walkingkooka.spreadsheet.dominokit.clipboard.SpreadsheetCellClipboardPaste;
 import walkingkooka.spreadsheet.meta.SpreadsheetId;
 import walkingkooka.spreadsheet.meta.SpreadsheetName;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.value.SpreadsheetCellRange;
 import walkingkooka.spreadsheet.viewport.AnchoredSpreadsheetSelection;
 
 import java.util.List;
@@ -96,18 +98,21 @@ public final class SpreadsheetCellClipboardPasteHistoryToken extends Spreadsheet
                 @Override
                 public void onSuccess(final List<ClipboardTextItem> items) {
                     final SpreadsheetCellClipboardPasteHistoryToken that = SpreadsheetCellClipboardPasteHistoryToken.this;
-                    final SpreadsheetDeltaFetcher fetcher = context.spreadsheetDeltaFetcher();
-                    final SpreadsheetId spreadsheetId1 = that.spreadsheetId();
-                    final SpreadsheetCellClipboardKind kind = that.kind();
 
+                    final List<SpreadsheetCellRange> ranges = Lists.array();
                     for (final ClipboardTextItem item : items) {
-                        kind.saveOrUpdateCells(
-                            fetcher,
-                            spreadsheetId1,
+                        ranges.add(
                             item.toSpreadsheetCellRange(context)
                                 .move(cellRange)
                         );
                     }
+
+                    SpreadsheetCellClipboardPaste.with(
+                        that.kind(),
+                        that.spreadsheetId(),
+                        ranges,
+                        context
+                    ).start();
                 }
 
                 @Override
@@ -103,7 +103,9 @@ public final class SpreadsheetListDeleteHistoryToken extends SpreadsheetIdHistor
                 }
 
                 @Override
-                public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+                public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                                     final AbsoluteOrRelativeUrl url,
+                                                     final Set<SpreadsheetMetadata> metadatas) {
                     // ignore
                 }
 
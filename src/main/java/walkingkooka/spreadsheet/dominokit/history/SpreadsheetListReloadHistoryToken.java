@@ -66,7 +66,7 @@ public final class SpreadsheetListReloadHistoryToken extends SpreadsheetListHist
             this.clearAction()
         );
 
-        // SpreadsheetListSelectHistoryToken#onHistoryTokenChange will do the actual reloading of data
+        // SpreadsheetListDialogComponent will discard and reload its pages
     }
 
     // HistoryTokenVisitor..............................................................................................
@@ -20,8 +20,6 @@ package walkingkooka.spreadsheet.dominokit.history;
 import walkingkooka.net.UrlFragment;
 import walkingkooka.spreadsheet.dominokit.AppContext;
 
-import java.util.OptionalInt;
-
 /**
  * A token that represents a spreadsheet list files dialog.
  * <pre>
@@ -61,16 +59,7 @@ public final class SpreadsheetListSelectHistoryToken extends SpreadsheetListHist
     @Override
     public void onHistoryTokenChange(final HistoryToken previous,
                                      final AppContext context) {
-        final HistoryTokenOffsetAndCount offsetAndCount = this.offsetAndCount;
-        final OptionalInt count = offsetAndCount.count();
-
-        context.spreadsheetMetadataFetcher()
-            .getSpreadsheetMetadatas(
-                offsetAndCount.offset(),
-                count.isPresent() ?
-                    count :
-                    context.spreadsheetListDialogComponentDefaultCount()
-            );
+        // NOP SpreadsheetListDialogComponent loads pages of spreadsheets as its table is scrolled
     }
 
     // HistoryTokenVisitor..............................................................................................
@@ -179,7 +179,7 @@ public final class SpreadsheetColumnRowInsertCountDialogComponent implements Dia
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_COLUMN_ROW_INSERT_COUNT_DIALOG_COMPONENT;
+        return SPREADSHEET_COLUMN_ROW_INSERT_COUNT_DIALOG_COMPONENT.isEnabled();
     }
 
     // Object..........................................................................................................
@@ -156,7 +156,7 @@ public final class SpreadsheetKeyboardDialogComponent implements DialogComponent
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_KEYBOARD_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_KEYBOARD_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     private final SpreadsheetKeyboardDialogComponentContext context;
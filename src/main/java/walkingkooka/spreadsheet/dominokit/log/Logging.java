@@ -18,125 +18,252 @@
 package walkingkooka.spreadsheet.dominokit.log;
 
 /**
- * Global / centralised constants that turn on/off logging for components.
+ * Global / centralised {@link LoggingCategory categories} that turn on/off logging for components. All are disabled
+ * by default, and may be enabled at runtime with the <code>log</code> query string parameter, eg
+ * <code>?log=FETCHER,SPREADSHEET_VIEWPORT_COMPONENT</code> or by calling <code>spreadsheetLog("FETCHER", true)</code>
+ * from the browser console.
  */
 public interface Logging {
 
-    boolean DIALOG_COMPONENT = false;
+    LoggingCategory DIALOG_COMPONENT = LoggingCategory.with("DIALOG_COMPONENT");
 
-    boolean FETCHER = false;
+    LoggingCategory FETCHER = LoggingCategory.with("FETCHER");
 
-    boolean VIEWPORT = false;
+    LoggingCategory VIEWPORT = LoggingCategory.with("VIEWPORT");
 
-    boolean APP_HISTORY_CONTEXT_HISTORY_WATCHER = true;
+    LoggingCategory APP = LoggingCategory.with("APP");
 
-    boolean CONVERTER_FETCHER = FETCHER | false;
+    LoggingCategory APP_HISTORY_CONTEXT_HISTORY_WATCHER = LoggingCategory.with("APP_HISTORY_CONTEXT_HISTORY_WATCHER");
 
-    boolean CONVERTER_SELECTOR_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory CONVERTER_FETCHER = LoggingCategory.with(
+        "CONVERTER_FETCHER",
+        FETCHER
+    );
 
-    boolean CURRENCY_FETCHER = FETCHER | false;
+    LoggingCategory CONVERTER_SELECTOR_DIALOG_COMPONENT = LoggingCategory.with(
+        "CONVERTER_SELECTOR_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean DATE_TIME_SYMBOLS_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory CURRENCY_FETCHER = LoggingCategory.with(
+        "CURRENCY_FETCHER",
+        FETCHER
+    );
 
-    boolean DATE_TIME_SYMBOLS_FETCHER = FETCHER | false;
+    LoggingCategory DATE_TIME_SYMBOLS_DIALOG_COMPONENT = LoggingCategory.with(
+        "DATE_TIME_SYMBOLS_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean DECIMAL_NUMBER_SYMBOLS_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory DATE_TIME_SYMBOLS_FETCHER = LoggingCategory.with(
+        "DATE_TIME_SYMBOLS_FETCHER",
+        FETCHER
+    );
 
-    boolean DECIMAL_NUMBER_SYMBOLS_FETCHER = FETCHER | false;
+    LoggingCategory DECIMAL_NUMBER_SYMBOLS_DIALOG_COMPONENT = LoggingCategory.with(
+        "DECIMAL_NUMBER_SYMBOLS_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean EXPRESSION_FUNCTION_FETCHER = FETCHER | false;
+    LoggingCategory DECIMAL_NUMBER_SYMBOLS_FETCHER = LoggingCategory.with(
+        "DECIMAL_NUMBER_SYMBOLS_FETCHER",
+        FETCHER
+    );
 
-    boolean FORM_HANDLER_FETCHER = FETCHER | false;
+    LoggingCategory ELEMENTAL_HISTORY = LoggingCategory.with("ELEMENTAL_HISTORY");
 
-    boolean FORM_HANDLER_SELECTOR_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory EXPRESSION_FUNCTION_FETCHER = LoggingCategory.with(
+        "EXPRESSION_FUNCTION_FETCHER",
+        FETCHER
+    );
 
-    boolean JAR_ENTRY_INFO_LIST_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory FORM_HANDLER_FETCHER = LoggingCategory.with(
+        "FORM_HANDLER_FETCHER",
+        FETCHER
+    );
 
-    boolean LOCALE_FETCHER = FETCHER | false;
+    LoggingCategory FORM_HANDLER_SELECTOR_DIALOG_COMPONENT = LoggingCategory.with(
+        "FORM_HANDLER_SELECTOR_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean PLUGIN_ALIAS_SET_LIKE_SELECTOR_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory JAR_ENTRY_INFO_LIST_DIALOG_COMPONENT = LoggingCategory.with(
+        "JAR_ENTRY_INFO_LIST_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
+
+    LoggingCategory LOCALE_FETCHER = LoggingCategory.with(
+        "LOCALE_FETCHER",
+        FETCHER
+    );
+
+    LoggingCategory PLUGIN_ALIAS_SET_LIKE_SELECTOR_DIALOG_COMPONENT = LoggingCategory.with(
+        "PLUGIN_ALIAS_SET_LIKE_SELECTOR_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean PLUGIN_FETCHER = FETCHER | false;
+    LoggingCategory PLUGIN_FETCHER = LoggingCategory.with(
+        "PLUGIN_FETCHER",
+        FETCHER
+    );
 
-    boolean PLUGIN_FILE_VIEW_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory PLUGIN_FILE_VIEW_DIALOG_COMPONENT = LoggingCategory.with(
+        "PLUGIN_FILE_VIEW_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean PLUGIN_NAME_SET_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory PLUGIN_NAME_SET_DIALOG_COMPONENT = LoggingCategory.with(
+        "PLUGIN_NAME_SET_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean PLUGIN_SET_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory PLUGIN_SET_DIALOG_COMPONENT = LoggingCategory.with(
+        "PLUGIN_SET_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean PLUGIN_UPLOAD_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory PLUGIN_UPLOAD_DIALOG_COMPONENT = LoggingCategory.with(
+        "PLUGIN_UPLOAD_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SCHEDULER_CAN_GIVE_FOCUS = false;
+    LoggingCategory REFRESH_SCHEDULER = LoggingCategory.with("REFRESH_SCHEDULER");
 
-    boolean SPREADSHEET_APP_LAYOUT = false;
+    LoggingCategory SCHEDULER_CAN_GIVE_FOCUS = LoggingCategory.with("SCHEDULER_CAN_GIVE_FOCUS");
 
-    boolean SPREADSHEET_CELL_QUERY_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SNAPSHOT = LoggingCategory.with("SNAPSHOT");
 
-    boolean SPREADSHEET_CELL_REFERENCES_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_APP_LAYOUT = LoggingCategory.with("SPREADSHEET_APP_LAYOUT");
 
-    boolean SPREADSHEET_CELL_SORT_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_CELL_CLIPBOARD_PASTE = LoggingCategory.with("SPREADSHEET_CELL_CLIPBOARD_PASTE");
 
-    boolean SPREADSHEET_CELL_VALUE_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_CELL_QUERY_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_CELL_QUERY_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_COLUMN_ROW_INSERT_COUNT_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_CELL_REFERENCES_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_CELL_REFERENCES_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_COMPARATOR_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_CELL_SORT_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_CELL_SORT_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_COMPARATOR_NAME_LIST_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_CELL_VALUE_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_CELL_VALUE_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_CURRENCY_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_COLUMN_ROW_INSERT_COUNT_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_COLUMN_ROW_INSERT_COUNT_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_DELTA_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_COMPARATOR_FETCHER = LoggingCategory.with(
+        "SPREADSHEET_COMPARATOR_FETCHER",
+        FETCHER
+    );
 
-    boolean SPREADSHEET_EXPORTER_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_COMPARATOR_NAME_LIST_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_COMPARATOR_NAME_LIST_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_FORMATTER_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_CURRENCY_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_CURRENCY_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_FORMATTER_SELECTOR_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_DELTA_FETCHER = LoggingCategory.with(
+        "SPREADSHEET_DELTA_FETCHER",
+        FETCHER
+    );
 
-    boolean SPREADSHEET_IMPORTER_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_EXPORTER_FETCHER = LoggingCategory.with(
+        "SPREADSHEET_EXPORTER_FETCHER",
+        FETCHER
+    );
 
-    boolean SPREADSHEET_KEYBOARD_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_FORMATTER_FETCHER = LoggingCategory.with(
+        "SPREADSHEET_FORMATTER_FETCHER",
+        FETCHER
+    );
 
-    boolean SPREADSHEET_KEYBOARD_EVENT_LISTENER = false;
+    LoggingCategory SPREADSHEET_FORMATTER_SELECTOR_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_FORMATTER_SELECTOR_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_LABEL_MAPPING_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_IMPORTER_FETCHER = LoggingCategory.with(
+        "SPREADSHEET_IMPORTER_FETCHER",
+        FETCHER
+    );
 
-    boolean SPREADSHEET_LABEL_MAPPING_LIST_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_KEYBOARD_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_KEYBOARD_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_LIST_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_KEYBOARD_EVENT_LISTENER = LoggingCategory.with("SPREADSHEET_KEYBOARD_EVENT_LISTENER");
 
-    boolean SPREADSHEET_LOCALE_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_LABEL_MAPPING_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_LABEL_MAPPING_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_METADATA_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_LABEL_MAPPING_LIST_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_LABEL_MAPPING_LIST_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_METADATA_HISTORY_TOKEN_AWARE_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_LIST_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_LIST_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_NAME_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_LOCALE_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_LOCALE_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_NAVIGATE_COMPONENT_LIFECYCLE = false;
+    LoggingCategory SPREADSHEET_METADATA_FETCHER = LoggingCategory.with(
+        "SPREADSHEET_METADATA_FETCHER",
+        FETCHER
+    );
 
-    boolean SPREADSHEET_PARSER_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_METADATA_HISTORY_TOKEN_AWARE_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_METADATA_HISTORY_TOKEN_AWARE_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_PARSER_SELECTOR_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_NAME_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_NAME_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_TOOLBAR_COMPONENT = false;
+    LoggingCategory SPREADSHEET_NAVIGATE_COMPONENT_LIFECYCLE = LoggingCategory.with("SPREADSHEET_NAVIGATE_COMPONENT_LIFECYCLE");
 
-    boolean SPREADSHEET_TOOLBAR_COMPONENT_ITEM = false;
+    LoggingCategory SPREADSHEET_PARSER_FETCHER = LoggingCategory.with(
+        "SPREADSHEET_PARSER_FETCHER",
+        FETCHER
+    );
 
-    boolean SPREADSHEET_VIEWPORT_CACHE = false;
+    LoggingCategory SPREADSHEET_PARSER_SELECTOR_DIALOG_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_PARSER_SELECTOR_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 
-    boolean SPREADSHEET_VIEWPORT_COMPONENT = VIEWPORT | false;
+    LoggingCategory SPREADSHEET_TOOLBAR_COMPONENT = LoggingCategory.with("SPREADSHEET_TOOLBAR_COMPONENT");
 
-    boolean SPREADSHEET_VIEWPORT_COMPONENT_TABLE = VIEWPORT | false;
+    LoggingCategory SPREADSHEET_TOOLBAR_COMPONENT_ITEM = LoggingCategory.with("SPREADSHEET_TOOLBAR_COMPONENT_ITEM");
 
-    boolean SPREADSHEET_VIEWPORT_FORMULA_COMPONENT = false;
+    LoggingCategory SPREADSHEET_VIEWPORT_CACHE = LoggingCategory.with("SPREADSHEET_VIEWPORT_CACHE");
 
-    boolean SPREADSHEET_VIEWPORT_SCROLLBAR_COMPONENT = false;
+    LoggingCategory SPREADSHEET_VIEWPORT_COMPONENT = LoggingCategory.with(
+        "SPREADSHEET_VIEWPORT_COMPONENT",
+        VIEWPORT
+    );
 
-    boolean SPREADSHEET_TEXT_STYLE_COMPONENT_LIFECYCLE = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_VIEWPORT_COMPONENT_TABLE = LoggingCategory.with(
+        "SPREADSHEET_VIEWPORT_COMPONENT_TABLE",
+        VIEWPORT
+    );
 
-    boolean VALIDATOR_FETCHER = FETCHER | false;
+    LoggingCategory SPREADSHEET_VIEWPORT_FORMULA_COMPONENT = LoggingCategory.with("SPREADSHEET_VIEWPORT_FORMULA_COMPONENT");
 
-    boolean VALIDATOR_SELECTOR_DIALOG_COMPONENT = DIALOG_COMPONENT | false;
+    LoggingCategory SPREADSHEET_VIEWPORT_SCROLLBAR_COMPONENT = LoggingCategory.with("SPREADSHEET_VIEWPORT_SCROLLBAR_COMPONENT");
+
+    LoggingCategory SPREADSHEET_TEXT_STYLE_COMPONENT_LIFECYCLE = LoggingCategory.with(
+        "SPREADSHEET_TEXT_STYLE_COMPONENT_LIFECYCLE",
+        DIALOG_COMPONENT
+    );
+
+    LoggingCategory VALIDATOR_FETCHER = LoggingCategory.with(
+        "VALIDATOR_FETCHER",
+        FETCHER
+    );
+
+    LoggingCategory VALIDATOR_SELECTOR_DIALOG_COMPONENT = LoggingCategory.with(
+        "VALIDATOR_SELECTOR_DIALOG_COMPONENT",
+        DIALOG_COMPONENT
+    );
 }
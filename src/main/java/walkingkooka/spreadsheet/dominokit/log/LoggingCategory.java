@@ -0,0 +1,186 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.log;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.UrlParameterName;
+import walkingkooka.net.UrlQueryString;
+import walkingkooka.text.CharSequences;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A named switch that enables logging for a component, which may be changed at runtime, either from the URL query
+ * string when the app starts or by calling a function from the browser console. A category is also enabled when its
+ * parent is enabled, so enabling <code>FETCHER</code> enables logging for all fetchers.
+ */
+public final class LoggingCategory {
+
+    /**
+     * The separator between category names in {@link #setEnabled(String)}.
+     */
+    public final static char SEPARATOR = ',';
+
+    static LoggingCategory with(final String name) {
+        return register(
+            name,
+            null
+        );
+    }
+
+    static LoggingCategory with(final String name,
+                                final LoggingCategory parent) {
+        return register(
+            name,
+            Objects.requireNonNull(parent, "parent")
+        );
+    }
+
+    private static LoggingCategory register(final String name,
+                                            final LoggingCategory parent) {
+        CharSequences.failIfNullOrEmpty(name, "name");
+
+        final LoggingCategory category = new LoggingCategory(
+            name,
+            parent,
+            Boolean.TRUE.equals(REQUESTED.get(name))
+        );
+        CATEGORIES.put(
+            name,
+            category
+        );
+        return category;
+    }
+
+    /**
+     * Finds the category with the given name.
+     */
+    public static Optional<LoggingCategory> find(final String name) {
+        return Optional.ofNullable(
+            CATEGORIES.get(name)
+        );
+    }
+
+    /**
+     * Returns all categories that have been created, sorted by name.
+     */
+    public static List<LoggingCategory> all() {
+        final List<LoggingCategory> all = Lists.array();
+        all.addAll(CATEGORIES.values());
+        return Lists.readOnly(all);
+    }
+
+    /**
+     * Enables the categories in a comma separated list of names, such as the value of a query string parameter.
+     * Names for categories that have not yet been created are remembered and applied when they are created.
+     */
+    public static void setEnabled(final String names) {
+        Objects.requireNonNull(names, "names");
+
+        for (final String name : names.split(String.valueOf(SEPARATOR))) {
+            final String trimmed = name.trim();
+            if (false == trimmed.isEmpty()) {
+                setEnabled(
+                    trimmed,
+                    true
+                );
+            }
+        }
+    }
+
+    /**
+     * Enables the categories given by any <code>log</code> parameters in the query string, with or without a leading
+     * question mark, eg <code>?log=FETCHER,VIEWPORT</code>.
+     */
+    public static void setEnabledFromQueryString(final String queryString) {
+        Objects.requireNonNull(queryString, "queryString");
+
+        UrlQueryString.parse(
+                queryString.startsWith("?") ?
+                    queryString.substring(1) :
+                    queryString
+            ).parameter(QUERY_PARAMETER)
+            .ifPresent(LoggingCategory::setEnabled);
+    }
+
+    private final static UrlParameterName QUERY_PARAMETER = UrlParameterName.with("log");
+
+    /**
+     * Enables or disables the category with the given name.
+     */
+    public static void setEnabled(final String name,
+                                  final boolean enabled) {
+        CharSequences.failIfNullOrEmpty(name, "name");
+
+        REQUESTED.put(
+            name,
+            enabled
+        );
+
+        final LoggingCategory category = CATEGORIES.get(name);
+        if (null != category) {
+            category.enabled = enabled;
+        }
+    }
+
+    /**
+     * All created categories by name.
+     */
+    private final static Map<String, LoggingCategory> CATEGORIES = Maps.sorted();
+
+    /**
+     * Requests to enable or disable categories, including those that have not been created.
+     */
+    private final static Map<String, Boolean> REQUESTED = Maps.sorted();
+
+    private LoggingCategory(final String name,
+                            final LoggingCategory parent,
+                            final boolean enabled) {
+        this.name = name;
+        this.parent = parent;
+        this.enabled = enabled;
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    private final String name;
+
+    /**
+     * Returns true if this category or its parent is enabled. Callers should test this before building any message.
+     */
+    public boolean isEnabled() {
+        final LoggingCategory parent = this.parent;
+        return this.enabled ||
+            (null != parent && parent.isEnabled());
+    }
+
+    private boolean enabled;
+
+    private final LoggingCategory parent;
+
+    @Override
+    public String toString() {
+        return this.name + "=" + this.isEnabled();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.log;
+
+import jsinterop.annotations.JsFunction;
+
+/**
+ * A function added to the window, so {@link LoggingCategory categories} can be enabled or disabled from the browser
+ * console, eg <code>spreadsheetLog("FETCHER", true)</code>.
+ */
+@JsFunction
+public interface LoggingConsoleFunction {
+
+    /**
+     * The name of the function on the window.
+     */
+    String NAME = "spreadsheetLog";
+
+    void onInvoke(final String category,
+                  final boolean enabled);
+}
@@ -19,6 +19,8 @@ package walkingkooka.spreadsheet.dominokit.log;
 
 import walkingkooka.Context;
 
+import java.util.function.Supplier;
+
 /**
  * A context that provides several logging methods.
  */
@@ -26,6 +28,18 @@ public interface LoggingContext extends Context {
 
     void debug(final Object... values);
 
+    /**
+     * Logs a DEBUG level message if the {@link LoggingCategory} is enabled, the message is only built when enabled.
+     */
+    default void debug(final LoggingCategory category,
+                       final Supplier<?> message) {
+        if (category.isEnabled()) {
+            this.debug(
+                message.get()
+            );
+        }
+    }
+
     void info(final Object... values);
 
     void warn(final Object... values);
@@ -35,6 +35,17 @@ public final class LoggingContexts implements PublicStaticHelper {
         return new FakeLoggingContext();
     }
 
+    /**
+     * {@see RecentLoggingContext}
+     */
+    public static LoggingContext recent(final LoggingContext context,
+                                        final int capacity) {
+        return RecentLoggingContext.with(
+            context,
+            capacity
+        );
+    }
+
     /**
      * Stop creation
      */
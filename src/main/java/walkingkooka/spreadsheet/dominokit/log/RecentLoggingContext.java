@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.log;
+
+import java.util.Objects;
+
+/**
+ * A {@link LoggingContext} that keeps the most recent entries in a ring buffer, and logs them before each error,
+ * to give some history of what happened before a failure. Entries are only recorded for messages that are actually
+ * logged, so disabled {@link LoggingCategory categories} cost nothing.
+ */
+final class RecentLoggingContext implements LoggingContext {
+
+    static RecentLoggingContext with(final LoggingContext context,
+                                     final int capacity) {
+        Objects.requireNonNull(context, "context");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity + " <= 0");
+        }
+
+        return new RecentLoggingContext(
+            context,
+            capacity
+        );
+    }
+
+    private RecentLoggingContext(final LoggingContext context,
+                                 final int capacity) {
+        this.context = context;
+        this.entries = new String[capacity];
+    }
+
+    @Override
+    public void debug(final Object... values) {
+        this.record(
+            "DEBUG",
+            values
+        );
+        this.context.debug(values);
+    }
+
+    @Override
+    public void info(final Object... values) {
+        this.record(
+            "INFO",
+            values
+        );
+        this.context.info(values);
+    }
+
+    @Override
+    public void warn(final Object... values) {
+        this.record(
+            "WARN",
+            values
+        );
+        this.context.warn(values);
+    }
+
+    /**
+     * Logs the recent entries, followed by the error.
+     */
+    @Override
+    public void error(final Object... values) {
+        final String recent = this.recent();
+        if (false == recent.isEmpty()) {
+            this.context.info("Recent log entries before error\n" + recent);
+        }
+        this.context.error(values);
+    }
+
+    private void record(final String level,
+                        final Object... values) {
+        final StringBuilder b = new StringBuilder();
+        b.append(level);
+
+        for (final Object value : values) {
+            b.append(' ')
+                .append(value);
+        }
+
+        final String[] entries = this.entries;
+        entries[this.next] = b.toString();
+        this.next = (this.next + 1) % entries.length;
+    }
+
+    /**
+     * Returns the recorded entries, oldest first, separated by new lines and then clears them, so the same entries
+     * are not logged again by the next error.
+     */
+    String recent() {
+        final String[] entries = this.entries;
+        final int length = entries.length;
+
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            final int index = (this.next + i) % length;
+            final String entry = entries[index];
+            if (null != entry) {
+                if (b.length() > 0) {
+                    b.append('\n');
+                }
+                b.append(entry);
+                entries[index] = null;
+            }
+        }
+
+        return b.toString();
+    }
+
+    /**
+     * A ring buffer holding recent entries, the oldest is at {@link #next} unless null.
+     */
+    private final String[] entries;
+
+    private int next;
+
+    private final LoggingContext context;
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -99,7 +99,7 @@ public final class SpreadsheetMetadataHistoryTokenAwareComponentLifecycle<E exte
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_METADATA_HISTORY_TOKEN_AWARE_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_METADATA_HISTORY_TOKEN_AWARE_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // isEditing........................................................................................................
@@ -24,6 +24,8 @@ import walkingkooka.convert.provider.ConverterSelector;
 import walkingkooka.datetime.DateTimeSymbols;
 import walkingkooka.environment.AuditInfo;
 import walkingkooka.math.DecimalNumberSymbols;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.plugin.PluginNameSet;
 import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorAliasSet;
 import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorNameList;
@@ -663,7 +665,9 @@ public final class SpreadsheetMetadataPanelComponent implements SpreadsheetFormC
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // IGNORE
     }
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import elemental2.dom.DomGlobal;
+import walkingkooka.collect.map.Maps;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A {@link MetricsCollector} that keeps counters and a {@link MetricsHistogram} for each stage. When performance entries
+ * are enabled each {@link MetricsSpan} also adds a <code>performance.mark</code> at its start and end and a
+ * <code>performance.measure</code> named after the stage, so stages appear in the browser performance timeline.
+ */
+final class BasicMetricsCollector implements MetricsCollector {
+
+    /**
+     * Prefix added to all marks and measures, to avoid clashing with entries from other libraries.
+     */
+    final static String PERFORMANCE_PREFIX = "spreadsheet-";
+
+    static BasicMetricsCollector with(final DoubleSupplier now,
+                                      final boolean performanceEntries) {
+        return new BasicMetricsCollector(
+            Objects.requireNonNull(now, "now"),
+            performanceEntries
+        );
+    }
+
+    private BasicMetricsCollector(final DoubleSupplier now,
+                                  final boolean performanceEntries) {
+        this.now = now;
+        this.performanceEntries = performanceEntries;
+        this.counters = Maps.sorted();
+        this.histograms = Maps.sorted();
+    }
+
+    @Override
+    public void increment(final String counter) {
+        this.add(
+            counter,
+            1
+        );
+    }
+
+    @Override
+    public void add(final String counter,
+                    final long amount) {
+        Objects.requireNonNull(counter, "counter");
+
+        final Long count = this.counters.get(counter);
+        this.counters.put(
+            counter,
+            null == count ?
+                amount :
+                count + amount
+        );
+    }
+
+    @Override
+    public void record(final String stage,
+                       final double millis) {
+        Objects.requireNonNull(stage, "stage");
+
+        MetricsHistogram histogram = this.histograms.get(stage);
+        if (null == histogram) {
+            histogram = MetricsHistogram.empty();
+            this.histograms.put(
+                stage,
+                histogram
+            );
+        }
+
+        if (histogram.add(millis) && this.performanceEntries) {
+            // the histogram has replaced all its samples, drop the measures so the performance buffer doesnt grow forever
+            DomGlobal.performance.clearMeasures(PERFORMANCE_PREFIX + stage);
+        }
+    }
+
+    @Override
+    public MetricsSpan span(final String stage) {
+        Objects.requireNonNull(stage, "stage");
+
+        final String startMark;
+        if (this.performanceEntries) {
+            startMark = PERFORMANCE_PREFIX + stage + "-" + this.nextSpanId++;
+            DomGlobal.performance.mark(startMark);
+        } else {
+            startMark = null;
+        }
+
+        return new MetricsSpan() {
+            @Override
+            public void end() {
+                if (false == this.ended) {
+                    this.ended = true;
+                    BasicMetricsCollector.this.end(
+                        stage,
+                        this.start,
+                        startMark
+                    );
+                }
+            }
+
+            private final double start = BasicMetricsCollector.this.now.getAsDouble();
+
+            private boolean ended;
+
+            @Override
+            public String toString() {
+                return stage;
+            }
+        };
+    }
+
+    private void end(final String stage,
+                     final double start,
+                     final String startMark) {
+        this.record(
+            stage,
+            this.now.getAsDouble() - start
+        );
+
+        if (null != startMark) {
+            final String endMark = startMark + "-end";
+            DomGlobal.performance.mark(endMark);
+            DomGlobal.performance.measure(
+                PERFORMANCE_PREFIX + stage,
+                startMark,
+                endMark
+            );
+            DomGlobal.performance.clearMarks(startMark);
+            DomGlobal.performance.clearMarks(endMark);
+        }
+    }
+
+    /**
+     * Used to create unique mark names when several spans for the same stage overlap, such as concurrent fetches.
+     */
+    private int nextSpanId;
+
+    /**
+     * Returns the current time in milliseconds.
+     */
+    private final DoubleSupplier now;
+
+    private final boolean performanceEntries;
+
+    @Override
+    public Map<String, Long> counters() {
+        return Maps.readOnly(this.counters);
+    }
+
+    private final Map<String, Long> counters;
+
+    @Override
+    public Map<String, MetricsHistogram> histograms() {
+        return Maps.readOnly(this.histograms);
+    }
+
+    private final Map<String, MetricsHistogram> histograms;
+
+    @Override
+    public String toString() {
+        return this.counters + " " + this.histograms;
+    }
+}
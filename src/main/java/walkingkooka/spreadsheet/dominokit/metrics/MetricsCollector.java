@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import java.util.Map;
+
+/**
+ * Collects counters and timing histograms for the stages between a user input and the viewport being rendered.
+ */
+public interface MetricsCollector {
+
+    /**
+     * A key press or click within the viewport, until its {@link walkingkooka.spreadsheet.dominokit.history.HistoryToken} is pushed.
+     */
+    String INPUT = "input";
+
+    /**
+     * A {@link walkingkooka.spreadsheet.dominokit.history.HistoryWatcher} reacting to a new history token.
+     */
+    String HISTORY = "history";
+
+    /**
+     * A fetch, from the request being sent until the response text is available.
+     */
+    String FETCH = "fetch";
+
+    /**
+     * A counter of fetches that completed with a successful status.
+     */
+    String FETCH_SUCCESS = "fetch-success";
+
+    /**
+     * A counter of fetches that completed with a non 2xx status.
+     */
+    String FETCH_FAILURE = "fetch-failure";
+
+    /**
+     * A counter of fetches that failed without a response, such as a network error.
+     */
+    String FETCH_ERROR = "fetch-error";
+
+    /**
+     * A counter holding the total UTF-16 chars of the decoded text of all successful responses. This is not the number
+     * of bytes on the wire, which may be compressed or hold multi-byte characters. Divided by the {@link #FETCH_SUCCESS}
+     * count this gives the average decoded response length.
+     */
+    String FETCH_RESPONSE_TEXT_CHARS = "fetch-response-text-chars";
+
+    /**
+     * Parsing the response text into a {@link walkingkooka.tree.json.JsonNode}.
+     */
+    String JSON_PARSE = "json-parse";
+
+    /**
+     * Unmarshalling a {@link walkingkooka.tree.json.JsonNode} into a value.
+     */
+    String UNMARSHALL = "unmarshall";
+
+    /**
+     * Updating the {@link walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportCache} with a {@link walkingkooka.spreadsheet.engine.SpreadsheetDelta}.
+     */
+    String CACHE_UPDATE = "cache-update";
+
+    /**
+     * Rendering the viewport table or canvas.
+     */
+    String RENDER = "render";
+
+    /**
+     * Increments the counter with the given name.
+     */
+    void increment(final String counter);
+
+    /**
+     * Adds the given amount to the counter with the given name.
+     */
+    void add(final String counter,
+             final long amount);
+
+    /**
+     * Records a single duration in milliseconds for the given stage.
+     */
+    void record(final String stage,
+                final double millis);
+
+    /**
+     * Starts timing the given stage, the duration is recorded when {@link MetricsSpan#end()} is called.
+     */
+    MetricsSpan span(final String stage);
+
+    /**
+     * Returns a read only view of all counters sorted by name.
+     */
+    Map<String, Long> counters();
+
+    /**
+     * Returns a read only view of all stage histograms sorted by name.
+     */
+    Map<String, MetricsHistogram> histograms();
+}
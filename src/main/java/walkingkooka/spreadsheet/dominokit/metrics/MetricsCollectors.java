@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import elemental2.dom.DomGlobal;
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.function.DoubleSupplier;
+
+public final class MetricsCollectors implements PublicStaticHelper {
+
+    /**
+     * {@see BasicMetricsCollector}
+     */
+    public static MetricsCollector basic(final DoubleSupplier now) {
+        return BasicMetricsCollector.with(
+            now,
+            false // performanceEntries
+        );
+    }
+
+    /**
+     * {@see NopMetricsCollector}
+     */
+    public static MetricsCollector nop() {
+        return NopMetricsCollector.INSTANCE;
+    }
+
+    /**
+     * {@see BasicMetricsCollector} which also adds performance marks and measures.
+     */
+    public static MetricsCollector performance() {
+        return BasicMetricsCollector.with(
+            () -> DomGlobal.performance.now(),
+            true // performanceEntries
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private MetricsCollectors() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent durations for a single stage, so percentiles reflect current rather than historic behaviour.
+ */
+public final class MetricsHistogram {
+
+    /**
+     * The number of recent samples kept.
+     */
+    public final static int CAPACITY = 256;
+
+    static MetricsHistogram empty() {
+        return new MetricsHistogram();
+    }
+
+    private MetricsHistogram() {
+        super();
+        this.samples = new double[CAPACITY];
+    }
+
+    /**
+     * Adds a new sample replacing the oldest once full, returning true when all samples have just been replaced.
+     */
+    boolean add(final double value) {
+        final long count = this.count;
+
+        this.samples[(int) (count % CAPACITY)] = value;
+        this.count = count + 1;
+
+        return 0 == this.count % CAPACITY;
+    }
+
+    /**
+     * The total number of samples added, including those that have been replaced.
+     */
+    public long count() {
+        return this.count;
+    }
+
+    private long count;
+
+    /**
+     * Returns the nearest rank percentile for the recent samples, or 0 if empty.
+     */
+    public double percentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile + " not between 0 and 100");
+        }
+
+        final int size = (int) Math.min(
+            this.count,
+            CAPACITY
+        );
+
+        double value = 0;
+        if (size > 0) {
+            final double[] sorted = Arrays.copyOf(
+                this.samples,
+                size
+            );
+            Arrays.sort(sorted);
+
+            final int rank = (int) Math.ceil(percentile / 100 * size);
+            value = sorted[Math.max(rank, 1) - 1];
+        }
+
+        return value;
+    }
+
+    /**
+     * A circular buffer of the most recent samples.
+     */
+    private final double[] samples;
+
+    @Override
+    public String toString() {
+        return "count: " + this.count + " p50: " + this.percentile(50) + " p95: " + this.percentile(95);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import elemental2.dom.DomGlobal;
+import elemental2.dom.HTMLDivElement;
+import walkingkooka.net.UrlParameterName;
+import walkingkooka.net.UrlQueryString;
+import walkingkooka.spreadsheet.dominokit.HtmlComponent;
+import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
+import walkingkooka.spreadsheet.dominokit.dom.DivComponent;
+import walkingkooka.spreadsheet.dominokit.dom.HtmlElementComponent;
+import walkingkooka.text.printer.IndentingPrinter;
+
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * A small fixed panel in the corner of the window showing the count, p50 and p95 of each stage recorded by a
+ * {@link MetricsCollector}. The panel is hidden by default and when visible is updated every second.
+ */
+public final class MetricsOverlayComponent implements HtmlComponentDelegator<HTMLDivElement, MetricsOverlayComponent> {
+
+    /**
+     * When present in the query string with a value of {@link #OVERLAY} the overlay is shown when the app starts.
+     */
+    public final static UrlParameterName QUERY_PARAMETER = UrlParameterName.with("metrics");
+
+    public final static String OVERLAY = "overlay";
+
+    /**
+     * Returns true if the given query string, with or without a leading question mark, has a {@link #QUERY_PARAMETER}
+     * with a value of {@link #OVERLAY}.
+     */
+    public static boolean isShownFromQueryString(final String queryString) {
+        Objects.requireNonNull(queryString, "queryString");
+
+        return UrlQueryString.parse(
+                queryString.startsWith("?") ?
+                    queryString.substring(1) :
+                    queryString
+            ).parameter(QUERY_PARAMETER)
+            .map(OVERLAY::equals)
+            .orElse(false);
+    }
+
+    /**
+     * The time in milliseconds between updates while visible.
+     */
+    private final static int UPDATE_INTERVAL = 1000;
+
+    public static MetricsOverlayComponent with(final MetricsCollector collector) {
+        return new MetricsOverlayComponent(
+            Objects.requireNonNull(collector, "collector")
+        );
+    }
+
+    private MetricsOverlayComponent(final MetricsCollector collector) {
+        this.collector = collector;
+        this.div = HtmlElementComponent.div()
+            .setCssText(CSS);
+        this.timerId = -1;
+    }
+
+    /**
+     * The style of the overlay, fixed in the bottom right corner and hidden until {@link #toggle()}.
+     */
+    private final static String CSS = "position: fixed; right: 8px; bottom: 8px; z-index: 10000; display: none; " +
+        "padding: 6px; background-color: rgba(0, 0, 0, 0.75); color: #fff; font-family: monospace; font-size: 11px; " +
+        "white-space: pre; pointer-events: none;";
+
+    /**
+     * Shows the overlay if hidden, otherwise hides it.
+     */
+    public MetricsOverlayComponent toggle() {
+        final double timerId = this.timerId;
+        if (timerId >= 0) {
+            DomGlobal.clearInterval(timerId);
+            this.timerId = -1;
+            this.setVisibility(false);
+        } else {
+            this.update();
+            this.setVisibility(true);
+            this.timerId = DomGlobal.setInterval(
+                (ignored) -> this.update(),
+                UPDATE_INTERVAL
+            );
+        }
+        return this;
+    }
+
+    private void update() {
+        this.div.setText(
+            text(this.collector)
+        );
+    }
+
+    private double timerId;
+
+    private final MetricsCollector collector;
+
+    /**
+     * Formats a table with a line for each stage followed by a line for each counter.
+     */
+    static String text(final MetricsCollector collector) {
+        final StringBuilder b = new StringBuilder();
+        b.append(pad("stage"))
+            .append(pad("count"))
+            .append(pad("p50 ms"))
+            .append("p95 ms");
+
+        for (final Entry<String, MetricsHistogram> stageAndHistogram : collector.histograms().entrySet()) {
+            final MetricsHistogram histogram = stageAndHistogram.getValue();
+
+            b.append('\n')
+                .append(pad(stageAndHistogram.getKey()))
+                .append(pad(String.valueOf(histogram.count())))
+                .append(pad(millis(histogram.percentile(50))))
+                .append(millis(histogram.percentile(95)));
+        }
+
+        for (final Entry<String, Long> counterAndCount : collector.counters().entrySet()) {
+            b.append('\n')
+                .append(pad(counterAndCount.getKey()))
+                .append(counterAndCount.getValue());
+        }
+
+        return b.toString();
+    }
+
+    private static String pad(final String text) {
+        final StringBuilder b = new StringBuilder(text);
+        do {
+            b.append(' ');
+        } while (b.length() < COLUMN_WIDTH);
+        return b.toString();
+    }
+
+    private final static int COLUMN_WIDTH = 14;
+
+    /**
+     * Rounds to a single decimal place, avoiding String#format which is not available in the browser.
+     */
+    private static String millis(final double value) {
+        return String.valueOf(Math.round(value * 10) / 10.0);
+    }
+
+    // isEditing........................................................................................................
+
+    @Override
+    public boolean isEditing() {
+        return false;
+    }
+
+    // HtmlComponentDelegator...........................................................................................
+
+    @Override
+    public HtmlComponent<HTMLDivElement, ?> htmlComponent() {
+        return this.div;
+    }
+
+    private final DivComponent div;
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            printer.println(
+                text(this.collector)
+            );
+        }
+        printer.outdent();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import walkingkooka.collect.map.Maps;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link MetricsCollector} that ignores everything.
+ */
+final class NopMetricsCollector implements MetricsCollector {
+
+    /**
+     * Singleton
+     */
+    final static NopMetricsCollector INSTANCE = new NopMetricsCollector();
+
+    private NopMetricsCollector() {
+        super();
+    }
+
+    @Override
+    public void increment(final String counter) {
+        Objects.requireNonNull(counter, "counter");
+    }
+
+    @Override
+    public void add(final String counter,
+                    final long amount) {
+        Objects.requireNonNull(counter, "counter");
+    }
+
+    @Override
+    public void record(final String stage,
+                       final double millis) {
+        Objects.requireNonNull(stage, "stage");
+    }
+
+    @Override
+    public MetricsSpan span(final String stage) {
+        Objects.requireNonNull(stage, "stage");
+
+        return SPAN;
+    }
+
+    private final static MetricsSpan SPAN = () -> {
+    };
+
+    @Override
+    public Map<String, Long> counters() {
+        return Maps.empty();
+    }
+
+    @Override
+    public Map<String, MetricsHistogram> histograms() {
+        return Maps.empty();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName();
+    }
+}
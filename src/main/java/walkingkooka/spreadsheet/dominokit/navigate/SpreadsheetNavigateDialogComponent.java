@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.navigate;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcher;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcherDelegator;
 import walkingkooka.spreadsheet.dominokit.RefreshContext;
@@ -216,7 +218,7 @@ public final class SpreadsheetNavigateDialogComponent implements DialogComponent
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_NAVIGATE_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_NAVIGATE_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // SpreadsheetMetadataFetcherWatcher................................................................................
@@ -227,7 +229,9 @@ public final class SpreadsheetNavigateDialogComponent implements DialogComponent
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // ignore
     }
 
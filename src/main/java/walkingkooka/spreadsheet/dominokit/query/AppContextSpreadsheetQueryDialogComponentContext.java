@@ -27,6 +27,8 @@ import walkingkooka.spreadsheet.dominokit.dialog.DialogComponentContextDelegator
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponentContexts;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatchers;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatchersDelegator;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
+import walkingkooka.spreadsheet.dominokit.util.Throttler;
 import walkingkooka.spreadsheet.engine.SpreadsheetCellQueryRequest;
 import walkingkooka.spreadsheet.meta.SpreadsheetId;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
@@ -59,6 +61,7 @@ final class AppContextSpreadsheetQueryDialogComponentContext implements Spreadsh
 
     private AppContextSpreadsheetQueryDialogComponentContext(final AppContext context) {
         this.context = context;
+        this.throttler = Throttler.empty(FIND_CELLS_DELAY);
     }
 
     @Override
@@ -111,23 +114,63 @@ final class AppContextSpreadsheetQueryDialogComponentContext implements Spreadsh
 
     // HasSpreadsheetDeltaFetcherWatcher................................................................................
 
+    /**
+     * Watchers are added to {@link SpreadsheetQueryDialogComponentFindCells}, so they do not receive responses from
+     * superseded queries.
+     */
     @Override
     public HasSpreadsheetDeltaFetcherWatchers hasSpreadsheetDeltaFetcherWatchers() {
-        return this.context;
+        return this.findCells();
     }
 
     @Override
     public void findCells(final SpreadsheetId id,
                           final SpreadsheetCellRangeReference cells,
                           final SpreadsheetCellQueryRequest find) {
-        this.context.spreadsheetDeltaFetcher()
-            .getQueryCells(
-                id,
-                cells,
-                find
+        final boolean cached = this.findCells()
+            .findCells(
+                SpreadsheetDeltaFetcher.queryCellsUrl(
+                    id,
+                    cells,
+                    find
+                )
+            );
+
+        if (cached) {
+            // a pending query was superseded by this cached query, and must not replace its response when it fires
+            this.throttler.clear();
+        } else {
+            this.throttler.add(
+                () -> this.context.spreadsheetDeltaFetcher()
+                    .getQueryCells(
+                        id,
+                        cells,
+                        find
+                    )
             );
+        }
+    }
+
+    /**
+     * Lazily creates the {@link SpreadsheetQueryDialogComponentFindCells} and adds it as a watcher to the {@link AppContext}.
+     */
+    private SpreadsheetQueryDialogComponentFindCells findCells() {
+        if (null == this.findCells) {
+            this.findCells = SpreadsheetQueryDialogComponentFindCells.with(this.context);
+            this.context.addSpreadsheetDeltaFetcherWatcher(this.findCells);
+        }
+        return this.findCells;
     }
 
+    private SpreadsheetQueryDialogComponentFindCells findCells;
+
+    /**
+     * Used to delay queries while the query or wizard fields are being typed, so only the last is sent.
+     */
+    private final Throttler throttler;
+
+    private final static long FIND_CELLS_DELAY = 300;
+
     // HasSpreadsheetMetadata...........................................................................................
 
     @Override
@@ -210,7 +210,8 @@ public final class SpreadsheetQueryDialogComponent implements DialogComponentLif
     private SpreadsheetFormulaComponent query() {
         return SpreadsheetFormulaComponent.empty(
                 SpreadsheetFormulaComponentFunctions.expressionParser(
-                    this::spreadsheetParserContext
+                    this::spreadsheetParserContext,
+                    this.context::spreadsheetMetadata
                 )
             ).setId(ID_PREFIX + "query" + SpreadsheetElementIds.TEXT_BOX)
             .setLabel("Query")
@@ -297,17 +298,35 @@ public final class SpreadsheetQueryDialogComponent implements DialogComponentLif
 
     private final ValueTypeEditComponent valueType;
 
+    /**
+     * Returns a {@link SpreadsheetParserContext} for the current {@link SpreadsheetMetadata}, which is only re-created
+     * when the metadata changes.
+     */
     private SpreadsheetParserContext spreadsheetParserContext() {
         final SpreadsheetQueryDialogComponentContext context = this.context;
         final SpreadsheetMetadata metadata = context.spreadsheetMetadata();
 
-        return metadata.spreadsheetParserContext(
-            SpreadsheetMetadata.NO_CELL,
-            LocaleContexts.fake(),
-            context
-        );
+        SpreadsheetParserContext parserContext = this.parserContext;
+        if (null == parserContext || metadata != this.parserContextMetadata) {
+            parserContext = metadata.spreadsheetParserContext(
+                SpreadsheetMetadata.NO_CELL,
+                LocaleContexts.fake(),
+                context
+            );
+            this.parserContext = parserContext;
+            this.parserContextMetadata = metadata;
+        }
+
+        return parserContext;
     }
 
+    /**
+     * The {@link SpreadsheetMetadata} used to create the cached {@link #parserContext}.
+     */
+    private SpreadsheetMetadata parserContextMetadata;
+
+    private SpreadsheetParserContext parserContext;
+
     /**
      * Each time a component of the find is updated, a new {@link HistoryToken} is pushed, which will cause a search
      * and refresh of the UI.
@@ -666,7 +685,7 @@ public final class SpreadsheetQueryDialogComponent implements DialogComponentLif
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_CELL_QUERY_DIALOG_COMPONENT;
+        return SPREADSHEET_CELL_QUERY_DIALOG_COMPONENT.isEnabled();
     }
 
     // UI...............................................................................................................
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.query;
+
+import elemental2.dom.Headers;
+import walkingkooka.datetime.HasNow;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.RelativeUrl;
+import walkingkooka.net.Url;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.spreadsheet.dominokit.fetcher.FetcherRequestBody;
+import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatchers;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatchers;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Sits between the {@link SpreadsheetDeltaFetcherWatcher} of the app and the watchers of a {@link SpreadsheetQueryDialogComponent},
+ * so responses to superseded queries are dropped rather than replacing the results of the latest query, and recent
+ * responses are served again without a fetch when the same query is repeated. All other events are forwarded unchanged.
+ * Any {@link SpreadsheetDelta} that is not the response to a GET clears the cache, because cells may have changed.
+ */
+final class SpreadsheetQueryDialogComponentFindCells implements SpreadsheetDeltaFetcherWatcher,
+    HasSpreadsheetDeltaFetcherWatchers {
+
+    /**
+     * The number of seconds a response remains in the cache.
+     */
+    final static int CACHE_SECONDS = 10;
+
+    /**
+     * The maximum number of responses in the cache, the oldest is removed first.
+     */
+    final static int CACHE_SIZE = 16;
+
+    static SpreadsheetQueryDialogComponentFindCells with(final HasNow now) {
+        return new SpreadsheetQueryDialogComponentFindCells(
+            Objects.requireNonNull(now, "now")
+        );
+    }
+
+    private SpreadsheetQueryDialogComponentFindCells(final HasNow now) {
+        this.now = now;
+        this.watchers = SpreadsheetDeltaFetcherWatchers.empty();
+        this.cache = new LinkedHashMap<>();
+    }
+
+    /**
+     * Records the url as the latest query. If a recent response for the same url is cached, it is given to the watchers
+     * and true is returned, otherwise the caller should perform the query.
+     */
+    boolean findCells(final RelativeUrl url) {
+        Objects.requireNonNull(url, "url");
+
+        this.latest = url;
+
+        final Map<RelativeUrl, SpreadsheetQueryDialogComponentFindCellsResponse> cache = this.cache;
+        this.removeExpired();
+
+        final SpreadsheetQueryDialogComponentFindCellsResponse response = cache.get(url);
+        if (null != response) {
+            this.watchers.onSpreadsheetDelta(
+                HttpMethod.GET,
+                url,
+                response.delta
+            );
+        }
+
+        return null != response;
+    }
+
+    private void removeExpired() {
+        final LocalDateTime now = this.now.now();
+
+        final Iterator<SpreadsheetQueryDialogComponentFindCellsResponse> responses = this.cache.values()
+            .iterator();
+        while (responses.hasNext()) {
+            if (responses.next().isExpired(now)) {
+                responses.remove();
+            }
+        }
+    }
+
+    /**
+     * The url of the latest query, responses for any other query url are ignored.
+     */
+    private RelativeUrl latest;
+
+    // SpreadsheetDeltaFetcherWatcher...................................................................................
+
+    @Override
+    public void onSpreadsheetDelta(final HttpMethod method,
+                                   final AbsoluteOrRelativeUrl url,
+                                   final SpreadsheetDelta delta) {
+        boolean fire = true;
+
+        if (HttpMethod.GET.equals(method)) {
+            if (url.equals(this.latest)) {
+                this.cache(
+                    this.latest,
+                    delta
+                );
+            } else {
+                fire = false == isQuery(url);
+            }
+        } else {
+            this.cache.clear();
+        }
+
+        if (fire) {
+            this.watchers.onSpreadsheetDelta(
+                method,
+                url,
+                delta
+            );
+        }
+    }
+
+    private void cache(final RelativeUrl url,
+                       final SpreadsheetDelta delta) {
+        final Map<RelativeUrl, SpreadsheetQueryDialogComponentFindCellsResponse> cache = this.cache;
+        cache.remove(url);
+        cache.put(
+            url,
+            SpreadsheetQueryDialogComponentFindCellsResponse.with(
+                delta,
+                this.now.now()
+                    .plusSeconds(CACHE_SECONDS)
+            )
+        );
+
+        if (cache.size() > CACHE_SIZE) {
+            final Iterator<RelativeUrl> oldest = cache.keySet()
+                .iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    /**
+     * Tests if the url is a query, eg <code>/api/spreadsheet/1/cell/A1:B2/query?query=...</code>
+     */
+    static boolean isQuery(final AbsoluteOrRelativeUrl url) {
+        return url.path()
+            .value()
+            .endsWith(QUERY_PATH);
+    }
+
+    private final static String QUERY_PATH = "/query";
+
+    @Override
+    public void onBegin(final HttpMethod method,
+                        final Url url,
+                        final Optional<FetcherRequestBody<?>> body) {
+        this.watchers.onBegin(
+            method,
+            url,
+            body
+        );
+    }
+
+    @Override
+    public void onFailure(final HttpMethod method,
+                          final AbsoluteOrRelativeUrl url,
+                          final HttpStatus status,
+                          final Headers headers,
+                          final String body) {
+        this.watchers.onFailure(
+            method,
+            url,
+            status,
+            headers,
+            body
+        );
+    }
+
+    @Override
+    public void onError(final Object cause) {
+        this.watchers.onError(cause);
+    }
+
+    @Override
+    public void onEmptyResponse() {
+        this.watchers.onEmptyResponse();
+    }
+
+    /**
+     * Recent responses by query url, oldest first.
+     */
+    private final Map<RelativeUrl, SpreadsheetQueryDialogComponentFindCellsResponse> cache;
+
+    private final HasNow now;
+
+    // HasSpreadsheetDeltaFetcherWatchers...............................................................................
+
+    @Override
+    public Runnable addSpreadsheetDeltaFetcherWatcher(final SpreadsheetDeltaFetcherWatcher watcher) {
+        return this.watchers.addSpreadsheetDeltaFetcherWatcher(watcher);
+    }
+
+    @Override
+    public Runnable addSpreadsheetDeltaFetcherWatcherOnce(final SpreadsheetDeltaFetcherWatcher watcher) {
+        return this.watchers.addSpreadsheetDeltaFetcherWatcherOnce(watcher);
+    }
+
+    private final SpreadsheetDeltaFetcherWatchers watchers;
+
+    @Override
+    public String toString() {
+        return this.latest + " " + this.cache.keySet();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.query;
+
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+
+import java.time.LocalDateTime;
+
+/**
+ * A cached {@link SpreadsheetDelta} response to a query, along with when it expires.
+ */
+final class SpreadsheetQueryDialogComponentFindCellsResponse {
+
+    static SpreadsheetQueryDialogComponentFindCellsResponse with(final SpreadsheetDelta delta,
+                                                                 final LocalDateTime expires) {
+        return new SpreadsheetQueryDialogComponentFindCellsResponse(
+            delta,
+            expires
+        );
+    }
+
+    private SpreadsheetQueryDialogComponentFindCellsResponse(final SpreadsheetDelta delta,
+                                                             final LocalDateTime expires) {
+        this.delta = delta;
+        this.expires = expires;
+    }
+
+    boolean isExpired(final LocalDateTime now) {
+        return now.isAfter(this.expires);
+    }
+
+    final SpreadsheetDelta delta;
+
+    private final LocalDateTime expires;
+
+    @Override
+    public String toString() {
+        return this.expires + " " + this.delta;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.refresh;
+
+import elemental2.dom.DomGlobal;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.dominokit.ComponentRefreshable;
+import walkingkooka.spreadsheet.dominokit.RefreshContext;
+import walkingkooka.spreadsheet.dominokit.log.Logging;
+import walkingkooka.spreadsheet.dominokit.log.LoggingContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link RefreshScheduler} that marks components dirty and refreshes each dirty component once, at the next
+ * animation frame, so several refresh requests within a frame such as a {@link walkingkooka.spreadsheet.engine.SpreadsheetDelta}
+ * followed by a history token push result in a single refresh.
+ */
+final class AnimationFrameRefreshScheduler implements RefreshScheduler,
+    Logging {
+
+    static AnimationFrameRefreshScheduler with(final LoggingContext loggingContext) {
+        return new AnimationFrameRefreshScheduler(
+            Objects.requireNonNull(loggingContext, "loggingContext")
+        );
+    }
+
+    private AnimationFrameRefreshScheduler(final LoggingContext loggingContext) {
+        this.loggingContext = loggingContext;
+        this.dirty = new LinkedHashMap<>();
+        this.focuses = Lists.array();
+    }
+
+    @Override
+    public void scheduleRefresh(final ComponentRefreshable component,
+                                final int order,
+                                final RefreshContext context) {
+        Objects.requireNonNull(component, "component");
+        Objects.requireNonNull(context, "context");
+
+        this.dirty.put(
+            component,
+            AnimationFrameRefreshSchedulerRequest.with(
+                component,
+                order,
+                context
+            )
+        );
+
+        this.requestAnimationFrame();
+    }
+
+    @Override
+    public void scheduleFocus(final Runnable focus) {
+        Objects.requireNonNull(focus, "focus");
+
+        this.focuses.add(focus);
+        this.requestAnimationFrame();
+    }
+
+    private void requestAnimationFrame() {
+        if (false == this.frameRequested) {
+            this.frameRequested = true;
+            DomGlobal.requestAnimationFrame(
+                (timestamp) -> this.onAnimationFrame()
+            );
+        }
+    }
+
+    /**
+     * Refreshes all dirty components in order and then gives focus. Components scheduled during this frame will be
+     * refreshed in the next, while focus scheduled by a refresh such as the viewport selection is given in this frame.
+     */
+    private void onAnimationFrame() {
+        final long start = System.currentTimeMillis();
+
+        final List<AnimationFrameRefreshSchedulerRequest> requests = Lists.array();
+        requests.addAll(this.dirty.values());
+        requests.sort(AnimationFrameRefreshSchedulerRequest::compareTo);
+
+        this.dirty.clear();
+        this.frameRequested = false;
+
+        for (final AnimationFrameRefreshSchedulerRequest request : requests) {
+            try {
+                request.refresh();
+            } catch (final RuntimeException cause) {
+                // keep refreshing the other components
+                this.loggingContext.error(
+                    this.getClass().getSimpleName() + " refresh " + request + " failed",
+                    cause
+                );
+            }
+        }
+
+        // focus reads the layout, so happens after all refreshes have written to the DOM
+        final List<Runnable> focuses = Lists.array();
+        focuses.addAll(this.focuses);
+        this.focuses.clear();
+
+        for (final Runnable focus : focuses) {
+            try {
+                focus.run();
+            } catch (final RuntimeException cause) {
+                this.loggingContext.error(
+                    this.getClass().getSimpleName() + " focus failed",
+                    cause
+                );
+            }
+        }
+
+        this.frames++;
+
+        if (REFRESH_SCHEDULER.isEnabled()) {
+            this.loggingContext.debug(
+                this.getClass().getSimpleName() +
+                    " frame " +
+                    this.frames +
+                    " refreshed " +
+                    requests.size() +
+                    " component(s) and " +
+                    focuses.size() +
+                    " focus(es) in " +
+                    (System.currentTimeMillis() - start) +
+                    " ms"
+            );
+        }
+    }
+
+    /**
+     * Components waiting for the next animation frame, in the order they were scheduled.
+     */
+    private final Map<ComponentRefreshable, AnimationFrameRefreshSchedulerRequest> dirty;
+
+    /**
+     * Focus requests waiting for the next animation frame, run after all dirty components are refreshed.
+     */
+    private final List<Runnable> focuses;
+
+    private boolean frameRequested;
+
+    /**
+     * The number of frames that have refreshed components.
+     */
+    private int frames;
+
+    private final LoggingContext loggingContext;
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " " + this.dirty.values();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.refresh;
+
+import walkingkooka.spreadsheet.dominokit.ComponentRefreshable;
+import walkingkooka.spreadsheet.dominokit.RefreshContext;
+
+/**
+ * A pending refresh of a component, waiting for the next animation frame.
+ */
+final class AnimationFrameRefreshSchedulerRequest implements Comparable<AnimationFrameRefreshSchedulerRequest> {
+
+    static AnimationFrameRefreshSchedulerRequest with(final ComponentRefreshable component,
+                                                      final int order,
+                                                      final RefreshContext context) {
+        return new AnimationFrameRefreshSchedulerRequest(
+            component,
+            order,
+            context
+        );
+    }
+
+    private AnimationFrameRefreshSchedulerRequest(final ComponentRefreshable component,
+                                                  final int order,
+                                                  final RefreshContext context) {
+        this.component = component;
+        this.order = order;
+        this.context = context;
+    }
+
+    void refresh() {
+        this.component.refresh(this.context);
+    }
+
+    private final ComponentRefreshable component;
+
+    private final int order;
+
+    private final RefreshContext context;
+
+    // Comparable.......................................................................................................
+
+    @Override
+    public int compareTo(final AnimationFrameRefreshSchedulerRequest other) {
+        return Integer.compare(
+            this.order,
+            other.order
+        );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.order + " " + this.component;
+    }
+}
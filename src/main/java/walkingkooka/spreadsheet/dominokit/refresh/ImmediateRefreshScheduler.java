@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.refresh;
+
+import walkingkooka.spreadsheet.dominokit.ComponentRefreshable;
+import walkingkooka.spreadsheet.dominokit.RefreshContext;
+
+import java.util.Objects;
+
+/**
+ * A {@link RefreshScheduler} that refreshes the component immediately, useful for tests.
+ */
+final class ImmediateRefreshScheduler implements RefreshScheduler {
+
+    /**
+     * Singleton
+     */
+    final static ImmediateRefreshScheduler INSTANCE = new ImmediateRefreshScheduler();
+
+    private ImmediateRefreshScheduler() {
+        super();
+    }
+
+    @Override
+    public void scheduleRefresh(final ComponentRefreshable component,
+                                final int order,
+                                final RefreshContext context) {
+        Objects.requireNonNull(component, "component");
+        Objects.requireNonNull(context, "context");
+
+        component.refresh(context);
+    }
+
+    @Override
+    public void scheduleFocus(final Runnable focus) {
+        Objects.requireNonNull(focus, "focus");
+
+        focus.run();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.refresh;
+
+import walkingkooka.spreadsheet.dominokit.ComponentRefreshable;
+import walkingkooka.spreadsheet.dominokit.RefreshContext;
+
+/**
+ * Schedules {@link ComponentRefreshable#refresh(RefreshContext)}, allowing multiple requests to refresh the same
+ * component to be coalesced into a single refresh.
+ */
+public interface RefreshScheduler {
+
+    /**
+     * The viewport is refreshed first, as other components may read its selection or state.
+     */
+    int VIEWPORT = 10;
+
+    /**
+     * The toolbar reflects the current selection, and is refreshed after the viewport.
+     */
+    int TOOLBAR = 20;
+
+    /**
+     * Order for all other components.
+     */
+    int DEFAULT = 100;
+
+    /**
+     * Marks the component as requiring a refresh. Components with a lower order are refreshed first. When the same
+     * component is scheduled several times before it is refreshed, the last {@link RefreshContext} is used.
+     */
+    void scheduleRefresh(final ComponentRefreshable component,
+                         final int order,
+                         final RefreshContext context);
+
+    /**
+     * Schedules giving focus after all scheduled refreshes have completed. Giving focus reads the layout and may scroll,
+     * so running it after all DOM writes avoids a forced layout between refreshes.
+     */
+    void scheduleFocus(final Runnable focus);
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.snapshot;
+
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * The request returned by {@link ElementalIDBFactory#open(String, double)}.
+ *
+ * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/IDBOpenDBRequest" target="_blank">MDN
+ *     Documentation</a>
+ */
+@JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "IDBOpenDBRequest")
+class ElementalIDBOpenDBRequest extends ElementalIDBRequest {
+
+    public ElementalIDBEventHandlerFn onupgradeneeded;
+}
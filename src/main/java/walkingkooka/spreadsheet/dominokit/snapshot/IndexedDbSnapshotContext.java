@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.snapshot;
+
+import elemental2.dom.DomGlobal;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.dominokit.log.Logging;
+import walkingkooka.spreadsheet.dominokit.log.LoggingContext;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A {@link SnapshotContext} that persists {@link Snapshot} in a single IndexedDB object store. The database is
+ * versioned, bumping {@link #DATABASE_VERSION} drops all previous snapshots, which should happen whenever the JSON
+ * marshalled form of any snapshotted value changes.
+ * <br>
+ * If IndexedDB is unavailable or fails to open, all loads will return nothing and saves are ignored.
+ */
+final class IndexedDbSnapshotContext implements SnapshotContext,
+    Logging {
+
+    final static String DATABASE_NAME = "walkingkooka-spreadsheet-dominokit";
+
+    final static int DATABASE_VERSION = 1;
+
+    final static String STORE_NAME = "snapshots";
+
+    private final static String URL = "url";
+
+    private final static String CONTENT_TYPE = "contentType";
+
+    private final static String BODY = "body";
+
+    static IndexedDbSnapshotContext with(final LoggingContext loggingContext) {
+        return new IndexedDbSnapshotContext(
+            Objects.requireNonNull(loggingContext, "loggingContext")
+        );
+    }
+
+    private IndexedDbSnapshotContext(final LoggingContext loggingContext) {
+        this.loggingContext = loggingContext;
+        this.open();
+    }
+
+    private void open() {
+        final ElementalIDBFactory factory = Js.uncheckedCast(
+            Js.asPropertyMap(DomGlobal.window)
+                .get("indexedDB")
+        );
+
+        if (null == factory) {
+            this.failed("IndexedDB unavailable");
+        } else {
+            final ElementalIDBOpenDBRequest request = factory.open(
+                DATABASE_NAME,
+                DATABASE_VERSION
+            );
+            request.onupgradeneeded = (e) -> {
+                final ElementalIDBDatabase database = Js.uncheckedCast(request.result);
+
+                // drop previous snapshots, their JSON may not be compatible.
+                if (database.objectStoreNames.contains(STORE_NAME)) {
+                    database.deleteObjectStore(STORE_NAME);
+                }
+                database.createObjectStore(STORE_NAME);
+            };
+            request.onsuccess = (e) -> {
+                this.database = Js.uncheckedCast(request.result);
+                this.runPending();
+            };
+            request.onerror = (e) -> this.failed(request.error);
+        }
+    }
+
+    private void failed(final Object cause) {
+        this.loggingContext.warn(this.getClass().getSimpleName() + " open failed", cause);
+
+        this.failed = true;
+        this.runPending();
+    }
+
+    private void runPending() {
+        final List<Consumer<ElementalIDBDatabase>> pending = this.pending;
+        this.pending = Lists.array();
+
+        for (final Consumer<ElementalIDBDatabase> p : pending) {
+            p.accept(this.database);
+        }
+    }
+
+    /**
+     * Executes the given operation once the database is open, if the open failed the database will be null.
+     */
+    private void withDatabase(final Consumer<ElementalIDBDatabase> operation) {
+        if (null != this.database || this.failed) {
+            operation.accept(this.database);
+        } else {
+            this.pending.add(operation);
+        }
+    }
+
+    // SnapshotContext..................................................................................................
+
+    @Override
+    public void loadSnapshot(final String key,
+                             final SnapshotContextLoadWatcher watcher) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(watcher, "watcher");
+
+        final long start = System.currentTimeMillis();
+
+        this.withDatabase(
+            (database) -> {
+                if (null == database) {
+                    watcher.onSnapshot(Optional.empty());
+                } else {
+                    try {
+                        final ElementalIDBRequest request = database.transaction(
+                                STORE_NAME,
+                                "readonly"
+                            ).objectStore(STORE_NAME)
+                            .get(key);
+                        request.onsuccess = (e) -> {
+                            final Optional<Snapshot> snapshot = snapshot(request.result);
+
+                            if (SNAPSHOT.isEnabled()) {
+                                this.loggingContext.debug(
+                                    this.getClass().getSimpleName() +
+                                        ".loadSnapshot " +
+                                        key +
+                                        (snapshot.isPresent() ? " hit " : " miss ") +
+                                        (System.currentTimeMillis() - start) +
+                                        "ms"
+                                );
+                            }
+
+                            watcher.onSnapshot(snapshot);
+                        };
+                        request.onerror = (e) -> watcher.onFailure(request.error);
+                    } catch (final RuntimeException cause) {
+                        watcher.onFailure(cause);
+                    }
+                }
+            }
+        );
+    }
+
+    private static Optional<Snapshot> snapshot(final Object result) {
+        Snapshot snapshot = null;
+
+        if (null != result) {
+            final JsPropertyMap<Object> map = Js.asPropertyMap(result);
+            snapshot = Snapshot.with(
+                Js.asString(map.get(URL)),
+                Js.asString(map.get(CONTENT_TYPE)),
+                Js.asString(map.get(BODY))
+            );
+        }
+
+        return Optional.ofNullable(snapshot);
+    }
+
+    @Override
+    public void saveSnapshot(final String key,
+                             final Snapshot snapshot) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(snapshot, "snapshot");
+
+        this.withDatabase(
+            (database) -> {
+                if (null != database) {
+                    try {
+                        final ElementalIDBRequest request = database.transaction(
+                                STORE_NAME,
+                                "readwrite"
+                            ).objectStore(STORE_NAME)
+                            .put(
+                                JsPropertyMap.of(
+                                    URL,
+                                    snapshot.url(),
+                                    CONTENT_TYPE,
+                                    snapshot.contentType(),
+                                    BODY,
+                                    snapshot.body()
+                                ),
+                                key
+                            );
+                        request.onerror = (e) -> this.loggingContext.warn(
+                            this.getClass().getSimpleName() + ".saveSnapshot " + key + " failed",
+                            request.error
+                        );
+                    } catch (final RuntimeException cause) {
+                        this.loggingContext.warn(this.getClass().getSimpleName() + ".saveSnapshot " + key + " failed", cause);
+                    }
+                }
+            }
+        );
+    }
+
+    private final LoggingContext loggingContext;
+
+    /**
+     * The open database, this will be null until the open succeeds.
+     */
+    private ElementalIDBDatabase database;
+
+    /**
+     * When true the database failed to open and all operations will be given a null database.
+     */
+    private boolean failed;
+
+    /**
+     * Operations waiting for the database to open.
+     */
+    private List<Consumer<ElementalIDBDatabase>> pending = Lists.array();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return DATABASE_NAME + " " + DATABASE_VERSION;
+    }
+}
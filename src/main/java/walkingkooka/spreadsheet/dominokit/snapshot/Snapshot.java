@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.snapshot;
+
+import walkingkooka.ToStringBuilder;
+
+import java.util.Objects;
+
+/**
+ * A snapshot of a previous successful GET response, holding the url, content type and the body text. Snapshots are
+ * replayed when the app is reloaded, so something useful may be drawn before the real server response arrives.
+ */
+public final class Snapshot {
+
+    public static Snapshot with(final String url,
+                                final String contentType,
+                                final String body) {
+        return new Snapshot(
+            Objects.requireNonNull(url, "url"),
+            Objects.requireNonNull(contentType, "contentType"),
+            Objects.requireNonNull(body, "body")
+        );
+    }
+
+    private Snapshot(final String url,
+                     final String contentType,
+                     final String body) {
+        this.url = url;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    /**
+     * The url of the GET that returned this response.
+     */
+    public String url() {
+        return this.url;
+    }
+
+    private final String url;
+
+    /**
+     * The X-Content-Type header value, this may be empty if the response had no content.
+     */
+    public String contentType() {
+        return this.contentType;
+    }
+
+    private final String contentType;
+
+    public String body() {
+        return this.body;
+    }
+
+    private final String body;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.url,
+            this.contentType,
+            this.body
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof Snapshot &&
+                this.equals0((Snapshot) other);
+    }
+
+    private boolean equals0(final Snapshot other) {
+        return this.url.equals(other.url) &&
+            this.contentType.equals(other.contentType) &&
+            this.body.equals(other.body);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.empty()
+            .value(this.url)
+            .value(this.contentType)
+            .value(this.body)
+            .build();
+    }
+}
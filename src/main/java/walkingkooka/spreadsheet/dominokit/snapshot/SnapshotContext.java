@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.snapshot;
+
+import walkingkooka.Context;
+
+/**
+ * A {@link Context} that abstracts a persistent store of {@link Snapshot} which survives page reloads. Interfaces
+ * are used here so JRE unit testing is possible, without requiring a real browser.
+ */
+public interface SnapshotContext extends Context {
+
+    /**
+     * Loads the {@link Snapshot} for the given key, and because the underlying store is async, eventually notifies
+     * the {@link SnapshotContextLoadWatcher}.
+     */
+    void loadSnapshot(final String key,
+                      final SnapshotContextLoadWatcher watcher);
+
+    /**
+     * Saves or replaces the {@link Snapshot} for the given key.
+     */
+    void saveSnapshot(final String key,
+                      final Snapshot snapshot);
+}
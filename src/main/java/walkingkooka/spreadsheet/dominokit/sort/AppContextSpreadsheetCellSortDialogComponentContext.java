@@ -17,6 +17,7 @@
 
 package walkingkooka.spreadsheet.dominokit.sort;
 
+import walkingkooka.plugin.ProviderContext;
 import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorProvider;
 import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorProviderDelegator;
 import walkingkooka.spreadsheet.dominokit.AppContext;
@@ -54,6 +55,11 @@ final class AppContextSpreadsheetCellSortDialogComponentContext implements Sprea
 
     // SpreadsheetCellSortDialogComponentContext............................................................................
 
+    @Override
+    public ProviderContext providerContext() {
+        return this.context;
+    }
+
     @Override
     public SpreadsheetComparatorProvider spreadsheetComparatorProvider() {
         return this.context;
@@ -35,6 +35,11 @@ public class FakeSpreadsheetCellSortDialogComponentContext extends FakeDialogCom
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public ProviderContext providerContext() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public SpreadsheetComparator<?> spreadsheetComparator(final SpreadsheetComparatorSelector selector,
                                                           final ProviderContext context) {
@@ -42,7 +42,10 @@ import walkingkooka.spreadsheet.dominokit.history.SpreadsheetRowSortEditHistoryT
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetRowSortHistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetRowSortSaveHistoryToken;
 import walkingkooka.spreadsheet.dominokit.value.plugin.comparator.SpreadsheetColumnOrRowSpreadsheetComparatorNamesListComponent;
+import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportCache;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnOrRowReferenceOrRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 import walkingkooka.text.CharSequences;
@@ -79,6 +82,8 @@ public final class SpreadsheetCellSortDialogComponent implements DialogComponent
 
         this.columnOrRowComparatorNamesParent = FlexLayoutComponent.row();
 
+        this.preview = SpreadsheetCellSortDialogComponentPreviewComponent.empty(ID_PREFIX + "preview");
+
         this.sort = this.anchor("Sort")
             .setDisabled(true);
         this.close = this.closeAnchor();
@@ -95,6 +100,7 @@ public final class SpreadsheetCellSortDialogComponent implements DialogComponent
                 this.context
             ).appendChild(this.columnOrRowComparatorNamesList)
             .appendChild(this.columnOrRowComparatorNamesParent)
+            .appendChild(this.preview)
             .appendChild(
                 AnchorListComponent.empty()
                     .appendChild(this.sort)
@@ -591,6 +597,11 @@ public final class SpreadsheetCellSortDialogComponent implements DialogComponent
             }
         }
         this.sort.setHistoryToken(historyToken);
+        this.refreshPreview(
+            historyToken.isPresent() ?
+                listComponent.value() :
+                Optional.empty()
+        );
     }
 
     /**
@@ -598,6 +609,65 @@ public final class SpreadsheetCellSortDialogComponent implements DialogComponent
      */
     private final HistoryTokenAnchorComponent sort;
 
+    // preview..........................................................................................................
+
+    /**
+     * Computes a local preview of the sort when the entire selection is a cell-range already loaded in the
+     * {@link SpreadsheetViewportCache}, otherwise the preview is hidden. Saving always sends the sort to the server.
+     */
+    private void refreshPreview(final Optional<SpreadsheetColumnOrRowSpreadsheetComparatorNamesList> list) {
+        final SpreadsheetSelection selection = this.selectionNotLabel;
+
+        Optional<List<SpreadsheetRowReference>> rows = Optional.empty();
+
+        if (list.isPresent() && selection instanceof SpreadsheetCellRangeReference) {
+            final SpreadsheetCellRangeReference range = (SpreadsheetCellRangeReference) selection;
+            final SpreadsheetCellSortDialogComponentContext context = this.context;
+            final SpreadsheetViewportCache cache = context.spreadsheetViewportCache();
+
+            if (isLoaded(range, cache)) {
+                rows = SpreadsheetCellSortPreview.rows(
+                    range,
+                    list.get(),
+                    (c) -> cache.cell(c)
+                        .flatMap(
+                            (SpreadsheetCell cell) -> cell.formula()
+                                .errorOrValue()
+                        ),
+                    (n) -> context.spreadsheetComparator(
+                        n,
+                        Lists.empty(),
+                        context.providerContext()
+                    )
+                );
+            }
+        }
+
+        this.preview.refresh(rows);
+    }
+
+    /**
+     * Only ranges completely within the current viewport windows have all their cells loaded.
+     */
+    private static boolean isLoaded(final SpreadsheetCellRangeReference range,
+                                    final SpreadsheetViewportCache cache) {
+        boolean loaded = false;
+
+        for (final SpreadsheetCellRangeReference window : cache.windows().cellRanges()) {
+            if (window.testCellRange(range)) {
+                loaded = true;
+                break;
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Shows the rows of the range in their sorted order, when a local preview is possible.
+     */
+    private final SpreadsheetCellSortDialogComponentPreviewComponent preview;
+
     // close.............................................................................................................
 
     private void refreshClose() {
@@ -642,7 +712,7 @@ public final class SpreadsheetCellSortDialogComponent implements DialogComponent
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_CELL_SORT_DIALOG_COMPONENT;
+        return SPREADSHEET_CELL_SORT_DIALOG_COMPONENT.isEnabled();
     }
 
     // id...............................................................................................................
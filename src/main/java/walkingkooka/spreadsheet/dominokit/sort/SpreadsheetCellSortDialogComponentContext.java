@@ -17,6 +17,7 @@
 
 package walkingkooka.spreadsheet.dominokit.sort;
 
+import walkingkooka.plugin.ProviderContext;
 import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorProvider;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponentContext;
 import walkingkooka.spreadsheet.dominokit.viewport.HasSpreadsheetViewportCache;
@@ -27,4 +28,9 @@ import walkingkooka.spreadsheet.dominokit.viewport.HasSpreadsheetViewportCache;
 public interface SpreadsheetCellSortDialogComponentContext extends DialogComponentContext,
     SpreadsheetComparatorProvider,
     HasSpreadsheetViewportCache {
+
+    /**
+     * The {@link ProviderContext} used to create {@link walkingkooka.spreadsheet.compare.SpreadsheetComparator} for the local sort preview.
+     */
+    ProviderContext providerContext();
 }
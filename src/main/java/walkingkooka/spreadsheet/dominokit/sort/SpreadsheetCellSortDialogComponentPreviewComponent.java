@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.sort;
+
+import elemental2.dom.HTMLDivElement;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.dominokit.HtmlComponent;
+import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
+import walkingkooka.spreadsheet.dominokit.card.CardComponent;
+import walkingkooka.spreadsheet.dominokit.dom.DivComponent;
+import walkingkooka.spreadsheet.dominokit.dom.HtmlElementComponent;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.text.printer.IndentingPrinter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Displays the row permutation computed by {@link SpreadsheetCellSortPreview}, or nothing when a preview is unavailable.
+ * Each entry shows the original row followed by the row it will move to, eg "3 → 1".
+ */
+final class SpreadsheetCellSortDialogComponentPreviewComponent implements HtmlComponentDelegator<HTMLDivElement, SpreadsheetCellSortDialogComponentPreviewComponent> {
+
+    static SpreadsheetCellSortDialogComponentPreviewComponent empty(final String id) {
+        return new SpreadsheetCellSortDialogComponentPreviewComponent(
+            Objects.requireNonNull(id, "id")
+        );
+    }
+
+    private SpreadsheetCellSortDialogComponentPreviewComponent(final String id) {
+        this.div = HtmlElementComponent.div()
+            .setCssText("white-space: pre-wrap; font-family: monospace;");
+        this.root = CardComponent.empty()
+            .setId(id)
+            .setTitle("Preview")
+            .appendChild(this.div);
+        this.root.hide();
+
+        this.text = "";
+    }
+
+    /**
+     * Updates the permutation text, hiding this component when the preview is empty.
+     */
+    void refresh(final Optional<List<SpreadsheetRowReference>> rows) {
+        final String text = rows.map(SpreadsheetCellSortDialogComponentPreviewComponent::text)
+            .orElse("");
+
+        this.text = text;
+        this.div.setText(text);
+
+        if (text.isEmpty()) {
+            this.root.hide();
+        } else {
+            this.root.show();
+        }
+    }
+
+    /**
+     * Rows are always listed in sorted order, each followed by the row it will occupy once the sort is saved.
+     */
+    static String text(final List<SpreadsheetRowReference> rows) {
+        final List<SpreadsheetRowReference> destinations = Lists.array();
+        destinations.addAll(rows);
+        destinations.sort(Comparator.naturalOrder());
+
+        final StringBuilder b = new StringBuilder();
+
+        final int count = rows.size();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                b.append(", ");
+            }
+            b.append(rows.get(i))
+                .append(" → ")
+                .append(destinations.get(i));
+        }
+
+        return b.toString();
+    }
+
+    private final DivComponent div;
+
+    private String text;
+
+    // HtmlComponentDelegator...........................................................................................
+
+    @Override
+    public HtmlComponent<HTMLDivElement, ?> htmlComponent() {
+        return this.root;
+    }
+
+    private final CardComponent root;
+
+    // TreePrintable....................................................................................................
+
+    /**
+     * If there is no preview, nothing will be printed.
+     */
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        final String text = this.text;
+        if (false == text.isEmpty()) {
+            printer.println(this.getClass().getSimpleName());
+            printer.indent();
+            {
+                printer.println(text);
+            }
+            printer.outdent();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.sort;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.compare.SpreadsheetComparator;
+import walkingkooka.spreadsheet.compare.provider.SpreadsheetColumnOrRowSpreadsheetComparatorNames;
+import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorName;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnOrRowReferenceOrRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Computes a row permutation for a {@link SpreadsheetCellRangeReference} sorted by one or more
+ * {@link SpreadsheetColumnOrRowSpreadsheetComparatorNames}, entirely from values already present in the browser.
+ * The preview is only ever advisory, the actual sort is always performed by the server.
+ * <br>
+ * Rows where a key cell is missing or has no value sort after all rows with a value for that key, keeping their order.
+ * <br>
+ * A preview is unavailable whenever any of the following are true, rather than guessing and showing a wrong order:
+ * <ul>
+ * <li>A key is a row or a column range</li>
+ * <li>A value is not of the type expected by its {@link SpreadsheetComparator}</li>
+ * <li>A {@link SpreadsheetComparator} could not be found, or failed comparing with a {@link ClassCastException}</li>
+ * </ul>
+ */
+final class SpreadsheetCellSortPreview {
+
+    /**
+     * Returns the rows of the given range in their sorted order, or {@link Optional#empty()} if a preview is unavailable.
+     */
+    static Optional<List<SpreadsheetRowReference>> rows(final SpreadsheetCellRangeReference range,
+                                                        final List<SpreadsheetColumnOrRowSpreadsheetComparatorNames> comparatorNames,
+                                                        final Function<SpreadsheetCellReference, Optional<Object>> values,
+                                                        final Function<SpreadsheetComparatorName, SpreadsheetComparator<?>> comparators) {
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(comparatorNames, "comparatorNames");
+        Objects.requireNonNull(values, "values");
+        Objects.requireNonNull(comparators, "comparators");
+
+        return Optional.ofNullable(
+            rows0(
+                range,
+                comparatorNames,
+                values,
+                comparators
+            )
+        );
+    }
+
+    private static List<SpreadsheetRowReference> rows0(final SpreadsheetCellRangeReference range,
+                                                       final List<SpreadsheetColumnOrRowSpreadsheetComparatorNames> comparatorNames,
+                                                       final Function<SpreadsheetCellReference, Optional<Object>> values,
+                                                       final Function<SpreadsheetComparatorName, SpreadsheetComparator<?>> comparators) {
+        if (comparatorNames.isEmpty()) {
+            return null;
+        }
+
+        final List<SpreadsheetRowReference> rows = Lists.array();
+        for (final SpreadsheetRowReference row : range.rowRange()) {
+            rows.add(row);
+        }
+
+        // one Comparator per key, each chaining all the SpreadsheetComparator for that column
+        final Map<SpreadsheetRowReference, List<Object>> rowToKeys = Maps.sorted();
+        final List<Comparator<Object>> keyComparators = Lists.array();
+
+        for (final SpreadsheetColumnOrRowSpreadsheetComparatorNames names : comparatorNames) {
+            final SpreadsheetColumnOrRowReferenceOrRange columnOrRow = names.columnOrRow();
+            if (false == columnOrRow.isColumn()) {
+                return null;
+            }
+
+            final List<SpreadsheetComparator<?>> keyComparator = Lists.array();
+            for (final SpreadsheetComparatorName name : names.comparatorNames()) {
+                try {
+                    keyComparator.add(
+                        comparators.apply(name)
+                    );
+                } catch (final IllegalArgumentException unknown) {
+                    return null;
+                }
+            }
+            if (keyComparator.isEmpty()) {
+                return null;
+            }
+
+            final SpreadsheetColumnReference column = columnOrRow.toColumn();
+            for (final SpreadsheetRowReference row : rows) {
+                final Object value = values.apply(
+                    column.setRow(row)
+                ).orElse(null);
+
+                // a missing value is recorded as null and sorts last
+                if (null != value) {
+                    for (final SpreadsheetComparator<?> comparator : keyComparator) {
+                        if (false == comparator.type().isInstance(value)) {
+                            return null;
+                        }
+                    }
+                }
+
+                rowToKeys.computeIfAbsent(
+                    row,
+                    r -> Lists.array()
+                ).add(value);
+            }
+
+            keyComparators.add(
+                comparator(keyComparator)
+            );
+        }
+
+        // List.sort is stable, matching the server which keeps rows with equal keys in their original order.
+        try {
+            rows.sort(
+                (left, right) -> {
+                    final List<Object> leftKeys = rowToKeys.get(left);
+                    final List<Object> rightKeys = rowToKeys.get(right);
+
+                    int result = 0;
+
+                    final int count = keyComparators.size();
+                    for (int i = 0; 0 == result && i < count; i++) {
+                        final Object leftKey = leftKeys.get(i);
+                        final Object rightKey = rightKeys.get(i);
+
+                        if (null == leftKey) {
+                            result = null == rightKey ?
+                                0 :
+                                1;
+                        } else {
+                            result = null == rightKey ?
+                                -1 :
+                                keyComparators.get(i)
+                                    .compare(
+                                        leftKey,
+                                        rightKey
+                                    );
+                        }
+                    }
+
+                    return result;
+                }
+            );
+        } catch (final ClassCastException incompatible) {
+            return null;
+        }
+
+        return Lists.immutable(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> comparator(final List<SpreadsheetComparator<?>> comparators) {
+        return (left, right) -> {
+            int result = 0;
+
+            for (final SpreadsheetComparator<?> comparator : comparators) {
+                result = ((Comparator<Object>) comparator).compare(
+                    left,
+                    right
+                );
+                if (0 != result) {
+                    break;
+                }
+            }
+
+            return result;
+        };
+    }
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetCellSortPreview() {
+        throw new UnsupportedOperationException();
+    }
+}
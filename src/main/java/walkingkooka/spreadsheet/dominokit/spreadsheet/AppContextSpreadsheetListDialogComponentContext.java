@@ -25,6 +25,7 @@ import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetMetadataFetcherW
 
 import java.util.Locale;
 import java.util.Objects;
+import java.util.OptionalInt;
 
 public final class AppContextSpreadsheetListDialogComponentContext implements SpreadsheetListDialogComponentContext,
     RefreshContextDelegator,
@@ -47,6 +48,18 @@ public final class AppContextSpreadsheetListDialogComponentContext implements Sp
         return this.context;
     }
 
+    // SpreadsheetListDialogComponentContext............................................................................
+
+    @Override
+    public void loadSpreadsheetMetadatas(final int offset,
+                                         final int count) {
+        this.context.spreadsheetMetadataFetcher()
+            .getSpreadsheetMetadatas(
+                OptionalInt.of(offset),
+                OptionalInt.of(count)
+            );
+    }
+
     // HasLocale........................................................................................................
 
     @Override
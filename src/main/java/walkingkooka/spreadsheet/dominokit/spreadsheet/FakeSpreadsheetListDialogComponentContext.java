@@ -30,6 +30,12 @@ public class FakeSpreadsheetListDialogComponentContext extends FakeDialogCompone
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void loadSpreadsheetMetadatas(final int offset,
+                                         final int count) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public Runnable addSpreadsheetMetadataFetcherWatcher(final SpreadsheetMetadataFetcherWatcher watcher) {
         throw new UnsupportedOperationException();
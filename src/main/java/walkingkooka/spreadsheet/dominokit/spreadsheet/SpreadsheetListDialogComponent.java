@@ -17,12 +17,15 @@
 
 package walkingkooka.spreadsheet.dominokit.spreadsheet;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.RefreshContext;
 import walkingkooka.spreadsheet.dominokit.SpreadsheetElementIds;
 import walkingkooka.spreadsheet.dominokit.SpreadsheetIcons;
 import walkingkooka.spreadsheet.dominokit.anchor.AnchorListComponent;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponent;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponentLifecycle;
+import walkingkooka.spreadsheet.dominokit.fetcher.Fetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcherWatcher;
@@ -30,6 +33,7 @@ import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.HistoryTokenAnchorComponent;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetListDeleteHistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetListHistoryToken;
+import walkingkooka.spreadsheet.dominokit.history.SpreadsheetListReloadHistoryToken;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.tree.text.Length;
 import walkingkooka.tree.text.TextStylePropertyName;
@@ -37,7 +41,6 @@ import walkingkooka.tree.text.TextStylePropertyName;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.OptionalInt;
 import java.util.Set;
 
 /**
@@ -63,9 +66,6 @@ public final class SpreadsheetListDialogComponent implements DialogComponentLife
 
         this.reload = this.reload();
 
-        this.count10 = this.count10();
-        this.count20 = this.count20();
-
         this.table = this.table();
         this.dialog = this.dialogCreate(context);
     }
@@ -88,28 +88,6 @@ public final class SpreadsheetListDialogComponent implements DialogComponentLife
 
     private final HistoryTokenAnchorComponent reload;
 
-    // count10............................................................................................................
-
-    private HistoryTokenAnchorComponent count10() {
-        return this.count(10);
-    }
-
-    private final HistoryTokenAnchorComponent count10;
-
-    // count20............................................................................................................
-
-    private HistoryTokenAnchorComponent count20() {
-        return this.count(20);
-    }
-
-    private final HistoryTokenAnchorComponent count20;
-
-    private HistoryTokenAnchorComponent count(final int count) {
-        return this.context.historyToken()
-            .link(ID_PREFIX + "count-" + count + "-rows")
-            .setTextContent(count + " Rows");
-    }
-
     // table............................................................................................................
 
     private SpreadsheetListTableComponent table() {
@@ -136,8 +114,6 @@ public final class SpreadsheetListDialogComponent implements DialogComponentLife
                             .link(ID_PREFIX + "create")
                             .setTextContent("Create")
                     ).appendChild(this.reload)
-                    .appendChild(this.count10)
-                    .appendChild(this.count20)
             );
     }
 
@@ -169,18 +145,14 @@ public final class SpreadsheetListDialogComponent implements DialogComponentLife
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         if (this.isOpen()) {
-            this.table.setValue(
-                Optional.ofNullable(
-                    metadatas.isEmpty() ?
-                        null :
-                        new ArrayList<>(metadatas)
-                )
-            );
-            this.table.refresh(
-                context.historyToken()
-                    .cast(SpreadsheetListHistoryToken.class)
+            this.table.setPage(
+                Fetcher.offset(url),
+                Fetcher.count(url),
+                new ArrayList<>(metadatas)
             );
         }
     }
@@ -199,7 +171,7 @@ public final class SpreadsheetListDialogComponent implements DialogComponentLife
 
     @Override
     public void dialogReset() {
-        // NOP
+        this.table.clearPages();
     }
 
     @Override
@@ -221,27 +193,14 @@ public final class SpreadsheetListDialogComponent implements DialogComponentLife
             )
         );
 
-        this.count10.setHistoryToken(
-            Optional.of(
-                historyToken.setCount(
-                    OptionalInt.of(10)
-                )
-            )
-        );
-
-        this.count20.setHistoryToken(
-            Optional.of(
-                historyToken.setCount(
-                    OptionalInt.of(20)
-                )
-            )
-        );
-
-        this.table.refresh(historyToken);
+        if (historyToken instanceof SpreadsheetListReloadHistoryToken) {
+            this.table.clearPages();
+        }
+        this.table.loadPages();
     }
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_LIST_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_LIST_COMPONENT_LIFECYCLE.isEnabled();
     }
 }
@@ -20,6 +20,7 @@ package walkingkooka.spreadsheet.dominokit.spreadsheet;
 import walkingkooka.spreadsheet.dominokit.UiFormattingContext;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponentContext;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetMetadataFetcherWatchers;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcherWatcher;
 
 public interface SpreadsheetListDialogComponentContext extends HasSpreadsheetMetadataFetcherWatchers,
     DialogComponentContext,
@@ -29,4 +30,10 @@ public interface SpreadsheetListDialogComponentContext extends HasSpreadsheetMet
     default String dialogTitle() {
         return "Spreadsheet List";
     }
+
+    /**
+     * Loads a page of spreadsheets, the response will be given to any {@link SpreadsheetMetadataFetcherWatcher}.
+     */
+    void loadSpreadsheetMetadatas(final int offset,
+                                  final int count);
 }
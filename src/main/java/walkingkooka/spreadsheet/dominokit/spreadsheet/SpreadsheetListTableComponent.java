@@ -26,7 +26,6 @@ import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
 import walkingkooka.spreadsheet.dominokit.SpreadsheetIcons;
 import walkingkooka.spreadsheet.dominokit.card.CardComponent;
 import walkingkooka.spreadsheet.dominokit.datatable.DataTableComponent;
-import walkingkooka.spreadsheet.dominokit.history.SpreadsheetListHistoryToken;
 import walkingkooka.spreadsheet.dominokit.value.TableComponent;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.text.printer.IndentingPrinter;
@@ -35,6 +34,7 @@ import walkingkooka.tree.text.TextAlign;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * A datatable where each row contains a single spreadsheet, showing various metadata items such as creator, timestamps and links for actions.
@@ -67,13 +67,33 @@ final class SpreadsheetListTableComponent implements TableComponent<HTMLDivEleme
         ).emptyStatePlugin(
             SpreadsheetIcons.spreadsheetListTableEmpty(),
             "No spreadsheets"
+        ).virtualScroll(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            context::loadSpreadsheetMetadatas
         );
 
         this.card.appendChild(
-            this.dataTable.previousNextLinks(id)
+            this.dataTable
         );
     }
 
+    /**
+     * The height of a single row in pixels, used to compute the visible rows.
+     */
+    final static int ROW_HEIGHT = 32;
+
+    /**
+     * The number of spreadsheets loaded for each page.
+     */
+    final static int PAGE_SIZE = 20;
+
+    /**
+     * The maximum number of pages that are kept.
+     */
+    final static int MAX_PAGES = 10;
+
     private List<ColumnConfig<SpreadsheetMetadata>> columnConfigs() {
         return Lists.of(
             columnConfig(
@@ -148,8 +168,37 @@ final class SpreadsheetListTableComponent implements TableComponent<HTMLDivEleme
         return this;
     }
 
-    void refresh(final SpreadsheetListHistoryToken historyToken) {
-        this.dataTable.refreshPreviousNextLinks(historyToken);
+    // pages............................................................................................................
+
+    /**
+     * Accepts a page of spreadsheets previously requested using {@link SpreadsheetListDialogComponentContext#loadSpreadsheetMetadatas(int, int)}.
+     * Responses for other offsets and counts are ignored.
+     */
+    void setPage(final OptionalInt offset,
+                 final OptionalInt count,
+                 final List<SpreadsheetMetadata> metadatas) {
+        final int offsetValue = offset.orElse(0);
+
+        if (PAGE_SIZE == count.orElse(0) && 0 == offsetValue % PAGE_SIZE) {
+            this.dataTable.setPage(
+                offsetValue,
+                metadatas
+            );
+        }
+    }
+
+    /**
+     * Discards all loaded spreadsheets, eg when the dialog is opened or reloaded.
+     */
+    void clearPages() {
+        this.dataTable.clearPages();
+    }
+
+    /**
+     * Loads any missing pages for the visible rows.
+     */
+    void loadPages() {
+        this.dataTable.loadPages();
     }
 
     // HtmlComponentDelegator...........................................................................................
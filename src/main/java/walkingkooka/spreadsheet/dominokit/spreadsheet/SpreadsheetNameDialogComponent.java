@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.spreadsheet;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcher;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcherDelegator;
 import walkingkooka.spreadsheet.dominokit.RefreshContext;
@@ -170,7 +172,7 @@ public final class SpreadsheetNameDialogComponent implements DialogComponentLife
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_NAME_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_NAME_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // SpreadsheetMetadataFetcherWatcher................................................................................
@@ -194,7 +196,9 @@ public final class SpreadsheetNameDialogComponent implements DialogComponentLife
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // ignore
     }
 
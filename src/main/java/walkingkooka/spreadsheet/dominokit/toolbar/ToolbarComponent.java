@@ -21,6 +21,7 @@ import elemental2.dom.HTMLDivElement;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.net.AbsoluteOrRelativeUrl;
 import walkingkooka.net.http.HttpMethod;
+import walkingkooka.spreadsheet.dominokit.ComponentRefreshable;
 import walkingkooka.spreadsheet.dominokit.HtmlComponent;
 import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
 import walkingkooka.spreadsheet.dominokit.RefreshContext;
@@ -29,6 +30,7 @@ import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.flex.FlexLayoutComponent;
 import walkingkooka.spreadsheet.dominokit.history.LoadedSpreadsheetMetadataRequired;
+import walkingkooka.spreadsheet.dominokit.refresh.RefreshScheduler;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportCache;
 import walkingkooka.spreadsheet.dominokit.viewport.SpreadsheetViewportComponentLifecycle;
 import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
@@ -167,9 +169,21 @@ public final class ToolbarComponent implements HtmlComponentDelegator<HTMLDivEle
     public void onSpreadsheetDelta(final HttpMethod method,
                                    final AbsoluteOrRelativeUrl url,
                                    final SpreadsheetDelta delta) {
-        this.flexLayout.refreshChildrenIfOpen(this.context);
+        final ToolbarComponentContext context = this.context;
+
+        context.refreshScheduler()
+            .scheduleRefresh(
+                this.refreshChildrenIfOpen,
+                RefreshScheduler.TOOLBAR,
+                context
+            );
     }
 
+    /**
+     * Refreshes the toolbar items after the viewport, as the items reflect the current selection.
+     */
+    private final ComponentRefreshable refreshChildrenIfOpen = (c) -> this.flexLayout.refreshChildrenIfOpen(c);
+
     // SpreadsheetViewportComponentLifecycle............................................................................
 
     @Override
@@ -215,7 +229,7 @@ public final class ToolbarComponent implements HtmlComponentDelegator<HTMLDivEle
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_TOOLBAR_COMPONENT; // child items return false
+        return SPREADSHEET_TOOLBAR_COMPONENT.isEnabled(); // child items return false
     }
 
     // TreePrintable....................................................................................................
@@ -478,6 +478,6 @@ abstract class ToolbarComponentItem<C extends ToolbarComponentItem<C>> implement
 
     @Override
     public final boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_TOOLBAR_COMPONENT_ITEM;
+        return SPREADSHEET_TOOLBAR_COMPONENT_ITEM.isEnabled();
     }
 }
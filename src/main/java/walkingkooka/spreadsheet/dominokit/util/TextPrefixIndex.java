@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.util;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * A built once index of values by their text, supporting fast case-insensitive starts-with queries. The matches for
+ * recent prefixes are remembered, and a query that extends the previous prefix only searches within the previous
+ * matches, which is the typical pattern as a user types into a suggest box.
+ */
+public final class TextPrefixIndex<T> {
+
+    /**
+     * The number of prefixes and their matching ranges that are remembered.
+     */
+    final static int CACHE_SIZE = 64;
+
+    /**
+     * Creates a new {@link TextPrefixIndex}, values with empty text are ignored.
+     */
+    public static <T> TextPrefixIndex<T> with(final Map<T, String> valueToText) {
+        Objects.requireNonNull(valueToText, "valueToText");
+
+        // group by normalized text, several values may share the same text
+        final Map<String, List<T>> textToValues = Maps.sorted();
+        for (final Entry<T, String> valueAndText : valueToText.entrySet()) {
+            final String text = valueAndText.getValue();
+            if (null != text && false == text.isEmpty()) {
+                textToValues.computeIfAbsent(
+                    normalize(text),
+                    (k) -> Lists.array()
+                ).add(valueAndText.getKey());
+            }
+        }
+
+        final List<String> keys = Lists.array();
+        final List<T> values = Lists.array();
+
+        for (final Entry<String, List<T>> textAndValues : textToValues.entrySet()) {
+            for (final T value : textAndValues.getValue()) {
+                keys.add(textAndValues.getKey());
+                values.add(value);
+            }
+        }
+
+        return new TextPrefixIndex<>(
+            keys.toArray(new String[0]),
+            values.toArray()
+        );
+    }
+
+    private TextPrefixIndex(final String[] keys,
+                            final Object[] values) {
+        this.keys = keys;
+        this.values = values;
+
+        this.prefixToRange = new LinkedHashMap<String, int[]>(
+            CACHE_SIZE,
+            0.75f,
+            true // access order
+        ) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, int[]> eldest) {
+                return this.size() > CACHE_SIZE;
+            }
+        };
+        this.lastPrefix = "";
+        this.lastRange = new int[]{0, keys.length};
+    }
+
+    /**
+     * Returns the values whose text starts with the given text ignoring case, in text order.
+     */
+    public List<T> find(final String text,
+                        final int offset,
+                        final int count) {
+        Objects.requireNonNull(text, "text");
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+
+        final int[] range = this.range(
+            normalize(text)
+        );
+
+        final int from = Math.min(range[0] + offset, range[1]);
+        final int to = (int) Math.min((long) from + count, range[1]);
+
+        final List<T> found = Lists.array();
+        for (int i = from; i < to; i++) {
+            found.add(
+                Cast.to(this.values[i])
+            );
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of values whose text starts with the given text ignoring case.
+     */
+    public int count(final String text) {
+        Objects.requireNonNull(text, "text");
+
+        final int[] range = this.range(
+            normalize(text)
+        );
+        return range[1] - range[0];
+    }
+
+    private int[] range(final String prefix) {
+        int[] range = this.prefixToRange.get(prefix);
+        if (null == range) {
+            // narrow from the previous range if the user is still typing
+            final int[] within = prefix.startsWith(this.lastPrefix) ?
+                this.lastRange :
+                new int[]{0, this.keys.length};
+
+            range = new int[]{
+                this.search(prefix, within[0], within[1]),
+                this.search(prefix + Character.MAX_VALUE, within[0], within[1])
+            };
+            this.prefixToRange.put(
+                prefix,
+                range
+            );
+        }
+
+        this.lastPrefix = prefix;
+        this.lastRange = range;
+        return range;
+    }
+
+    /**
+     * Binary search returning the index of the first key greater than or equal to the given key.
+     */
+    private int search(final String key,
+                       final int from,
+                       final int to) {
+        int low = from;
+        int high = to;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private final String[] keys;
+
+    private final Object[] values;
+
+    private final Map<String, int[]> prefixToRange;
+
+    private String lastPrefix;
+
+    private int[] lastRange;
+
+    /**
+     * Folds the case of each character, keeping the length of the text unchanged.
+     */
+    static String normalize(final String text) {
+        final int length = text.length();
+        final char[] chars = new char[length];
+
+        for (int i = 0; i < length; i++) {
+            chars[i] = Character.toLowerCase(
+                Character.toUpperCase(
+                    text.charAt(i)
+                )
+            );
+        }
+        return new String(chars);
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.values);
+    }
+}
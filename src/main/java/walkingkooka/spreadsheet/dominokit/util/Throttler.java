@@ -48,13 +48,7 @@ public final class Throttler {
     public Throttler add(final Runnable later) {
         Objects.requireNonNull(later, "later");
 
-        final double timerId = this.timerId;
-        if (timerId >= 0) {
-            // clear any pending timer.
-            DomGlobal.clearTimeout(timerId);
-            this.timerId = -1;
-        }
-
+        this.clearTimer();
 
         // schedule another
         this.next = later;
@@ -71,6 +65,25 @@ public final class Throttler {
         return this;
     }
 
+    /**
+     * Clears any pending {@link Runnable}, so it is never executed.
+     */
+    public Throttler clear() {
+        this.clearTimer();
+        this.next = null;
+
+        return this;
+    }
+
+    private void clearTimer() {
+        final double timerId = this.timerId;
+        if (timerId >= 0) {
+            // clear any pending timer.
+            DomGlobal.clearTimeout(timerId);
+            this.timerId = -1;
+        }
+    }
+
     /**
      * Invoked when the last timer expires.
      */
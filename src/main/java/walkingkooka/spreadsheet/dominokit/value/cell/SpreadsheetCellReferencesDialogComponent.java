@@ -17,27 +17,49 @@
 
 package walkingkooka.spreadsheet.dominokit.value.cell;
 
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.RefreshContext;
 import walkingkooka.spreadsheet.dominokit.SpreadsheetElementIds;
 import walkingkooka.spreadsheet.dominokit.delta.SpreadsheetDeltaCellsTableComponent;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogAnchorListComponent;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponent;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponentLifecycle;
+import walkingkooka.spreadsheet.dominokit.fetcher.Fetcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.HistoryTokenOffsetAndCount;
 import walkingkooka.spreadsheet.dominokit.history.LoadedSpreadsheetMetadataRequired;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetCellReferenceListHistoryToken;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
 import walkingkooka.spreadsheet.meta.SpreadsheetId;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 
 /**
- * A modal dialog that displays the refreshReferences for the selected cells.
+ * A modal dialog that displays the refreshReferences for the selected cells. As responses arrive the dependents of the
+ * dependents are also requested, breadth first and in batches, and once known the table shows the whole chain.
  */
 public final class SpreadsheetCellReferencesDialogComponent implements DialogComponentLifecycle,
-    LoadedSpreadsheetMetadataRequired {
+    LoadedSpreadsheetMetadataRequired,
+    NopFetcherWatcher,
+    NopEmptyResponseFetcherWatcher,
+    SpreadsheetDeltaFetcherWatcher {
 
     /**
      * Creates a new {@link SpreadsheetCellReferencesDialogComponent}.
@@ -60,7 +82,10 @@ public final class SpreadsheetCellReferencesDialogComponent implements DialogCom
 
         this.dialog = this.dialogCreate();
 
+        this.graph = SpreadsheetCellReferencesGraph.empty();
+
         context.addHistoryWatcher(this);
+        context.addSpreadsheetDeltaFetcherWatcher(this);
     }
 
     // dialog...........................................................................................................
@@ -126,6 +151,8 @@ public final class SpreadsheetCellReferencesDialogComponent implements DialogCom
     @Override
     public void dialogReset() {
         this.table.clear();
+        this.graph.clear();
+        this.dependentsOffsets.clear();
     }
 
     @Override
@@ -164,11 +191,158 @@ public final class SpreadsheetCellReferencesDialogComponent implements DialogCom
             cells,
             offsetAndCount
         );
+        this.graph.setRequested(cells);
+    }
+
+    // dependents.......................................................................................................
+
+    /**
+     * Replaces the table with the chain of known dependents, and requests the dependents of any cells within the chain
+     * that have not yet been requested, grouping neighbouring cells into ranges.
+     */
+    private void refreshDependents(final SpreadsheetCellReferenceListHistoryToken historyToken) {
+        final SpreadsheetCellReferencesGraph graph = this.graph;
+
+        final Map<Integer, Set<SpreadsheetCellReference>> levels = graph.dependents(
+            historyToken.anchoredSelection()
+                .selection()
+                .toCellRange(),
+            SpreadsheetCellReferencesDialogComponentContext.DEPENDENTS_MAX_DEPTH
+        );
+
+        if (false == levels.isEmpty()) {
+            final Set<SpreadsheetCellReference> chain = SortedSets.tree();
+            final Set<SpreadsheetCellReference> notRequested = SortedSets.tree();
+
+            for (final Entry<Integer, Set<SpreadsheetCellReference>> levelAndCells : levels.entrySet()) {
+                final Set<SpreadsheetCellReference> cells = levelAndCells.getValue();
+                chain.addAll(cells);
+
+                if (levelAndCells.getKey() < SpreadsheetCellReferencesDialogComponentContext.DEPENDENTS_MAX_DEPTH) {
+                    notRequested.addAll(
+                        graph.notRequested(cells)
+                    );
+                }
+            }
+
+            this.table.setValue(
+                Optional.of(
+                    SpreadsheetDelta.EMPTY.setCells(
+                        graph.cells(chain)
+                    )
+                )
+            );
+
+            if (false == notRequested.isEmpty()) {
+                graph.setRequested(notRequested);
+
+                for (final SpreadsheetCellRangeReference range : SpreadsheetCellReferencesGraph.ranges(notRequested)) {
+                    this.loadDependents(
+                        historyToken.spreadsheetId(),
+                        range,
+                        0
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Requests a page of the dependents of the given range, remembering the offset so the next page can be requested
+     * if this page is full.
+     */
+    private void loadDependents(final SpreadsheetId id,
+                                final SpreadsheetCellRangeReference range,
+                                final int offset) {
+        this.dependentsOffsets.put(
+            range,
+            offset
+        );
+
+        this.context.loadCellReferences(
+            id,
+            range,
+            HistoryTokenOffsetAndCount.with(
+                0 == offset ?
+                    OptionalInt.empty() :
+                    OptionalInt.of(offset),
+                OptionalInt.of(SpreadsheetCellReferencesDialogComponentContext.DEPENDENTS_MAX_COUNT)
+            )
+        );
+    }
+
+    /**
+     * If the response is a full page of dependents, the next page is requested, so the chain is never silently
+     * truncated.
+     */
+    private void loadNextDependents(final HttpMethod method,
+                                    final AbsoluteOrRelativeUrl url,
+                                    final SpreadsheetDelta delta,
+                                    final SpreadsheetCellReferenceListHistoryToken historyToken) {
+        final UrlPath path = url.path();
+
+        if (SpreadsheetDeltaFetcher.isGetCellReferences(method, path) &&
+            SpreadsheetCellReferencesDialogComponentContext.DEPENDENTS_MAX_COUNT == Fetcher.count(url).orElse(0)) {
+            // /api/spreadsheet/SpreadsheetId/cell/SpreadsheetExpressionReference/references
+            final SpreadsheetCellRangeReference range = SpreadsheetSelection.parseExpressionReference(
+                path.namesList()
+                    .get(5)
+                    .value()
+            ).toCellRange();
+
+            final Integer offset = this.dependentsOffsets.remove(range);
+            if (null != offset && delta.cells().size() >= SpreadsheetCellReferencesDialogComponentContext.DEPENDENTS_MAX_COUNT) {
+                this.loadDependents(
+                    historyToken.spreadsheetId(),
+                    range,
+                    offset + SpreadsheetCellReferencesDialogComponentContext.DEPENDENTS_MAX_COUNT
+                );
+            }
+        }
+    }
+
+    /**
+     * The offset of the last page of dependents requested for each range, cleared each time the dialog is reset.
+     */
+    private final Map<SpreadsheetCellRangeReference, Integer> dependentsOffsets = Maps.hash();
+
+    /**
+     * A graph of the cells and references from every {@link SpreadsheetDelta}, cleared each time the dialog is reset.
+     */
+    private final SpreadsheetCellReferencesGraph graph;
+
+    // SpreadsheetDeltaFetcherWatcher...................................................................................
+
+    /**
+     * If the dialog is open updates the graph with any cells and references and refreshes the chain of dependents.
+     * Responses while closed are ignored, so the graph only holds cells seen since the dialog was opened.
+     * This watcher is added after the table, so the table is replaced with the chain once known.
+     */
+    @Override
+    public void onSpreadsheetDelta(final HttpMethod method,
+                                   final AbsoluteOrRelativeUrl url,
+                                   final SpreadsheetDelta delta) {
+        if (this.isOpen()) {
+            final HistoryToken historyToken = this.context.historyToken();
+            if (historyToken instanceof SpreadsheetCellReferenceListHistoryToken) {
+                final SpreadsheetCellReferenceListHistoryToken referenceListHistoryToken = (SpreadsheetCellReferenceListHistoryToken) historyToken;
+
+                this.graph.update(delta);
+
+                this.loadNextDependents(
+                    method,
+                    url,
+                    delta,
+                    referenceListHistoryToken
+                );
+                this.refreshDependents(referenceListHistoryToken);
+            }
+        }
     }
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_CELL_REFERENCES_DIALOG_COMPONENT;
+        return SPREADSHEET_CELL_REFERENCES_DIALOG_COMPONENT.isEnabled();
     }
 
     // UI...............................................................................................................
@@ -39,6 +39,16 @@ public interface SpreadsheetCellReferencesDialogComponentContext extends Spreads
 
     int REFERENCES_MAX_COUNT = 20;
 
+    /**
+     * The maximum number of levels of dependents that are requested.
+     */
+    int DEPENDENTS_MAX_DEPTH = 8;
+
+    /**
+     * The maximum number of dependents requested for each batch of cells.
+     */
+    int DEPENDENTS_MAX_COUNT = 100;
+
     @Override
     default String dialogTitle() {
         return "Cell References";
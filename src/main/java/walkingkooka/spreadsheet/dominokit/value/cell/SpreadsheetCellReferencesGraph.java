@@ -0,0 +1,441 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.value.cell;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * A client side graph of cells and their references, built from the {@link SpreadsheetDelta} responses that pass
+ * through the {@link SpreadsheetCellReferencesDialogComponent}. It is used to walk dependents breadth first, and to
+ * track which cells have already had their dependents requested, so each cell is only requested once.
+ */
+final class SpreadsheetCellReferencesGraph {
+
+    static SpreadsheetCellReferencesGraph empty() {
+        return new SpreadsheetCellReferencesGraph();
+    }
+
+    private SpreadsheetCellReferencesGraph() {
+        super();
+    }
+
+    /**
+     * Updates the graph with the cells, references and labels within the {@link SpreadsheetDelta}. The previous
+     * references of any updated or deleted cell are replaced, so edges are only ever added or removed for the cells
+     * in the delta.
+     */
+    void update(final SpreadsheetDelta delta) {
+        Objects.requireNonNull(delta, "delta");
+
+        for (final SpreadsheetLabelMapping mapping : delta.labels()) {
+            this.labels.put(
+                mapping.label(),
+                mapping.reference()
+            );
+        }
+
+        final Map<SpreadsheetCellReference, SpreadsheetCell> cells = this.cells;
+        final Map<SpreadsheetCellReference, Set<SpreadsheetExpressionReference>> references = this.references;
+
+        for (final SpreadsheetCellReference cell : delta.deletedCells()) {
+            cells.remove(cell);
+            this.removeReferences(cell);
+        }
+
+        for (final SpreadsheetCell cell : delta.cells()) {
+            final SpreadsheetCellReference reference = cell.reference();
+            cells.put(
+                reference,
+                cell
+            );
+            this.removeReferences(reference);
+        }
+
+        for (final Entry<SpreadsheetCellReference, Set<SpreadsheetExpressionReference>> cellAndReferences : delta.references().entrySet()) {
+            final SpreadsheetCellReference cell = cellAndReferences.getKey();
+            final Set<SpreadsheetExpressionReference> cellReferences = cellAndReferences.getValue();
+
+            this.removeReferences(cell);
+            references.put(
+                cell,
+                cellReferences
+            );
+
+            for (final SpreadsheetExpressionReference reference : cellReferences) {
+                if (reference.isCell()) {
+                    addReferencedBy(
+                        reference.toCell(),
+                        cell,
+                        this.cellReferencedBy
+                    );
+                } else {
+                    addReferencedBy(
+                        reference,
+                        cell,
+                        this.otherReferencedBy
+                    );
+                }
+            }
+        }
+    }
+
+    private static <R extends SpreadsheetExpressionReference> void addReferencedBy(final R reference,
+                                                                                   final SpreadsheetCellReference cell,
+                                                                                   final Map<R, Set<SpreadsheetCellReference>> index) {
+        Set<SpreadsheetCellReference> referencedBy = index.get(reference);
+        if (null == referencedBy) {
+            referencedBy = SortedSets.tree();
+            index.put(
+                reference,
+                referencedBy
+            );
+        }
+        referencedBy.add(cell);
+    }
+
+    /**
+     * Removes the references of the given cell, and the cell from the reverse index of each reference.
+     */
+    private void removeReferences(final SpreadsheetCellReference cell) {
+        final Set<SpreadsheetExpressionReference> previous = this.references.remove(cell);
+        if (null != previous) {
+            for (final SpreadsheetExpressionReference reference : previous) {
+                if (reference.isCell()) {
+                    removeReferencedBy(
+                        reference.toCell(),
+                        cell,
+                        this.cellReferencedBy
+                    );
+                } else {
+                    removeReferencedBy(
+                        reference,
+                        cell,
+                        this.otherReferencedBy
+                    );
+                }
+            }
+        }
+    }
+
+    private static <R extends SpreadsheetExpressionReference> void removeReferencedBy(final R reference,
+                                                                                      final SpreadsheetCellReference cell,
+                                                                                      final Map<R, Set<SpreadsheetCellReference>> index) {
+        final Set<SpreadsheetCellReference> referencedBy = index.get(reference);
+        if (null != referencedBy) {
+            referencedBy.remove(cell);
+            if (referencedBy.isEmpty()) {
+                index.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link SpreadsheetCell} for each of the given cells, ignoring any that are unknown.
+     */
+    Set<SpreadsheetCell> cells(final Collection<SpreadsheetCellReference> cells) {
+        final Set<SpreadsheetCell> found = SortedSets.tree(SpreadsheetCell.REFERENCE_COMPARATOR);
+
+        for (final SpreadsheetCellReference cell : cells) {
+            final SpreadsheetCell spreadsheetCell = this.cells.get(cell);
+            if (null != spreadsheetCell) {
+                found.add(spreadsheetCell);
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * A cache of cells, used to fill the table with the chain of dependents.
+     */
+    private final Map<SpreadsheetCellReference, SpreadsheetCell> cells = Maps.sorted();
+
+    /**
+     * Each cell and the references within its formula, eg its precedents.
+     */
+    private final Map<SpreadsheetCellReference, Set<SpreadsheetExpressionReference>> references = Maps.sorted();
+
+    /**
+     * A reverse index of each referenced cell to the cells whose formulas reference it, eg its dependents.
+     */
+    private final Map<SpreadsheetCellReference, Set<SpreadsheetCellReference>> cellReferencedBy = Maps.sorted();
+
+    /**
+     * A reverse index of each referenced cell-range or label to the cells whose formulas reference it. These are
+     * tested against each level of dependents, because a label may be mapped later.
+     */
+    private final Map<SpreadsheetExpressionReference, Set<SpreadsheetCellReference>> otherReferencedBy = Maps.hash();
+
+    /**
+     * Labels to their target, which may be another label.
+     */
+    private final Map<SpreadsheetLabelName, SpreadsheetExpressionReference> labels = Maps.sorted();
+
+    // dependents.......................................................................................................
+
+    /**
+     * Walks the dependents of the given cells breadth first, returning each level of dependents. The first level holds
+     * the cells that reference any of the given cells, the second level the cells referencing the first level and so on.
+     * A cell appears at most once, at the level it is first visited, and at most depth levels are returned.
+     */
+    Map<Integer, Set<SpreadsheetCellReference>> dependents(final SpreadsheetCellRangeReference cells,
+                                                           final int depth) {
+        Objects.requireNonNull(cells, "cells");
+        if (depth < 0) {
+            throw new IllegalArgumentException("Invalid depth " + depth + " < 0");
+        }
+
+        final Map<Integer, Set<SpreadsheetCellReference>> levels = Maps.sorted();
+
+        final Set<SpreadsheetCellReference> visited = SortedSets.tree();
+        Set<SpreadsheetCellReference> frontier = SortedSets.tree();
+        for (final SpreadsheetCellReference cell : cells) {
+            frontier.add(cell);
+        }
+        visited.addAll(frontier);
+
+        for (int level = 1; level <= depth && false == frontier.isEmpty(); level++) {
+            final SortedSet<SpreadsheetCellReference> next = SortedSets.tree();
+
+            for (final SpreadsheetCellReference cell : frontier) {
+                final Set<SpreadsheetCellReference> referencedBy = this.cellReferencedBy.get(cell);
+                if (null != referencedBy) {
+                    next.addAll(referencedBy);
+                }
+            }
+
+            for (final Entry<SpreadsheetExpressionReference, Set<SpreadsheetCellReference>> referenceAndCells : this.otherReferencedBy.entrySet()) {
+                if (this.isAnyReferenced(referenceAndCells.getKey(), frontier)) {
+                    next.addAll(referenceAndCells.getValue());
+                }
+            }
+
+            next.removeAll(visited);
+            if (next.isEmpty()) {
+                break;
+            }
+
+            visited.addAll(next);
+            levels.put(
+                level,
+                SortedSets.immutable(next)
+            );
+            frontier = next;
+        }
+
+        return levels;
+    }
+
+    private boolean isAnyReferenced(final SpreadsheetExpressionReference reference,
+                                    final Set<SpreadsheetCellReference> cells) {
+        boolean referenced = false;
+
+        final SpreadsheetSelection nonLabel = this.resolveIfLabel(reference)
+            .orElse(null);
+        if (null != nonLabel) {
+            for (final SpreadsheetCellReference cell : cells) {
+                if (nonLabel.testCell(cell)) {
+                    referenced = true;
+                    break;
+                }
+            }
+        }
+
+        return referenced;
+    }
+
+    /**
+     * Follows any labels until a cell or cell-range is found, giving up if a label is unknown or a cycle is detected.
+     */
+    private Optional<SpreadsheetSelection> resolveIfLabel(final SpreadsheetExpressionReference reference) {
+        SpreadsheetExpressionReference resolved = reference;
+        int count = 0;
+
+        while (null != resolved && resolved.isLabelName()) {
+            resolved = count < this.labels.size() ?
+                this.labels.get(resolved.toLabelName()) :
+                null;
+            count++;
+        }
+
+        return Optional.ofNullable(resolved);
+    }
+
+    // requested........................................................................................................
+
+    /**
+     * Returns the cells, which have not had their dependents requested.
+     */
+    Set<SpreadsheetCellReference> notRequested(final Collection<SpreadsheetCellReference> cells) {
+        final Set<SpreadsheetCellReference> notRequested = SortedSets.tree();
+
+        for (final SpreadsheetCellReference cell : cells) {
+            if (false == this.requested.contains(cell)) {
+                notRequested.add(cell);
+            }
+        }
+
+        return notRequested;
+    }
+
+    /**
+     * Records that the dependents of the given cells have been requested.
+     */
+    void setRequested(final Iterable<SpreadsheetCellReference> cells) {
+        for (final SpreadsheetCellReference cell : cells) {
+            this.requested.add(cell);
+        }
+    }
+
+    private final Set<SpreadsheetCellReference> requested = SortedSets.tree();
+
+    /**
+     * Clears all cells, references, labels and requested cells.
+     */
+    void clear() {
+        this.cells.clear();
+        this.references.clear();
+        this.cellReferencedBy.clear();
+        this.otherReferencedBy.clear();
+        this.labels.clear();
+        this.requested.clear();
+    }
+
+    /**
+     * Groups the given cells into {@link SpreadsheetCellRangeReference ranges} that only include the given cells.
+     * Contiguous cells within a row form a run, and identical runs in consecutive rows are merged, so the dependents
+     * of many neighbouring cells may be requested at once without including unrelated cells between distant cells.
+     */
+    static List<SpreadsheetCellRangeReference> ranges(final Collection<SpreadsheetCellReference> cells) {
+        final Map<SpreadsheetRowReference, SortedSet<SpreadsheetColumnReference>> rowToColumns = Maps.sorted();
+
+        for (final SpreadsheetCellReference cell : cells) {
+            final SpreadsheetRowReference row = cell.row();
+
+            SortedSet<SpreadsheetColumnReference> columns = rowToColumns.get(row);
+            if (null == columns) {
+                columns = SortedSets.tree();
+                rowToColumns.put(
+                    row,
+                    columns
+                );
+            }
+            columns.add(cell.column());
+        }
+
+        final List<SpreadsheetCellRangeReference> ranges = Lists.array();
+
+        // open ranges with the bottom row as the last row added
+        List<SpreadsheetCellRangeReference> open = Lists.array();
+
+        for (final Entry<SpreadsheetRowReference, SortedSet<SpreadsheetColumnReference>> rowAndColumns : rowToColumns.entrySet()) {
+            final SpreadsheetRowReference row = rowAndColumns.getKey();
+            final List<SpreadsheetCellRangeReference> nextOpen = Lists.array();
+
+            SpreadsheetColumnReference left = null;
+            SpreadsheetColumnReference right = null;
+
+            for (final SpreadsheetColumnReference column : rowAndColumns.getValue()) {
+                if (null != right && right.value() + 1 == column.value()) {
+                    right = column;
+                } else {
+                    if (null != left) {
+                        nextOpen.add(
+                            extendOrCreate(left, right, row, open)
+                        );
+                    }
+                    left = column;
+                    right = column;
+                }
+            }
+            nextOpen.add(
+                extendOrCreate(left, right, row, open)
+            );
+
+            // ranges that were not extended by this row are complete
+            ranges.addAll(open);
+            open = nextOpen;
+        }
+        ranges.addAll(open);
+
+        return ranges;
+    }
+
+    /**
+     * Extends a range that ends in the row above with the same columns, removing it from the open ranges, or creates
+     * a new range for the run.
+     */
+    private static SpreadsheetCellRangeReference extendOrCreate(final SpreadsheetColumnReference left,
+                                                                final SpreadsheetColumnReference right,
+                                                                final SpreadsheetRowReference row,
+                                                                final List<SpreadsheetCellRangeReference> open) {
+        SpreadsheetCellRangeReference range = null;
+
+        final int count = open.size();
+        for (int i = 0; i < count; i++) {
+            final SpreadsheetCellRangeReference possible = open.get(i);
+            final SpreadsheetCellReference begin = possible.begin();
+            final SpreadsheetCellReference end = possible.end();
+
+            if (begin.column().value() == left.value() &&
+                end.column().value() == right.value() &&
+                end.row().value() + 1 == row.value()) {
+                range = begin.cellRange(
+                    right.setRow(row)
+                );
+                open.remove(i);
+                break;
+            }
+        }
+
+        return null != range ?
+            range :
+            left.setRow(row)
+                .cellRange(
+                    right.setRow(row)
+                );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.references.toString();
+    }
+}
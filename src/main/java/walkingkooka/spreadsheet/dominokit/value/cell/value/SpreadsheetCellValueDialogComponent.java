@@ -279,7 +279,7 @@ public final class SpreadsheetCellValueDialogComponent<T> implements DialogCompo
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_CELL_VALUE_DIALOG_COMPONENT;
+        return SPREADSHEET_CELL_VALUE_DIALOG_COMPONENT.isEnabled();
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
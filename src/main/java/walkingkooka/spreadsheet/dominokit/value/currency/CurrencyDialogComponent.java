@@ -235,7 +235,7 @@ public final class CurrencyDialogComponent implements DialogComponentLifecycle,
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_CURRENCY_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_CURRENCY_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
@@ -255,7 +255,9 @@ public final class CurrencyDialogComponent implements DialogComponentLifecycle,
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -514,7 +514,7 @@ public final class DateTimeSymbolsDialogComponent implements DialogComponentLife
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return DATE_TIME_SYMBOLS_DIALOG_COMPONENT;
+        return DATE_TIME_SYMBOLS_DIALOG_COMPONENT.isEnabled();
     }
 
     // DateTimeSymbolsFetcherWatcher....................................................................................
@@ -553,7 +553,9 @@ public final class DateTimeSymbolsDialogComponent implements DialogComponentLife
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -708,7 +708,7 @@ public final class DecimalNumberSymbolsDialogComponent implements DialogComponen
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return DECIMAL_NUMBER_SYMBOLS_DIALOG_COMPONENT;
+        return DECIMAL_NUMBER_SYMBOLS_DIALOG_COMPONENT.isEnabled();
     }
 
     // DecimalNumberSymbolsFetcherWatcher...............................................................................
@@ -747,7 +747,9 @@ public final class DecimalNumberSymbolsDialogComponent implements DialogComponen
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
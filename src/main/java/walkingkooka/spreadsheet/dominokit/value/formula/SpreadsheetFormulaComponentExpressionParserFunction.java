@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.dominokit.value.formula;
 
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormulaParsers;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 import walkingkooka.text.cursor.TextCursors;
 
@@ -27,31 +28,67 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
- * A {@link Function} that parsers any given text into a {@link SpreadsheetFormula} and the provided {@link SpreadsheetParserContext}
+ * A {@link Function} that parsers any given text into a {@link SpreadsheetFormula} and the provided {@link SpreadsheetParserContext}.
+ * The last parsed {@link SpreadsheetFormula} is remembered, so the validator and value of a text box parsing the same text
+ * only parse once. The memo is also keyed on the {@link SpreadsheetMetadata}, as a long lived {@link SpreadsheetParserContext}
+ * such as the AppContext may remain the same instance while its decimal separator or locale change.
  */
 final class SpreadsheetFormulaComponentExpressionParserFunction implements Function<String, SpreadsheetFormula> {
 
-    static SpreadsheetFormulaComponentExpressionParserFunction with(final Supplier<SpreadsheetParserContext> context) {
+    static SpreadsheetFormulaComponentExpressionParserFunction with(final Supplier<SpreadsheetParserContext> context,
+                                                                    final Supplier<SpreadsheetMetadata> metadata) {
         Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(metadata, "metadata");
 
-        return new SpreadsheetFormulaComponentExpressionParserFunction(context);
+        return new SpreadsheetFormulaComponentExpressionParserFunction(
+            context,
+            metadata
+        );
     }
 
-    private SpreadsheetFormulaComponentExpressionParserFunction(final Supplier<SpreadsheetParserContext> context) {
+    private SpreadsheetFormulaComponentExpressionParserFunction(final Supplier<SpreadsheetParserContext> context,
+                                                                final Supplier<SpreadsheetMetadata> metadata) {
         this.context = context;
+        this.metadata = metadata;
     }
 
     @Override
     public SpreadsheetFormula apply(final String text) {
-        return SpreadsheetFormula.parse(
-            TextCursors.charSequence(text),
-            SpreadsheetFormulaParsers.expression(),
-            this.context.get()
-        );
+        final SpreadsheetParserContext context = this.context.get();
+        final SpreadsheetMetadata metadata = this.metadata.get();
+
+        SpreadsheetFormula formula = this.formula;
+        if (null == formula || false == text.equals(this.text) || context != this.parserContext || metadata != this.parserMetadata) {
+            formula = SpreadsheetFormula.parse(
+                TextCursors.charSequence(text),
+                SpreadsheetFormulaParsers.expression(),
+                context
+            );
+
+            this.text = text;
+            this.parserContext = context;
+            this.parserMetadata = metadata;
+            this.formula = formula;
+        }
+
+        return formula;
     }
 
     private final Supplier<SpreadsheetParserContext> context;
 
+    private final Supplier<SpreadsheetMetadata> metadata;
+
+    /**
+     * The text, {@link SpreadsheetParserContext}, {@link SpreadsheetMetadata} and {@link SpreadsheetFormula} of the last parse.
+     */
+    private String text;
+
+    private SpreadsheetParserContext parserContext;
+
+    private SpreadsheetMetadata parserMetadata;
+
+    private SpreadsheetFormula formula;
+
     @Override
     public String toString() {
         return this.context.toString();
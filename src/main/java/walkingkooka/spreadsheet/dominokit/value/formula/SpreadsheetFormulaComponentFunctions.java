@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.dominokit.value.formula;
 
 import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 
 import java.util.function.Function;
@@ -29,8 +30,12 @@ public final class SpreadsheetFormulaComponentFunctions implements PublicStaticH
     /**
      * {@see SpreadsheetFormulaComponentExpressionParserFunction}
      */
-    public static Function<String, SpreadsheetFormula> expressionParser(final Supplier<SpreadsheetParserContext> context) {
-        return SpreadsheetFormulaComponentExpressionParserFunction.with(context);
+    public static Function<String, SpreadsheetFormula> expressionParser(final Supplier<SpreadsheetParserContext> context,
+                                                                        final Supplier<SpreadsheetMetadata> metadata) {
+        return SpreadsheetFormulaComponentExpressionParserFunction.with(
+            context,
+            metadata
+        );
     }
 
     private SpreadsheetFormulaComponentFunctions() {
@@ -23,8 +23,11 @@ import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatc
 import walkingkooka.spreadsheet.dominokit.history.HistoryContext;
 import walkingkooka.spreadsheet.dominokit.history.HistoryContextDelegator;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetIdHistoryToken;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.OptionalInt;
 
 final class AppContextSpreadsheetLabelComponentContext implements SpreadsheetLabelComponentContext,
@@ -58,6 +61,21 @@ final class AppContextSpreadsheetLabelComponentContext implements SpreadsheetLab
             );
     }
 
+    @Override
+    public Optional<List<SpreadsheetLabelName>> findLocalLabelsByName(final String text,
+                                                                      final int count) {
+        final AppContext context = this.context;
+
+        return context.spreadsheetLabelNameIndex()
+            .findLabelByName(
+                context.historyToken()
+                    .cast(SpreadsheetIdHistoryToken.class)
+                    .spreadsheetId(),
+                text,
+                count
+            );
+    }
+
     // HasSpreadsheetDeltaFetcherWatchersDelegator......................................................................
 
     @Override
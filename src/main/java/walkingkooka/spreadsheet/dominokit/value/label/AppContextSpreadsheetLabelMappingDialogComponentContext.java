@@ -25,7 +25,9 @@ import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetIdHistoryToken;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.OptionalInt;
 
 /**
@@ -91,6 +93,21 @@ final class AppContextSpreadsheetLabelMappingDialogComponentContext implements S
             );
     }
 
+    @Override
+    public Optional<List<SpreadsheetLabelName>> findLocalLabelsByName(final String text,
+                                                                      final int count) {
+        final AppContext context = this.context;
+
+        return context.spreadsheetLabelNameIndex()
+            .findLabelByName(
+                context.historyToken()
+                    .cast(SpreadsheetIdHistoryToken.class)
+                    .spreadsheetId(),
+                text,
+                count
+            );
+    }
+
     // DialogComponentContext...........................................................................................
 
     @Override
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.value.label;
+
+import walkingkooka.spreadsheet.dominokit.AppContext;
+import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatchers;
+import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatchersDelegator;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+
+final class AppContextSpreadsheetLabelNameIndexContext implements SpreadsheetLabelNameIndexContext,
+    HasSpreadsheetDeltaFetcherWatchersDelegator {
+
+    static AppContextSpreadsheetLabelNameIndexContext with(final AppContext context) {
+        return new AppContextSpreadsheetLabelNameIndexContext(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private AppContextSpreadsheetLabelNameIndexContext(final AppContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void loadLabelMappings(final SpreadsheetId id,
+                                  final int offset,
+                                  final int count) {
+        this.context.spreadsheetDeltaFetcher()
+            .getLabelMappings(
+                id,
+                OptionalInt.of(offset),
+                OptionalInt.of(count)
+            );
+    }
+
+    // HasSpreadsheetDeltaFetcherWatchersDelegator......................................................................
+
+    @Override
+    public HasSpreadsheetDeltaFetcherWatchers hasSpreadsheetDeltaFetcherWatchers() {
+        return this.context;
+    }
+
+    private final AppContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
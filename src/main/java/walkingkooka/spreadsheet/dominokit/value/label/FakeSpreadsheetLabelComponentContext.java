@@ -19,7 +19,10 @@ package walkingkooka.spreadsheet.dominokit.value.label;
 
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.history.FakeHistoryContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.OptionalInt;
 
 public class FakeSpreadsheetLabelComponentContext extends FakeHistoryContext
@@ -36,6 +39,11 @@ public class FakeSpreadsheetLabelComponentContext extends FakeHistoryContext
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Optional<List<SpreadsheetLabelName>> findLocalLabelsByName(final String text,
+                                                                      final int count) {
+        throw new UnsupportedOperationException();
+    }
 
     @Override
     public Runnable addSpreadsheetDeltaFetcherWatcher(final SpreadsheetDeltaFetcherWatcher watcher) {
@@ -18,8 +18,10 @@
 package walkingkooka.spreadsheet.dominokit.value.label;
 
 import org.dominokit.domino.ui.menu.MenuItem;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.net.AbsoluteOrRelativeUrl;
 import walkingkooka.net.UrlPath;
+import walkingkooka.net.UrlPathName;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
@@ -59,6 +61,11 @@ public final class SpreadsheetLabelComponent implements SuggestBoxComponentDeleg
         );
     }
 
+    /**
+     * The maximum number of labels shown as suggestions.
+     */
+    private final static int COUNT = 20;
+
     private SpreadsheetLabelComponent(final Function<SpreadsheetLabelName, MenuItem<SpreadsheetLabelName>> optionMenuItemCreator,
                                       final SpreadsheetLabelComponentContext context) {
         this.suggestBox = SuggestBoxComponent.with(
@@ -66,11 +73,23 @@ public final class SpreadsheetLabelComponent implements SuggestBoxComponentDeleg
                 @Override
                 public void filter(final String startsWith,
                                    final SuggestBoxComponent<SpreadsheetLabelName> suggestBox) {
-                    context.findLabelByName(
+                    // try the local index first, only asking the server if its not ready
+                    final Optional<List<SpreadsheetLabelName>> labels = context.findLocalLabelsByName(
                         startsWith,
-                        OptionalInt.of(0), // offset
-                        OptionalInt.of(20) // count
+                        COUNT
                     );
+                    if (labels.isPresent()) {
+                        SpreadsheetLabelComponent.this.setOptions(
+                            startsWith,
+                            labels.get()
+                        );
+                    } else {
+                        context.findLabelByName(
+                            startsWith,
+                            OptionalInt.of(0), // offset
+                            OptionalInt.of(COUNT) // count
+                        );
+                    }
                 }
 
                 @Override
@@ -182,31 +201,41 @@ public final class SpreadsheetLabelComponent implements SuggestBoxComponentDeleg
         final UrlPath path = url.path();
 
         if (SpreadsheetDeltaFetcher.isGetLabelMappingsFindByName(method, path)) {
-            final List<SpreadsheetLabelName> labels = delta.labels()
-                .stream()
-                .map(SpreadsheetLabelMapping::label)
-                .collect(Collectors.toList());
-
-            try {
-                final SpreadsheetLabelName label = SpreadsheetSelection.labelName(
-                    path.namesList()
-                        .get(7)
-                        .value()
-                );
+            final List<UrlPathName> names = path.namesList();
+
+            this.setOptions(
+                names.size() > 7 ?
+                    names.get(7)
+                        .value() :
+                    "",
+                delta.labels()
+                    .stream()
+                    .map(SpreadsheetLabelMapping::label)
+                    .collect(Collectors.toList())
+            );
+        }
+    }
 
-                // if search label is missing from the matches insert at top of list.
-                if (false == labels.contains(label)) {
-                    labels.add(
-                        0,
-                        label
-                    );
-                }
+    private void setOptions(final String text,
+                            final List<SpreadsheetLabelName> found) {
+        final List<SpreadsheetLabelName> labels = Lists.array();
+        labels.addAll(found);
+
+        try {
+            final SpreadsheetLabelName label = SpreadsheetSelection.labelName(text);
 
-            } catch (final RuntimeException cause) {
-                // dont insert into top of list
+            // if search label is missing from the matches insert at top of list.
+            if (false == labels.contains(label)) {
+                labels.add(
+                    0,
+                    label
+                );
             }
 
-            this.suggestBox.setOptions(labels);
+        } catch (final RuntimeException cause) {
+            // dont insert into top of list
         }
+
+        this.suggestBox.setOptions(labels);
     }
 }
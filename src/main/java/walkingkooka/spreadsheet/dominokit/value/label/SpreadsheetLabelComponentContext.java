@@ -20,6 +20,10 @@ package walkingkooka.spreadsheet.dominokit.value.label;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatchers;
 import walkingkooka.spreadsheet.dominokit.history.HistoryContext;
 
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+
+import java.util.List;
+import java.util.Optional;
 import java.util.OptionalInt;
 
 public interface SpreadsheetLabelComponentContext extends HasSpreadsheetDeltaFetcherWatchers,
@@ -31,4 +35,11 @@ public interface SpreadsheetLabelComponentContext extends HasSpreadsheetDeltaFet
     void findLabelByName(final String text,
                          final OptionalInt offset,
                          final OptionalInt count);
+
+    /**
+     * Attempts to find labels using a local index, returning nothing if the index is not yet ready, in which case
+     * {@link #findLabelByName(String, OptionalInt, OptionalInt)} should be used.
+     */
+    Optional<List<SpreadsheetLabelName>> findLocalLabelsByName(final String text,
+                                                               final int count);
 }
@@ -441,7 +441,7 @@ public final class SpreadsheetLabelMappingDialogComponent implements DialogCompo
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_LABEL_MAPPING_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_LABEL_MAPPING_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
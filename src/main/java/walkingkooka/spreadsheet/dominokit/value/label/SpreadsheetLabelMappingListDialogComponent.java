@@ -36,6 +36,7 @@ import walkingkooka.tree.text.TextStylePropertyName;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * A modal dialog that displays a list of {@link walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping}.
@@ -65,6 +66,7 @@ public final class SpreadsheetLabelMappingListDialogComponent implements DialogC
 
         this.table = SpreadsheetDeltaLabelsTableComponent.with(
             ID_PREFIX,
+            this::loadLabelMappings, // DataTableComponentPageLoader
             context // SpreadsheetDeltaLabelsTableComponentContext
         );
 
@@ -105,8 +107,12 @@ public final class SpreadsheetLabelMappingListDialogComponent implements DialogC
 
     // table............................................................................................................
 
-    private void refreshTable(final HistoryToken token) {
-        this.table.refresh(token);
+    /**
+     * Discards any previously loaded labels, which may have been deleted or changed and loads the visible pages.
+     */
+    private void refreshTable() {
+        this.table.clearPages()
+            .loadPages();
     }
 
     // @VisibleForTesting.
@@ -150,7 +156,7 @@ public final class SpreadsheetLabelMappingListDialogComponent implements DialogC
 
     @Override
     public void dialogReset() {
-        this.table.clear();
+        this.table.clearPages();
     }
 
     @Override
@@ -159,7 +165,7 @@ public final class SpreadsheetLabelMappingListDialogComponent implements DialogC
     }
 
     /**
-     * A change in history token probably means the offset or count changed so refresh links and fetch.
+     * A change in history token refreshes links and reloads the labels, pages of labels are loaded as the table is scrolled.
      */
     @Override
     public void refresh(final RefreshContext context) {
@@ -170,25 +176,28 @@ public final class SpreadsheetLabelMappingListDialogComponent implements DialogC
         this.refreshCreate();
         this.refreshClose(historyToken);
 
-        this.refreshTable(historyToken);
-
-        this.loadLabelMappings(
-            historyToken.offsetAndCount()
-        );
+        this.refreshTable();
     }
 
-    private void loadLabelMappings(final HistoryTokenOffsetAndCount offsetAndCount) {
+    /**
+     * Invoked by the table whenever it requires a page of labels.
+     */
+    private void loadLabelMappings(final int offset,
+                                   final int count) {
         this.context.loadLabelMappings(
             this.context.historyToken()
                 .cast(SpreadsheetIdHistoryToken.class)
                 .spreadsheetId(),
-            offsetAndCount
+            HistoryTokenOffsetAndCount.with(
+                OptionalInt.of(offset),
+                OptionalInt.of(count)
+            )
         );
     }
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_LABEL_MAPPING_LIST_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_LABEL_MAPPING_LIST_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // UI...............................................................................................................
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.value.label;
+
+import elemental2.dom.Headers;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.spreadsheet.dominokit.fetcher.Fetcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.NopFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcher;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * An index of all the {@link SpreadsheetLabelName} for the current spreadsheet, allowing label suggestions to be
+ * answered locally without asking the server on every key stroke.
+ * <br>
+ * The index is populated using pages of label mappings the first time a spreadsheet is searched, and is kept current
+ * by watching all {@link SpreadsheetDelta} for new and deleted labels. Until every page has been loaded
+ * {@link #findLabelByName(SpreadsheetId, String, int)} returns nothing and callers should ask the server. If loading a
+ * page fails the index forgets the spreadsheet, so the next search starts loading again.
+ */
+public final class SpreadsheetLabelNameIndex implements SpreadsheetDeltaFetcherWatcher,
+    NopFetcherWatcher,
+    NopEmptyResponseFetcherWatcher {
+
+    /**
+     * The number of label mappings fetched for each page.
+     */
+    public final static int PAGE_SIZE = 100;
+
+    public static SpreadsheetLabelNameIndex with(final SpreadsheetLabelNameIndexContext context) {
+        return new SpreadsheetLabelNameIndex(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private SpreadsheetLabelNameIndex(final SpreadsheetLabelNameIndexContext context) {
+        this.context = context;
+        this.labels = Maps.sorted();
+
+        context.addSpreadsheetDeltaFetcherWatcher(this);
+    }
+
+    /**
+     * Returns labels that start with the given text followed by those that contain the text, ignoring case.
+     * If the index is still loading labels for the given {@link SpreadsheetId} nothing is returned, and the loading
+     * of all labels will be started if the spreadsheet was not the current.
+     */
+    public Optional<List<SpreadsheetLabelName>> findLabelByName(final SpreadsheetId id,
+                                                                final String text,
+                                                                final int count) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(text, "text");
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+
+        if (false == id.equals(this.spreadsheetId)) {
+            this.load(id);
+        }
+
+        return Optional.ofNullable(
+            this.complete ?
+                this.find(
+                    text,
+                    count
+                ) :
+                null
+        );
+    }
+
+    private List<SpreadsheetLabelName> find(final String text,
+                                            final int count) {
+        final List<SpreadsheetLabelName> found = Lists.array();
+        final String key = normalize(text);
+
+        if (count > 0) {
+            // labels starting with text
+            final SortedMap<String, SpreadsheetLabelName> startsWith = key.isEmpty() ?
+                this.labels :
+                this.labels.subMap(
+                    key,
+                    key + Character.MAX_VALUE
+                );
+            for (final SpreadsheetLabelName label : startsWith.values()) {
+                if (found.size() >= count) {
+                    break;
+                }
+                found.add(label);
+            }
+
+            // labels containing text
+            if (found.size() < count && false == key.isEmpty()) {
+                for (final Entry<String, SpreadsheetLabelName> keyAndLabel : this.labels.entrySet()) {
+                    final String labelKey = keyAndLabel.getKey();
+                    if (false == labelKey.startsWith(key) && labelKey.contains(key)) {
+                        found.add(keyAndLabel.getValue());
+                        if (found.size() >= count) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Clears the index and starts loading the first page of labels for the given {@link SpreadsheetId}.
+     */
+    private void load(final SpreadsheetId id) {
+        this.spreadsheetId = id;
+        this.labels.clear();
+        this.loaded = 0;
+        this.complete = false;
+
+        this.context.loadLabelMappings(
+            id,
+            0,
+            PAGE_SIZE
+        );
+    }
+
+    /**
+     * The spreadsheet being indexed, null if none have been searched.
+     */
+    private SpreadsheetId spreadsheetId;
+
+    /**
+     * Labels by their lower-cased text.
+     */
+    private final SortedMap<String, SpreadsheetLabelName> labels;
+
+    /**
+     * The number of labels loaded by paging.
+     */
+    private int loaded;
+
+    /**
+     * Becomes true once all pages of labels have been loaded.
+     */
+    private boolean complete;
+
+    private final SpreadsheetLabelNameIndexContext context;
+
+    private static String normalize(final String text) {
+        return text.toLowerCase();
+    }
+
+    // SpreadsheetDeltaFetcherWatcher...................................................................................
+
+    @Override
+    public void onSpreadsheetDelta(final HttpMethod method,
+                                   final AbsoluteOrRelativeUrl url,
+                                   final SpreadsheetDelta delta) {
+        final SpreadsheetId id = this.spreadsheetId;
+
+        if (null != id &&
+            SpreadsheetMetadataFetcher.extractSpreadsheetId(url)
+                .map(id::equals)
+                .orElse(false)) {
+            final Set<SpreadsheetLabelMapping> mappings = delta.labels();
+
+            for (final SpreadsheetLabelMapping mapping : mappings) {
+                this.add(mapping.label());
+            }
+            for (final SpreadsheetLabelName label : delta.deletedLabels()) {
+                this.labels.remove(
+                    normalize(label.value())
+                );
+            }
+
+            if (false == this.complete && this.isRequestedPage(method, url)) {
+                this.loaded += mappings.size();
+
+                if (mappings.size() < PAGE_SIZE) {
+                    this.complete = true;
+                } else {
+                    this.context.loadLabelMappings(
+                        id,
+                        this.loaded,
+                        PAGE_SIZE
+                    );
+                }
+            }
+        }
+    }
+
+    // FetcherWatcher...................................................................................................
+
+    /**
+     * A failed page would never be requested again, so the spreadsheet is forgotten and the next
+     * {@link #findLabelByName(SpreadsheetId, String, int)} restarts loading.
+     */
+    @Override
+    public void onFailure(final HttpMethod method,
+                          final AbsoluteOrRelativeUrl url,
+                          final HttpStatus status,
+                          final Headers headers,
+                          final String body) {
+        final SpreadsheetId id = this.spreadsheetId;
+
+        if (null != id &&
+            false == this.complete &&
+            SpreadsheetMetadataFetcher.extractSpreadsheetId(url)
+                .map(id::equals)
+                .orElse(false) &&
+            this.isRequestedPage(method, url)) {
+            this.spreadsheetId = null;
+        }
+    }
+
+    /**
+     * Errors such as a network failure do not include the url, so any incomplete loading is forgotten and restarted by
+     * the next {@link #findLabelByName(SpreadsheetId, String, int)}.
+     */
+    @Override
+    public void onError(final Object cause) {
+        if (false == this.complete) {
+            this.spreadsheetId = null;
+        }
+    }
+
+    /**
+     * Only pages requested by this index advance paging, pages of label mappings requested by others such as the
+     * label list dialog use a different offset or count and are ignored.
+     */
+    private boolean isRequestedPage(final HttpMethod method,
+                                    final AbsoluteOrRelativeUrl url) {
+        return SpreadsheetDeltaFetcher.isGetLabelMappings(method, url.path()) &&
+            this.loaded == Fetcher.offset(url).orElse(0) &&
+            PAGE_SIZE == Fetcher.count(url).orElse(-1);
+    }
+
+    private void add(final SpreadsheetLabelName label) {
+        this.labels.put(
+            normalize(label.value()),
+            label
+        );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.spreadsheetId + " " + this.labels.values();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.value.label;
+
+import walkingkooka.Context;
+import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcherWatchers;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+
+/**
+ * A {@link Context} for a {@link SpreadsheetLabelNameIndex}.
+ */
+public interface SpreadsheetLabelNameIndexContext extends Context,
+    HasSpreadsheetDeltaFetcherWatchers {
+
+    /**
+     * Requests a page of label mappings for the given spreadsheet, the response will arrive as a
+     * {@link walkingkooka.spreadsheet.engine.SpreadsheetDelta}.
+     */
+    void loadLabelMappings(final SpreadsheetId id,
+                           final int offset,
+                           final int count);
+}
@@ -233,7 +233,7 @@ public final class LocaleDialogComponent implements DialogComponentLifecycle,
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_LOCALE_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_LOCALE_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
@@ -253,7 +253,9 @@ public final class LocaleDialogComponent implements DialogComponentLifecycle,
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.value.plugin;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.plugin.PluginNameSet;
 import walkingkooka.predicate.Predicates;
 import walkingkooka.spreadsheet.SpreadsheetStrings;
@@ -207,7 +209,9 @@ public final class PluginNameSetDialogComponent implements DialogComponentLifecy
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -307,6 +311,6 @@ public final class PluginNameSetDialogComponent implements DialogComponentLifecy
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return PLUGIN_NAME_SET_DIALOG_COMPONENT;
+        return PLUGIN_NAME_SET_DIALOG_COMPONENT.isEnabled();
     }
 }
@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.value.plugin.comparator;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorNameList;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcher;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcherDelegator;
@@ -146,7 +148,9 @@ public final class SpreadsheetComparatorNameListDialogComponent implements Dialo
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -187,6 +191,6 @@ public final class SpreadsheetComparatorNameListDialogComponent implements Dialo
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_COMPARATOR_NAME_LIST_DIALOG_COMPONENT;
+        return SPREADSHEET_COMPARATOR_NAME_LIST_DIALOG_COMPONENT.isEnabled();
     }
 }
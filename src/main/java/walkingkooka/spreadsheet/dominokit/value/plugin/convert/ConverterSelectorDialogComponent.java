@@ -234,7 +234,9 @@ public final class ConverterSelectorDialogComponent implements DialogComponentLi
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -275,6 +277,6 @@ public final class ConverterSelectorDialogComponent implements DialogComponentLi
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return CONVERTER_SELECTOR_DIALOG_COMPONENT;
+        return CONVERTER_SELECTOR_DIALOG_COMPONENT.isEnabled();
     }
 }
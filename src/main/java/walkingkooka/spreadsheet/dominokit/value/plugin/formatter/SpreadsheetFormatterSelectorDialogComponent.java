@@ -337,7 +337,9 @@ public final class SpreadsheetFormatterSelectorDialogComponent implements Dialog
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -393,6 +395,6 @@ public final class SpreadsheetFormatterSelectorDialogComponent implements Dialog
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_FORMATTER_SELECTOR_DIALOG_COMPONENT;
+        return SPREADSHEET_FORMATTER_SELECTOR_DIALOG_COMPONENT.isEnabled();
     }
 }
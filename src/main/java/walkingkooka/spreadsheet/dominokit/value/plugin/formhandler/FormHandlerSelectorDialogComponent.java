@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.dominokit.value.plugin.formhandler;
 
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcher;
 import walkingkooka.spreadsheet.dominokit.ComponentLifecycleMatcherDelegator;
 import walkingkooka.spreadsheet.dominokit.RefreshContext;
@@ -146,7 +148,9 @@ public final class FormHandlerSelectorDialogComponent implements DialogComponent
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -180,6 +184,6 @@ public final class FormHandlerSelectorDialogComponent implements DialogComponent
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return FORM_HANDLER_SELECTOR_DIALOG_COMPONENT;
+        return FORM_HANDLER_SELECTOR_DIALOG_COMPONENT.isEnabled();
     }
 }
@@ -329,7 +329,9 @@ public final class SpreadsheetParserSelectorDialogComponent implements DialogCom
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -387,6 +389,6 @@ public final class SpreadsheetParserSelectorDialogComponent implements DialogCom
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_PARSER_SELECTOR_DIALOG_COMPONENT;
+        return SPREADSHEET_PARSER_SELECTOR_DIALOG_COMPONENT.isEnabled();
     }
 }
@@ -18,6 +18,8 @@
 package walkingkooka.spreadsheet.dominokit.value.plugin.pluginaliassetlike;
 
 import walkingkooka.naming.Name;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.plugin.PluginAliasLike;
 import walkingkooka.plugin.PluginAliasSetLike;
 import walkingkooka.plugin.PluginInfoLike;
@@ -241,7 +243,9 @@ public final class PluginAliasSetLikeDialogComponent<N extends Name & Comparable
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -317,6 +321,6 @@ public final class PluginAliasSetLikeDialogComponent<N extends Name & Comparable
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return PLUGIN_ALIAS_SET_LIKE_SELECTOR_DIALOG_COMPONENT;
+        return PLUGIN_ALIAS_SET_LIKE_SELECTOR_DIALOG_COMPONENT.isEnabled();
     }
 }
@@ -216,7 +216,7 @@ public final class ValidatorSelectorDialogComponent implements DialogComponentLi
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return VALIDATOR_SELECTOR_DIALOG_COMPONENT;
+        return VALIDATOR_SELECTOR_DIALOG_COMPONENT.isEnabled();
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
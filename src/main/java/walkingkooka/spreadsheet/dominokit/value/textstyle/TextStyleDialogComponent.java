@@ -998,7 +998,7 @@ public final class TextStyleDialogComponent implements DialogComponentLifecycle,
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_TEXT_STYLE_COMPONENT_LIFECYCLE;
+        return SPREADSHEET_TEXT_STYLE_COMPONENT_LIFECYCLE.isEnabled();
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
@@ -1018,7 +1018,9 @@ public final class TextStyleDialogComponent implements DialogComponentLifecycle,
     }
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // Ignore many
     }
 
@@ -38,6 +38,7 @@ import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcher;
 import walkingkooka.spreadsheet.dominokit.history.recent.RecentValueSavesContext;
 import walkingkooka.spreadsheet.dominokit.history.recent.RecentValueSavesContextDelegator;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelNameResolver;
@@ -112,6 +113,11 @@ final class AppContextSpreadsheetViewportComponentContext implements Spreadsheet
         return this.context.spreadsheetMetadataFetcher();
     }
 
+    @Override
+    public SpreadsheetParserContext spreadsheetParserContext() {
+        return this.context;
+    }
+
     @Override
     public SpreadsheetViewportCache spreadsheetViewportCache() {
         return this.context.spreadsheetViewportCache();
@@ -35,6 +35,7 @@ import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetFormatterFetcherWat
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcherWatcher;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
@@ -132,6 +133,11 @@ public class FakeSpreadsheetViewportComponentContext extends FakeRefreshContext
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public SpreadsheetParserContext spreadsheetParserContext() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public SpreadsheetViewportCache spreadsheetViewportCache() {
         throw new UnsupportedOperationException();
@@ -23,6 +23,7 @@ import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcherWatcher;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 
 public class FakeSpreadsheetViewportFormulaComponentContext extends FakeRefreshContext implements SpreadsheetViewportFormulaComponentContext {
 
@@ -69,4 +70,9 @@ public class FakeSpreadsheetViewportFormulaComponentContext extends FakeRefreshC
     public SpreadsheetMetadata spreadsheetMetadata() {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public SpreadsheetParserContext spreadsheetParserContext() {
+        throw new UnsupportedOperationException();
+    }
 }
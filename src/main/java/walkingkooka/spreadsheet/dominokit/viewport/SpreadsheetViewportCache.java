@@ -18,10 +18,12 @@
 package walkingkooka.spreadsheet.dominokit.viewport;
 
 import walkingkooka.ToStringBuilder;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.RelativeUrl;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.spreadsheet.dominokit.AppContext;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
@@ -35,6 +37,8 @@ import walkingkooka.spreadsheet.dominokit.history.HistoryWatcher;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetHistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetIdHistoryToken;
 import walkingkooka.spreadsheet.dominokit.log.Logging;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollector;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsSpan;
 import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
 import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
@@ -44,11 +48,13 @@ import walkingkooka.spreadsheet.parser.provider.SpreadsheetParserSelector;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReferenceOrRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelNameResolver;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
@@ -64,14 +70,15 @@ import walkingkooka.tree.text.TextStylePropertyName;
 import walkingkooka.validation.ValueType;
 import walkingkooka.validation.provider.ValidatorSelector;
 
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.stream.Collectors;
 
 /**
@@ -117,10 +124,11 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
     public void clear() {
         this.cells.clear();
 
+        this.matchedCellsQueries.clear();
+
         this.labelMappings.clear();
-        this.cellToLabels.clear();
+        this.labelIndex.clear();
         this.cellToReferences.clear();
-        this.matchedCells.clear();
         this.labelToNonLabel.clear();
 
         this.columns.clear();
@@ -129,12 +137,17 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
         this.columnWidths.clear();
         this.rowHeights.clear();
 
+        this.columnAxis.clear();
+        this.rowAxis.clear();
+
         this.columnCount = OptionalInt.empty();
         this.rowCount = OptionalInt.empty();
 
         this.windows = SpreadsheetViewportWindows.EMPTY;
         this.lastWindowWidth = 0;
         this.lastWindowHeight = 0;
+
+        this.evictAbove = this.maxCells;
     }
 
     /**
@@ -169,7 +182,45 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      */
     public Iterator<SpreadsheetCell> cells(final SpreadsheetCellRangeReference range) {
         Objects.requireNonNull(range, "range");
-        return range.cellsIterator(this.cells);
+        return range.cellsIterator(
+            this.cellsWithin(range)
+        );
+    }
+
+    /**
+     * Returns only the cached cells within the given selection. Small cell ranges are walked looking up each cell,
+     * otherwise the cache is scanned once, so the whole cache is never copied.
+     */
+    private Map<SpreadsheetCellReference, SpreadsheetCell> cellsWithin(final SpreadsheetSelection selection) {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, SpreadsheetCell> cells = this.cells;
+        final Map<SpreadsheetCellReference, SpreadsheetCell> within = SpreadsheetSelectionMaps.cell();
+
+        if ((selection.isCell() || selection.isCellRange()) && count(selection.toCellRange()) <= cells.size()) {
+            for (final SpreadsheetCellReference reference : selection.toCellRange()) {
+                final SpreadsheetCell cell = cells.get(reference);
+                if (null != cell) {
+                    within.put(
+                        reference,
+                        cell
+                    );
+                }
+            }
+        } else {
+            cells.copyTo(
+                within,
+                selection::test
+            );
+        }
+
+        return within;
+    }
+
+    private static long count(final SpreadsheetCellRangeReference range) {
+        final SpreadsheetCellReference begin = range.begin();
+        final SpreadsheetCellReference end = range.end();
+
+        return (long) (end.column().value() - begin.column().value() + 1) *
+            (end.row().value() - begin.row().value() + 1);
     }
 
     /**
@@ -192,25 +243,29 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
 
     /**
      * A cache of cells, this allows partial updates such as a single cell and still be able to render a complete viewport.
+     * Matched cells are flagged.
      */
     // VisibleForTesting
-    final SortedMap<SpreadsheetCellReference, SpreadsheetCell> cells = SpreadsheetSelectionMaps.cell();
+    final SpreadsheetViewportCacheStore<SpreadsheetCellReference, SpreadsheetCell> cells = SpreadsheetViewportCacheStore.cell();
 
     /**
      * Returns a {@link Set} with all the labels for the given {@link SpreadsheetCellReference}.
      */
     public Set<SpreadsheetLabelName> cellLabels(final SpreadsheetExpressionReference spreadsheetExpressionReference) {
-        return this.resolveIfLabelAndGetAll(
-            spreadsheetExpressionReference,
-            this.cellToLabels
-        );
+        final SpreadsheetCellReferenceOrRange cellOrCellRange = this.resolveIfLabelToCellOrCellRange(spreadsheetExpressionReference);
+
+        return null != cellOrCellRange ?
+            this.labelIndex.labels(
+                cellOrCellRange.toCellRange()
+            ) :
+            Sets.empty();
     }
 
     /**
-     * A cache of cell references and their one or more labels.
+     * An index of the cell or cell-ranges covered by each label.
      */
     // VisibleForTesting
-    final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels = SpreadsheetSelectionMaps.cell();
+    final SpreadsheetViewportCacheLabelIndex labelIndex = SpreadsheetViewportCacheLabelIndex.empty();
 
     /**
      * Returns a {@link Set} with all the cell references for the given {@link SpreadsheetCellReference}.
@@ -244,35 +299,26 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      * A cache of cell references to their cell references.
      */
     // VisibleForTesting
-    final Map<SpreadsheetCellReference, Set<SpreadsheetExpressionReference>> cellToReferences = SpreadsheetSelectionMaps.cell();
+    final SpreadsheetViewportCacheStore<SpreadsheetCellReference, Set<SpreadsheetExpressionReference>> cellToReferences = SpreadsheetViewportCacheStore.cell();
 
     /**
-     * Helper for {@link #cellLabels(SpreadsheetExpressionReference)}, resolving the {@link SpreadsheetLabelName} into a
-     * {@link walkingkooka.spreadsheet.reference.SpreadsheetCellReferenceOrRange} and returning all labels for that.
+     * Helper for {@link #cellReferences(SpreadsheetExpressionReference)}, resolving the {@link SpreadsheetLabelName} into a
+     * {@link walkingkooka.spreadsheet.reference.SpreadsheetCellReferenceOrRange} and returning all targets for that.
      */
     private <T> Set<T> resolveIfLabelAndGetAll(final SpreadsheetExpressionReference spreadsheetExpressionReference,
-                                               final Map<SpreadsheetCellReference, Set<T>> cellToTarget) {
-        Objects.requireNonNull(spreadsheetExpressionReference, "spreadsheetExpressionReference");
-
-        SpreadsheetCellReferenceOrRange cellOrCellRange = null;
-
-        if (spreadsheetExpressionReference.isLabelName()) {
-            final SpreadsheetSelection nonLabel = this.labelToNonLabel.get(spreadsheetExpressionReference.toLabelName());
-            if (null != nonLabel) {
-                cellOrCellRange = nonLabel.toCellOrCellRange();
-            }
-        } else {
-            cellOrCellRange = spreadsheetExpressionReference.toCellOrCellRange();
-        }
+                                               final SpreadsheetViewportCacheStore<SpreadsheetCellReference, Set<T>> cellToTarget) {
+        final SpreadsheetCellReferenceOrRange cellOrCellRange = this.resolveIfLabelToCellOrCellRange(spreadsheetExpressionReference);
 
         Set<T> result;
 
         if (null != cellOrCellRange) {
             if (cellOrCellRange.isCell()) {
-                result = cellToTarget.getOrDefault(
-                    cellOrCellRange,
-                    Sets.empty()
+                result = cellToTarget.get(
+                    cellOrCellRange.toCell()
                 );
+                if (null == result) {
+                    result = Sets.empty();
+                }
             } else {
                 result = SortedSets.tree();
 
@@ -292,15 +338,205 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
         return result;
     }
 
+    /**
+     * Resolves any {@link SpreadsheetLabelName} returning null if the label is unknown.
+     */
+    private SpreadsheetCellReferenceOrRange resolveIfLabelToCellOrCellRange(final SpreadsheetExpressionReference spreadsheetExpressionReference) {
+        Objects.requireNonNull(spreadsheetExpressionReference, "spreadsheetExpressionReference");
+
+        SpreadsheetCellReferenceOrRange cellOrCellRange = null;
+
+        if (spreadsheetExpressionReference.isLabelName()) {
+            final SpreadsheetSelection nonLabel = this.labelToNonLabel.get(spreadsheetExpressionReference.toLabelName());
+            if (null != nonLabel) {
+                cellOrCellRange = nonLabel.toCellOrCellRange();
+            }
+        } else {
+            cellOrCellRange = spreadsheetExpressionReference.toCellOrCellRange();
+        }
+
+        return cellOrCellRange;
+    }
+
     public boolean isMatchedCell(final SpreadsheetCellReference cell) {
-        return this.matchedCells.contains(cell);
+        return this.cells.isFlagged(cell);
+    }
+
+    /**
+     * Clears all matched cells, and records the urls of the highlighting queries whose responses will flag the new
+     * matched cells. This allows the highlighting to be refreshed without reloading any cells.
+     */
+    public void setMatchedCellsQueries(final Set<RelativeUrl> urls) {
+        Objects.requireNonNull(urls, "urls");
+
+        this.cells.unflagAll();
+
+        final Set<AbsoluteOrRelativeUrl> matchedCellsQueries = this.matchedCellsQueries;
+        matchedCellsQueries.clear();
+        matchedCellsQueries.addAll(urls);
+    }
+
+    /**
+     * Outstanding highlighting query urls, responses for these only update matched cells.
+     */
+    private final Set<AbsoluteOrRelativeUrl> matchedCellsQueries = Sets.hash();
+
+    // memory...........................................................................................................
+
+    /**
+     * Sets the maximum number of cells kept before cells outside the {@link #windows()} are evicted. Cells are only
+     * cleared when the windows change, so responses for cells elsewhere, such as queries, would otherwise accumulate.
+     */
+    public void setMaxCells(final int maxCells) {
+        if (maxCells <= 0) {
+            throw new IllegalArgumentException("Invalid maxCells " + maxCells + " <= 0");
+        }
+        this.maxCells = maxCells;
+        this.evictAbove = maxCells;
+    }
+
+    /**
+     * The default cell count limit, many times larger than the cells of a maximized window.
+     */
+    public final static int DEFAULT_MAX_CELLS = 10000;
+
+    private int maxCells = DEFAULT_MAX_CELLS;
+
+    /**
+     * Evicting stops once the cells are at or below this percentage of {@link #maxCells}, so a burst of responses does
+     * not trigger an eviction for every delta.
+     */
+    private final static int LOW_WATER_PERCENT = 75;
+
+    private int lowWater() {
+        return (int) ((long) this.maxCells * LOW_WATER_PERCENT / 100);
+    }
+
+    /**
+     * The cell count that triggers the next eviction. This is raised when cells within the windows alone exceed the
+     * low water mark, so the cells are not rescanned for every following delta.
+     */
+    private int evictAbove = DEFAULT_MAX_CELLS;
+
+    private boolean shouldEvict() {
+        return false == this.windows.isEmpty() &&
+            this.cells.size() > this.evictAbove;
+    }
+
+    /**
+     * Removes cells outside the current windows, farthest first, until the low water mark is reached, along with their
+     * references and labels. Columns and rows are never evicted, their hidden flags, widths and heights are small and
+     * are required by the axis offsets and when skipping hidden columns and rows while scrolling.
+     */
+    private void evictOutsideWindows() {
+        final SpreadsheetViewportWindows windows = this.windows;
+
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, SpreadsheetCell> cells = this.cells;
+        final int before = cells.size();
+        final int lowWater = this.lowWater();
+
+        if (before > lowWater) {
+            final List<SpreadsheetCellReference> outside = Lists.array();
+            outside.addAll(
+                cells.copyTo(
+                    Maps.hash(),
+                    (SpreadsheetCellReference c) -> distance(c, windows) > 0
+                ).keySet()
+            );
+
+            if (false == outside.isEmpty()) {
+                outside.sort(
+                    Comparator.comparingInt(
+                        (SpreadsheetCellReference c) -> distance(c, windows)
+                    ).reversed()
+                );
+
+                final List<SpreadsheetCellReference> evicted = Lists.array();
+
+                for (final SpreadsheetCellReference cell : outside) {
+                    if (cells.size() <= lowWater) {
+                        break;
+                    }
+                    cells.remove(cell);
+                    evicted.add(cell);
+                    this.cellToReferences.remove(cell);
+                }
+
+                this.labelIndex.removeCells(evicted);
+            }
+        }
+
+        final int after = cells.size();
+
+        // cells within the windows alone are above the low water mark, wait for more cells before scanning again
+        this.evictAbove = after > lowWater ?
+            Math.max(
+                this.maxCells,
+                after + this.maxCells - lowWater
+            ) :
+            this.maxCells;
+
+        if (SPREADSHEET_VIEWPORT_CACHE.isEnabled()) {
+            this.context.debug(this.getClass().getSimpleName() + ".evictOutsideWindows " + before + " cells reduced to " + after + " windows: " + windows);
+        }
     }
 
     /**
-     * A cache of all matched cells. Anytime the window or {link SpreadsheetCellQuery} changes this entire cache needs
-     * to be cleared and all cells in the viewport reloaded.
+     * The number of columns or rows between the cell and the nearest window, zero if the cell is within a window.
      */
-    final Set<SpreadsheetCellReference> matchedCells = SortedSets.tree();
+    private static int distance(final SpreadsheetCellReference cell,
+                                final SpreadsheetViewportWindows windows) {
+        final int column = cell.column().value();
+        final int row = cell.row().value();
+
+        int distance = Integer.MAX_VALUE;
+
+        for (final SpreadsheetCellRangeReference window : windows.cellRanges()) {
+            final SpreadsheetCellReference begin = window.begin();
+            final SpreadsheetCellReference end = window.end();
+
+            distance = Math.min(
+                distance,
+                Math.max(
+                    gap(column, begin.column().value(), end.column().value()),
+                    gap(row, begin.row().value(), end.row().value())
+                )
+            );
+        }
+
+        return distance;
+    }
+
+    private static int gap(final int value,
+                           final int begin,
+                           final int end) {
+        return value < begin ?
+            begin - value :
+            value > end ?
+                value - end :
+                0;
+    }
+
+    /**
+     * Returns a snapshot of the number of entries in each part of this cache, useful to verify the cache does not grow
+     * during long sessions.
+     */
+    public Map<String, Integer> sizes() {
+        final Map<String, Integer> sizes = Maps.sorted();
+
+        sizes.put("cells", this.cells.size());
+        sizes.put("cellToReferences", this.cellToReferences.size());
+        sizes.put("columns", this.columns.size());
+        sizes.put("columnWidths", this.columnWidths.size());
+        sizes.put("labelIndex", this.labelIndex.size());
+        sizes.put("labelMappings", this.labelMappings.size());
+        sizes.put("labelToNonLabel", this.labelToNonLabel.size());
+        sizes.put("matchedCellsQueries", this.matchedCellsQueries.size());
+        sizes.put("rowHeights", this.rowHeights.size());
+        sizes.put("rows", this.rows.size());
+
+        return Maps.readOnly(sizes);
+    }
 
     Optional<SpreadsheetColumn> column(final SpreadsheetColumnReference column) {
         return Optional.ofNullable(this.columns.get(column));
@@ -320,7 +556,7 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      * A cache of columns, this is used mostly to track hidden columns.
      */
     // VisibleForTesting
-    final Map<SpreadsheetColumnReference, SpreadsheetColumn> columns = SpreadsheetSelectionMaps.column();
+    final SpreadsheetViewportCacheStore<SpreadsheetColumnReference, SpreadsheetColumn> columns = SpreadsheetViewportCacheStore.column();
 
     /**
      * Retrieves the width for the given {@link SpreadsheetColumnReference} using the default if none is available.
@@ -339,11 +575,59 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      * A cache holding the max width for interesting columns. If the column is hidden it will have a width of zero.
      */
     // VisibleForTesting
-    final Map<SpreadsheetColumnReference, Length<?>> columnWidths = SpreadsheetSelectionMaps.column();
+    final SpreadsheetViewportCacheStore<SpreadsheetColumnReference, Length<?>> columnWidths = SpreadsheetViewportCacheStore.column();
 
     // @VisibleForTesting
     Length<?> defaultWidth;
 
+    /**
+     * Returns the pixel offset of the left edge of the given column from the left edge of column A.
+     */
+    double columnOffset(final SpreadsheetColumnReference column) {
+        Objects.requireNonNull(column, "column");
+
+        return this.columnAxis.offset(
+            column.value(),
+            pixels(this.defaultWidth)
+        );
+    }
+
+    /**
+     * Returns the first column after the given that is not hidden, if one exists.
+     */
+    Optional<SpreadsheetColumnReference> nextVisibleColumn(final SpreadsheetColumnReference column) {
+        Objects.requireNonNull(column, "column");
+
+        final int value = column.value();
+        final int next = this.columnAxis.nextVisible(value);
+        return Optional.ofNullable(
+            next >= SpreadsheetSelection.MAX_COLUMN ?
+                null :
+                column.add(next - value)
+        );
+    }
+
+    /**
+     * Returns the last column before the given that is not hidden, if one exists.
+     */
+    Optional<SpreadsheetColumnReference> previousVisibleColumn(final SpreadsheetColumnReference column) {
+        Objects.requireNonNull(column, "column");
+
+        final int value = column.value();
+        final int previous = this.columnAxis.previousVisible(value);
+        return Optional.ofNullable(
+            previous < 0 ?
+                null :
+                column.add(previous - value)
+        );
+    }
+
+    /**
+     * Prefix sums of column widths and spans of hidden columns, kept in step with {@link #columnWidths} and {@link #columns}.
+     */
+    // @VisibleForTesting
+    final SpreadsheetViewportCacheAxis columnAxis = SpreadsheetViewportCacheAxis.empty();
+
     /**
      * Returns all {@link SpreadsheetLabelMapping} within the active window.
      */
@@ -412,7 +696,7 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      * A cache of rows, this is used mostly to track hidden rows.
      */
     // VisibleForTesting
-    final Map<SpreadsheetRowReference, SpreadsheetRow> rows = SpreadsheetSelectionMaps.row();
+    final SpreadsheetViewportCacheStore<SpreadsheetRowReference, SpreadsheetRow> rows = SpreadsheetViewportCacheStore.row();
 
     /**
      * Retrieves the height for the given {@link SpreadsheetRowReference} using the default if none is available.
@@ -431,11 +715,59 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      * A cache holding the max height for interesting rows. If the row is hidden it will have a height of zero.
      */
     // VisibleForTesting
-    final Map<SpreadsheetRowReference, Length<?>> rowHeights = SpreadsheetSelectionMaps.row();
+    final SpreadsheetViewportCacheStore<SpreadsheetRowReference, Length<?>> rowHeights = SpreadsheetViewportCacheStore.row();
 
     // @VisibleForTesting
     Length<?> defaultHeight;
 
+    /**
+     * Returns the pixel offset of the top edge of the given row from the top edge of row 1.
+     */
+    double rowOffset(final SpreadsheetRowReference row) {
+        Objects.requireNonNull(row, "row");
+
+        return this.rowAxis.offset(
+            row.value(),
+            pixels(this.defaultHeight)
+        );
+    }
+
+    /**
+     * Returns the first row after the given that is not hidden, if one exists.
+     */
+    Optional<SpreadsheetRowReference> nextVisibleRow(final SpreadsheetRowReference row) {
+        Objects.requireNonNull(row, "row");
+
+        final int value = row.value();
+        final int next = this.rowAxis.nextVisible(value);
+        return Optional.ofNullable(
+            next >= SpreadsheetSelection.MAX_ROW ?
+                null :
+                row.add(next - value)
+        );
+    }
+
+    /**
+     * Returns the last row before the given that is not hidden, if one exists.
+     */
+    Optional<SpreadsheetRowReference> previousVisibleRow(final SpreadsheetRowReference row) {
+        Objects.requireNonNull(row, "row");
+
+        final int value = row.value();
+        final int previous = this.rowAxis.previousVisible(value);
+        return Optional.ofNullable(
+            previous < 0 ?
+                null :
+                row.add(previous - value)
+        );
+    }
+
+    /**
+     * Prefix sums of row heights and spans of hidden rows, kept in step with {@link #rowHeights} and {@link #rows}.
+     */
+    // @VisibleForTesting
+    final SpreadsheetViewportCacheAxis rowAxis = SpreadsheetViewportCacheAxis.empty();
+
     public OptionalInt columnCount() {
         return this.columnCount;
     }
@@ -465,47 +797,44 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
                 Optional<ValidatorSelector> validator = null;
                 Optional<ValueType> valueType = null;
 
-                for (final SpreadsheetCell cell : this.cells.values()) {
-                    if (selectionNotLabel.test(cell.reference())) {
-
-                        if (null == selectionSummary) {
-                            selectionSummary = cell;
-
-                            formatter = cell.formatter();
-                            parser = cell.parser();
-                            validator = cell.validator();
-                            valueType = cell.formula()
-                                .valueType();
-
-                            styleNameToValues = Maps.sorted();
-                            styleNameToValues.putAll(
-                                cell.style()
-                                    .value()
-                            );
-                        } else {
-                            if (false == formatter.equals(cell.formatter())) {
-                                formatter = SpreadsheetCell.NO_FORMATTER;
-                            }
-                            if (false == parser.equals(cell.parser())) {
-                                parser = SpreadsheetCell.NO_PARSER;
-                            }
-                            if (false == validator.equals(cell.validator())) {
-                                validator = SpreadsheetCell.NO_VALIDATOR;
-                            }
-                            if (false == valueType.equals(cell.formula().valueType())) {
-                                valueType = SpreadsheetFormula.NO_VALUE_TYPE;
-                            }
+                for (final SpreadsheetCell cell : this.cellsWithin(selectionNotLabel).values()) {
+                    if (null == selectionSummary) {
+                        selectionSummary = cell;
 
-                            // clear any properties that have different values.
-                            final TextStyle style = cell.style();
+                        formatter = cell.formatter();
+                        parser = cell.parser();
+                        validator = cell.validator();
+                        valueType = cell.formula()
+                            .valueType();
 
-                            for (final Entry<TextStylePropertyName<?>, Object> styleNameAndValue : styleNameToValues.entrySet()) {
-                                final TextStylePropertyName<?> styleName = styleNameAndValue.getKey();
-                                if (false == Objects.equals(
-                                    styleNameAndValue.getValue(), style.get(styleName).orElse(null)
-                                )) {
-                                    styleNameAndValue.setValue(null);
-                                }
+                        styleNameToValues = Maps.sorted();
+                        styleNameToValues.putAll(
+                            cell.style()
+                                .value()
+                        );
+                    } else {
+                        if (false == formatter.equals(cell.formatter())) {
+                            formatter = SpreadsheetCell.NO_FORMATTER;
+                        }
+                        if (false == parser.equals(cell.parser())) {
+                            parser = SpreadsheetCell.NO_PARSER;
+                        }
+                        if (false == validator.equals(cell.validator())) {
+                            validator = SpreadsheetCell.NO_VALIDATOR;
+                        }
+                        if (false == valueType.equals(cell.formula().valueType())) {
+                            valueType = SpreadsheetFormula.NO_VALUE_TYPE;
+                        }
+
+                        // clear any properties that have different values.
+                        final TextStyle style = cell.style();
+
+                        for (final Entry<TextStylePropertyName<?>, Object> styleNameAndValue : styleNameToValues.entrySet()) {
+                            final TextStylePropertyName<?> styleName = styleNameAndValue.getKey();
+                            if (false == Objects.equals(
+                                styleNameAndValue.getValue(), style.get(styleName).orElse(null)
+                            )) {
+                                styleNameAndValue.setValue(null);
                             }
                         }
                     }
@@ -586,15 +915,19 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      */
     public int lastWindowWidth() {
         if (0 == this.lastWindowWidth) {
-            double width = 0;
-
-            for (final SpreadsheetColumnReference column : this.windows.last()
-                .orElseThrow(() -> new IllegalStateException("Missing window")).columnRange()) {
-                width = width + this.columnWidth(column)
-                    .value();
-            }
-
-            this.lastWindowWidth = (int) Math.round(width);
+            final SpreadsheetColumnRangeReference columns = this.windows.last()
+                .orElseThrow(() -> new IllegalStateException("Missing window"))
+                .columnRange();
+
+            this.lastWindowWidth = (int) Math.round(
+                this.columnAxis.size(
+                    columns.begin()
+                        .value(),
+                    columns.end()
+                        .value() + 1,
+                    pixels(this.defaultWidth)
+                )
+            );
         }
         return this.lastWindowWidth;
     }
@@ -606,21 +939,34 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
      */
     public int lastWindowHeight() {
         if (0 == this.lastWindowHeight) {
-            double height = 0;
-
-            for (final SpreadsheetRowReference row : this.windows.last()
-                .orElseThrow(() -> new IllegalStateException("Missing window")).rowRange()) {
-                height = height + this.rowHeight(row)
-                    .value();
-            }
-
-            this.lastWindowHeight = (int) Math.round(height);
+            final SpreadsheetRowRangeReference rows = this.windows.last()
+                .orElseThrow(() -> new IllegalStateException("Missing window"))
+                .rowRange();
+
+            this.lastWindowHeight = (int) Math.round(
+                this.rowAxis.size(
+                    rows.begin()
+                        .value(),
+                    rows.end()
+                        .value() + 1,
+                    pixels(this.defaultHeight)
+                )
+            );
         }
         return this.lastWindowHeight;
     }
 
     private int lastWindowHeight;
 
+    /**
+     * Returns the pixels of a default width or height, which will be missing until the {@link SpreadsheetMetadata} is loaded.
+     */
+    private static double pixels(final Length<?> length) {
+        return null == length ?
+            0 :
+            length.value();
+    }
+
     // HistoryWatcher..............................................................................................
 
     @Override
@@ -639,7 +985,7 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
                 if (false == Objects.equals(currentId, newId)) {
                     this.clear();
 
-                    if (SPREADSHEET_VIEWPORT_CACHE) {
+                    if (SPREADSHEET_VIEWPORT_CACHE.isEnabled()) {
                         context.debug(
                             "SpreadsheetViewportCache.onHistoryTokenChange id changed from " +
                                 currentId +
@@ -671,7 +1017,7 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
             } else {
                 this.clear();
 
-                if (SPREADSHEET_VIEWPORT_CACHE) {
+                if (SPREADSHEET_VIEWPORT_CACHE.isEnabled()) {
                     context.debug("SpreadsheetViewportCache.onHistoryTokenChange clearing cache was " + currentId);
                 }
                 id = null;
@@ -695,7 +1041,7 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
             // history is probably a create spreadsheet id so clear cache
             this.clear();
 
-            if (SPREADSHEET_VIEWPORT_CACHE) {
+            if (SPREADSHEET_VIEWPORT_CACHE.isEnabled()) {
                 this.context.debug(this.getClass().getSimpleName() + ".onSpreadsheetMetadata id changed from " + oldId + " to " + id + " clearing cache");
             }
         }
@@ -709,7 +1055,9 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
     SpreadsheetId spreadsheetId;
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // ignore
     }
 
@@ -724,6 +1072,35 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
     public void onSpreadsheetDelta(final HttpMethod method,
                                    final AbsoluteOrRelativeUrl url,
                                    final SpreadsheetDelta delta) {
+        final MetricsSpan span = this.context.metricsCollector()
+            .span(MetricsCollector.CACHE_UPDATE);
+        try {
+            this.updateSpreadsheetDelta(
+                method,
+                url,
+                delta
+            );
+        } finally {
+            span.end();
+        }
+    }
+
+    private void updateSpreadsheetDelta(final HttpMethod method,
+                                        final AbsoluteOrRelativeUrl url,
+                                        final SpreadsheetDelta delta) {
+        // GET highlighting query response, only the references of the matched cells are used.
+        // The urls are always for the current spreadsheet, because clear() forgets them
+        if (method.isGetOrHead() && this.matchedCellsQueries.remove(url)) {
+            final SpreadsheetViewportCacheStore<SpreadsheetCellReference, SpreadsheetCell> cells = this.cells;
+
+            for (final SpreadsheetCell cell : delta.cells()) {
+                cells.flag(
+                    cell.reference()
+                );
+            }
+            return;
+        }
+
         final Optional<SpreadsheetId> maybeSpreadsheetId = SpreadsheetMetadataFetcher.extractSpreadsheetId(url);
         if (maybeSpreadsheetId.isPresent() &&
             maybeSpreadsheetId.get()
@@ -737,75 +1114,91 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
             this.setWindows(delta.window());
 
             {
-                final Map<SpreadsheetCellReference, SpreadsheetCell> cells = this.cells;
-                final Set<SpreadsheetCellReference> matchedCells = this.matchedCells;
+                final SpreadsheetViewportCacheStore<SpreadsheetCellReference, SpreadsheetCell> cells = this.cells;
 
-                final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels = this.cellToLabels;
-                final Map<SpreadsheetCellReference, Set<SpreadsheetExpressionReference>> cellToReferences = this.cellToReferences;
+                final SpreadsheetViewportCacheLabelIndex labelIndex = this.labelIndex;
+                final SpreadsheetViewportCacheStore<SpreadsheetCellReference, Set<SpreadsheetExpressionReference>> cellToReferences = this.cellToReferences;
 
                 final Map<SpreadsheetLabelName, SpreadsheetSelection> labelToNonLabel = this.labelToNonLabel;
 
-                // while removing deleted cells also remove cell-> labels, any labels will be (re)-added a few lines below.
+                // labels are removed from deleted and updated cells once below, any labels will be (re)-added a few lines below.
+                final List<SpreadsheetCellReference> labelsRemoved = Lists.array();
+
                 for (final SpreadsheetCellReference cell : delta.deletedCells()) {
-                    cells.remove(cell);
-                    matchedCells.remove(cell);
-                    cellToLabels.remove(cell);
+                    cells.remove(cell); // also removes any matched flag
+                    labelsRemoved.add(cell);
                     cellToReferences.remove(cell);
                 }
 
-                // while adding cells also remove cell -> label, ditto.
                 for (final SpreadsheetCell cell : delta.cells()) {
                     final SpreadsheetCellReference cellReference = cell.reference();
                     cells.put(
                         cellReference,
                         cell
                     );
-                    cellToLabels.remove(cellReference);
+                    labelsRemoved.add(cellReference);
                     cellToReferences.remove(cellReference);
                 }
 
-                matchedCells.addAll(delta.matchedCells());
+                labelIndex.removeCells(labelsRemoved);
+
+                for (final SpreadsheetCellReference matchedCell : delta.matchedCells()) {
+                    cells.flag(matchedCell);
+                }
 
                 this.labelMappings.clear();
                 this.labelMappings.addAll(
                     delta.labels()
                 );
 
-                // expands a Map holding cells to labels, the visitor is mostly used to add cell -> labels for all cells in a range,
-                // as well as handling multiple label to label mappings eventually to cells.
+                // records the cell or cell-range for each label without expanding ranges into cells,
+                // as well as resolving label to label mappings eventually to cells.
                 SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor.accept(
                     delta.labels(),
-                    cellToLabels,
+                    labelIndex,
                     labelToNonLabel,
                     this.windows
                 );
 
-                cellToReferences.putAll(
-                    delta.references()
-                );
+                delta.references()
+                    .forEach(cellToReferences::put);
             }
 
             // columns.....................................................................................................
             {
-                final Map<SpreadsheetColumnReference, SpreadsheetColumn> columns = this.columns;
-                final Map<SpreadsheetColumnReference, Length<?>> columnWidths = this.columnWidths;
+                final SpreadsheetViewportCacheStore<SpreadsheetColumnReference, SpreadsheetColumn> columns = this.columns;
+                final SpreadsheetViewportCacheStore<SpreadsheetColumnReference, Length<?>> columnWidths = this.columnWidths;
+                final SpreadsheetViewportCacheAxis columnAxis = this.columnAxis;
 
                 for (final SpreadsheetColumnReference column : delta.deletedColumns()) {
                     columns.remove(column);
                     columnWidths.remove(column);
+                    columnAxis.removeSize(column.value());
+                    columnAxis.setHidden(column.value(), false);
                 }
 
                 for (final SpreadsheetColumn column : delta.columns()) {
+                    final SpreadsheetColumnReference reference = column.reference();
                     columns.put(
-                        column.reference(),
+                        reference,
                         column
                     );
+                    columnAxis.setHidden(
+                        reference.value(),
+                        column.hidden()
+                    );
                 }
 
                 for (final Entry<SpreadsheetColumnReference, Double> width : delta.columnWidths().entrySet()) {
+                    final SpreadsheetColumnReference column = width.getKey();
+                    final double value = width.getValue();
                     columnWidths.put(
-                        width.getKey(),
-                        Length.pixel(width.getValue())
+                        column,
+                        Length.pixel(value)
+                    );
+                    columnAxis.setSize(
+                        column.value(),
+                        value
                     );
                 }
 
@@ -817,25 +1210,39 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
 
             // rows.........................................................................................................
 
-            final Map<SpreadsheetRowReference, SpreadsheetRow> rows = this.rows;
-            final Map<SpreadsheetRowReference, Length<?>> rowHeights = this.rowHeights;
+            final SpreadsheetViewportCacheStore<SpreadsheetRowReference, SpreadsheetRow> rows = this.rows;
+            final SpreadsheetViewportCacheStore<SpreadsheetRowReference, Length<?>> rowHeights = this.rowHeights;
+            final SpreadsheetViewportCacheAxis rowAxis = this.rowAxis;
 
             for (final SpreadsheetRowReference row : delta.deletedRows()) {
                 rows.remove(row);
                 rowHeights.remove(row);
+                rowAxis.removeSize(row.value());
+                rowAxis.setHidden(row.value(), false);
             }
 
             for (final SpreadsheetRow row : delta.rows()) {
+                final SpreadsheetRowReference reference = row.reference();
                 rows.put(
-                    row.reference(),
+                    reference,
                     row
                 );
+                rowAxis.setHidden(
+                    reference.value(),
+                    row.hidden()
+                );
             }
 
             for (final Entry<SpreadsheetRowReference, Double> height : delta.rowHeights().entrySet()) {
+                final SpreadsheetRowReference row = height.getKey();
+                final double value = height.getValue();
                 rowHeights.put(
-                    height.getKey(),
-                    Length.pixel(height.getValue())
+                    row,
+                    Length.pixel(value)
+                );
+                rowAxis.setSize(
+                    row.value(),
+                    value
                 );
             }
 
@@ -844,6 +1251,10 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
                 this.rowCount = rowCount;
             }
 
+            if (this.shouldEvict()) {
+                this.evictOutsideWindows();
+            }
+
             this.selectionSummary = null; // clear cache force recompute
         }
     }
@@ -854,10 +1265,10 @@ public final class SpreadsheetViewportCache implements NopFetcherWatcher,
     public String toString() {
         return ToStringBuilder.empty()
             .value(this.cells)
-            .value(this.matchedCells)
+            .value(this.cells.flagged())
             .value(this.columns)
             .value(this.columnWidths)
-            .value(this.cellToLabels)
+            .value(this.labelIndex)
             .value(this.labelMappings)
             .value(this.rows)
             .value(this.rowHeights)
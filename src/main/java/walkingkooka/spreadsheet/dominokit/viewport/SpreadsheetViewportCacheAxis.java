@@ -0,0 +1,272 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Tracks the sizes and hidden state of either columns or rows by their zero based index, so the cache can answer the
+ * pixel offset of a column or row and find the next or previous visible column or row without visiting every one.
+ * <br>
+ * Sizes are held in two Fenwick trees, one summing explicit sizes and another counting them. Columns or rows without
+ * an explicit size use the default passed to each query, so a change of the default size needs no update. Hidden
+ * columns or rows are recorded as merged spans of start to end index.
+ */
+final class SpreadsheetViewportCacheAxis {
+
+    static SpreadsheetViewportCacheAxis empty() {
+        return new SpreadsheetViewportCacheAxis();
+    }
+
+    private SpreadsheetViewportCacheAxis() {
+        this.clear();
+    }
+
+    void clear() {
+        this.sizes = new double[INITIAL_CAPACITY + 1];
+        this.counts = new int[INITIAL_CAPACITY + 1];
+        this.capacity = INITIAL_CAPACITY;
+        this.hidden.clear();
+    }
+
+    // sizes............................................................................................................
+
+    /**
+     * Records the explicit size of the column or row at the given index, replacing any previous size.
+     */
+    void setSize(final int index,
+                 final double size) {
+        checkIndex(index);
+        this.ensureCapacity(index + 1);
+
+        this.add(
+            index,
+            size - this.explicitSize(index),
+            1 - this.explicitCount(index)
+        );
+    }
+
+    /**
+     * Removes any explicit size, the column or row will now use the default size.
+     */
+    void removeSize(final int index) {
+        checkIndex(index);
+
+        if (index < this.capacity) {
+            this.add(
+                index,
+                -this.explicitSize(index),
+                -this.explicitCount(index)
+            );
+        }
+    }
+
+    /**
+     * Returns the sum of the sizes of all columns or rows before the given index.
+     */
+    double offset(final int index,
+                  final double defaultSize) {
+        checkIndex(index);
+
+        final int n = Math.min(
+            index,
+            this.capacity
+        );
+
+        double explicit = 0;
+        int count = 0;
+
+        for (int i = n; i > 0; i -= i & -i) {
+            explicit += this.sizes[i];
+            count += this.counts[i];
+        }
+
+        return explicit + (index - count) * defaultSize;
+    }
+
+    /**
+     * Returns the sum of the sizes of the columns or rows from the start index inclusive to the end index exclusive.
+     */
+    double size(final int start,
+                final int end,
+                final double defaultSize) {
+        return this.offset(end, defaultSize) - this.offset(start, defaultSize);
+    }
+
+    private double explicitSize(final int index) {
+        return this.prefixSize(index + 1) - this.prefixSize(index);
+    }
+
+    private int explicitCount(final int index) {
+        return this.prefixCount(index + 1) - this.prefixCount(index);
+    }
+
+    private double prefixSize(final int n) {
+        double sum = 0;
+        for (int i = n; i > 0; i -= i & -i) {
+            sum += this.sizes[i];
+        }
+        return sum;
+    }
+
+    private int prefixCount(final int n) {
+        int sum = 0;
+        for (int i = n; i > 0; i -= i & -i) {
+            sum += this.counts[i];
+        }
+        return sum;
+    }
+
+    private void add(final int index,
+                     final double size,
+                     final int count) {
+        final int capacity = this.capacity;
+        for (int i = index + 1; i <= capacity; i += i & -i) {
+            this.sizes[i] += size;
+            this.counts[i] += count;
+        }
+    }
+
+    /**
+     * Doubles the capacity until the given count fits. Because the capacity is always a power of two, the new top node
+     * covers everything before it, so only that node needs to be filled after copying.
+     */
+    private void ensureCapacity(final int count) {
+        int capacity = this.capacity;
+
+        while (capacity < count) {
+            final double[] sizes = Arrays.copyOf(this.sizes, capacity * 2 + 1);
+            final int[] counts = Arrays.copyOf(this.counts, capacity * 2 + 1);
+
+            sizes[capacity * 2] = sizes[capacity];
+            counts[capacity * 2] = counts[capacity];
+
+            this.sizes = sizes;
+            this.counts = counts;
+
+            capacity = capacity * 2;
+            this.capacity = capacity;
+        }
+    }
+
+    private final static int INITIAL_CAPACITY = 64;
+
+    /**
+     * A 1 based Fenwick tree summing explicit sizes.
+     */
+    private double[] sizes;
+
+    /**
+     * A 1 based Fenwick tree counting explicit sizes.
+     */
+    private int[] counts;
+
+    private int capacity;
+
+    // hidden...........................................................................................................
+
+    void setHidden(final int index,
+                   final boolean hidden) {
+        checkIndex(index);
+
+        final NavigableMap<Integer, Integer> spans = this.hidden;
+
+        if (hidden) {
+            if (false == this.isHidden(index)) {
+                int start = index;
+                int end = index;
+
+                final Entry<Integer, Integer> before = spans.floorEntry(index - 1);
+                if (null != before && before.getValue() == index - 1) {
+                    start = before.getKey();
+                }
+
+                final Integer after = spans.remove(index + 1);
+                if (null != after) {
+                    end = after;
+                }
+
+                spans.put(start, end);
+            }
+        } else {
+            final Entry<Integer, Integer> span = spans.floorEntry(index);
+            if (null != span && span.getValue() >= index) {
+                final int start = span.getKey();
+                final int end = span.getValue();
+
+                spans.remove(start);
+                if (start < index) {
+                    spans.put(start, index - 1);
+                }
+                if (end > index) {
+                    spans.put(index + 1, end);
+                }
+            }
+        }
+    }
+
+    boolean isHidden(final int index) {
+        final Entry<Integer, Integer> span = this.hidden.floorEntry(index);
+        return null != span && span.getValue() >= index;
+    }
+
+    /**
+     * Returns the index of the first visible column or row after the given index.
+     */
+    int nextVisible(final int index) {
+        final int next = index + 1;
+
+        final Entry<Integer, Integer> span = this.hidden.floorEntry(next);
+        return null != span && span.getValue() >= next ?
+            span.getValue() + 1 :
+            next;
+    }
+
+    /**
+     * Returns the index of the last visible column or row before the given index, or -1 if there is none.
+     */
+    int previousVisible(final int index) {
+        final int previous = index - 1;
+
+        final Entry<Integer, Integer> span = this.hidden.floorEntry(previous);
+        return null != span && span.getValue() >= previous ?
+            span.getKey() - 1 :
+            previous;
+    }
+
+    /**
+     * Hidden spans, the key is the first hidden index and the value the last.
+     */
+    private final NavigableMap<Integer, Integer> hidden = new TreeMap<>();
+
+    private static void checkIndex(final int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid index " + index + " < 0");
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "hidden: " + this.hidden;
+    }
+}
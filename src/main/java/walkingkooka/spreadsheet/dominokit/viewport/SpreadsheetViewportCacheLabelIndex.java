@@ -0,0 +1,395 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An index of the rectangles covered by labels. Memory is proportional to the number of label mappings rather than
+ * the number of cells they cover. Queries use an array of entries sorted by top row, along with the running maximum of
+ * bottom rows, so only entries that can possibly overlap the queried rows are visited.
+ */
+final class SpreadsheetViewportCacheLabelIndex {
+
+    static SpreadsheetViewportCacheLabelIndex empty() {
+        return new SpreadsheetViewportCacheLabelIndex();
+    }
+
+    private SpreadsheetViewportCacheLabelIndex() {
+        super();
+    }
+
+    /**
+     * Records that every cell in the given range has the given label. Previous fragments of the same label that are
+     * now covered are dropped, so repeatedly adding the same mapping does not grow the index.
+     */
+    void add(final SpreadsheetCellRangeReference range,
+             final SpreadsheetLabelName label) {
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(label, "label");
+
+        final SpreadsheetViewportCacheLabelIndexEntry entry = SpreadsheetViewportCacheLabelIndexEntry.with(
+            range,
+            label
+        );
+
+        List<SpreadsheetViewportCacheLabelIndexEntry> entries = this.labelToEntries.get(label);
+        if (null == entries) {
+            entries = Lists.array();
+            this.labelToEntries.put(
+                label,
+                entries
+            );
+        } else {
+            for (final SpreadsheetViewportCacheLabelIndexEntry existing : entries) {
+                if (existing.contains(entry)) {
+                    return;
+                }
+            }
+            entries.removeIf(entry::contains);
+        }
+
+        entries.add(entry);
+        this.sorted = null;
+    }
+
+    /**
+     * Removes all labels from the given cell. Any rectangle covering the cell is split into the fragments that
+     * surround the cell.
+     */
+    void removeCell(final SpreadsheetCellReference cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        this.removeCells(
+            Lists.of(cell)
+        );
+    }
+
+    /**
+     * Removes all labels from the given cells, visiting each entry once. The cells are grouped into runs of
+     * neighbouring columns within a row, and each entry is only split by the runs within its rows.
+     */
+    void removeCells(final Collection<SpreadsheetCellReference> cells) {
+        Objects.requireNonNull(cells, "cells");
+
+        if (false == this.labelToEntries.isEmpty() && false == cells.isEmpty()) {
+            final int[][] runs = runs(cells);
+
+            final Iterator<List<SpreadsheetViewportCacheLabelIndexEntry>> iterator = this.labelToEntries.values()
+                .iterator();
+            boolean changed = false;
+
+            while (iterator.hasNext()) {
+                final List<SpreadsheetViewportCacheLabelIndexEntry> entries = iterator.next();
+                final List<SpreadsheetViewportCacheLabelIndexEntry> kept = Lists.array();
+                boolean entriesChanged = false;
+
+                for (final SpreadsheetViewportCacheLabelIndexEntry entry : entries) {
+                    List<SpreadsheetViewportCacheLabelIndexEntry> fragments = null;
+
+                    for (int i = firstRunRowGreaterThanOrEqual(runs, entry.top); i < runs.length && runs[i][0] <= entry.bottom; i++) {
+                        final int[] run = runs[i];
+                        if (entry.intersects(run[1], run[0], run[2], run[0])) {
+                            fragments = removeRun(
+                                null == fragments ?
+                                    Lists.of(entry) :
+                                    fragments,
+                                run
+                            );
+                        }
+                    }
+
+                    if (null == fragments) {
+                        kept.add(entry);
+                    } else {
+                        kept.addAll(fragments);
+                        entriesChanged = true;
+                    }
+                }
+
+                if (entriesChanged) {
+                    entries.clear();
+                    entries.addAll(kept);
+                    changed = true;
+                }
+                if (entries.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+
+            if (changed) {
+                this.sorted = null;
+            }
+        }
+    }
+
+    /**
+     * Groups the cells into runs of neighbouring columns within the same row, each run is an array holding the row,
+     * left and right column, sorted by row then left column.
+     */
+    private static int[][] runs(final Collection<SpreadsheetCellReference> cells) {
+        final long[] rowsAndColumns = new long[cells.size()];
+
+        int i = 0;
+        for (final SpreadsheetCellReference cell : cells) {
+            rowsAndColumns[i] = (long) cell.row().value() << 32 | cell.column().value();
+            i++;
+        }
+        Arrays.sort(rowsAndColumns);
+
+        final List<int[]> runs = Lists.array();
+        int[] run = null;
+
+        for (final long rowAndColumn : rowsAndColumns) {
+            final int row = (int) (rowAndColumn >>> 32);
+            final int column = (int) rowAndColumn;
+
+            if (null != run && run[0] == row && run[2] + 1 >= column) {
+                run[2] = column;
+            } else {
+                run = new int[]{row, column, column};
+                runs.add(run);
+            }
+        }
+
+        return runs.toArray(new int[0][]);
+    }
+
+    private static int firstRunRowGreaterThanOrEqual(final int[][] runs,
+                                                     final int row) {
+        int low = 0;
+        int high = runs.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (runs[mid][0] < row) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Splits any fragment intersecting the run into the fragments above, below, left and right of the run.
+     */
+    private static List<SpreadsheetViewportCacheLabelIndexEntry> removeRun(final List<SpreadsheetViewportCacheLabelIndexEntry> fragments,
+                                                                           final int[] run) {
+        final int row = run[0];
+        final int left = run[1];
+        final int right = run[2];
+
+        final List<SpreadsheetViewportCacheLabelIndexEntry> split = Lists.array();
+
+        for (final SpreadsheetViewportCacheLabelIndexEntry e : fragments) {
+            if (e.intersects(left, row, right, row)) {
+                addIfNotNull(
+                    e.fragment(e.left, e.top, e.right, row - 1),
+                    split
+                );
+                addIfNotNull(
+                    e.fragment(e.left, row + 1, e.right, e.bottom),
+                    split
+                );
+                addIfNotNull(
+                    e.fragment(e.left, row, left - 1, row),
+                    split
+                );
+                addIfNotNull(
+                    e.fragment(right + 1, row, e.right, row),
+                    split
+                );
+            } else {
+                split.add(e);
+            }
+        }
+
+        return split;
+    }
+
+    private static void addIfNotNull(final SpreadsheetViewportCacheLabelIndexEntry entry,
+                                     final List<SpreadsheetViewportCacheLabelIndexEntry> entries) {
+        if (null != entry) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Returns all labels for any cell within the given range.
+     */
+    Set<SpreadsheetLabelName> labels(final SpreadsheetCellRangeReference range) {
+        Objects.requireNonNull(range, "range");
+
+        final SpreadsheetCellReference begin = range.begin();
+        final SpreadsheetCellReference end = range.end();
+
+        final int left = begin.column().value();
+        final int top = begin.row().value();
+        final int right = end.column().value();
+        final int bottom = end.row().value();
+
+        final SpreadsheetViewportCacheLabelIndexEntry[] sorted = this.sorted();
+        final int[] maxBottoms = this.maxBottoms;
+
+        Set<SpreadsheetLabelName> labels = null;
+
+        // find the last entry with a top before or equal to the bottom of the query, then walk backwards until no
+        // earlier entry could reach the top of the query.
+        for (int i = lastTopLessThanOrEqual(sorted, bottom); i >= 0 && maxBottoms[i] >= top; i--) {
+            final SpreadsheetViewportCacheLabelIndexEntry entry = sorted[i];
+            if (entry.intersects(left, top, right, bottom)) {
+                if (null == labels) {
+                    labels = SortedSets.tree();
+                }
+                labels.add(entry.label);
+            }
+        }
+
+        return null == labels ?
+            Sets.empty() :
+            Sets.immutable(labels);
+    }
+
+    private static int lastTopLessThanOrEqual(final SpreadsheetViewportCacheLabelIndexEntry[] sorted,
+                                              final int row) {
+        int low = 0;
+        int high = sorted.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sorted[mid].top <= row) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low - 1;
+    }
+
+    private SpreadsheetViewportCacheLabelIndexEntry[] sorted() {
+        SpreadsheetViewportCacheLabelIndexEntry[] sorted = this.sorted;
+        if (null == sorted) {
+            int count = 0;
+            for (final List<SpreadsheetViewportCacheLabelIndexEntry> entries : this.labelToEntries.values()) {
+                count += entries.size();
+            }
+
+            sorted = new SpreadsheetViewportCacheLabelIndexEntry[count];
+
+            int i = 0;
+            for (final List<SpreadsheetViewportCacheLabelIndexEntry> entries : this.labelToEntries.values()) {
+                for (final SpreadsheetViewportCacheLabelIndexEntry entry : entries) {
+                    sorted[i] = entry;
+                    i++;
+                }
+            }
+
+            Arrays.sort(
+                sorted,
+                TOP_COMPARATOR
+            );
+
+            final int[] maxBottoms = new int[count];
+            int maxBottom = Integer.MIN_VALUE;
+            for (i = 0; i < count; i++) {
+                maxBottom = Math.max(
+                    maxBottom,
+                    sorted[i].bottom
+                );
+                maxBottoms[i] = maxBottom;
+            }
+
+            this.sorted = sorted;
+            this.maxBottoms = maxBottoms;
+        }
+
+        return sorted;
+    }
+
+    private final static Comparator<SpreadsheetViewportCacheLabelIndexEntry> TOP_COMPARATOR = Comparator.comparingInt(e -> e.top);
+
+    void clear() {
+        this.labelToEntries.clear();
+        this.sorted = null;
+    }
+
+    boolean isEmpty() {
+        return this.labelToEntries.isEmpty();
+    }
+
+    /**
+     * The number of rectangles, including fragments.
+     */
+    int size() {
+        return this.sorted().length;
+    }
+
+    /**
+     * Expands all entries into a {@link Map} of cells to their labels. This is only intended for tests and debugging,
+     * as it is proportional to the number of cells covered.
+     */
+    Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> toMap() {
+        final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels = SpreadsheetSelectionMaps.cell();
+
+        for (final List<SpreadsheetViewportCacheLabelIndexEntry> entries : this.labelToEntries.values()) {
+            for (final SpreadsheetViewportCacheLabelIndexEntry entry : entries) {
+                entry.expand(cellToLabels);
+            }
+        }
+
+        return cellToLabels;
+    }
+
+    private final Map<SpreadsheetLabelName, List<SpreadsheetViewportCacheLabelIndexEntry>> labelToEntries = Maps.sorted();
+
+    /**
+     * All entries sorted by their top row, lazily rebuilt after any change.
+     */
+    private SpreadsheetViewportCacheLabelIndexEntry[] sorted;
+
+    /**
+     * The maximum bottom row of all entries up to and including the same index in {@link #sorted}.
+     */
+    private int[] maxBottoms;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.labelToEntries.toString();
+    }
+}
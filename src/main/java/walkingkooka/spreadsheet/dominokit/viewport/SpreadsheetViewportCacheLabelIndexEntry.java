@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A rectangle of cells covered by a single {@link SpreadsheetLabelName}. The rectangle is either the entire original
+ * {@link SpreadsheetCellRangeReference} or a fragment of it that remains after individual cells were removed.
+ */
+final class SpreadsheetViewportCacheLabelIndexEntry {
+
+    static SpreadsheetViewportCacheLabelIndexEntry with(final SpreadsheetCellRangeReference range,
+                                                        final SpreadsheetLabelName label) {
+        final SpreadsheetCellReference begin = range.begin();
+        final SpreadsheetCellReference end = range.end();
+
+        return new SpreadsheetViewportCacheLabelIndexEntry(
+            range,
+            label,
+            begin.column().value(),
+            begin.row().value(),
+            end.column().value(),
+            end.row().value()
+        );
+    }
+
+    private SpreadsheetViewportCacheLabelIndexEntry(final SpreadsheetCellRangeReference range,
+                                                    final SpreadsheetLabelName label,
+                                                    final int left,
+                                                    final int top,
+                                                    final int right,
+                                                    final int bottom) {
+        this.range = range;
+        this.label = label;
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    /**
+     * Returns a fragment of this entry, or null if the given bounds are empty.
+     */
+    SpreadsheetViewportCacheLabelIndexEntry fragment(final int left,
+                                                     final int top,
+                                                     final int right,
+                                                     final int bottom) {
+        return left > right || top > bottom ?
+            null :
+            new SpreadsheetViewportCacheLabelIndexEntry(
+                this.range,
+                this.label,
+                left,
+                top,
+                right,
+                bottom
+            );
+    }
+
+    boolean intersects(final int left,
+                       final int top,
+                       final int right,
+                       final int bottom) {
+        return this.left <= right &&
+            this.right >= left &&
+            this.top <= bottom &&
+            this.bottom >= top;
+    }
+
+    boolean contains(final SpreadsheetViewportCacheLabelIndexEntry other) {
+        return this.left <= other.left &&
+            this.right >= other.right &&
+            this.top <= other.top &&
+            this.bottom >= other.bottom;
+    }
+
+    /**
+     * Adds the label to every cell within this entry, only used by tests and debugging.
+     */
+    void expand(final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels) {
+        for (final SpreadsheetCellReference cell : this.range) {
+            if (this.intersects(
+                cell.column().value(),
+                cell.row().value(),
+                cell.column().value(),
+                cell.row().value()
+            )) {
+                cellToLabels.computeIfAbsent(
+                    cell,
+                    (c) -> SortedSets.tree()
+                ).add(this.label);
+            }
+        }
+    }
+
+    /**
+     * The original range, fragments keep the range of their parent.
+     */
+    private final SpreadsheetCellRangeReference range;
+
+    final SpreadsheetLabelName label;
+
+    final int left;
+
+    final int top;
+
+    final int right;
+
+    final int bottom;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.label + "=" + this.left + "," + this.top + ":" + this.right + "," + this.bottom;
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * An open addressing hash table keyed by the primitive column and row values of a {@link SpreadsheetSelection}, avoiding
+ * the comparator traversal of a tree map for every lookup during rendering. Each entry also has a single flag, which
+ * is used to mark matched cells. A flag for a key without an entry is remembered as pending and applied when that key is
+ * later put, because a highlighting query response may name matched cells before they are loaded. Sorted iteration is only available by copying into a {@link SortedMap}.
+ * <br>
+ * A column (14 bits) and row (20 bits) do not fit into a single int, so both are kept in parallel int arrays.
+ */
+final class SpreadsheetViewportCacheStore<K extends SpreadsheetSelection, V> {
+
+    /**
+     * Creates a store for cells.
+     */
+    static <V> SpreadsheetViewportCacheStore<SpreadsheetCellReference, V> cell() {
+        return new SpreadsheetViewportCacheStore<>(
+            (SpreadsheetCellReference c) -> c.column().value(),
+            (SpreadsheetCellReference c) -> c.row().value()
+        );
+    }
+
+    /**
+     * Creates a store for columns.
+     */
+    static <V> SpreadsheetViewportCacheStore<SpreadsheetColumnReference, V> column() {
+        return new SpreadsheetViewportCacheStore<>(
+            SpreadsheetColumnReference::value,
+            (SpreadsheetColumnReference c) -> 0
+        );
+    }
+
+    /**
+     * Creates a store for rows.
+     */
+    static <V> SpreadsheetViewportCacheStore<SpreadsheetRowReference, V> row() {
+        return new SpreadsheetViewportCacheStore<>(
+            (SpreadsheetRowReference r) -> 0,
+            SpreadsheetRowReference::value
+        );
+    }
+
+    /**
+     * Must be a power of two.
+     */
+    final static int INITIAL_CAPACITY = 16;
+
+    private SpreadsheetViewportCacheStore(final ToIntFunction<K> column,
+                                          final ToIntFunction<K> row) {
+        this.column = column;
+        this.row = row;
+        this.allocate(INITIAL_CAPACITY);
+    }
+
+    V get(final K key) {
+        final int slot = this.slot(key);
+        return -1 == slot ?
+            null :
+            Cast.to(this.values[slot]);
+    }
+
+    /**
+     * Adds or replaces the value for the given key. Any flag for an existing entry is kept, and a new entry takes any
+     * pending flag for its key.
+     */
+    void put(final K key,
+             final V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+
+        final int column = this.column.applyAsInt(key);
+        final int row = this.row.applyAsInt(key);
+
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        int i = hash(column, row) & mask;
+        for (; ; ) {
+            if (null == keys[i]) {
+                keys[i] = key;
+                this.columns[i] = column;
+                this.rows[i] = row;
+                this.values[i] = value;
+                this.flags[i] = false == this.pending.isEmpty() &&
+                    this.pending.remove(
+                        pending(column, row)
+                    );
+                this.size++;
+
+                if (this.size * 2 > keys.length) {
+                    this.resize();
+                }
+                break;
+            }
+            if (this.columns[i] == column && this.rows[i] == row) {
+                keys[i] = key;
+                this.values[i] = value;
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes the entry and its flag or any pending flag, returning the previous value or null.
+     */
+    V remove(final K key) {
+        V removed = null;
+
+        final int slot = this.slot(key);
+        if (-1 != slot) {
+            removed = Cast.to(this.values[slot]);
+            this.removeSlot(slot);
+        } else {
+            if (false == this.pending.isEmpty()) {
+                this.pending.remove(
+                    pending(
+                        this.column.applyAsInt(key),
+                        this.row.applyAsInt(key)
+                    )
+                );
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Linear probing removal, shifting back any following entries that would no longer be reachable.
+     */
+    private void removeSlot(final int slot) {
+        final Object[] keys = this.keys;
+        final int[] columns = this.columns;
+        final int[] rows = this.rows;
+        final Object[] values = this.values;
+        final boolean[] flags = this.flags;
+        final int mask = keys.length - 1;
+
+        int hole = slot;
+        int i = slot;
+
+        for (; ; ) {
+            i = (i + 1) & mask;
+            if (null == keys[i]) {
+                break;
+            }
+
+            final int home = hash(columns[i], rows[i]) & mask;
+
+            // move the entry into the hole only if its home slot is not cyclically within (hole, i]
+            final boolean reachable = hole <= i ?
+                hole < home && home <= i :
+                hole < home || home <= i;
+            if (false == reachable) {
+                keys[hole] = keys[i];
+                columns[hole] = columns[i];
+                rows[hole] = rows[i];
+                values[hole] = values[i];
+                flags[hole] = flags[i];
+                hole = i;
+            }
+        }
+
+        keys[hole] = null;
+        values[hole] = null;
+        flags[hole] = false;
+        this.size--;
+    }
+
+    boolean isFlagged(final K key) {
+        final int slot = this.slot(key);
+        return -1 != slot && this.flags[slot];
+    }
+
+    /**
+     * Sets the flag for an existing entry, or remembers a pending flag for a key without an entry.
+     */
+    void flag(final K key) {
+        final int slot = this.slot(key);
+        if (-1 != slot) {
+            this.flags[slot] = true;
+        } else {
+            this.pending.add(
+                pending(
+                    this.column.applyAsInt(key),
+                    this.row.applyAsInt(key)
+                )
+            );
+        }
+    }
+
+    /**
+     * Clears the flag for every entry and any pending flags, leaving the values untouched.
+     */
+    void unflagAll() {
+        Arrays.fill(
+            this.flags,
+            false
+        );
+        this.pending.clear();
+    }
+
+    /**
+     * Packs the column and row of a pending flag into a single long.
+     */
+    private static Long pending(final int column,
+                                final int row) {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    private int slot(final K key) {
+        Objects.requireNonNull(key, "key");
+
+        final int column = this.column.applyAsInt(key);
+        final int row = this.row.applyAsInt(key);
+
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        int i = hash(column, row) & mask;
+        int found = -1;
+
+        while (null != keys[i]) {
+            if (this.columns[i] == column && this.rows[i] == row) {
+                found = i;
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+
+        return found;
+    }
+
+    private static int hash(final int column,
+                            final int row) {
+        final int hash = (column * 31 + row) * 0x9E3779B1;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void resize() {
+        final Object[] keys = this.keys;
+        final Object[] values = this.values;
+        final boolean[] flags = this.flags;
+
+        this.allocate(keys.length * 2);
+
+        for (int i = 0; i < keys.length; i++) {
+            final K key = Cast.to(keys[i]);
+            if (null != key) {
+                this.put(
+                    key,
+                    Cast.to(values[i])
+                );
+                if (flags[i]) {
+                    this.flag(key);
+                }
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new Object[capacity];
+        this.columns = new int[capacity];
+        this.rows = new int[capacity];
+        this.values = new Object[capacity];
+        this.flags = new boolean[capacity];
+        this.size = 0;
+    }
+
+    void clear() {
+        this.allocate(INITIAL_CAPACITY);
+        this.pending.clear();
+    }
+
+    boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Copies all entries into the given {@link Map}, which is useful when sorted iteration is required.
+     */
+    <M extends Map<K, V>> M copyTo(final M map) {
+        return this.copyTo(
+            map,
+            (K k) -> true
+        );
+    }
+
+    /**
+     * Copies only the entries whose key matches the filter into the given {@link Map}.
+     */
+    <M extends Map<K, V>> M copyTo(final M map,
+                                   final Predicate<K> filter) {
+        final Object[] keys = this.keys;
+        final Object[] values = this.values;
+
+        for (int i = 0; i < keys.length; i++) {
+            final K key = Cast.to(keys[i]);
+            if (null != key && filter.test(key)) {
+                map.put(
+                    key,
+                    Cast.to(values[i])
+                );
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * Returns a sorted copy of all entries.
+     */
+    SortedMap<K, V> toMap() {
+        return this.copyTo(Maps.sorted());
+    }
+
+    /**
+     * Returns a sorted copy of all flagged keys.
+     */
+    Set<K> flagged() {
+        final Set<K> flagged = SortedSets.tree();
+
+        final Object[] keys = this.keys;
+        final boolean[] flags = this.flags;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (flags[i]) {
+                flagged.add(
+                    Cast.to(keys[i])
+                );
+            }
+        }
+
+        return flagged;
+    }
+
+    private final ToIntFunction<K> column;
+
+    private final ToIntFunction<K> row;
+
+    private Object[] keys;
+
+    private int[] columns;
+
+    private int[] rows;
+
+    private Object[] values;
+
+    private boolean[] flags;
+
+    /**
+     * Flags for keys that have no entry yet, packed by {@link #pending(int, int)}.
+     */
+    private final Set<Long> pending = Sets.hash();
+
+    private int size;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.toMap()
+            .toString();
+    }
+}
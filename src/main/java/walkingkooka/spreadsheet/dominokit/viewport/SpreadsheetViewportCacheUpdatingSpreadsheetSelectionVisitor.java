@@ -17,12 +17,13 @@
 
 package walkingkooka.spreadsheet.dominokit.viewport;
 
-import walkingkooka.collect.set.SortedSets;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelectionVisitor;
 import walkingkooka.spreadsheet.viewport.SpreadsheetViewportWindows;
 
@@ -31,72 +32,112 @@ import java.util.Map;
 import java.util.Set;
 
 /**
- * A {@link SpreadsheetSelectionVisitor} that is used primarily to expand {@link SpreadsheetCellRangeReference} into the individual {@link SpreadsheetCellReference} within any range.
+ * A {@link SpreadsheetSelectionVisitor} that records the {@link SpreadsheetCellRangeReference} or {@link SpreadsheetCellReference}
+ * of each label within the {@link SpreadsheetViewportCacheLabelIndex} without expanding ranges into individual cells.
+ * Label to label mappings are then resolved once each, following the chain to its cell or cell-range.
  */
 final class SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor extends SpreadsheetSelectionVisitor {
 
     static SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor accept(final Collection<SpreadsheetLabelMapping> mappings,
-                                                                              final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels,
+                                                                              final SpreadsheetViewportCacheLabelIndex labelIndex,
                                                                               final Map<SpreadsheetLabelName, SpreadsheetSelection> labelToNonLabel,
                                                                               final SpreadsheetViewportWindows window) {
         return new SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor(
             mappings,
-            cellToLabels,
+            labelIndex,
             labelToNonLabel,
             window
         );
     }
 
     private SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor(final Collection<SpreadsheetLabelMapping> mappings,
-                                                                        final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels,
+                                                                        final SpreadsheetViewportCacheLabelIndex labelIndex,
                                                                         final Map<SpreadsheetLabelName, SpreadsheetSelection> labelToNonLabel,
                                                                         final SpreadsheetViewportWindows window) {
-        this.cellToLabels = cellToLabels;
+        this.labelIndex = labelIndex;
         this.labelToNonLabel = labelToNonLabel;
         this.window = window;
 
-        final Set<SpreadsheetLabelName> done = SortedSets.tree();
+        final Map<SpreadsheetLabelName, SpreadsheetLabelName> labelToLabel = SpreadsheetSelectionMaps.label();
 
         for (final SpreadsheetLabelMapping mapping : mappings) {
             this.label = mapping.label();
 
             final SpreadsheetSelection reference = mapping.reference();
-            if (false == reference.isLabelName()) {
+            if (reference.isLabelName()) {
+                labelToLabel.put(
+                    this.label,
+                    reference.toLabelName()
+                );
+            } else {
                 this.accept(reference);
             }
         }
 
-        for (; ; ) {
-            boolean change = false;
+        this.labelToLabel = labelToLabel;
 
-            for (final SpreadsheetLabelMapping mapping : mappings) {
-                final SpreadsheetLabelName unknownLabel = mapping.label();
-                final SpreadsheetSelection possibleLabel = mapping.reference();
-                if (false == possibleLabel.isLabelName() || done.contains(unknownLabel)) {
-                    continue;
-                }
+        final Set<SpreadsheetLabelName> resolving = Sets.hash();
+        for (final SpreadsheetLabelName label : labelToLabel.keySet()) {
+            this.resolveLabelToLabel(
+                label,
+                resolving
+            );
+        }
+    }
+
+    /**
+     * Resolves a label to label mapping by first resolving its target, recording the final cell or cell-range
+     * in {@link #labelToNonLabel} so each label is only resolved once. Cycles are ignored.
+     */
+    private SpreadsheetSelection resolveLabelToLabel(final SpreadsheetLabelName label,
+                                                     final Set<SpreadsheetLabelName> resolving) {
+        final SpreadsheetLabelName target = this.labelToLabel.get(label);
+
+        SpreadsheetSelection nonLabel;
+
+        if (null == target) {
+            nonLabel = this.labelToNonLabel.get(label);
+        } else {
+            nonLabel = this.resolved.get(label);
 
-                final SpreadsheetSelection nonLabel = labelToNonLabel.get(
-                    possibleLabel.toLabelName()
+            if (null == nonLabel && resolving.add(label)) {
+                nonLabel = this.resolveLabelToLabel(
+                    target,
+                    resolving
                 );
+                resolving.remove(label);
+
                 if (null != nonLabel) {
                     // assumes nonLabel must be either a cell or cell-range
-                    for (final SpreadsheetCellReference cell : nonLabel.toCellRange()) {
-                        cellToLabels.get(cell)
-                            .add(unknownLabel);
-                    }
-                    labelToNonLabel.put(unknownLabel, nonLabel);
-                    change = true;
-                    done.add(unknownLabel);
+                    this.labelIndex.add(
+                        nonLabel.toCellRange(),
+                        label
+                    );
+                    this.labelToNonLabel.put(
+                        label,
+                        nonLabel
+                    );
+                    this.resolved.put(
+                        label,
+                        nonLabel
+                    );
                 }
             }
-
-            if (false == change) {
-                break;
-            }
         }
+
+        return nonLabel;
     }
 
+    /**
+     * Label to label mappings from the current {@link SpreadsheetLabelMapping mappings}.
+     */
+    private final Map<SpreadsheetLabelName, SpreadsheetLabelName> labelToLabel;
+
+    /**
+     * Label to label mappings that have already been resolved.
+     */
+    private final Map<SpreadsheetLabelName, SpreadsheetSelection> resolved = SpreadsheetSelectionMaps.label();
+
     @Override
     protected void visit(final SpreadsheetCellRangeReference range) {
         final SpreadsheetViewportWindows window = this.window;
@@ -113,22 +154,10 @@ final class SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor extends
     }
 
     private void updateCellRange(final SpreadsheetCellRangeReference range) {
-        final SpreadsheetLabelName label = this.label;
-
-        final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels = this.cellToLabels;
-        for (final SpreadsheetCellReference cell : range) {
-            Set<SpreadsheetLabelName> labels = cellToLabels.get(cell);
-            if (null == labels) {
-                labels = SortedSets.tree();
-                cellToLabels.put(cell, labels);
-            }
-            labels.add(label);
-        }
-
-        final Map<SpreadsheetLabelName, SpreadsheetSelection> labelToNonLabel = this.labelToNonLabel;
-        if (false == labelToNonLabel.containsKey(label)) {
-            labelToNonLabel.put(label, range);
-        }
+        this.update(
+            range,
+            range
+        );
     }
 
     @Override
@@ -147,20 +176,25 @@ final class SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor extends
     }
 
     private void updateCell(final SpreadsheetCellReference cell) {
-        final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels = this.cellToLabels;
-        Set<SpreadsheetLabelName> labels = cellToLabels.get(cell);
-        if (null == labels) {
-            labels = SortedSets.tree();
-            cellToLabels.put(cell, labels);
-        }
+        this.update(
+            cell,
+            cell.toCellRange()
+        );
+    }
 
+    private void update(final SpreadsheetSelection nonLabel,
+                        final SpreadsheetCellRangeReference range) {
         final SpreadsheetLabelName label = this.label;
+
+        this.labelIndex.add(
+            range,
+            label
+        );
+
         final Map<SpreadsheetLabelName, SpreadsheetSelection> labelToNonLabel = this.labelToNonLabel;
         if (false == labelToNonLabel.containsKey(label)) {
-            labelToNonLabel.put(label, cell);
+            labelToNonLabel.put(label, nonLabel);
         }
-
-        labels.add(label);
     }
 
     @Override
@@ -176,7 +210,7 @@ final class SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor extends
     /**
      * Cells can have one or more labels mapped to them.
      */
-    private final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> cellToLabels;
+    private final SpreadsheetViewportCacheLabelIndex labelIndex;
 
     /**
      * Label to non label mappings, for the moment this is cell or cell-range.
@@ -190,6 +224,6 @@ final class SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor extends
 
     @Override
     public String toString() {
-        return this.cellToLabels.toString();
+        return this.labelIndex.toString();
     }
 }
@@ -24,17 +24,23 @@ import elemental2.dom.HTMLDivElement;
 import elemental2.dom.Headers;
 import elemental2.dom.KeyboardEvent;
 import elemental2.dom.MouseEvent;
+import elemental2.dom.WheelEvent;
 import jsinterop.base.Js;
 import org.gwtproject.core.shared.GWT;
 import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.datetime.DateTimeSymbols;
 import walkingkooka.math.DecimalNumberSymbols;
 import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.RelativeUrl;
 import walkingkooka.net.Url;
+import walkingkooka.net.UrlParameterName;
+import walkingkooka.net.UrlQueryString;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.net.http.HttpStatus;
 import walkingkooka.predicate.Predicates;
+import walkingkooka.spreadsheet.dominokit.ComponentRefreshable;
 import walkingkooka.spreadsheet.dominokit.HistoryTokenAwareComponentLifecycle;
 import walkingkooka.spreadsheet.dominokit.HtmlComponent;
 import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
@@ -48,6 +54,7 @@ import walkingkooka.spreadsheet.dominokit.dom.HtmlElementComponent;
 import walkingkooka.spreadsheet.dominokit.fetcher.FetcherRequestBody;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopEmptyResponseFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.NopSpreadsheetFormatterInfoSetFetcherWatcher;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetFormatterFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcher;
@@ -66,17 +73,25 @@ import walkingkooka.spreadsheet.dominokit.history.SpreadsheetColumnSelectHistory
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetRowMenuHistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetRowSelectHistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.recent.RecentValueSavesContext;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsCollector;
+import walkingkooka.spreadsheet.dominokit.metrics.MetricsSpan;
 import walkingkooka.spreadsheet.dominokit.navigate.SpreadsheetNavigateLinkComponent;
+import walkingkooka.spreadsheet.dominokit.refresh.RefreshScheduler;
+import walkingkooka.spreadsheet.dominokit.util.Throttler;
 import walkingkooka.spreadsheet.dominokit.value.cell.SpreadsheetCellLinksComponent;
 import walkingkooka.spreadsheet.dominokit.value.textstyle.color.SpreadsheetDominoKitColor;
 import walkingkooka.spreadsheet.dominokit.viewport.menu.SpreadsheetSelectionMenu;
+import walkingkooka.spreadsheet.engine.SpreadsheetCellQuery;
+import walkingkooka.spreadsheet.engine.SpreadsheetCellQueryRequest;
 import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
 import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterAliasSet;
 import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
 import walkingkooka.spreadsheet.meta.SpreadsheetId;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.SpreadsheetName;
 import walkingkooka.spreadsheet.parser.provider.SpreadsheetParserSelector;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnOrRowReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
@@ -143,6 +158,12 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
             context.spreadsheetViewportComponentKeyBindings(),
             context
         );
+        this.canvas = isCanvasRenderer() ?
+            this.canvas(context) :
+            null;
+        this.wheelScroll = SpreadsheetViewportComponentWheelScroll.with(
+            context.spreadsheetViewportCache()
+        );
 
         {
             final SpreadsheetViewportScrollbarComponentContext spreadsheetViewportScrollbarComponentContext = SpreadsheetViewportComponentSpreadsheetViewportScrollbarComponentContext.with(
@@ -213,6 +234,8 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
             )
         );
 
+        root.addClickListener(this::recordInput);
+
         return root;
     }
 
@@ -234,6 +257,7 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
 
     private void onKeyDownEvent(final KeyboardEvent event) {
         this.setShiftKeyDown(event.shiftKey);
+        this.recordInput(event);
     }
 
     private void onKeyUpEvent(final KeyboardEvent event) {
@@ -248,6 +272,20 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
         }
     }
 
+    /**
+     * Records the time from the browser creating the event until now. Listeners on the root run after the table or
+     * canvas listeners, which have already pushed any navigation or {@link HistoryToken}.
+     */
+    private void recordInput(final Event event) {
+        if (GWT.isClient()) {
+            this.context.metricsCollector()
+                .record(
+                    MetricsCollector.INPUT,
+                    DomGlobal.performance.now() - event.timeStamp
+                );
+        }
+    }
+
     /**
      * True when the SHIFT key is down. Column and Row headers will create {@link SpreadsheetViewportNavigation#extendColumn(SpreadsheetColumnReference)} etc rather than {@link SpreadsheetViewportNavigation#column(SpreadsheetColumnReference)}, navigations.
      */
@@ -321,10 +359,21 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
         final DivComponent container = HtmlElementComponent.div()
             .setCssText("position: relative; border: none; margin: 0px; padding: 0px;");
 
-        container.appendChild(this.table);
+        if (null != this.canvas) {
+            container.appendChild(this.canvas);
+        } else {
+            container.appendChild(this.table);
+        }
         container.appendChild(this.verticalScrollbar);
         container.appendChild(this.bottom);
 
+        container.addEventListener(
+            "wheel",
+            (event) -> this.onWheel(
+                Js.cast(event)
+            )
+        );
+
         return container;
     }
 
@@ -353,6 +402,140 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
      */
     private final SpreadsheetViewportComponentTable table;
 
+    // canvas...........................................................................................................
+
+    /**
+     * When the URL query string contains {@link #RENDERER} with a value of {@link #CANVAS} the grid is painted by a {@link SpreadsheetViewportComponentCanvas}
+     * rather than the {@link SpreadsheetViewportComponentTable}, which is useful for very large visible grids.
+     */
+    private static boolean isCanvasRenderer() {
+        return GWT.isClient() &&
+            isCanvasRenderer(DomGlobal.location.search);
+    }
+
+    /**
+     * Returns true if the given query string, with or without a leading question mark, has a {@link #RENDERER} parameter
+     * with a value of {@link #CANVAS}.
+     */
+    // @VisibleForTesting
+    static boolean isCanvasRenderer(final String queryString) {
+        Objects.requireNonNull(queryString, "queryString");
+
+        return UrlQueryString.parse(
+                queryString.startsWith("?") ?
+                    queryString.substring(1) :
+                    queryString
+            ).parameter(RENDERER)
+            .map(CANVAS::equals)
+            .orElse(false);
+    }
+
+    final static UrlParameterName RENDERER = UrlParameterName.with("renderer");
+
+    final static String CANVAS = "canvas";
+
+    private SpreadsheetViewportComponentCanvas canvas(final SpreadsheetViewportContext context) {
+        return SpreadsheetViewportComponentCanvas.empty(
+            this.table::onKeyDownEvent,
+            SpreadsheetViewportComponentSpreadsheetViewportComponentTableContext.with(
+                this,
+                context
+            )
+        );
+    }
+
+    /**
+     * A CANVAS that paints the grid of cells including the column and row headers, or null when the {@link #table} is used.
+     */
+    private final SpreadsheetViewportComponentCanvas canvas;
+
+    // wheel............................................................................................................
+
+    /**
+     * Wheel and trackpad deltas are accumulated and applied once per animation frame, moving the home only when whole
+     * columns or rows have been scrolled, and translating the grid by the remaining pixels.
+     */
+    private void onWheel(final WheelEvent event) {
+        event.preventDefault();
+
+        final double multiplier;
+        switch (event.deltaMode) {
+            case WHEEL_DELTA_MODE_LINE:
+                multiplier = WHEEL_LINE_PIXELS;
+                break;
+            case WHEEL_DELTA_MODE_PAGE:
+                multiplier = this.viewportGridHeight;
+                break;
+            default:
+                multiplier = 1;
+                break;
+        }
+
+        this.wheelScroll.add(
+            event.deltaX * multiplier,
+            event.deltaY * multiplier
+        );
+
+        if (false == this.wheelFrameRequested) {
+            this.wheelFrameRequested = true;
+            DomGlobal.requestAnimationFrame(
+                (timestamp) -> this.onWheelAnimationFrame()
+            );
+        }
+    }
+
+    private void onWheelAnimationFrame() {
+        this.wheelFrameRequested = false;
+
+        final SpreadsheetCellReference home = this.context.home();
+        final SpreadsheetViewportComponentWheelScroll wheelScroll = this.wheelScroll;
+        final SpreadsheetCellReference newHome = wheelScroll.apply(home);
+
+        this.translateGrid();
+
+        if (false == newHome.equalsIgnoreReferenceKind(home)) {
+            if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
+                this.context.debug(this.getClass().getSimpleName() + ".onWheelAnimationFrame " + home + " to " + wheelScroll);
+            }
+
+            this.pushHome(newHome);
+        }
+    }
+
+    /**
+     * Translates the TABLE or CANVAS by the pixels scrolled into the home cell.
+     */
+    private void translateGrid() {
+        final SpreadsheetViewportComponentWheelScroll wheelScroll = this.wheelScroll;
+        final double x = wheelScroll.offsetX();
+        final double y = wheelScroll.offsetY();
+
+        final HtmlComponent<?, ?> grid = null != this.canvas ?
+            this.canvas :
+            this.table;
+        if (0 == x && 0 == y) {
+            grid.removeCssProperty("transform");
+        } else {
+            grid.setCssProperty(
+                "transform",
+                "translate(" + (-x) + "px, " + (-y) + "px)"
+            );
+        }
+    }
+
+    private final static int WHEEL_DELTA_MODE_LINE = 1;
+
+    private final static int WHEEL_DELTA_MODE_PAGE = 2;
+
+    /**
+     * The pixels scrolled for each line when the wheel reports lines rather than pixels.
+     */
+    private final static double WHEEL_LINE_PIXELS = 16;
+
+    private final SpreadsheetViewportComponentWheelScroll wheelScroll;
+
+    private boolean wheelFrameRequested;
+
     // scrollbars.......................................................................................................
 
     SpreadsheetViewportScrollbarComponent<SpreadsheetColumnReference> horizontalScrollbar(final SpreadsheetViewportScrollbarComponentContext context) {
@@ -426,46 +609,85 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
                 );
             }
 
-            context.pushHistoryToken(
-                context.historyToken()
-                    .setNavigation(
-                        Optional.of(
-                            SpreadsheetViewportHomeNavigationList.with(home)
-                        )
-                    )
-            );
+            this.pushHome(home);
         }
     }
 
+    private void pushHome(final SpreadsheetCellReference home) {
+        final SpreadsheetViewportComponentContext context = this.context;
+
+        context.pushHistoryToken(
+            context.historyToken()
+                .setNavigation(
+                    Optional.of(
+                        SpreadsheetViewportHomeNavigationList.with(home)
+                    )
+                )
+        );
+    }
+
     private final SpreadsheetNavigateLinkComponent navigateLink;
 
     // misc.............................................................................................................
 
+    /**
+     * Updates the layout immediately, but only reloads cells once resizing stops and the grid has grown beyond the
+     * area of the last load. Shrinking never reloads, as the cache already holds all cells for the smaller area.
+     * When no cells have been loaded yet, such as the first size after the app starts, cells are loaded immediately.
+     */
     public void setWidthAndHeight(final int width,
                                   final int height) {
-        final boolean reload = width > this.viewportGridWidth || height > this.viewportGridHeight;
-
         final SpreadsheetViewportComponentContext context = this.context;
-        if (SPREADSHEET_VIEWPORT_COMPONENT) {
-            context.debug(this.getClass().getSimpleName() + ".setWidthAndHeight " + width + "x" + height + " was " + this.viewportGridWidth + "x" + this.viewportGridHeight + " reload: " + reload);
-        }
 
         this.width = width;
         this.height = height;
         this.viewportGridWidth = 0;
         this.viewportGridHeight = 0;
 
-        this.reload = reload;
-
         if (this.isOpen()) {
             this.refresh(context);
         } else {
             this.refreshLayout();
         }
 
-        this.loadViewportCellsIfNecessary();
+        final boolean grown = this.viewportGridWidth > this.loadedViewportGridWidth || this.viewportGridHeight > this.loadedViewportGridHeight;
+
+        if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
+            context.debug(this.getClass().getSimpleName() + ".setWidthAndHeight " + width + "x" + height + " grid " + this.viewportGridWidth + "x" + this.viewportGridHeight + " loaded " + this.loadedViewportGridWidth + "x" + this.loadedViewportGridHeight + " grown: " + grown);
+        }
+
+        if (grown) {
+            this.reload = true;
+
+            if (0 == this.loadedViewportGridWidth && 0 == this.loadedViewportGridHeight) {
+                this.resizeThrottler.clear();
+                this.loadViewportCellsIfNecessary();
+            } else {
+                this.resizeThrottler.add(this::loadViewportCellsIfNecessary);
+            }
+        }
     }
 
+    /**
+     * Delays loading cells until the window stops resizing.
+     */
+    private final Throttler resizeThrottler = Throttler.empty(RESIZE_DELAY);
+
+    /**
+     * The time in milliseconds without any resize events, before cells are loaded for the new size.
+     */
+    private final static long RESIZE_DELAY = 250;
+
+    /**
+     * The grid width of the last {@link #loadViewportCells()}.
+     */
+    private int loadedViewportGridWidth;
+
+    /**
+     * The grid height of the last {@link #loadViewportCells()}.
+     */
+    private int loadedViewportGridHeight;
+
     /**
      * The width for the viewport including the headers.
      */
@@ -619,16 +841,39 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
         this.setVisibility(true);
     }
 
+    /**
+     * The layout is refreshed immediately as the viewport grid size is required to load cells, the table and scrollbars
+     * are refreshed by the {@link RefreshScheduler}, so several refreshes within a frame only render once.
+     */
     @Override
     public void refresh(final RefreshContext context) {
-        final long start = System.currentTimeMillis();
         this.refreshLayout();
 
+        context.refreshScheduler()
+            .scheduleRefresh(
+                this.refreshTableAndScrollbars,
+                RefreshScheduler.VIEWPORT,
+                context
+            );
+    }
+
+    private final ComponentRefreshable refreshTableAndScrollbars = this::refreshTableAndScrollbars;
+
+    private void refreshTableAndScrollbars(final RefreshContext context) {
+        final long start = System.currentTimeMillis();
+
         final HistoryToken historyToken = context.historyToken();
         final Optional<AnchoredSpreadsheetSelection> maybeAnchorSelection = historyToken.anchoredSelectionOrEmpty();
 
         this.formulaCellLinksRefresh();
-        this.refreshTable(maybeAnchorSelection);
+
+        final MetricsSpan render = context.metricsCollector()
+            .span(MetricsCollector.RENDER);
+        try {
+            this.refreshTable(maybeAnchorSelection);
+        } finally {
+            render.end();
+        }
         this.horizontalScrollbar.refresh(context);
         this.verticalScrollbar.refresh(context);
 
@@ -636,10 +881,19 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
             historyToken instanceof SpreadsheetColumnSelectHistoryToken ||
             historyToken instanceof SpreadsheetRowSelectHistoryToken) {
 
-            this.giveViewportSelectionFocus(
-                maybeAnchorSelection.get(),
-                context
-            );
+            // focus reads the layout, so like HistoryTokenAwareComponentLifecycle#openGiveFocus is given after all components have refreshed
+            final AnchoredSpreadsheetSelection anchoredSelection = maybeAnchorSelection.get();
+            context.refreshScheduler()
+                .scheduleFocus(
+                    () -> {
+                        if (this.open) {
+                            this.giveViewportSelectionFocus(
+                                anchoredSelection,
+                                context
+                            );
+                        }
+                    }
+                );
         }
 
         if (historyToken instanceof SpreadsheetCellMenuHistoryToken ||
@@ -688,13 +942,17 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
             this.spreadsheetFormatterSelectorMenus = spreadsheetFormatterSelectorMenus;
         }
 
-        if (SPREADSHEET_VIEWPORT_COMPONENT) {
+        if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
             final long end = System.currentTimeMillis();
             this.context.debug(this.getClass().getSimpleName() + " refresh " + (end - start) + " ms");
         }
     }
 
     private void refreshTable(final Optional<AnchoredSpreadsheetSelection> maybeAnchorSelection) {
+        if (this.wheelScroll.resetIfHomeChanged(this.context.home())) {
+            this.translateGrid();
+        }
+
         final SpreadsheetViewportCache cache = this.context.spreadsheetViewportCache();
         final SpreadsheetViewportWindows windows = cache.windows();
 
@@ -715,14 +973,26 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
         }
 
         final SpreadsheetMetadata metadata = this.context.spreadsheetMetadata();
+        final SpreadsheetId id = metadata.id()
+            .get();
+        final SpreadsheetName name = metadata.getOrFail(SpreadsheetMetadataPropertyName.SPREADSHEET_NAME);
 
-        this.table.refresh(
-            metadata.id()
-                .get(),
-            metadata.getOrFail(SpreadsheetMetadataPropertyName.SPREADSHEET_NAME),
-            windows,
-            selected
-        );
+        final SpreadsheetViewportComponentCanvas canvas = this.canvas;
+        if (null != canvas) {
+            canvas.refresh(
+                id,
+                name,
+                windows,
+                selected
+            );
+        } else {
+            this.table.refresh(
+                id,
+                name,
+                windows,
+                selected
+            );
+        }
     }
 
     private void giveViewportSelectionFocus(final AnchoredSpreadsheetSelection selection,
@@ -763,7 +1033,7 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
                             element = element.firstElementChild;
                         }
 
-                        if (SPREADSHEET_VIEWPORT_COMPONENT) {
+                        if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
                             context.debug(this.getClass().getSimpleName() + ".giveViewportSelectionFocus " + spreadsheetSelection + " focus element " + element);
                         }
                         element.focus();
@@ -772,7 +1042,7 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
             }
 
             if (false == give) {
-                if (SPREADSHEET_VIEWPORT_COMPONENT) {
+                if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
                     context.debug(this.getClass().getSimpleName() + ".giveViewportSelectionFocus " + spreadsheetSelection + " element not found!");
                 }
             }
@@ -857,13 +1127,14 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
     public void close(final RefreshContext context) {
         this.setVisibility(false);
         this.open = false;
+        this.table.detachTooltip();
     }
 
     private boolean open;
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_VIEWPORT_COMPONENT;
+        return SPREADSHEET_VIEWPORT_COMPONENT.isEnabled();
     }
 
     // isEditing........................................................................................................
@@ -951,7 +1222,7 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
      * server PATCH and will be ignored.
      */
     private void synchronizeSpreadsheetDeltaViewportSelectionHistoryToken(final SpreadsheetViewport viewport) {
-        if (this.table.isEditing()) {
+        if (null != this.canvas ? this.canvas.isEditing() : this.table.isEditing()) {
             final SpreadsheetViewportComponentContext context = this.context;
 
             // before pushing history token need to update the AppContext.metadata
@@ -964,7 +1235,7 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
                 final HistoryToken withSelection = historyToken
                     .setAnchoredSelection(viewportSelection);
 
-                if (SPREADSHEET_VIEWPORT_COMPONENT) {
+                if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
                     context.debug(
                         this.getClass().getSimpleName() +
                             ".onSpreadsheetDelta " +
@@ -1013,7 +1284,9 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
     // metadata.........................................................................................................
 
     @Override
-    public void onSpreadsheetMetadataSet(final Set<SpreadsheetMetadata> metadatas) {
+    public void onSpreadsheetMetadataSet(final HttpMethod method,
+                                         final AbsoluteOrRelativeUrl url,
+                                         final Set<SpreadsheetMetadata> metadatas) {
         // NOP
     }
 
@@ -1022,7 +1295,10 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
         Objects.requireNonNull(metadata, "metadata");
 
         if (metadata.shouldViewRefresh(this.metadata)) {
-            this.reload = true;
+            // highlighting changes only need the matched cells, all other cells remain valid
+            if (false == isQueryHighlightingOnlyChange(metadata, this.metadata) || false == this.loadMatchedCells(metadata)) {
+                this.reload = true;
+            }
         }
 
         boolean fetchSpreadsheetFormatterSelectorsMenu = false;
@@ -1060,6 +1336,78 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
         this.loadViewportCellsIfNecessary();
     }
 
+    /**
+     * Returns true if the only {@link SpreadsheetMetadata} changes that require a refresh are the
+     * {@link SpreadsheetMetadataPropertyName#QUERY} or {@link SpreadsheetMetadataPropertyName#QUERY_HIGHLIGHTING}.
+     */
+    private static boolean isQueryHighlightingOnlyChange(final SpreadsheetMetadata metadata,
+                                                         final SpreadsheetMetadata previous) {
+        return false == removeQueryHighlighting(metadata)
+            .shouldViewRefresh(
+                removeQueryHighlighting(previous)
+            );
+    }
+
+    private static SpreadsheetMetadata removeQueryHighlighting(final SpreadsheetMetadata metadata) {
+        return metadata.remove(SpreadsheetMetadataPropertyName.QUERY)
+            .remove(SpreadsheetMetadataPropertyName.QUERY_HIGHLIGHTING);
+    }
+
+    /**
+     * Clears the matched cells in the {@link SpreadsheetViewportCache} and if highlighting is enabled, queries each
+     * window for the new matched cells. Returns false if the windows are not yet known, and a reload is required.
+     */
+    private boolean loadMatchedCells(final SpreadsheetMetadata metadata) {
+        final SpreadsheetViewportComponentContext context = this.context;
+        final SpreadsheetViewportCache cache = context.spreadsheetViewportCache();
+        final SpreadsheetViewportWindows windows = cache.windows();
+        final Optional<SpreadsheetId> id = metadata.id();
+
+        final boolean loaded = false == windows.isEmpty() && id.isPresent();
+        if (loaded) {
+            final Optional<SpreadsheetCellQuery> query = metadata.get(SpreadsheetMetadataPropertyName.QUERY_HIGHLIGHTING)
+                .orElse(false) ?
+                metadata.get(SpreadsheetMetadataPropertyName.QUERY) :
+                Optional.empty();
+
+            final Set<RelativeUrl> urls = Sets.hash();
+
+            if (query.isPresent()) {
+                final SpreadsheetCellQueryRequest request = SpreadsheetCellQueryRequest.empty()
+                    .setQuery(query);
+
+                for (final SpreadsheetCellRangeReference window : windows.cellRanges()) {
+                    urls.add(
+                        SpreadsheetDeltaFetcher.queryCellsUrl(
+                            id.get(),
+                            window,
+                            request
+                        )
+                    );
+                }
+
+                cache.setMatchedCellsQueries(urls);
+
+                final SpreadsheetDeltaFetcher fetcher = context.spreadsheetDeltaFetcher();
+                for (final SpreadsheetCellRangeReference window : windows.cellRanges()) {
+                    fetcher.getQueryCells(
+                        id.get(),
+                        window,
+                        request
+                    );
+                }
+            } else {
+                cache.setMatchedCellsQueries(urls);
+            }
+
+            if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
+                context.debug(this.getClass().getSimpleName() + ".loadMatchedCells " + query.map(Object::toString).orElse("none") + " windows: " + windows);
+            }
+        }
+
+        return loaded;
+    }
+
     /**
      * Initial metadata is EMPTY or nothing.
      */
@@ -1080,14 +1428,14 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
             final SpreadsheetMetadata metadata = context.spreadsheetMetadata();
             if (reload && width > 0 && height > 0 && metadata.isNotEmpty()) {
                 if (metadata.isEmpty()) {
-                    if (SPREADSHEET_VIEWPORT_COMPONENT) {
+                    if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
                         context.debug(this.getClass().getSimpleName() + ".loadViewportCellsIfNecessary waiting for metadata");
                     }
                 } else {
                     this.loadViewportCells();
                 }
             } else {
-                if (SPREADSHEET_VIEWPORT_COMPONENT) {
+                if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
                     context.debug(this.getClass().getSimpleName() + ".loadViewportCellsIfNecessary not ready, reload: " + reload + " width: " + width + " height: " + height + " metadata.isEmpty: " + metadata.isEmpty() + " open " + this.open);
                 }
             }
@@ -1106,12 +1454,14 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
         final SpreadsheetViewport viewport = this.viewport()
             .setNavigations(this.navigations);
 
-        if (SPREADSHEET_VIEWPORT_COMPONENT) {
+        if (SPREADSHEET_VIEWPORT_COMPONENT.isEnabled()) {
             context.debug(this.getClass().getSimpleName() + ".loadViewportCells id: " + id + " viewport: " + viewport);
         }
 
         this.reload = false;
         this.navigations = SpreadsheetViewportNavigationList.EMPTY;
+        this.loadedViewportGridWidth = this.viewportGridWidth;
+        this.loadedViewportGridHeight = this.viewportGridHeight;
 
         context.spreadsheetDeltaFetcher()
             .getCells(
@@ -1253,7 +1603,11 @@ public final class SpreadsheetViewportComponent implements HtmlComponentDelegato
 
         {
             this.formula.printTree(printer);
-            this.table.printTree(printer);
+            if (null != this.canvas) {
+                this.canvas.printTree(printer);
+            } else {
+                this.table.printTree(printer);
+            }
             this.verticalScrollbar.printTree(printer);
             this.horizontalScrollbar.printTree(printer);
             this.navigateLink.printTree(printer);
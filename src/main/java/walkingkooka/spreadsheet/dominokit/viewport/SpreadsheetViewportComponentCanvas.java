@@ -0,0 +1,641 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import elemental2.dom.CanvasRenderingContext2D;
+import elemental2.dom.DOMRect;
+import elemental2.dom.DomGlobal;
+import elemental2.dom.Event;
+import elemental2.dom.HTMLCanvasElement;
+import elemental2.dom.HTMLDivElement;
+import elemental2.dom.KeyboardEvent;
+import elemental2.dom.MouseEvent;
+import jsinterop.base.Js;
+import walkingkooka.spreadsheet.dominokit.HtmlComponent;
+import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
+import walkingkooka.spreadsheet.dominokit.dom.DivComponent;
+import walkingkooka.spreadsheet.dominokit.dom.HtmlElementComponent;
+import walkingkooka.spreadsheet.dominokit.value.textstyle.color.SpreadsheetDominoKitColor;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetName;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.viewport.AnchoredSpreadsheetSelection;
+import walkingkooka.spreadsheet.viewport.SpreadsheetViewportWindows;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.tree.text.TextAlign;
+import walkingkooka.tree.text.TextNode;
+import walkingkooka.tree.text.TextStyle;
+import walkingkooka.tree.text.TextStylePropertyName;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static walkingkooka.spreadsheet.dominokit.log.Logging.SPREADSHEET_VIEWPORT_COMPONENT_TABLE;
+
+/**
+ * An alternative to {@link SpreadsheetViewportComponentTable} that paints the cells, gridlines, selection and headers
+ * onto a single CANVAS, rather than creating and updating a TD for every visible cell. Clicks and context menus are
+ * hit-tested against the painted column and row boundaries. A single overlay DIV with the id of the focused
+ * {@link SpreadsheetSelection} sits above the CANVAS, so focus, keyboard bindings and context menus continue to work.
+ * <br>
+ * Validation prompts such as checkboxes and choice lists, and rich formatting are not painted, only the text of each cell.
+ */
+final class SpreadsheetViewportComponentCanvas implements HtmlComponentDelegator<HTMLDivElement, SpreadsheetViewportComponentCanvas> {
+
+    static SpreadsheetViewportComponentCanvas empty(final Consumer<KeyboardEvent> keyDown,
+                                                    final SpreadsheetViewportComponentTableContext context) {
+        return new SpreadsheetViewportComponentCanvas(
+            Objects.requireNonNull(keyDown, "keyDown"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private SpreadsheetViewportComponentCanvas(final Consumer<KeyboardEvent> keyDown,
+                                               final SpreadsheetViewportComponentTableContext context) {
+        this.context = context;
+
+        this.canvas = Js.uncheckedCast(
+            DomGlobal.document.createElement("canvas")
+        );
+        this.canvas.style.cssText = "display: block;";
+
+        this.overlay = HtmlElementComponent.div()
+            .setTabIndex(0)
+            .setCssText("position: absolute; display: none; box-sizing: border-box; pointer-events: none; outline: none;")
+            .appendChild(
+                HtmlElementComponent.div()
+                    .setTabIndex(0)
+                    .setCssText("width: 100%; height: 100%; outline: none;")
+            );
+
+        this.root = HtmlElementComponent.div()
+            .setId(SpreadsheetViewportComponent.ID)
+            .setCssText("position: relative; overflow: hidden;")
+            .appendChild(this.canvas)
+            .appendChild(this.overlay)
+            .addClickListener(this::onClick)
+            .addContextMenuListener(this::onContextMenu)
+            .addKeyDownListener(
+                (event) -> keyDown.accept(
+                    Js.cast(event)
+                )
+            );
+
+        this.layout = SpreadsheetViewportComponentCanvasLayout.EMPTY;
+    }
+
+    // click............................................................................................................
+
+    private void onClick(final Event event) {
+        event.preventDefault();
+
+        final MouseEvent mouseEvent = Js.cast(event);
+        this.hitTest(mouseEvent)
+            .ifPresent(
+                s -> this.context.pushNavigation(
+                    s.toSpreadsheetViewportNavigation(mouseEvent.shiftKey)
+                )
+            );
+    }
+
+    // context menu.....................................................................................................
+
+    private void onContextMenu(final Event event) {
+        event.preventDefault();
+
+        final SpreadsheetViewportComponentTableContext context = this.context;
+
+        this.hitTest(
+            Js.cast(event)
+        ).ifPresent(
+            s -> context.pushHistoryToken(
+                context.historyToken()
+                    .menu(
+                        Optional.of(s),
+                        context.spreadsheetViewportCache()
+                    )
+            )
+        );
+    }
+
+    // hit test.........................................................................................................
+
+    private Optional<SpreadsheetSelection> hitTest(final MouseEvent event) {
+        final DOMRect rect = this.canvas.getBoundingClientRect();
+
+        return this.layout.hitTest(
+            event.clientX - rect.left,
+            event.clientY - rect.top
+        );
+    }
+
+    // refresh..........................................................................................................
+
+    void refresh(final SpreadsheetId id,
+                 final SpreadsheetName name,
+                 final SpreadsheetViewportWindows windows,
+                 final Predicate<SpreadsheetSelection> selected) {
+        Objects.requireNonNull(windows, "windows");
+
+        final long started = System.currentTimeMillis();
+
+        final SpreadsheetViewportComponentTableContext context = this.context;
+        final SpreadsheetViewportCache cache = context.spreadsheetViewportCache();
+
+        final boolean headers = context.shouldShowHeaders();
+        final double headerWidth = headers ?
+            SpreadsheetViewportContext.ROW_HEADER_WIDTH_PIXELS :
+            0;
+        final double headerHeight = headers ?
+            SpreadsheetViewportContext.COLUMN_HEADER_HEIGHT_PIXELS :
+            0;
+
+        final double gridWidth = context.viewportGridWidth();
+        final double gridHeight = context.viewportGridHeight();
+
+        final double width = headerWidth + gridWidth;
+        final double height = headerHeight + gridHeight;
+
+        final SpreadsheetViewportComponentCanvasLayout layout = SpreadsheetViewportComponentCanvasLayout.with(
+            headers,
+            windows.columns(),
+            (c) -> cache.columnWidth(c)
+                .value(),
+            gridWidth,
+            windows.rows(),
+            (r) -> cache.rowHeight(r)
+                .value(),
+            gridHeight
+        );
+        this.layout = layout;
+
+        final CanvasRenderingContext2D context2d = this.context2d(
+            width,
+            height
+        );
+
+        this.paintCells(
+            context2d,
+            width,
+            height,
+            selected,
+            cache
+        );
+
+        if (headers) {
+            this.paintHeaders(
+                context2d,
+                headerWidth,
+                headerHeight,
+                selected
+            );
+        }
+
+        this.refreshOverlay();
+
+        if (SPREADSHEET_VIEWPORT_COMPONENT_TABLE.isEnabled()) {
+            context.debug(this.getClass().getSimpleName() + ".refresh " + (System.currentTimeMillis() - started) + "ms, " + layout.columnCount() + " columns " + layout.rowCount() + " rows");
+        }
+    }
+
+    /**
+     * Sizes the CANVAS for the device pixel ratio, which also clears it, and returns its 2d context.
+     */
+    private CanvasRenderingContext2D context2d(final double width,
+                                               final double height) {
+        final HTMLCanvasElement canvas = this.canvas;
+        final double ratio = Math.max(
+            1,
+            DomGlobal.window.devicePixelRatio
+        );
+
+        canvas.width = (int) Math.ceil(width * ratio);
+        canvas.height = (int) Math.ceil(height * ratio);
+        canvas.style.cssText = "display: block; width: " + width + "px; height: " + height + "px;";
+
+        final CanvasRenderingContext2D context2d = Js.uncheckedCast(
+            canvas.getContext("2d")
+        );
+        context2d.setTransform(ratio, 0, 0, ratio, 0, 0);
+        context2d.textBaseline = "middle";
+        return context2d;
+    }
+
+    private void paintCells(final CanvasRenderingContext2D context2d,
+                            final double width,
+                            final double height,
+                            final Predicate<SpreadsheetSelection> selected,
+                            final SpreadsheetViewportCache cache) {
+        final SpreadsheetViewportComponentTableContext context = this.context;
+        final TextStyle cellStyle = context.cellStyle();
+        final boolean shouldHideZeroValues = context.shouldHideZeroValues();
+        final boolean shouldShowFormulas = context.shouldShowFormulas();
+
+        final SpreadsheetViewportComponentCanvasLayout layout = this.layout;
+        final int columnCount = layout.columnCount();
+        final int rowCount = layout.rowCount();
+
+        for (int r = 0; r < rowCount; r++) {
+            final double top = layout.rowTop(r);
+            final double rowHeight = layout.rowHeight(r);
+
+            for (int c = 0; c < columnCount; c++) {
+                final double left = layout.columnLeft(c);
+                final double columnWidth = layout.columnWidth(c);
+
+                final SpreadsheetCellReference cellReference = layout.column(c)
+                    .setRow(
+                        layout.row(r)
+                    );
+                final SpreadsheetCell cell = cache.cell(cellReference)
+                    .orElse(null);
+
+                TextStyle style = cellStyle;
+                if (null != cell) {
+                    style = style.merge(
+                        cell.style()
+                    );
+                }
+                if (selected.test(cellReference)) {
+                    style = context.selectedCellStyle(style);
+                }
+
+                fillRect(
+                    context2d,
+                    style.get(TextStylePropertyName.BACKGROUND_COLOR)
+                        .map(Object::toString)
+                        .orElse(WHITE),
+                    left,
+                    top,
+                    columnWidth,
+                    rowHeight
+                );
+
+                if (null != cell) {
+                    final String text = text(
+                        cell,
+                        shouldHideZeroValues,
+                        shouldShowFormulas
+                    );
+                    if (false == text.isEmpty()) {
+                        paintText(
+                            context2d,
+                            text,
+                            style,
+                            left,
+                            top,
+                            columnWidth,
+                            rowHeight
+                        );
+                    }
+                }
+            }
+        }
+
+        // gridlines
+        context2d.setStrokeStyle(LINES_COLOR);
+        context2d.lineWidth = 1;
+        context2d.beginPath();
+
+        final double right = layout.columnLeft(columnCount);
+        final double bottom = layout.rowTop(rowCount);
+
+        for (int c = 0; c <= columnCount; c++) {
+            final double x = Math.floor(layout.columnLeft(c)) + 0.5;
+            context2d.moveTo(x, 0);
+            context2d.lineTo(x, Math.min(bottom, height));
+        }
+        for (int r = 0; r <= rowCount; r++) {
+            final double y = Math.floor(layout.rowTop(r)) + 0.5;
+            context2d.moveTo(0, y);
+            context2d.lineTo(Math.min(right, width), y);
+        }
+        context2d.stroke();
+    }
+
+    private void paintHeaders(final CanvasRenderingContext2D context2d,
+                              final double headerWidth,
+                              final double headerHeight,
+                              final Predicate<SpreadsheetSelection> selected) {
+        final SpreadsheetViewportComponentTableContext context = this.context;
+
+        fillRect(
+            context2d,
+            HEADER_BACKGROUND_COLOR,
+            0,
+            0,
+            headerWidth,
+            headerHeight
+        );
+
+        final SpreadsheetViewportComponentCanvasLayout layout = this.layout;
+        final int columnCount = layout.columnCount();
+
+        for (int c = 0; c < columnCount; c++) {
+            final SpreadsheetColumnReference column = layout.column(c);
+            final double left = layout.columnLeft(c);
+            final double columnWidth = layout.columnWidth(c);
+            final boolean isSelected = selected.test(column);
+
+            fillRect(
+                context2d,
+                isSelected ?
+                    HEADER_SELECTED_BACKGROUND_COLOR :
+                    HEADER_BACKGROUND_COLOR,
+                left,
+                0,
+                columnWidth,
+                headerHeight
+            );
+            paintText(
+                context2d,
+                column.toString(),
+                isSelected ?
+                    context.selectedColumnStyle() :
+                    context.columnStyle(),
+                left,
+                0,
+                columnWidth,
+                headerHeight
+            );
+        }
+
+        final int rowCount = layout.rowCount();
+
+        for (int r = 0; r < rowCount; r++) {
+            final SpreadsheetRowReference row = layout.row(r);
+            final double top = layout.rowTop(r);
+            final double rowHeight = layout.rowHeight(r);
+            final boolean isSelected = selected.test(row);
+
+            fillRect(
+                context2d,
+                isSelected ?
+                    HEADER_SELECTED_BACKGROUND_COLOR :
+                    HEADER_BACKGROUND_COLOR,
+                0,
+                top,
+                headerWidth,
+                rowHeight
+            );
+            paintText(
+                context2d,
+                row.toString(),
+                isSelected ?
+                    context.selectedRowStyle() :
+                    context.rowStyle(),
+                0,
+                top,
+                headerWidth,
+                rowHeight
+            );
+        }
+    }
+
+    private static void fillRect(final CanvasRenderingContext2D context2d,
+                                 final String color,
+                                 final double left,
+                                 final double top,
+                                 final double width,
+                                 final double height) {
+        context2d.setFillStyle(color);
+        context2d.fillRect(left, top, width, height);
+    }
+
+    /**
+     * Paints the text clipped to the given box, honouring the color and text-align of the {@link TextStyle}.
+     */
+    private static void paintText(final CanvasRenderingContext2D context2d,
+                                  final String text,
+                                  final TextStyle style,
+                                  final double left,
+                                  final double top,
+                                  final double width,
+                                  final double height) {
+        final TextAlign textAlign = style.get(TextStylePropertyName.TEXT_ALIGN)
+            .orElse(TextAlign.LEFT);
+
+        final double x;
+        switch (textAlign) {
+            case CENTER:
+                context2d.textAlign = "center";
+                x = left + width / 2;
+                break;
+            case RIGHT:
+                context2d.textAlign = "right";
+                x = left + width - TEXT_PADDING;
+                break;
+            default:
+                context2d.textAlign = "left";
+                x = left + TEXT_PADDING;
+                break;
+        }
+
+        context2d.save();
+        context2d.beginPath();
+        context2d.rect(left, top, width, height);
+        context2d.clip();
+
+        context2d.setFillStyle(
+            style.get(TextStylePropertyName.COLOR)
+                .map(Object::toString)
+                .orElse(BLACK)
+        );
+        context2d.fillText(
+            text,
+            x,
+            top + height / 2
+        );
+        context2d.restore();
+    }
+
+    /**
+     * Returns the text painted for the given {@link SpreadsheetCell}, following the same rules as
+     * {@link SpreadsheetViewportComponentTableCellSpreadsheetCell}, the formula text when show formulas is active, otherwise
+     * the formatted value, unless it is a zero value that should be hidden.
+     */
+    static String text(final SpreadsheetCell cell,
+                       final boolean shouldHideZeroValues,
+                       final boolean shouldShowFormulas) {
+        final SpreadsheetFormula formula = cell.formula();
+
+        String text = "";
+
+        if (shouldShowFormulas) {
+            text = formula.text()
+                .trim();
+        } else {
+            if (false == (shouldHideZeroValues && formula.isZeroValue())) {
+                TextNode formatted = cell.formattedValue()
+                    .orElse(null);
+                if (null != formatted && formatted.isBadge()) {
+                    formatted = formatted.firstChild()
+                        .orElse(null);
+                }
+                if (null != formatted) {
+                    text = formatted.text();
+                }
+            }
+        }
+
+        return text;
+    }
+
+    // overlay..........................................................................................................
+
+    /**
+     * Moves the overlay above the focused cell, column or row of the current selection, giving it the same id the
+     * {@link SpreadsheetViewportComponentTable} would have used, or hides it when the selection is not visible.
+     */
+    private void refreshOverlay() {
+        final SpreadsheetViewportComponentTableContext context = this.context;
+        final DivComponent overlay = this.overlay;
+
+        final AnchoredSpreadsheetSelection anchored = context.historyToken()
+            .anchoredSelectionOrEmpty()
+            .orElse(null);
+
+        SpreadsheetSelection focused = null;
+        if (null != anchored) {
+            focused = context.spreadsheetViewportCache()
+                .resolveIfLabel(
+                    anchored.selection()
+                ).map(s -> s.focused(anchored.anchor()))
+                .orElse(null);
+        }
+
+        double left = 0;
+        double top = 0;
+        double width = 0;
+        double height = 0;
+        boolean visible = false;
+
+        if (null != focused) {
+            final SpreadsheetViewportComponentCanvasLayout layout = this.layout;
+            int column = -1;
+            int row = -1;
+
+            if (focused.isCell()) {
+                final SpreadsheetCellReference cell = focused.toCell();
+                column = layout.indexOf(cell.column());
+                row = layout.indexOf(cell.row());
+                visible = -1 != column && -1 != row;
+            } else {
+                if (focused.isColumn() && layout.headers()) {
+                    column = layout.indexOf(focused.toColumn());
+                    visible = -1 != column;
+                } else {
+                    if (focused.isRow() && layout.headers()) {
+                        row = layout.indexOf(focused.toRow());
+                        visible = -1 != row;
+                    }
+                }
+            }
+
+            if (visible) {
+                left = -1 != column ?
+                    layout.columnLeft(column) :
+                    0;
+                width = -1 != column ?
+                    layout.columnWidth(column) :
+                    SpreadsheetViewportContext.ROW_HEADER_WIDTH_PIXELS;
+                top = -1 != row ?
+                    layout.rowTop(row) :
+                    0;
+                height = -1 != row ?
+                    layout.rowHeight(row) :
+                    SpreadsheetViewportContext.COLUMN_HEADER_HEIGHT_PIXELS;
+            }
+        }
+
+        if (visible) {
+            overlay.setId(
+                SpreadsheetViewportComponent.id(focused)
+            ).setCssProperty("left", left + "px")
+                .setCssProperty("top", top + "px")
+                .setCssProperty("width", width + "px")
+                .setCssProperty("height", height + "px")
+                .setCssProperty("display", "block")
+                .setCssProperty("border", "2px solid " + SELECTED_BORDER_COLOR);
+        } else {
+            overlay.setId("")
+                .setCssProperty("display", "none");
+        }
+    }
+
+    /**
+     * Tests if the overlay for the focused cell, column or row has focus.
+     */
+    @Override
+    public boolean isEditing() {
+        return HtmlComponent.hasFocus(this.element());
+    }
+
+    // HtmlComponentDelegator...........................................................................................
+
+    @Override
+    public HtmlComponent<HTMLDivElement, ?> htmlComponent() {
+        return this.root;
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            this.overlay.printTree(printer);
+        }
+        printer.outdent();
+    }
+
+    private final static double TEXT_PADDING = 3;
+
+    private final static String WHITE = "#fff";
+
+    private final static String BLACK = "#000";
+
+    private final static String LINES_COLOR = SpreadsheetDominoKitColor.VIEWPORT_LINES_COLOR.toString();
+
+    private final static String HEADER_BACKGROUND_COLOR = SpreadsheetDominoKitColor.VIEWPORT_HEADER_UNSELECTED_BACKGROUND_COLOR.toString();
+
+    private final static String HEADER_SELECTED_BACKGROUND_COLOR = SpreadsheetDominoKitColor.VIEWPORT_HEADER_SELECTED_BACKGROUND_COLOR.toString();
+
+    private final static String SELECTED_BORDER_COLOR = "#1a73e8";
+
+    /**
+     * The columns and rows from the last paint.
+     */
+    private SpreadsheetViewportComponentCanvasLayout layout;
+
+    private final HTMLCanvasElement canvas;
+
+    private final DivComponent overlay;
+
+    private final DivComponent root;
+
+    private final SpreadsheetViewportComponentTableContext context;
+}
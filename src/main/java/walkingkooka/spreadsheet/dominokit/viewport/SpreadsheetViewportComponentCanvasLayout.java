@@ -0,0 +1,318 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The column and row boundaries of a single paint of a {@link SpreadsheetViewportComponentCanvas}, used to paint the
+ * cells and headers, position the overlay and hit-test clicks. Columns and rows that start beyond the width or height
+ * are not included.
+ */
+final class SpreadsheetViewportComponentCanvasLayout {
+
+    /**
+     * A layout without any headers, columns or rows, used before the first paint.
+     */
+    final static SpreadsheetViewportComponentCanvasLayout EMPTY = new SpreadsheetViewportComponentCanvasLayout(
+        false,
+        new SpreadsheetColumnReference[0],
+        new double[1],
+        new SpreadsheetRowReference[0],
+        new double[1]
+    );
+
+    /**
+     * Lays out the given columns and rows, in order, after the headers if they are shown, stopping at the first column
+     * or row that starts beyond the given grid width or height.
+     */
+    static SpreadsheetViewportComponentCanvasLayout with(final boolean headers,
+                                                         final Set<SpreadsheetColumnReference> columns,
+                                                         final ToDoubleFunction<SpreadsheetColumnReference> columnWidth,
+                                                         final double gridWidth,
+                                                         final Set<SpreadsheetRowReference> rows,
+                                                         final ToDoubleFunction<SpreadsheetRowReference> rowHeight,
+                                                         final double gridHeight) {
+        Objects.requireNonNull(columns, "columns");
+        Objects.requireNonNull(columnWidth, "columnWidth");
+        Objects.requireNonNull(rows, "rows");
+        Objects.requireNonNull(rowHeight, "rowHeight");
+
+        final double headerWidth = headers ?
+            SpreadsheetViewportContext.ROW_HEADER_WIDTH_PIXELS :
+            0;
+        final double headerHeight = headers ?
+            SpreadsheetViewportContext.COLUMN_HEADER_HEIGHT_PIXELS :
+            0;
+
+        final SpreadsheetColumnReference[] columnReferences = new SpreadsheetColumnReference[columns.size()];
+        final double[] columnLefts = new double[columnReferences.length + 1];
+        final int columnCount = layout(
+            columns,
+            columnWidth,
+            headerWidth,
+            headerWidth + gridWidth,
+            columnReferences,
+            columnLefts
+        );
+
+        final SpreadsheetRowReference[] rowReferences = new SpreadsheetRowReference[rows.size()];
+        final double[] rowTops = new double[rowReferences.length + 1];
+        final int rowCount = layout(
+            rows,
+            rowHeight,
+            headerHeight,
+            headerHeight + gridHeight,
+            rowReferences,
+            rowTops
+        );
+
+        return new SpreadsheetViewportComponentCanvasLayout(
+            headers,
+            Arrays.copyOf(columnReferences, columnCount),
+            columnLefts,
+            Arrays.copyOf(rowReferences, rowCount),
+            rowTops
+        );
+    }
+
+    /**
+     * Fills the references and their start boundaries, returning the number of references that start before the end.
+     */
+    private static <R> int layout(final Set<R> references,
+                                  final ToDoubleFunction<R> size,
+                                  final double start,
+                                  final double end,
+                                  final R[] laidOut,
+                                  final double[] boundaries) {
+        double position = start;
+        int i = 0;
+        boundaries[0] = position;
+
+        for (final R reference : references) {
+            if (position >= end) {
+                break;
+            }
+            laidOut[i] = reference;
+            position = position + size.applyAsDouble(reference);
+            i++;
+            boundaries[i] = position;
+        }
+
+        return i;
+    }
+
+    private SpreadsheetViewportComponentCanvasLayout(final boolean headers,
+                                                     final SpreadsheetColumnReference[] columns,
+                                                     final double[] columnLefts,
+                                                     final SpreadsheetRowReference[] rows,
+                                                     final double[] rowTops) {
+        this.headers = headers;
+        this.columns = columns;
+        this.columnLefts = columnLefts;
+        this.rows = rows;
+        this.rowTops = rowTops;
+    }
+
+    /**
+     * Whether headers are shown, which shifts all cells right and down.
+     */
+    boolean headers() {
+        return this.headers;
+    }
+
+    private final boolean headers;
+
+    // columns..........................................................................................................
+
+    int columnCount() {
+        return this.columns.length;
+    }
+
+    SpreadsheetColumnReference column(final int index) {
+        return this.columns[index];
+    }
+
+    /**
+     * The left of the column at the given index, the index equal to {@link #columnCount()} returns the right of the
+     * last column.
+     */
+    double columnLeft(final int index) {
+        return this.columnLefts[index];
+    }
+
+    double columnWidth(final int index) {
+        return this.columnLefts[index + 1] - this.columnLefts[index];
+    }
+
+    /**
+     * Returns the index of the given column, ignoring the reference kind, or -1 if it is not visible.
+     */
+    int indexOf(final SpreadsheetColumnReference column) {
+        final SpreadsheetColumnReference[] columns = this.columns;
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equalsIgnoreReferenceKind(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The visible columns, and their left boundaries with one extra trailing right boundary.
+     */
+    private final SpreadsheetColumnReference[] columns;
+
+    private final double[] columnLefts;
+
+    // rows.............................................................................................................
+
+    int rowCount() {
+        return this.rows.length;
+    }
+
+    SpreadsheetRowReference row(final int index) {
+        return this.rows[index];
+    }
+
+    /**
+     * The top of the row at the given index, the index equal to {@link #rowCount()} returns the bottom of the last row.
+     */
+    double rowTop(final int index) {
+        return this.rowTops[index];
+    }
+
+    double rowHeight(final int index) {
+        return this.rowTops[index + 1] - this.rowTops[index];
+    }
+
+    /**
+     * Returns the index of the given row, ignoring the reference kind, or -1 if it is not visible.
+     */
+    int indexOf(final SpreadsheetRowReference row) {
+        final SpreadsheetRowReference[] rows = this.rows;
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].equalsIgnoreReferenceKind(row)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The visible rows, and their top boundaries with one extra trailing bottom boundary.
+     */
+    private final SpreadsheetRowReference[] rows;
+
+    private final double[] rowTops;
+
+    // hit test.........................................................................................................
+
+    /**
+     * Finds the cell, column, row or all cells at the given position relative to the top/left of the CANVAS.
+     */
+    Optional<SpreadsheetSelection> hitTest(final double x,
+                                           final double y) {
+        final int column = find(
+            x,
+            this.columnLefts,
+            this.columns.length
+        );
+        final int row = find(
+            y,
+            this.rowTops,
+            this.rows.length
+        );
+
+        final boolean columnHeader = this.headers && y < this.rowTops[0];
+        final boolean rowHeader = this.headers && x < this.columnLefts[0];
+
+        SpreadsheetSelection selection = null;
+
+        if (columnHeader && rowHeader) {
+            selection = SpreadsheetSelection.ALL_CELLS;
+        } else {
+            if (columnHeader) {
+                if (-1 != column) {
+                    selection = this.columns[column];
+                }
+            } else {
+                if (rowHeader) {
+                    if (-1 != row) {
+                        selection = this.rows[row];
+                    }
+                } else {
+                    if (-1 != column && -1 != row) {
+                        selection = this.columns[column]
+                            .setRow(this.rows[row]);
+                    }
+                }
+            }
+        }
+
+        return Optional.ofNullable(selection);
+    }
+
+    /**
+     * Binary searches the boundaries for the index of the column or row holding the given position, returning -1 if none.
+     */
+    private static int find(final double position,
+                            final double[] boundaries,
+                            final int count) {
+        int low = 0;
+        int high = count - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+
+            if (position < boundaries[mid]) {
+                high = mid - 1;
+            } else {
+                if (position >= boundaries[mid + 1]) {
+                    low = mid + 1;
+                } else {
+                    return mid;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return (this.headers ? "headers " : "") +
+            Arrays.toString(this.columns) +
+            " " +
+            Arrays.toString(this.columnLefts) +
+            " " +
+            Arrays.toString(this.rows) +
+            " " +
+            Arrays.toString(this.rowTops);
+    }
+}
@@ -207,7 +207,7 @@ public final class SpreadsheetViewportComponentKeyBindingsEventListener implemen
     private void handleKeyEvent(final KeyboardEvent event) {
         final KeyBinding binding = KeyBinding.fromKeyEvent(event);
 
-        if (SPREADSHEET_KEYBOARD_EVENT_LISTENER) {
+        if (SPREADSHEET_KEYBOARD_EVENT_LISTENER.isEnabled()) {
             this.context.debug(this.getClass().getSimpleName() + " handleKeyEvent " + binding);
         }
 
@@ -29,6 +29,7 @@ import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.spreadsheet.dominokit.HtmlComponent;
 import walkingkooka.spreadsheet.dominokit.HtmlComponentDelegator;
+import walkingkooka.spreadsheet.dominokit.dom.Doms;
 import walkingkooka.spreadsheet.dominokit.dom.HtmlElementComponent;
 import walkingkooka.spreadsheet.dominokit.dom.TBodyComponent;
 import walkingkooka.spreadsheet.dominokit.dom.THeadComponent;
@@ -168,6 +169,7 @@ final class SpreadsheetViewportComponentTable implements HtmlComponentDelegator<
         );
 
         this.context = context;
+        this.tooltip = SpreadsheetViewportComponentTableTooltip.with(context);
 
         final TableComponent table = HtmlElementComponent.table()
             .setId(SpreadsheetViewportComponent.ID)
@@ -177,7 +179,10 @@ final class SpreadsheetViewportComponentTable implements HtmlComponentDelegator<
                     Js.cast(event)
                 )
             ).addContextMenuListener(this::onContextMenu)
-            .addKeyDownListener(
+            .addMouseOverListener(this.tooltip::onMouseOver)
+            .addMouseLeaveListener(
+                (event) -> this.tooltip.hide()
+            ).addKeyDownListener(
                 (event) -> this.onKeyDownEvent(
                     Js.cast(event)
                 )
@@ -250,6 +255,20 @@ final class SpreadsheetViewportComponentTable implements HtmlComponentDelegator<
         }
     }
 
+    // tooltip..........................................................................................................
+
+    /**
+     * A single tooltip for all cells, shown for the cell under the mouse.
+     */
+    private final SpreadsheetViewportComponentTableTooltip tooltip;
+
+    /**
+     * Removes the tooltip from the BODY, called when the viewport is closed.
+     */
+    void detachTooltip() {
+        this.tooltip.detach();
+    }
+
     // context menu.....................................................................................................
 
     /**
@@ -299,7 +318,7 @@ final class SpreadsheetViewportComponentTable implements HtmlComponentDelegator<
     void onKeyDownEvent(final KeyboardEvent event) {
         final KeyBinding binding = KeyBinding.fromKeyEvent(event);
 
-        if (SPREADSHEET_VIEWPORT_COMPONENT_TABLE) {
+        if (SPREADSHEET_VIEWPORT_COMPONENT_TABLE.isEnabled()) {
             this.context.debug(this.getClass().getSimpleName() + " handleKeyEvent " + binding);
         }
 
@@ -580,9 +599,11 @@ final class SpreadsheetViewportComponentTable implements HtmlComponentDelegator<
             timings.add(String.valueOf(ended - tableRowCellsStart));
         }
 
-        if (SPREADSHEET_VIEWPORT_COMPONENT_TABLE) {
-            context.debug(this.getClass().getSimpleName() + ".refresh " + (ended - started) + "ms, row rendering timings: " + String.join(", ", timings));
+        if (SPREADSHEET_VIEWPORT_COMPONENT_TABLE.isEnabled()) {
+            context.debug(this.getClass().getSimpleName() + ".refresh " + (ended - started) + "ms, row rendering timings: " + String.join(", ", timings) + ", node templates " + Doms.nodeTemplateCacheStatistics());
         }
+
+        this.tooltip.refresh();
     }
 
     private SpreadsheetId id;
@@ -18,13 +18,11 @@
 package walkingkooka.spreadsheet.dominokit.viewport;
 
 import elemental2.dom.HTMLTableCellElement;
-import org.dominokit.domino.ui.menu.direction.DropDirection;
 import walkingkooka.spreadsheet.dominokit.HtmlComponent;
 import walkingkooka.spreadsheet.dominokit.SpreadsheetElementIds;
 import walkingkooka.spreadsheet.dominokit.checkbox.ValidationCheckboxComponent;
 import walkingkooka.spreadsheet.dominokit.dom.HtmlElementComponent;
 import walkingkooka.spreadsheet.dominokit.dom.TdComponent;
-import walkingkooka.spreadsheet.dominokit.tooltip.TooltipComponent;
 import walkingkooka.spreadsheet.dominokit.value.ValueComponent;
 import walkingkooka.spreadsheet.dominokit.value.choicelist.ValidationChoiceListComponent;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
@@ -33,7 +31,6 @@ import walkingkooka.spreadsheet.meta.SpreadsheetName;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
-import walkingkooka.text.CharSequences;
 import walkingkooka.tree.text.Badge;
 import walkingkooka.tree.text.Length;
 import walkingkooka.tree.text.TextNode;
@@ -67,7 +64,6 @@ final class SpreadsheetViewportComponentTableCellSpreadsheetCell extends Spreads
                 SpreadsheetViewportComponent.id(cellReference)
             ).setTabIndex(0);
         this.cellReference = cellReference;
-        this.tooltipMessage = "";
 
         this.refresh(context);
     }
@@ -101,7 +97,6 @@ final class SpreadsheetViewportComponentTableCellSpreadsheetCell extends Spreads
             ) :
             context.cellStyle();
 
-        String tooltipText = null;
         boolean zeroValue = false;
 
         if (null != cell) {
@@ -140,10 +135,8 @@ final class SpreadsheetViewportComponentTableCellSpreadsheetCell extends Spreads
                         TextNode formatted = cell.formattedValue()
                             .orElse(null);
                         if (null != formatted) {
+                            // badge text is displayed by the shared SpreadsheetViewportComponentTableTooltip
                             if (formatted.isBadge()) {
-                                tooltipText = ((Badge) formatted)
-                                    .badgeText();
-
                                 formatted = formatted.firstChild()
                                     .orElse(null);
                             }
@@ -155,18 +148,6 @@ final class SpreadsheetViewportComponentTableCellSpreadsheetCell extends Spreads
                     }
                 }
             }
-
-            if (null == tooltipText) {
-                tooltipText = formula.error()
-                    .map(e -> {
-                            final String errorMessage = e.message();
-                            return errorMessage.isEmpty() ?
-                                e.toString() :
-                                errorMessage;
-
-                        }
-                    ).orElse("");
-            }
         }
         if (zeroValue) {
             style = context.hideZeroStyle(style);
@@ -178,11 +159,6 @@ final class SpreadsheetViewportComponentTableCellSpreadsheetCell extends Spreads
                 context
             )
         );
-
-        this.tooltipRefresh(
-            CharSequences.nullToEmpty(tooltipText)
-                .toString()
-        );
     }
 
     private final SpreadsheetCellReference cellReference;
@@ -230,30 +206,40 @@ final class SpreadsheetViewportComponentTableCellSpreadsheetCell extends Spreads
         return component;
     }
 
-    private void tooltipRefresh(final String newTooltipMessage) {
-        final String oldTooltipMessage = this.tooltipMessage;
+    /**
+     * Returns the tooltip text for the given {@link SpreadsheetCell}, which is either the text of a {@link Badge} or
+     * the error message. An empty {@link String} is returned if the cell has neither.
+     */
+    static String tooltipText(final SpreadsheetCell cell,
+                              final boolean shouldHideZeroValues,
+                              final boolean shouldShowFormulas) {
+        final SpreadsheetFormula formula = cell.formula();
 
-        if (false == newTooltipMessage.equals(oldTooltipMessage)) {
-            if (null != this.tooltip) {
-                this.tooltip.detach();
-                this.tooltip = null;
-            }
+        String tooltipText = null;
 
-            if (false == newTooltipMessage.isEmpty()) {
-                this.tooltip = TooltipComponent.attach(
-                    this.td,
-                    newTooltipMessage,
-                    DropDirection.BOTTOM_MIDDLE
-                );
+        if (false == shouldShowFormulas && false == (shouldHideZeroValues && formula.isZeroValue())) {
+            final TextNode formatted = cell.formattedValue()
+                .orElse(null);
+            if (null != formatted && formatted.isBadge()) {
+                tooltipText = ((Badge) formatted)
+                    .badgeText();
             }
-
-            this.tooltipMessage = newTooltipMessage;
         }
-    }
 
-    private String tooltipMessage;
+        if (null == tooltipText) {
+            tooltipText = formula.error()
+                .map(e -> {
+                        final String errorMessage = e.message();
+                        return errorMessage.isEmpty() ?
+                            e.toString() :
+                            errorMessage;
 
-    private TooltipComponent tooltip;
+                    }
+                ).orElse("");
+        }
+
+        return tooltipText;
+    }
 
     @Override //
     Length<?> width(final SpreadsheetViewportComponentTableContext context) {
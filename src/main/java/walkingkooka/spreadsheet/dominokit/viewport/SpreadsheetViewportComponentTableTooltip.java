@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import elemental2.dom.DOMRect;
+import elemental2.dom.DomGlobal;
+import elemental2.dom.Element;
+import elemental2.dom.Event;
+import elemental2.dom.EventTarget;
+import jsinterop.base.Js;
+import walkingkooka.spreadsheet.dominokit.dom.DivComponent;
+import walkingkooka.spreadsheet.dominokit.dom.HtmlElementComponent;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+
+import java.util.Optional;
+
+/**
+ * A single tooltip shared by all cells in the {@link SpreadsheetViewportComponentTable}. Rather than attaching a tooltip
+ * to every cell with an error or badge, a delegated mouseover listener on the TABLE finds the cell under the mouse, and
+ * reads its message from the {@link SpreadsheetViewportCache} only when needed.
+ */
+final class SpreadsheetViewportComponentTableTooltip {
+
+    static SpreadsheetViewportComponentTableTooltip with(final SpreadsheetViewportComponentTableContext context) {
+        return new SpreadsheetViewportComponentTableTooltip(context);
+    }
+
+    private SpreadsheetViewportComponentTableTooltip(final SpreadsheetViewportComponentTableContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Finds the cell under the mouse and shows or hides the tooltip.
+     */
+    void onMouseOver(final Event event) {
+        final EventTarget eventTarget = event.target;
+
+        Element cellElement = null;
+        SpreadsheetCellReference cell = null;
+
+        if (eventTarget instanceof Element) {
+            Element element = Js.cast(eventTarget);
+
+            for (; ; ) {
+                if (null == element || element.tagName.equalsIgnoreCase("TABLE")) {
+                    break;
+                }
+
+                final Optional<SpreadsheetSelection> maybeSelection = SpreadsheetViewportComponent.parseElementId(element.id);
+                if (maybeSelection.isPresent()) {
+                    final SpreadsheetSelection selection = maybeSelection.get();
+                    if (selection.isCell()) {
+                        cellElement = element;
+                        cell = selection.toCell();
+                    }
+                    break;
+                }
+
+                element = element.parentElement;
+            }
+        }
+
+        if (null == cell) {
+            this.hide();
+        } else {
+            if (false == cell.equals(this.cell)) {
+                this.show(
+                    cell,
+                    cellElement
+                );
+            }
+        }
+    }
+
+    /**
+     * Refreshes the message for the cell under the mouse, which may have changed since it was shown.
+     */
+    void refresh() {
+        final SpreadsheetCellReference cell = this.cell;
+        if (null != cell) {
+            final Element cellElement = DomGlobal.document.getElementById(
+                SpreadsheetViewportComponent.id(cell)
+            );
+
+            this.cell = null;
+
+            if (null == cellElement) {
+                this.hide();
+            } else {
+                this.show(
+                    cell,
+                    cellElement
+                );
+            }
+        }
+    }
+
+    private void show(final SpreadsheetCellReference cell,
+                      final Element cellElement) {
+        final SpreadsheetViewportComponentTableContext context = this.context;
+
+        final SpreadsheetCell spreadsheetCell = context.spreadsheetViewportCache()
+            .cell(cell)
+            .orElse(null);
+
+        final String text = null != spreadsheetCell ?
+            SpreadsheetViewportComponentTableCellSpreadsheetCell.tooltipText(
+                spreadsheetCell,
+                context.shouldHideZeroValues(),
+                context.shouldShowFormulas()
+            ) :
+            "";
+
+        if (text.isEmpty()) {
+            this.hide();
+        } else {
+            final DivComponent div = this.div();
+            div.element()
+                .textContent = text;
+
+            final DOMRect rect = cellElement.getBoundingClientRect();
+            div.setCssProperty(
+                "left",
+                (rect.left + rect.width / 2) + "px"
+            ).setCssProperty(
+                "top",
+                (rect.bottom + GAP) + "px"
+            ).setCssProperty(
+                "display",
+                "block"
+            );
+        }
+
+        this.cell = cell;
+    }
+
+    /**
+     * The space in pixels between the bottom of the cell and the tooltip.
+     */
+    private final static int GAP = 4;
+
+    void hide() {
+        final DivComponent div = this.div;
+        if (null != div) {
+            div.setCssProperty(
+                "display",
+                "none"
+            );
+        }
+        this.cell = null;
+    }
+
+    /**
+     * Lazily creates the tooltip DIV and appends it to the BODY, the first time a message is shown.
+     */
+    private DivComponent div() {
+        DivComponent div = this.div;
+        if (null == div) {
+            div = HtmlElementComponent.div()
+                .setId(ID)
+                .setCssText(CSS);
+            DomGlobal.document.body.append(
+                div.element()
+            );
+            this.div = div;
+        }
+        return div;
+    }
+
+    /**
+     * Removes the tooltip DIV from the BODY, a later {@link #show(SpreadsheetCellReference, Element)} will create a new one.
+     */
+    void detach() {
+        final DivComponent div = this.div;
+        if (null != div) {
+            div.element()
+                .remove();
+            this.div = null;
+        }
+        this.cell = null;
+    }
+
+    private final static String ID = SpreadsheetViewportComponent.ID + "-tooltip";
+
+    /**
+     * The style of the tooltip DIV, which is positioned below the cell under the mouse.
+     */
+    private final static String CSS = "position: fixed; display: none; z-index: 10000; pointer-events: none; transform: translateX(-50%); " +
+        "max-width: 300px; padding: 4px 8px; border-radius: 4px; font-size: 12px; " +
+        "background-color: rgba(33, 33, 33, 0.9); color: white;";
+
+    private DivComponent div;
+
+    /**
+     * The cell currently under the mouse with a visible tooltip.
+     */
+    private SpreadsheetCellReference cell;
+
+    private final SpreadsheetViewportComponentTableContext context;
+
+    @Override
+    public String toString() {
+        return String.valueOf(this.cell);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.tree.text.Length;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Accumulates wheel and trackpad pixel deltas and converts them into a new home cell plus a fractional pixel offset
+ * into that home cell, using the column widths and row heights in the {@link SpreadsheetViewportCache}. Only when a
+ * whole column or row has been scrolled past does the home change and new cells need to be loaded, smaller movements
+ * are rendered by translating the grid by the offset.
+ */
+final class SpreadsheetViewportComponentWheelScroll {
+
+    static SpreadsheetViewportComponentWheelScroll with(final SpreadsheetViewportCache cache) {
+        return new SpreadsheetViewportComponentWheelScroll(
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private SpreadsheetViewportComponentWheelScroll(final SpreadsheetViewportCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Adds a wheel delta in pixels, which will be applied by the next {@link #apply(SpreadsheetCellReference)}.
+     */
+    void add(final double deltaX,
+             final double deltaY) {
+        this.pendingX += deltaX;
+        this.pendingY += deltaY;
+    }
+
+    /**
+     * Applies any pending deltas to the given home, returning the new home. The remaining pixels are available from
+     * {@link #offsetX()} and {@link #offsetY()}. Scrolling before column A or row 1 or after the last column or row
+     * is clamped. If the given home was replaced by an earlier apply, the navigation is still in flight and the
+     * deltas are applied to the latest pending home.
+     */
+    SpreadsheetCellReference apply(final SpreadsheetCellReference home) {
+        Objects.requireNonNull(home, "home");
+
+        final SpreadsheetCellReference start;
+        final int index = this.homeIndex(home);
+        if (-1 == index) {
+            // home was changed by something else, such as a scrollbar or keyboard navigation
+            start = home;
+            this.offsetX = 0;
+            this.offsetY = 0;
+            this.homes.clear();
+        } else {
+            // homes before the given have been replaced and will not be current again
+            this.homes.subList(0, index)
+                .clear();
+            start = this.homes.get(this.homes.size() - 1);
+        }
+
+        final SpreadsheetViewportCache cache = this.cache;
+
+        SpreadsheetColumnReference column = start.column();
+        double x = this.offsetX + this.pendingX;
+
+        while (x < 0) {
+            final Optional<SpreadsheetColumnReference> previous = cache.previousVisibleColumn(column);
+            if (false == previous.isPresent()) {
+                x = 0;
+                break;
+            }
+            column = previous.get();
+            x = x + pixels(
+                cache.columnWidth(column)
+            );
+        }
+
+        for (; ; ) {
+            final double width = pixels(
+                cache.columnWidth(column)
+            );
+            if (x < width || width <= 0) {
+                break;
+            }
+            final Optional<SpreadsheetColumnReference> next = cache.nextVisibleColumn(column);
+            if (false == next.isPresent()) {
+                x = 0;
+                break;
+            }
+            x = x - width;
+            column = next.get();
+        }
+
+        SpreadsheetRowReference row = start.row();
+        double y = this.offsetY + this.pendingY;
+
+        while (y < 0) {
+            final Optional<SpreadsheetRowReference> previous = cache.previousVisibleRow(row);
+            if (false == previous.isPresent()) {
+                y = 0;
+                break;
+            }
+            row = previous.get();
+            y = y + pixels(
+                cache.rowHeight(row)
+            );
+        }
+
+        for (; ; ) {
+            final double height = pixels(
+                cache.rowHeight(row)
+            );
+            if (y < height || height <= 0) {
+                break;
+            }
+            final Optional<SpreadsheetRowReference> next = cache.nextVisibleRow(row);
+            if (false == next.isPresent()) {
+                y = 0;
+                break;
+            }
+            y = y - height;
+            row = next.get();
+        }
+
+        this.pendingX = 0;
+        this.pendingY = 0;
+        this.offsetX = x;
+        this.offsetY = y;
+
+        final SpreadsheetCellReference newHome = start.setColumn(column)
+            .setRow(row);
+        if (this.homes.isEmpty()) {
+            this.homes.add(start);
+        }
+        if (false == start.equalsIgnoreReferenceKind(newHome)) {
+            this.homes.add(newHome);
+        }
+        return newHome;
+    }
+
+    /**
+     * Widths and heights are unknown until the {@link walkingkooka.spreadsheet.meta.SpreadsheetMetadata} defaults are loaded.
+     */
+    private static double pixels(final Length<?> length) {
+        return null == length ?
+            0 :
+            length.value();
+    }
+
+    /**
+     * The pixels scrolled past the left edge of the home column.
+     */
+    double offsetX() {
+        return this.offsetX;
+    }
+
+    /**
+     * The pixels scrolled past the top edge of the home row.
+     */
+    double offsetY() {
+        return this.offsetY;
+    }
+
+    /**
+     * Clears the offset when the given home is neither the home it belongs to, nor a home that was replaced and may
+     * still be current until the new home is loaded.
+     */
+    boolean resetIfHomeChanged(final SpreadsheetCellReference home) {
+        Objects.requireNonNull(home, "home");
+
+        final boolean reset = (0 != this.offsetX || 0 != this.offsetY) &&
+            -1 == this.homeIndex(home);
+        if (reset) {
+            this.offsetX = 0;
+            this.offsetY = 0;
+            this.homes.clear();
+        }
+        return reset;
+    }
+
+    private int homeIndex(final SpreadsheetCellReference home) {
+        final List<SpreadsheetCellReference> homes = this.homes;
+        final int count = homes.size();
+
+        int index = -1;
+        for (int i = 0; i < count; i++) {
+            if (homes.get(i).equalsIgnoreReferenceKind(home)) {
+                index = i;
+                break;
+            }
+        }
+        return index;
+    }
+
+    private double pendingX;
+
+    private double pendingY;
+
+    private double offsetX;
+
+    private double offsetY;
+
+    /**
+     * The last home known to be current followed by the homes returned by {@link #apply(SpreadsheetCellReference)}
+     * that are still loading. The offsets are relative to the last.
+     */
+    private final List<SpreadsheetCellReference> homes = Lists.array();
+
+    private final SpreadsheetViewportCache cache;
+
+    @Override
+    public String toString() {
+        return (this.homes.isEmpty() ? null : this.homes.get(this.homes.size() - 1)) + " " + this.offsetX + "," + this.offsetY;
+    }
+}
@@ -39,6 +39,7 @@ import walkingkooka.spreadsheet.dominokit.history.SpreadsheetCellFormulaSaveHist
 import walkingkooka.spreadsheet.dominokit.history.SpreadsheetCellHistoryToken;
 import walkingkooka.spreadsheet.dominokit.value.formula.SpreadsheetFormulaComponent;
 import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
@@ -67,7 +68,10 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
 
     private SpreadsheetViewportFormulaComponent(final SpreadsheetViewportFormulaComponentContext context) {
         this.formula = SpreadsheetFormulaComponent.empty(
-                SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction.empty()
+                SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction.with(
+                    context::spreadsheetParserContext,
+                    context::spreadsheetMetadata
+                )
             ).alwaysShowHelperText()
             .hideMarginBottom()
             .removeBorders()
@@ -87,7 +91,7 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
         final SpreadsheetViewportFormulaComponentContext context = this.context;
         final HistoryToken historyToken = context.historyToken();
 
-        if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT) {
+        if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT.isEnabled()) {
             context.debug(this.getClass().getSimpleName() + ".onFocus " + historyToken.anchoredSelectionOrEmpty());
         }
         context.pushHistoryToken(
@@ -100,12 +104,20 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
 
         switch (Key.fromEvent(event)) {
             case Enter:
-                if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT) {
+                if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT.isEnabled()) {
                     context.debug(this.getClass().getSimpleName() + ".onKeyDownEvent ENTER");
                 }
 
                 event.preventDefault();
 
+                // syntax errors are shown by the validator, only save valid formulas
+                if (this.formula.value()
+                    .flatMap(SpreadsheetFormula::error)
+                    .isPresent()) {
+                    this.formula.validate();
+                    break;
+                }
+
                 // if cell then edit formula
                 context.pushHistoryToken(
                     context.historyToken()
@@ -117,7 +129,7 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
                 );
                 break;
             case Escape:
-                if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT) {
+                if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT.isEnabled()) {
                     context.debug(this.getClass().getSimpleName() + ".onKeyDownEvent ESCAPE restoring text");
                 }
                 event.preventDefault();
@@ -220,7 +232,7 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
                         cell = null;
                     }
 
-                    if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT) {
+                    if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT.isEnabled()) {
                         context.debug(this.getClass().getSimpleName() + ".refresh formula cell: " + cell);
                     }
                     if (null != cell) {
@@ -232,7 +244,7 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
                 }
 
                 if (token instanceof SpreadsheetCellFormulaHistoryToken & false == this.previousHistoryToken instanceof SpreadsheetCellFormulaHistoryToken) {
-                    if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT) {
+                    if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT.isEnabled()) {
                         context.debug(this.getClass().getSimpleName() + ".refresh giving focus");
                     }
                     context.giveFocus(formula::focus);
@@ -261,7 +273,7 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
         final Optional<SpreadsheetCell> cell = cache.cell(cellReference);
         final Optional<String> text = cell.map((c) -> c.formula().text());
 
-        if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT) {
+        if (SPREADSHEET_VIEWPORT_FORMULA_COMPONENT.isEnabled()) {
             context.debug(this.getClass().getSimpleName() + ".refreshFormula " + cellReference + " text=" + text);
         }
 
@@ -315,7 +327,7 @@ public final class SpreadsheetViewportFormulaComponent implements HtmlComponentD
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_VIEWPORT_FORMULA_COMPONENT;
+        return SPREADSHEET_VIEWPORT_FORMULA_COMPONENT.isEnabled();
     }
 
     // SpreadsheetDeltaFetcherWatcher...................................................................................
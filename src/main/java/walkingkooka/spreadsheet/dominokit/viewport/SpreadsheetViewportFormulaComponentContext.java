@@ -21,10 +21,16 @@ import walkingkooka.spreadsheet.dominokit.RefreshContext;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetMetadataFetcher;
 import walkingkooka.spreadsheet.meta.HasSpreadsheetMetadata;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 
 public interface SpreadsheetViewportFormulaComponentContext extends RefreshContext,
     HasSpreadsheetDeltaFetcher,
     HasSpreadsheetViewportCache,
     HasSpreadsheetMetadata,
     HasSpreadsheetMetadataFetcher {
+
+    /**
+     * The {@link SpreadsheetParserContext} used to verify the syntax of formula expressions as they are typed.
+     */
+    SpreadsheetParserContext spreadsheetParserContext();
 }
@@ -18,30 +18,69 @@
 package walkingkooka.spreadsheet.dominokit.viewport;
 
 import walkingkooka.spreadsheet.dominokit.value.formula.SpreadsheetFormulaComponent;
+import walkingkooka.spreadsheet.dominokit.value.formula.SpreadsheetFormulaComponentFunctions;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * A {@link Function} that accepts any text and always returns a {@link SpreadsheetFormula}. This function assumes the
- * parent/enclosing {@link SpreadsheetFormulaComponent} will call the server,
- * and eventually refresh errors.
+ * A {@link Function} that accepts any text and always returns a {@link SpreadsheetFormula}. Text beginning with
+ * {@link #EXPRESSION_PREFIX} is parsed locally as an expression, and any syntax error becomes the value of the returned
+ * {@link SpreadsheetFormula}, allowing the enclosing {@link SpreadsheetFormulaComponent} to report it without a server
+ * round trip. Values are not parsed, as they depend on the {@link walkingkooka.spreadsheet.meta.SpreadsheetMetadata} value parsers,
+ * and are left for the server to verify.
  */
 final class SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction implements Function<String, SpreadsheetFormula> {
 
-    public static SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction empty() {
-        return new SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction();
+    final static String EXPRESSION_PREFIX = "=";
+
+    static SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction with(final Supplier<SpreadsheetParserContext> context,
+                                                                                             final Supplier<SpreadsheetMetadata> metadata) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(metadata, "metadata");
+
+        return new SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction(
+            context,
+            metadata
+        );
     }
 
-    private SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction() {
+    private SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction(final Supplier<SpreadsheetParserContext> context,
+                                                                                         final Supplier<SpreadsheetMetadata> metadata) {
         super();
+        this.expressionParser = SpreadsheetFormulaComponentFunctions.expressionParser(
+            context,
+            metadata
+        );
     }
 
     @Override
     public SpreadsheetFormula apply(final String text) {
-        return SpreadsheetFormula.EMPTY.setText(text); // text is not validated or syntax verified in anyway. This assumes server calls will eventually report errors.
+        SpreadsheetFormula formula = SpreadsheetFormula.EMPTY.setText(text);
+
+        if (text.startsWith(EXPRESSION_PREFIX)) {
+            final SpreadsheetFormula expression = this.expressionParser.apply(
+                text.substring(EXPRESSION_PREFIX.length())
+            );
+            if (expression.error().isPresent()) {
+                formula = formula.setValue(
+                    expression.value()
+                );
+            }
+        }
+
+        return formula;
     }
 
+    /**
+     * Parses the text after the {@link #EXPRESSION_PREFIX}, remembering the last parse.
+     */
+    private final Function<String, SpreadsheetFormula> expressionParser;
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName();
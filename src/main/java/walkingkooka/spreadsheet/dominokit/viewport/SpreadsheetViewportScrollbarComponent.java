@@ -389,7 +389,7 @@ abstract class SpreadsheetViewportScrollbarComponent<R extends SpreadsheetColumn
 
     @Override
     public boolean shouldLogLifecycleChanges() {
-        return SPREADSHEET_VIEWPORT_SCROLLBAR_COMPONENT;
+        return SPREADSHEET_VIEWPORT_SCROLLBAR_COMPONENT.isEnabled();
     }
 
     private final SpreadsheetViewportScrollbarComponentContext context;
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.clipboard;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.net.Url;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.dominokit.FakeAppContext;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetCellRange;
+
+import java.util.List;
+
+public final class SpreadsheetCellClipboardPasteTest implements ClassTesting<SpreadsheetCellClipboardPaste> {
+
+    private final static SpreadsheetCell A1 = cell("A1");
+
+    private final static SpreadsheetCell B1 = cell("B1");
+
+    private final static SpreadsheetCell A2 = cell("A2");
+
+    private final static SpreadsheetCell B3 = cell("B3");
+
+    private final static SpreadsheetCell A5 = cell("A5");
+
+    private static SpreadsheetCell cell(final String reference) {
+        return SpreadsheetSelection.parseCell(reference)
+            .setFormula(
+                SpreadsheetFormula.EMPTY.setText("=" + reference.length())
+            );
+    }
+
+    // chunks...........................................................................................................
+
+    @Test
+    public void testChunksSmallRangeUnchanged() {
+        final SpreadsheetCellRange range = SpreadsheetSelection.parseCellRange("A1:B5")
+            .setValue(
+                Sets.of(A1, B1, A2)
+            );
+
+        this.chunksAndCheck(
+            range,
+            3,
+            range
+        );
+    }
+
+    @Test
+    public void testChunksSplitsWholeRows() {
+        this.chunksAndCheck(
+            SpreadsheetSelection.parseCellRange("A1:B5")
+                .setValue(
+                    Sets.of(A1, B1, A2, B3, A5)
+                ),
+            2,
+            SpreadsheetSelection.parseCellRange("A1:B1")
+                .setValue(
+                    Sets.of(A1, B1)
+                ),
+            SpreadsheetSelection.parseCellRange("A2:B3")
+                .setValue(
+                    Sets.of(A2, B3)
+                ),
+            SpreadsheetSelection.parseCellRange("A4:B5")
+                .setValue(
+                    Sets.of(A5)
+                )
+        );
+    }
+
+    @Test
+    public void testChunksRowLargerThanMax() {
+        this.chunksAndCheck(
+            SpreadsheetSelection.parseCellRange("A1:B2")
+                .setValue(
+                    Sets.of(A1, B1, A2)
+                ),
+            1,
+            SpreadsheetSelection.parseCellRange("A1:B1")
+                .setValue(
+                    Sets.of(A1, B1)
+                ),
+            SpreadsheetSelection.parseCellRange("A2:B2")
+                .setValue(
+                    Sets.of(A2)
+                )
+        );
+    }
+
+    private void chunksAndCheck(final SpreadsheetCellRange range,
+                                final int maxCells,
+                                final SpreadsheetCellRange... expected) {
+        final List<SpreadsheetCellRange> chunks = SpreadsheetCellClipboardPaste.chunks(
+            range,
+            maxCells
+        );
+
+        this.checkEquals(
+            Lists.of(expected),
+            chunks,
+            range::toString
+        );
+    }
+
+    // start..........................................................................................................
+
+    private final static SpreadsheetId ID = SpreadsheetId.with(1);
+
+    private final static SpreadsheetCellRange CHUNK1 = SpreadsheetSelection.parseCellRange("A1:B1")
+        .setValue(
+            Sets.of(A1, B1)
+        );
+
+    private final static SpreadsheetCellRange CHUNK2 = SpreadsheetSelection.parseCellRange("A2:B2")
+        .setValue(
+            Sets.of(A2)
+        );
+
+    @Test
+    public void testStartOnSpreadsheetDeltaSendsNextChunkThenCompletes() {
+        final TestAppContext context = new TestAppContext();
+        final List<SpreadsheetCellRange> sent = Lists.array();
+
+        final SpreadsheetCellClipboardPaste paste = SpreadsheetCellClipboardPaste.withChunks(
+            SpreadsheetCellClipboardKind.CELL,
+            ID,
+            Lists.of(CHUNK1, CHUNK2),
+            sent::add,
+            context
+        );
+        paste.start();
+
+        this.checkEquals(
+            Lists.of(CHUNK1),
+            sent,
+            "first chunk sent"
+        );
+
+        // different method, different spreadsheet or different range are ignored
+        paste.onSpreadsheetDelta(
+            HttpMethod.PATCH,
+            Url.parseRelative("/api/spreadsheet/1/cell/A1:B1"),
+            SpreadsheetDelta.EMPTY
+        );
+        paste.onSpreadsheetDelta(
+            HttpMethod.POST,
+            Url.parseRelative("/api/spreadsheet/2/cell/A1:B1"),
+            SpreadsheetDelta.EMPTY
+        );
+        paste.onSpreadsheetDelta(
+            HttpMethod.POST,
+            Url.parseRelative("/api/spreadsheet/1/cell/A2:B2"),
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.checkEquals(
+            Lists.of(CHUNK1),
+            sent,
+            "other responses ignored"
+        );
+
+        paste.onSpreadsheetDelta(
+            HttpMethod.POST,
+            Url.parseRelative("/api/spreadsheet/1/cell/A1:B1"),
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.checkEquals(
+            Lists.of(CHUNK1, CHUNK2),
+            sent,
+            "second chunk sent"
+        );
+
+        paste.onSpreadsheetDelta(
+            HttpMethod.POST,
+            Url.parseRelative("/api/spreadsheet/1/cell/A2:B2"),
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.checkEquals(
+            null,
+            context.watcher,
+            "watcher removed"
+        );
+        this.checkEquals(
+            Lists.of("Pasted 2 chunks"),
+            context.messages
+        );
+    }
+
+    @Test
+    public void testStartOnFailureCancelsRemainingChunks() {
+        final TestAppContext context = new TestAppContext();
+        final List<SpreadsheetCellRange> sent = Lists.array();
+
+        final SpreadsheetCellClipboardPaste paste = SpreadsheetCellClipboardPaste.withChunks(
+            SpreadsheetCellClipboardKind.FORMULA,
+            ID,
+            Lists.of(CHUNK1, CHUNK2),
+            sent::add,
+            context
+        );
+        paste.start();
+
+        paste.onFailure(
+            HttpMethod.PATCH,
+            Url.parseRelative("/api/spreadsheet/1/cell/A1:B1"),
+            HttpStatusCode.INTERNAL_SERVER_ERROR.status(),
+            null,
+            "Failed"
+        );
+
+        this.checkEquals(
+            Lists.of(CHUNK1),
+            sent,
+            "remaining chunk not sent"
+        );
+        this.checkEquals(
+            null,
+            context.watcher,
+            "watcher removed"
+        );
+        this.checkEquals(
+            Lists.of("Paste failed, 1 remaining chunks cancelled"),
+            context.messages
+        );
+
+        // late responses are ignored
+        paste.onSpreadsheetDelta(
+            HttpMethod.PATCH,
+            Url.parseRelative("/api/spreadsheet/1/cell/A1:B1"),
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.checkEquals(
+            Lists.of(CHUNK1),
+            sent,
+            "nothing sent after cancel"
+        );
+    }
+
+    @Test
+    public void testStartOnErrorCancelsRemainingChunks() {
+        final TestAppContext context = new TestAppContext();
+        final List<SpreadsheetCellRange> sent = Lists.array();
+
+        final SpreadsheetCellClipboardPaste paste = SpreadsheetCellClipboardPaste.withChunks(
+            SpreadsheetCellClipboardKind.CELL,
+            ID,
+            Lists.of(CHUNK1, CHUNK2),
+            sent::add,
+            context
+        );
+        paste.start();
+
+        paste.onError("Network error");
+
+        this.checkEquals(
+            Lists.of(CHUNK1),
+            sent,
+            "remaining chunk not sent"
+        );
+        this.checkEquals(
+            null,
+            context.watcher,
+            "watcher removed"
+        );
+        this.checkEquals(
+            Lists.of("Paste failed, 1 remaining chunks cancelled"),
+            context.messages
+        );
+
+        // a later error is ignored
+        paste.onError("Network error 2");
+
+        this.checkEquals(
+            Lists.of("Paste failed, 1 remaining chunks cancelled"),
+            context.messages,
+            "messages after second error"
+        );
+    }
+
+    static final class TestAppContext extends FakeAppContext {
+
+        @Override
+        public Runnable addSpreadsheetDeltaFetcherWatcher(final SpreadsheetDeltaFetcherWatcher watcher) {
+            this.watcher = watcher;
+            return () -> this.watcher = null;
+        }
+
+        SpreadsheetDeltaFetcherWatcher watcher;
+
+        @Override
+        public void debug(final Object... values) {
+            // ignore
+        }
+
+        @Override
+        public void info(final Object... values) {
+            this.messages.add(values[0].toString());
+        }
+
+        @Override
+        public void error(final Object... values) {
+            this.messages.add(values[0].toString());
+        }
+
+        final List<String> messages = Lists.array();
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetCellClipboardPaste> type() {
+        return SpreadsheetCellClipboardPaste.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -235,6 +235,80 @@ public class DataTableComponent<T> extends DataTableComponentLike<T>
 
     private final List<String> plugins;
 
+    // virtualScroll....................................................................................................
+
+    @Override
+    public DataTableComponent<T> virtualScroll(final int rowHeight,
+                                               final int pageSize,
+                                               final int maxPages,
+                                               final DataTableComponentPageLoader loader) {
+        if (null != this.virtualScroller) {
+            throw new IllegalStateException("Virtual scrolling already enabled");
+        }
+
+        final DataTableComponentVirtualScroller<T> scroller = DataTableComponentVirtualScroller.with(
+            rowHeight,
+            pageSize,
+            maxPages,
+            loader
+        );
+        this.virtualScroller = scroller;
+        this.plugins.add(
+            DataTableComponentLike.virtualScrollPluginText(scroller)
+        );
+        return this;
+    }
+
+    @Override
+    public DataTableComponent<T> setPage(final int offset,
+                                         final List<T> rows) {
+        DataTableComponentLike.virtualScrollerOrFail(this.virtualScroller)
+            .setPage(
+                offset,
+                rows
+            );
+        return this.scrollTo(this.scrollTop);
+    }
+
+    @Override
+    public DataTableComponent<T> clearPages() {
+        DataTableComponentLike.virtualScrollerOrFail(this.virtualScroller)
+            .clear();
+        this.scrollTop = 0;
+        return this.setValue(Optional.empty());
+    }
+
+    @Override
+    public DataTableComponent<T> loadPages() {
+        return this.scrollTo(this.scrollTop);
+    }
+
+    /**
+     * Simulates a scroll, the value is replaced by the rows within the {@link DataTableComponentVirtualWindow}.
+     */
+    public DataTableComponent<T> scrollTo(final int scrollTop) {
+        this.scrollTop = scrollTop;
+
+        return this.setValue(
+            Optional.of(
+                DataTableComponentLike.virtualScrollerOrFail(this.virtualScroller)
+                    .scroll(
+                        scrollTop,
+                        VIEWPORT_HEIGHT
+                    ).rows()
+            )
+        );
+    }
+
+    /**
+     * A fixed height used to compute the virtual window.
+     */
+    final static int VIEWPORT_HEIGHT = 400;
+
+    private int scrollTop;
+
+    private DataTableComponentVirtualScroller<T> virtualScroller;
+
     // TreePrintable....................................................................................................
 
     @Override
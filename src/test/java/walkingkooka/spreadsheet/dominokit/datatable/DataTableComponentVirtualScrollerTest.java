@@ -0,0 +1,276 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.datatable;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DataTableComponentVirtualScrollerTest implements ClassTesting<DataTableComponentVirtualScroller<String>> {
+
+    private final static int ROW_HEIGHT = 10;
+
+    private final static int PAGE_SIZE = 5;
+
+    private final static int MAX_PAGES = 3;
+
+    private final static DataTableComponentPageLoader LOADER = (o, c) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    @Test
+    public void testWithInvalidRowHeightFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> DataTableComponentVirtualScroller.with(
+                0,
+                PAGE_SIZE,
+                MAX_PAGES,
+                LOADER
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidPageSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> DataTableComponentVirtualScroller.with(
+                ROW_HEIGHT,
+                0,
+                MAX_PAGES,
+                LOADER
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxPagesFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> DataTableComponentVirtualScroller.with(
+                ROW_HEIGHT,
+                PAGE_SIZE,
+                DataTableComponentVirtualScroller.MIN_PAGES - 1,
+                LOADER
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLoaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DataTableComponentVirtualScroller.with(
+                ROW_HEIGHT,
+                PAGE_SIZE,
+                MAX_PAGES,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testSetPageInvalidOffsetFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> DataTableComponentVirtualScroller.<String>with(
+                ROW_HEIGHT,
+                PAGE_SIZE,
+                MAX_PAGES,
+                LOADER
+            ).setPage(
+                1,
+                Lists.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testScrollRequestsVisiblePagesOnce() {
+        final List<Integer> loads = Lists.array();
+
+        final DataTableComponentVirtualScroller<String> scroller = DataTableComponentVirtualScroller.with(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            (offset, count) -> loads.add(offset)
+        );
+
+        scroller.scroll(0, 30);
+        scroller.scroll(0, 30);
+
+        this.checkEquals(
+            Lists.of(0, 5, 10),
+            loads
+        );
+    }
+
+    @Test
+    public void testScrollRows() {
+        final DataTableComponentVirtualScroller<String> scroller = DataTableComponentVirtualScroller.with(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            (offset, count) -> {
+            }
+        );
+        scroller.setPage(0, Lists.of("r0", "r1", "r2", "r3", "r4"));
+        scroller.setPage(5, Lists.of("r5", "r6", "r7"));
+
+        this.checkEquals(
+            OptionalInt.of(8),
+            scroller.totalCount(),
+            "totalCount"
+        );
+
+        this.checkEquals(
+            DataTableComponentVirtualWindow.with(
+                2,
+                Lists.of("r2", "r3", "r4", "r5", "r6", "r7"),
+                2 * ROW_HEIGHT,
+                0
+            ),
+            scroller.scroll(4 * ROW_HEIGHT, 2 * ROW_HEIGHT)
+        );
+    }
+
+    @Test
+    public void testScrollUnknownTotalLeavesRoomBelow() {
+        final DataTableComponentVirtualScroller<String> scroller = DataTableComponentVirtualScroller.with(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            (offset, count) -> {
+            }
+        );
+        scroller.setPage(0, Lists.of("r0", "r1", "r2", "r3", "r4"));
+
+        final DataTableComponentVirtualWindow<String> window = scroller.scroll(0, 2 * ROW_HEIGHT);
+
+        this.checkEquals(
+            Lists.of("r0", "r1", "r2", "r3", "r4"),
+            window.rows(),
+            "rows"
+        );
+        this.checkEquals(
+            5 * ROW_HEIGHT,
+            window.paddingBottom(),
+            "paddingBottom"
+        );
+    }
+
+    @Test
+    public void testScrollTallViewportRequestsAtMostMaxPages() {
+        final List<Integer> loads = Lists.array();
+
+        final DataTableComponentVirtualScroller<String> scroller = DataTableComponentVirtualScroller.with(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            (offset, count) -> loads.add(offset)
+        );
+
+        scroller.scroll(0, 1000 * ROW_HEIGHT);
+
+        this.checkEquals(
+            Lists.of(0, 5, 10),
+            loads
+        );
+    }
+
+    @Test
+    public void testScrollTallViewportRendersRowsOfCachedPages() {
+        final DataTableComponentVirtualScroller<String> scroller = DataTableComponentVirtualScroller.with(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            (offset, count) -> {
+            }
+        );
+        scroller.setPage(0, Lists.of("r0", "r1", "r2", "r3", "r4"));
+        scroller.setPage(5, Lists.of("r5", "r6", "r7", "r8", "r9"));
+        scroller.setPage(10, Lists.of("r10", "r11", "r12", "r13", "r14"));
+
+        final DataTableComponentVirtualWindow<String> window = scroller.scroll(0, 1000 * ROW_HEIGHT);
+
+        // page 2 is the page after the last visible page, and is loaded but not rendered
+        this.checkEquals(
+            Lists.of("r0", "r1", "r2", "r3", "r4", "r5", "r6", "r7", "r8", "r9"),
+            window.rows(),
+            "rows"
+        );
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedPage() {
+        final List<Integer> loads = Lists.array();
+
+        final DataTableComponentVirtualScroller<String> scroller = DataTableComponentVirtualScroller.with(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            (offset, count) -> loads.add(offset)
+        );
+        scroller.setPage(0, Lists.of("r0", "r1", "r2", "r3", "r4"));
+        scroller.setPage(5, Lists.of("r5", "r6", "r7", "r8", "r9"));
+        scroller.setPage(10, Lists.of("r10", "r11", "r12", "r13", "r14"));
+        scroller.setPage(15, Lists.of("r15", "r16", "r17", "r18", "r19"));
+
+        scroller.scroll(0, ROW_HEIGHT);
+
+        this.checkEquals(
+            Lists.of(0),
+            loads
+        );
+    }
+
+    @Test
+    public void testClear() {
+        final DataTableComponentVirtualScroller<String> scroller = DataTableComponentVirtualScroller.with(
+            ROW_HEIGHT,
+            PAGE_SIZE,
+            MAX_PAGES,
+            LOADER
+        );
+        scroller.setPage(0, Lists.of("r0"));
+        scroller.clear();
+
+        this.checkEquals(
+            OptionalInt.empty(),
+            scroller.totalCount()
+        );
+    }
+
+    @Override
+    public Class<DataTableComponentVirtualScroller<String>> type() {
+        return Cast.to(DataTableComponentVirtualScroller.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -19,11 +19,13 @@ package walkingkooka.spreadsheet.dominokit.delta;
 
 import elemental2.dom.HTMLDivElement;
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.color.Color;
 import walkingkooka.net.Url;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.dominokit.datatable.DataTableComponentPageLoader;
 import walkingkooka.spreadsheet.dominokit.fetcher.HasSpreadsheetDeltaFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
@@ -37,6 +39,7 @@ import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -45,6 +48,9 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
 
     private final static SpreadsheetLabelName LABEL = SpreadsheetSelection.labelName("LabelXYZ");
 
+    private final static DataTableComponentPageLoader LOADER = (offset, count) -> {
+    };
+
     // with.............................................................................................................
 
     @Test
@@ -53,6 +59,7 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
             NullPointerException.class,
             () -> SpreadsheetDeltaLabelsTableComponent.with(
                 null,
+                LOADER,
                 SpreadsheetDeltaLabelsTableComponentContexts.fake()
             )
         );
@@ -64,6 +71,19 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
             IllegalArgumentException.class,
             () -> SpreadsheetDeltaLabelsTableComponent.with(
                 "",
+                LOADER,
+                SpreadsheetDeltaLabelsTableComponentContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLoaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetDeltaLabelsTableComponent.with(
+                "ID",
+                null,
                 SpreadsheetDeltaLabelsTableComponentContexts.fake()
             )
         );
@@ -75,6 +95,7 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
             NullPointerException.class,
             () -> SpreadsheetDeltaLabelsTableComponent.with(
                 "ID",
+                LOADER,
                 null
             )
         );
@@ -96,13 +117,8 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
                 "          Cell\n" +
                 "          Formatted\n" +
                 "          Links\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" DISABLED id=ID123-previous-Link\n" +
-                "              \"next\" DISABLED mdi-arrow-right id=ID123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          BodyScrollPlugin\n"
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
         );
     }
 
@@ -135,13 +151,8 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
                 "                  ROW\n" +
                 "                    \"References\" [#/1/Spreadsheet222/cell/LabelXYZ/references] (2) id=ID123-labels-LabelXYZ-references-Link\n" +
                 "                    \"Delete\" [#/1/Spreadsheet222/label/LabelXYZ/delete] id=ID123-labels-LabelXYZ-delete-Link\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" DISABLED id=ID123-previous-Link\n" +
-                "              \"next\" DISABLED mdi-arrow-right id=ID123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          BodyScrollPlugin\n"
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
         );
     }
 
@@ -186,13 +197,8 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
                 "                  ROW\n" +
                 "                    \"References\" [#/1/Spreadsheet222/cell/LabelXYZ/references] (2) id=ID123-labels-LabelXYZ-references-Link\n" +
                 "                    \"Delete\" [#/1/Spreadsheet222/label/LabelXYZ/delete] id=ID123-labels-LabelXYZ-delete-Link\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" DISABLED id=ID123-previous-Link\n" +
-                "              \"next\" DISABLED mdi-arrow-right id=ID123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          BodyScrollPlugin\n"
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
         );
     }
 
@@ -251,20 +257,115 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
                 "                  ROW\n" +
                 "                    \"References\" [#/1/Spreadsheet222/cell/LabelXYZ/references] (2) id=ID123-labels-LabelXYZ-references-Link\n" +
                 "                    \"Delete\" [#/1/Spreadsheet222/label/LabelXYZ/delete] id=ID123-labels-LabelXYZ-delete-Link\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" DISABLED id=ID123-previous-Link\n" +
-                "              \"next\" DISABLED mdi-arrow-right id=ID123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          BodyScrollPlugin\n"
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaNotLabelsIgnored() {
+        final SpreadsheetDeltaLabelsTableComponent component = this.createComponent("ID123-");
+        component.loadPages();
+
+        component.onSpreadsheetDelta(
+            HttpMethod.POST,
+            Url.parseAbsolute("https://example.com/api/spreadsheet/1/cell/A1?count=20"),
+            SpreadsheetDelta.EMPTY.setLabels(
+                Sets.of(
+                    LABEL.setLabelMappingReference(SpreadsheetSelection.A1)
+                )
+            )
+        );
+
+        this.treePrintAndCheck(
+            component,
+            "SpreadsheetDeltaLabelsTableComponent\n" +
+                "  CardComponent\n" +
+                "    Card\n" +
+                "      DataTableComponent\n" +
+                "        id=ID123-labels-Table\n" +
+                "        COLUMN(S)\n" +
+                "          Label\n" +
+                "          Cell\n" +
+                "          Formatted\n" +
+                "          Links\n" +
+                "        PLUGINS\n" +
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaDifferentCountIgnored() {
+        final SpreadsheetDeltaLabelsTableComponent component = this.createComponent("ID123-");
+        component.loadPages();
+
+        component.onSpreadsheetDelta(
+            HttpMethod.GET,
+            Url.parseAbsolute("https://example.com/api/spreadsheet/1/label/*?offset=1&count=3"),
+            SpreadsheetDelta.EMPTY.setLabels(
+                Sets.of(
+                    LABEL.setLabelMappingReference(SpreadsheetSelection.A1)
+                )
+            )
+        );
+
+        this.treePrintAndCheck(
+            component,
+            "SpreadsheetDeltaLabelsTableComponent\n" +
+                "  CardComponent\n" +
+                "    Card\n" +
+                "      DataTableComponent\n" +
+                "        id=ID123-labels-Table\n" +
+                "        COLUMN(S)\n" +
+                "          Label\n" +
+                "          Cell\n" +
+                "          Formatted\n" +
+                "          Links\n" +
+                "        PLUGINS\n" +
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
+        );
+    }
+
+    @Test
+    public void testLoadPages() {
+        final List<String> loads = Lists.array();
+
+        SpreadsheetDeltaLabelsTableComponent.with(
+            "ID123-",
+            (offset, count) -> loads.add("offset=" + offset + " count=" + count),
+            SpreadsheetDeltaLabelsTableComponentContexts.fake()
+        ).loadPages();
+
+        this.checkEquals(
+            Lists.of(
+                "offset=0 count=20",
+                "offset=20 count=20"
+            ),
+            loads
         );
     }
 
     private void renderAndCheck(final SpreadsheetDelta delta,
                                 final String expected) {
-        final SpreadsheetDeltaLabelsTableComponent component = SpreadsheetDeltaLabelsTableComponent.with(
-            "ID123-",
+        final SpreadsheetDeltaLabelsTableComponent component = this.createComponent("ID123-");
+        component.loadPages();
+
+        component.onSpreadsheetDelta(
+            HttpMethod.GET,
+            Url.parseAbsolute("https://example.com/api/spreadsheet/1/label/*?count=20"),
+            delta
+        );
+
+        this.treePrintAndCheck(
+            component,
+            expected
+        );
+    }
+
+    private SpreadsheetDeltaLabelsTableComponent createComponent(final String id) {
+        return SpreadsheetDeltaLabelsTableComponent.with(
+            id,
+            LOADER,
             SpreadsheetDeltaLabelsTableComponentContexts.basic(
                 (SpreadsheetExpressionReference r) -> Optional.ofNullable(
                     r.equals(SpreadsheetSelection.A1) ?
@@ -311,22 +412,13 @@ public final class SpreadsheetDeltaLabelsTableComponentTest implements TableComp
                 }
             )
         );
-        component.onSpreadsheetDelta(
-            HttpMethod.POST,
-            Url.parseAbsolute("https://example.com/1/cell/"),
-            delta
-        );
-
-        this.treePrintAndCheck(
-            component,
-            expected
-        );
     }
 
     @Override
     public SpreadsheetDeltaLabelsTableComponent createComponent() {
         return SpreadsheetDeltaLabelsTableComponent.with(
             "id-",
+            LOADER,
             SpreadsheetDeltaLabelsTableComponentContexts.fake()
         );
     }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.dom;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DomsCacheTest implements ClassTesting<DomsCache<?, ?>> {
+
+    @Test
+    public void testWithZeroMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> DomsCache.with(0)
+        );
+    }
+
+    @Test
+    public void testGetNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DomsCache.with(1)
+                .get(
+                    null,
+                    (k) -> k
+                )
+        );
+    }
+
+    @Test
+    public void testGetMissThenHit() {
+        final DomsCache<String, StringBuilder> cache = DomsCache.with(2);
+
+        final StringBuilder value = cache.get(
+            "a",
+            StringBuilder::new
+        );
+        assertSame(
+            value,
+            cache.get(
+                "a",
+                (k) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+
+        this.checkEquals(
+            1L,
+            cache.hits(),
+            "hits"
+        );
+        this.checkEquals(
+            1L,
+            cache.misses(),
+            "misses"
+        );
+        this.checkEquals(
+            50,
+            cache.hitRate(),
+            "hitRate"
+        );
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        final DomsCache<String, StringBuilder> cache = DomsCache.with(2);
+
+        final StringBuilder a = cache.get("a", StringBuilder::new);
+        cache.get("b", StringBuilder::new);
+        cache.get("a", StringBuilder::new); // a is now most recently used
+        cache.get("c", StringBuilder::new); // evicts b
+
+        this.checkEquals(
+            2,
+            cache.size(),
+            "size"
+        );
+        assertSame(
+            a,
+            cache.get("a", StringBuilder::new)
+        );
+        this.checkEquals(
+            3L,
+            cache.misses(),
+            "misses"
+        );
+
+        cache.get("b", StringBuilder::new);
+        this.checkEquals(
+            4L,
+            cache.misses(),
+            "misses after b evicted"
+        );
+    }
+
+    @Test
+    public void testHitRateEmpty() {
+        this.checkEquals(
+            0,
+            DomsCache.with(1)
+                .hitRate()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final DomsCache<String, StringBuilder> cache = DomsCache.with(2);
+        cache.get("a", StringBuilder::new);
+        cache.get("a", StringBuilder::new);
+        cache.get("a", StringBuilder::new);
+        cache.get("b", StringBuilder::new);
+
+        this.checkEquals(
+            "hits: 2 misses: 2 hit rate: 50% size: 2",
+            cache.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<DomsCache<?, ?>> type() {
+        return Cast.to(DomsCache.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.fetcher;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.dominokit.snapshot.FakeSnapshotContext;
+import walkingkooka.spreadsheet.dominokit.snapshot.Snapshot;
+import walkingkooka.spreadsheet.dominokit.snapshot.SnapshotContext;
+
+import java.util.Map;
+import java.util.Optional;
+
+public final class FetcherSnapshotRequestTest implements ClassTesting<FetcherSnapshotRequest> {
+
+    private final static String KEY = "/api/spreadsheet/1/cell/*/force-recompute";
+
+    private final static String URL = "/api/spreadsheet/1/cell/*/force-recompute?home=A1&width=100&height=50";
+
+    private final static String CONTENT_TYPE = "SpreadsheetDelta";
+
+    private final static String BODY = "{}";
+
+    @Test
+    public void testCanReplay() {
+        this.checkEquals(
+            true,
+            FetcherSnapshotRequest.with(
+                KEY,
+                URL
+            ).canReplay(
+                Snapshot.with(
+                    URL,
+                    CONTENT_TYPE,
+                    BODY
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testCanReplayDifferentUrl() {
+        this.checkEquals(
+            false,
+            FetcherSnapshotRequest.with(
+                KEY,
+                URL
+            ).canReplay(
+                Snapshot.with(
+                    "/api/spreadsheet/1/cell/*/force-recompute?home=B2&width=100&height=50",
+                    CONTENT_TYPE,
+                    BODY
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testCanReplayAfterResponse() {
+        final FetcherSnapshotRequest request = FetcherSnapshotRequest.with(
+            KEY,
+            URL
+        );
+        request.response(
+            CONTENT_TYPE,
+            Optional.of(BODY),
+            this.snapshotContext()
+        );
+
+        this.checkEquals(
+            false,
+            request.canReplay(
+                Snapshot.with(
+                    URL,
+                    CONTENT_TYPE,
+                    BODY
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testResponseWithoutReplay() {
+        final Map<String, Snapshot> saved = Maps.sorted();
+
+        this.checkEquals(
+            true,
+            FetcherSnapshotRequest.with(
+                KEY,
+                URL
+            ).response(
+                CONTENT_TYPE,
+                Optional.of(BODY),
+                this.snapshotContext(saved)
+            )
+        );
+
+        this.checkEquals(
+            Maps.of(
+                KEY,
+                Snapshot.with(
+                    URL,
+                    CONTENT_TYPE,
+                    BODY
+                )
+            ),
+            saved
+        );
+    }
+
+    @Test
+    public void testResponseSameAsReplay() {
+        final Map<String, Snapshot> saved = Maps.sorted();
+
+        final FetcherSnapshotRequest request = FetcherSnapshotRequest.with(
+            KEY,
+            URL
+        );
+        request.replayed(
+            Snapshot.with(
+                URL,
+                CONTENT_TYPE,
+                BODY
+            )
+        );
+
+        this.checkEquals(
+            false,
+            request.response(
+                CONTENT_TYPE,
+                Optional.of(BODY),
+                this.snapshotContext(saved)
+            )
+        );
+
+        this.checkEquals(
+            Maps.empty(),
+            saved
+        );
+    }
+
+    @Test
+    public void testResponseDifferentToReplay() {
+        final Map<String, Snapshot> saved = Maps.sorted();
+
+        final FetcherSnapshotRequest request = FetcherSnapshotRequest.with(
+            KEY,
+            URL
+        );
+        request.replayed(
+            Snapshot.with(
+                URL,
+                CONTENT_TYPE,
+                BODY
+            )
+        );
+
+        final String different = "{\"cells\": {}}";
+
+        this.checkEquals(
+            true,
+            request.response(
+                CONTENT_TYPE,
+                Optional.of(different),
+                this.snapshotContext(saved)
+            )
+        );
+
+        this.checkEquals(
+            Maps.of(
+                KEY,
+                Snapshot.with(
+                    URL,
+                    CONTENT_TYPE,
+                    different
+                )
+            ),
+            saved
+        );
+    }
+
+    @Test
+    public void testResponseSameAsCanReplayWithoutReplayed() {
+        final Map<String, Snapshot> saved = Maps.sorted();
+
+        final FetcherSnapshotRequest request = FetcherSnapshotRequest.with(
+            KEY,
+            URL
+        );
+        // firing the snapshot failed so replayed was never called
+        request.canReplay(
+            Snapshot.with(
+                URL,
+                CONTENT_TYPE,
+                BODY
+            )
+        );
+
+        this.checkEquals(
+            true,
+            request.response(
+                CONTENT_TYPE,
+                Optional.of(BODY),
+                this.snapshotContext(saved)
+            )
+        );
+    }
+
+    @Test
+    public void testResponseEmptyBody() {
+        this.checkEquals(
+            true,
+            FetcherSnapshotRequest.with(
+                KEY,
+                URL
+            ).response(
+                "",
+                Optional.empty(),
+                this.snapshotContext()
+            )
+        );
+    }
+
+    private SnapshotContext snapshotContext() {
+        return new FakeSnapshotContext();
+    }
+
+    private SnapshotContext snapshotContext(final Map<String, Snapshot> saved) {
+        return new FakeSnapshotContext() {
+            @Override
+            public void saveSnapshot(final String key,
+                                     final Snapshot snapshot) {
+                saved.put(
+                    key,
+                    snapshot
+                );
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<FetcherSnapshotRequest> type() {
+        return FetcherSnapshotRequest.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -19,6 +19,8 @@ package walkingkooka.spreadsheet.dominokit.fetcher;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.Cast;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.Url;
 import walkingkooka.net.UrlQueryString;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
@@ -151,6 +153,50 @@ public final class FetcherTest implements ClassTesting2<Fetcher<?>> {
         );
     }
 
+    // offset & count...................................................................................................
+
+    @Test
+    public void testOffsetAndCount() {
+        final AbsoluteOrRelativeUrl url = Url.parseAbsoluteOrRelative("/api/spreadsheet/*?offset=20&count=10");
+
+        this.checkEquals(
+            OptionalInt.of(20),
+            Fetcher.offset(url),
+            "offset"
+        );
+        this.checkEquals(
+            OptionalInt.of(10),
+            Fetcher.count(url),
+            "count"
+        );
+    }
+
+    @Test
+    public void testOffsetAndCountMissing() {
+        final AbsoluteOrRelativeUrl url = Url.parseAbsoluteOrRelative("/api/spreadsheet/*?xoffset=20");
+
+        this.checkEquals(
+            OptionalInt.empty(),
+            Fetcher.offset(url),
+            "offset"
+        );
+        this.checkEquals(
+            OptionalInt.empty(),
+            Fetcher.count(url),
+            "count"
+        );
+    }
+
+    @Test
+    public void testOffsetInvalid() {
+        this.checkEquals(
+            OptionalInt.empty(),
+            Fetcher.offset(
+                Url.parseAbsoluteOrRelative("/api/spreadsheet/*?offset=X")
+            )
+        );
+    }
+
     // class............................................................................................................
 
     @Override
@@ -174,6 +174,150 @@ public final class SpreadsheetDeltaFetcherTest implements SpreadsheetMetadataTes
         );
     }
 
+    // isGetCellLabels..................................................................................................
+
+    @Test
+    public void testIsGetCellLabelsPost() {
+        this.isGetCellLabelsAndCheck(
+            HttpMethod.POST,
+            UrlPath.parse("/api/spreadsheet/1/cell/A1/labels"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetCellLabelsReferences() {
+        this.isGetCellLabelsAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/cell/A1/references"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetCellLabelsLabelMappings() {
+        this.isGetCellLabelsAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/label/*"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetCellLabels() {
+        this.isGetCellLabelsAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/cell/A1/labels"),
+            true
+        );
+    }
+
+    private void isGetCellLabelsAndCheck(final HttpMethod method,
+                                         final UrlPath path,
+                                         final boolean expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetDeltaFetcher.isGetCellLabels(
+                method,
+                path
+            ),
+            () -> "isGetCellLabels " + method + " " + path
+        );
+    }
+
+    // isGetCellReferences..............................................................................................
+
+    @Test
+    public void testIsGetCellReferencesPost() {
+        this.isGetCellReferencesAndCheck(
+            HttpMethod.POST,
+            UrlPath.parse("/api/spreadsheet/1/cell/A1/references"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetCellReferencesLabels() {
+        this.isGetCellReferencesAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/cell/A1/labels"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetCellReferences() {
+        this.isGetCellReferencesAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/cell/A1:B2/references"),
+            true
+        );
+    }
+
+    private void isGetCellReferencesAndCheck(final HttpMethod method,
+                                             final UrlPath path,
+                                             final boolean expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetDeltaFetcher.isGetCellReferences(
+                method,
+                path
+            ),
+            () -> "isGetCellReferences " + method + " " + path
+        );
+    }
+
+    // isGetLabelMappings...............................................................................................
+
+    @Test
+    public void testIsGetLabelMappingsPost() {
+        this.isGetLabelMappingsAndCheck(
+            HttpMethod.POST,
+            UrlPath.parse("/api/spreadsheet/1/label/*"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetLabelMappingsLabelName() {
+        this.isGetLabelMappingsAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/label/Label123"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetLabelMappingsFindByName() {
+        this.isGetLabelMappingsAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/label/*/findByName/query"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsGetLabelMappings() {
+        this.isGetLabelMappingsAndCheck(
+            HttpMethod.GET,
+            UrlPath.parse("/api/spreadsheet/1/label/*"),
+            true
+        );
+    }
+
+    private void isGetLabelMappingsAndCheck(final HttpMethod method,
+                                            final UrlPath path,
+                                            final boolean expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetDeltaFetcher.isGetLabelMappings(
+                method,
+                path
+            ),
+            () -> "isGetLabelMappings " + method + " " + path
+        );
+    }
+
     // patchValuePatch..................................................................................................
 
     @Test
@@ -68,6 +68,22 @@ public final class SpreadsheetDeltaFetcherWatchersTest extends FetcherWatchersTe
         this.checkEquals(1, this.fired);
     }
 
+    @Test
+    public void testSize() {
+        final SpreadsheetDeltaFetcherWatchers watchers = SpreadsheetDeltaFetcherWatchers.empty();
+        this.checkEquals(0, watchers.size());
+
+        final Runnable remover = watchers.add(new FakeSpreadsheetDeltaFetcherWatcher());
+        watchers.add(new FakeSpreadsheetDeltaFetcherWatcher());
+        this.checkEquals(2, watchers.size());
+
+        remover.run();
+        this.checkEquals(1, watchers.size());
+
+        remover.run();
+        this.checkEquals(1, watchers.size(), "removing twice should be ignored");
+    }
+
     @Test
     public void testAddOnce() {
         this.fired = 0;
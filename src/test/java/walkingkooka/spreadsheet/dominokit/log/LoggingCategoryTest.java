@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.log;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LoggingCategoryTest implements ClassTesting<LoggingCategory> {
+
+    @Test
+    public void testWithEmptyNameFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LoggingCategory.with("")
+        );
+    }
+
+    @Test
+    public void testWithNullParentFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LoggingCategory.with(
+                "TEST_NULL_PARENT",
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        this.isEnabledAndCheck(
+            LoggingCategory.with("TEST_DISABLED"),
+            false
+        );
+    }
+
+    @Test
+    public void testSetEnabled() {
+        final LoggingCategory category = LoggingCategory.with("TEST_SET_ENABLED");
+
+        LoggingCategory.setEnabled(
+            "TEST_SET_ENABLED",
+            true
+        );
+        this.isEnabledAndCheck(
+            category,
+            true
+        );
+
+        LoggingCategory.setEnabled(
+            "TEST_SET_ENABLED",
+            false
+        );
+        this.isEnabledAndCheck(
+            category,
+            false
+        );
+    }
+
+    @Test
+    public void testSetEnabledBeforeCreated() {
+        LoggingCategory.setEnabled("TEST_BEFORE1, TEST_BEFORE2");
+
+        this.isEnabledAndCheck(
+            LoggingCategory.with("TEST_BEFORE1"),
+            true
+        );
+        this.isEnabledAndCheck(
+            LoggingCategory.with("TEST_BEFORE2"),
+            true
+        );
+    }
+
+    @Test
+    public void testParentEnabled() {
+        final LoggingCategory parent = LoggingCategory.with("TEST_PARENT");
+        final LoggingCategory child = LoggingCategory.with(
+            "TEST_CHILD",
+            parent
+        );
+
+        this.isEnabledAndCheck(
+            child,
+            false
+        );
+
+        LoggingCategory.setEnabled(
+            "TEST_PARENT",
+            true
+        );
+        this.isEnabledAndCheck(
+            child,
+            true
+        );
+    }
+
+    @Test
+    public void testSetEnabledFromQueryString() {
+        final LoggingCategory category = LoggingCategory.with("TEST_QUERY_STRING");
+
+        LoggingCategory.setEnabledFromQueryString("?renderer=canvas&log=TEST_QUERY_STRING,TEST_UNKNOWN");
+
+        this.isEnabledAndCheck(
+            category,
+            true
+        );
+    }
+
+    @Test
+    public void testSetEnabledFromQueryStringWithoutLog() {
+        final LoggingCategory category = LoggingCategory.with("TEST_QUERY_STRING_WITHOUT");
+
+        LoggingCategory.setEnabledFromQueryString("?catalog=TEST_QUERY_STRING_WITHOUT");
+
+        this.isEnabledAndCheck(
+            category,
+            false
+        );
+    }
+
+    @Test
+    public void testFind() {
+        final LoggingCategory category = LoggingCategory.with("TEST_FIND");
+
+        this.checkEquals(
+            Optional.of(category),
+            LoggingCategory.find("TEST_FIND")
+        );
+    }
+
+    @Test
+    public void testLoggingConstantsRegistered() {
+        this.checkEquals(
+            Optional.of(Logging.FETCHER),
+            LoggingCategory.find("FETCHER")
+        );
+    }
+
+    private void isEnabledAndCheck(final LoggingCategory category,
+                                   final boolean expected) {
+        this.checkEquals(
+            expected,
+            category.isEnabled(),
+            category::toString
+        );
+    }
+
+    @Override
+    public Class<LoggingCategory> type() {
+        return LoggingCategory.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
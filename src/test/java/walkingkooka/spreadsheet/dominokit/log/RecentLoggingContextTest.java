@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.log;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class RecentLoggingContextTest implements ClassTesting<RecentLoggingContext> {
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> RecentLoggingContext.with(
+                null,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidCapacityFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> RecentLoggingContext.with(
+                LoggingContexts.fake(),
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testErrorLogsRecent() {
+        final List<String> logged = Lists.array();
+
+        final RecentLoggingContext context = RecentLoggingContext.with(
+            new FakeLoggingContext() {
+                @Override
+                public void debug(final Object... values) {
+                }
+
+                @Override
+                public void info(final Object... values) {
+                    logged.add("INFO " + values[0]);
+                }
+
+                @Override
+                public void warn(final Object... values) {
+                }
+
+                @Override
+                public void error(final Object... values) {
+                    logged.add("ERROR " + values[0]);
+                }
+            },
+            2
+        );
+
+        context.debug("debug1");
+        context.debug("debug2", 2);
+        context.warn("warn3");
+        context.error("error4");
+        context.error("error5");
+
+        this.checkEquals(
+            Lists.of(
+                "INFO Recent log entries before error\nDEBUG debug2 2\nWARN warn3",
+                "ERROR error4",
+                "ERROR error5"
+            ),
+            logged
+        );
+    }
+
+    @Test
+    public void testDebugWithCategoryDisabledNotBuilt() {
+        final LoggingCategory category = LoggingCategory.with("TEST_RECENT_DISABLED");
+
+        RecentLoggingContext.with(
+            LoggingContexts.fake(),
+            1
+        ).debug(
+            category,
+            () -> {
+                throw new UnsupportedOperationException();
+            }
+        );
+    }
+
+    @Override
+    public Class<RecentLoggingContext> type() {
+        return RecentLoggingContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
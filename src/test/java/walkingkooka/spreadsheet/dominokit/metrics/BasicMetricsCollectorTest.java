@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BasicMetricsCollectorTest implements ClassTesting<BasicMetricsCollector> {
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicMetricsCollector.with(
+                null,
+                false
+            )
+        );
+    }
+
+    @Test
+    public void testIncrement() {
+        final BasicMetricsCollector collector = this.createCollector();
+        collector.increment("b");
+        collector.increment("a");
+        collector.increment("b");
+
+        this.checkEquals(
+            Maps.of(
+                "a", 1L,
+                "b", 2L
+            ),
+            collector.counters()
+        );
+    }
+
+    @Test
+    public void testAddNullCounterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCollector()
+                .add(
+                    null,
+                    1
+                )
+        );
+    }
+
+    @Test
+    public void testAdd() {
+        final BasicMetricsCollector collector = this.createCollector();
+        collector.add(MetricsCollector.FETCH_RESPONSE_TEXT_CHARS, 100);
+        collector.increment(MetricsCollector.FETCH_SUCCESS);
+        collector.add(MetricsCollector.FETCH_RESPONSE_TEXT_CHARS, 23);
+
+        this.checkEquals(
+            Maps.of(
+                MetricsCollector.FETCH_SUCCESS, 1L,
+                MetricsCollector.FETCH_RESPONSE_TEXT_CHARS, 123L
+            ),
+            collector.counters()
+        );
+    }
+
+    @Test
+    public void testSpan() {
+        final BasicMetricsCollector collector = this.createCollector();
+
+        this.now = 100;
+        final MetricsSpan span = collector.span(MetricsCollector.FETCH);
+
+        this.now = 125;
+        span.end();
+
+        this.now = 200;
+        span.end(); // ignored
+
+        final MetricsHistogram histogram = collector.histograms()
+            .get(MetricsCollector.FETCH);
+        this.checkEquals(
+            1L,
+            histogram.count(),
+            "count"
+        );
+        this.checkEquals(
+            25.0,
+            histogram.percentile(50),
+            "p50"
+        );
+    }
+
+    @Test
+    public void testOverlappingSpans() {
+        final BasicMetricsCollector collector = this.createCollector();
+
+        this.now = 0;
+        final MetricsSpan first = collector.span(MetricsCollector.FETCH);
+
+        this.now = 10;
+        final MetricsSpan second = collector.span(MetricsCollector.FETCH);
+
+        this.now = 15;
+        second.end();
+
+        this.now = 50;
+        first.end();
+
+        final MetricsHistogram histogram = collector.histograms()
+            .get(MetricsCollector.FETCH);
+        this.checkEquals(
+            5.0,
+            histogram.percentile(0),
+            "min"
+        );
+        this.checkEquals(
+            50.0,
+            histogram.percentile(100),
+            "max"
+        );
+    }
+
+    private BasicMetricsCollector createCollector() {
+        return BasicMetricsCollector.with(
+            () -> this.now,
+            false // performanceEntries
+        );
+    }
+
+    private double now;
+
+    @Override
+    public Class<BasicMetricsCollector> type() {
+        return BasicMetricsCollector.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MetricsHistogramTest implements ClassTesting<MetricsHistogram> {
+
+    @Test
+    public void testPercentileInvalidFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> MetricsHistogram.empty()
+                .percentile(101)
+        );
+    }
+
+    @Test
+    public void testPercentileEmpty() {
+        this.percentileAndCheck(
+            MetricsHistogram.empty(),
+            50,
+            0
+        );
+    }
+
+    @Test
+    public void testPercentileOne() {
+        final MetricsHistogram histogram = MetricsHistogram.empty();
+        histogram.add(7);
+
+        this.percentileAndCheck(
+            histogram,
+            50,
+            7
+        );
+        this.percentileAndCheck(
+            histogram,
+            95,
+            7
+        );
+    }
+
+    @Test
+    public void testPercentileUnsorted() {
+        final MetricsHistogram histogram = MetricsHistogram.empty();
+        for (int i = 100; i > 0; i--) {
+            histogram.add(i);
+        }
+
+        this.percentileAndCheck(
+            histogram,
+            0,
+            1
+        );
+        this.percentileAndCheck(
+            histogram,
+            50,
+            50
+        );
+        this.percentileAndCheck(
+            histogram,
+            95,
+            95
+        );
+        this.percentileAndCheck(
+            histogram,
+            100,
+            100
+        );
+    }
+
+    @Test
+    public void testAddReplacesOldest() {
+        final MetricsHistogram histogram = MetricsHistogram.empty();
+        for (int i = 0; i < MetricsHistogram.CAPACITY; i++) {
+            histogram.add(1000);
+        }
+        for (int i = 0; i < MetricsHistogram.CAPACITY; i++) {
+            histogram.add(1);
+        }
+
+        this.percentileAndCheck(
+            histogram,
+            100,
+            1
+        );
+        this.checkEquals(
+            2L * MetricsHistogram.CAPACITY,
+            histogram.count(),
+            "count"
+        );
+    }
+
+    @Test
+    public void testAddReturnsTrueWhenAllReplaced() {
+        final MetricsHistogram histogram = MetricsHistogram.empty();
+        for (int i = 1; i < MetricsHistogram.CAPACITY; i++) {
+            final int value = i;
+            this.checkEquals(
+                false,
+                histogram.add(value),
+                () -> "add " + value
+            );
+        }
+
+        this.checkEquals(
+            true,
+            histogram.add(0),
+            "last"
+        );
+    }
+
+    private void percentileAndCheck(final MetricsHistogram histogram,
+                                    final double percentile,
+                                    final double expected) {
+        this.checkEquals(
+            expected,
+            histogram.percentile(percentile),
+            () -> histogram + " percentile " + percentile
+        );
+    }
+
+    @Override
+    public Class<MetricsHistogram> type() {
+        return MetricsHistogram.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
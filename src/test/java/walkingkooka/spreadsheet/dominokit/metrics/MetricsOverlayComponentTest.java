@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.metrics;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MetricsOverlayComponentTest implements ClassTesting<MetricsOverlayComponent> {
+
+    // isShownFromQueryString...........................................................................................
+
+    @Test
+    public void testIsShownFromQueryStringWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> MetricsOverlayComponent.isShownFromQueryString(null)
+        );
+    }
+
+    @Test
+    public void testIsShownFromQueryStringEmpty() {
+        this.isShownFromQueryStringAndCheck(
+            "",
+            false
+        );
+    }
+
+    @Test
+    public void testIsShownFromQueryString() {
+        this.isShownFromQueryStringAndCheck(
+            "metrics=overlay",
+            true
+        );
+    }
+
+    @Test
+    public void testIsShownFromQueryStringWithQuestionMark() {
+        this.isShownFromQueryStringAndCheck(
+            "?metrics=overlay",
+            true
+        );
+    }
+
+    @Test
+    public void testIsShownFromQueryStringSeveralParameters() {
+        this.isShownFromQueryStringAndCheck(
+            "?log=Fetcher&metrics=overlay&renderer=canvas",
+            true
+        );
+    }
+
+    @Test
+    public void testIsShownFromQueryStringDifferentValue() {
+        this.isShownFromQueryStringAndCheck(
+            "?metrics=overlay2",
+            false
+        );
+    }
+
+    @Test
+    public void testIsShownFromQueryStringDifferentName() {
+        this.isShownFromQueryStringAndCheck(
+            "?xmetrics=overlay",
+            false
+        );
+    }
+
+    @Test
+    public void testIsShownFromQueryStringOtherParameterValue() {
+        this.isShownFromQueryStringAndCheck(
+            "?log=metrics=overlay",
+            false
+        );
+    }
+
+    private void isShownFromQueryStringAndCheck(final String queryString,
+                                                final boolean expected) {
+        this.checkEquals(
+            expected,
+            MetricsOverlayComponent.isShownFromQueryString(queryString),
+            queryString
+        );
+    }
+
+    // text.............................................................................................................
+
+    @Test
+    public void testTextEmpty() {
+        this.textAndCheck(
+            MetricsCollectors.nop(),
+            "stage         count         p50 ms        p95 ms"
+        );
+    }
+
+    @Test
+    public void testText() {
+        final MetricsCollector collector = MetricsCollectors.basic(() -> 0);
+        collector.record(
+            MetricsCollector.RENDER,
+            12.34
+        );
+        collector.record(
+            MetricsCollector.FETCH,
+            100
+        );
+        collector.increment(MetricsCollector.FETCH);
+
+        this.textAndCheck(
+            collector,
+            "stage         count         p50 ms        p95 ms\n" +
+                "fetch         1             100.0         100.0\n" +
+                "render        1             12.3          12.3\n" +
+                "fetch         1"
+        );
+    }
+
+    private void textAndCheck(final MetricsCollector collector,
+                              final String expected) {
+        this.checkEquals(
+            expected,
+            MetricsOverlayComponent.text(collector)
+        );
+    }
+
+    @Override
+    public Class<MetricsOverlayComponent> type() {
+        return MetricsOverlayComponent.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.query;
+
+import elemental2.dom.Headers;
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.RelativeUrl;
+import walkingkooka.net.Url;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.dominokit.fetcher.FetcherRequestBody;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetQueryDialogComponentFindCellsTest implements ClassTesting<SpreadsheetQueryDialogComponentFindCells> {
+
+    private final static RelativeUrl QUERY1 = Url.parseRelative("/api/spreadsheet/1/cell/A1:B2/query?query=1");
+
+    private final static RelativeUrl QUERY2 = Url.parseRelative("/api/spreadsheet/1/cell/A1:B2/query?query=2");
+
+    private final static RelativeUrl CELL = Url.parseRelative("/api/spreadsheet/1/cell/A1");
+
+    private final static LocalDateTime NOW = LocalDateTime.of(
+        2000,
+        1,
+        2,
+        12,
+        58,
+        59
+    );
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetQueryDialogComponentFindCells.with(null)
+        );
+    }
+
+    @Test
+    public void testFindCellsNotCached() {
+        final SpreadsheetQueryDialogComponentFindCells findCells = this.createFindCells();
+
+        this.findCellsAndCheck(
+            findCells,
+            QUERY1,
+            false
+        );
+        this.checkEquals(
+            Lists.empty(),
+            this.fired
+        );
+    }
+
+    @Test
+    public void testLatestResponseFired() {
+        final SpreadsheetQueryDialogComponentFindCells findCells = this.createFindCells();
+
+        findCells.findCells(QUERY1);
+        findCells.onSpreadsheetDelta(
+            HttpMethod.GET,
+            QUERY1,
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.checkEquals(
+            Lists.of(QUERY1),
+            this.fired
+        );
+    }
+
+    @Test
+    public void testSupersededResponseIgnored() {
+        final SpreadsheetQueryDialogComponentFindCells findCells = this.createFindCells();
+
+        findCells.findCells(QUERY1);
+        findCells.findCells(QUERY2);
+
+        findCells.onSpreadsheetDelta(
+            HttpMethod.GET,
+            QUERY1,
+            SpreadsheetDelta.EMPTY
+        );
+        findCells.onSpreadsheetDelta(
+            HttpMethod.GET,
+            QUERY2,
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.checkEquals(
+            Lists.of(QUERY2),
+            this.fired
+        );
+    }
+
+    @Test
+    public void testOtherResponsesFired() {
+        final SpreadsheetQueryDialogComponentFindCells findCells = this.createFindCells();
+
+        findCells.findCells(QUERY1);
+        findCells.onSpreadsheetDelta(
+            HttpMethod.GET,
+            CELL,
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.checkEquals(
+            Lists.of(CELL),
+            this.fired
+        );
+    }
+
+    @Test
+    public void testFindCellsCached() {
+        final SpreadsheetQueryDialogComponentFindCells findCells = this.createFindCells();
+
+        findCells.findCells(QUERY1);
+        findCells.onSpreadsheetDelta(
+            HttpMethod.GET,
+            QUERY1,
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.now = NOW.plusSeconds(SpreadsheetQueryDialogComponentFindCells.CACHE_SECONDS);
+
+        this.findCellsAndCheck(
+            findCells,
+            QUERY1,
+            true
+        );
+        this.checkEquals(
+            Lists.of(QUERY1, QUERY1),
+            this.fired
+        );
+    }
+
+    @Test
+    public void testFindCellsCacheExpired() {
+        final SpreadsheetQueryDialogComponentFindCells findCells = this.createFindCells();
+
+        findCells.findCells(QUERY1);
+        findCells.onSpreadsheetDelta(
+            HttpMethod.GET,
+            QUERY1,
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.now = NOW.plusSeconds(SpreadsheetQueryDialogComponentFindCells.CACHE_SECONDS + 1);
+
+        this.findCellsAndCheck(
+            findCells,
+            QUERY1,
+            false
+        );
+    }
+
+    @Test
+    public void testFindCellsCacheClearedBySave() {
+        final SpreadsheetQueryDialogComponentFindCells findCells = this.createFindCells();
+
+        findCells.findCells(QUERY1);
+        findCells.onSpreadsheetDelta(
+            HttpMethod.GET,
+            QUERY1,
+            SpreadsheetDelta.EMPTY
+        );
+        findCells.onSpreadsheetDelta(
+            HttpMethod.PATCH,
+            CELL,
+            SpreadsheetDelta.EMPTY
+        );
+
+        this.findCellsAndCheck(
+            findCells,
+            QUERY1,
+            false
+        );
+    }
+
+    @Test
+    public void testIsQuery() {
+        this.checkEquals(
+            true,
+            SpreadsheetQueryDialogComponentFindCells.isQuery(QUERY1)
+        );
+    }
+
+    @Test
+    public void testIsQueryCell() {
+        this.checkEquals(
+            false,
+            SpreadsheetQueryDialogComponentFindCells.isQuery(CELL)
+        );
+    }
+
+    private SpreadsheetQueryDialogComponentFindCells createFindCells() {
+        this.now = NOW;
+
+        final SpreadsheetQueryDialogComponentFindCells findCells = SpreadsheetQueryDialogComponentFindCells.with(
+            () -> this.now
+        );
+        findCells.addSpreadsheetDeltaFetcherWatcher(
+            new SpreadsheetDeltaFetcherWatcher() {
+                @Override
+                public void onSpreadsheetDelta(final HttpMethod method,
+                                               final AbsoluteOrRelativeUrl url,
+                                               final SpreadsheetDelta delta) {
+                    fired.add(url);
+                }
+
+                @Override
+                public void onBegin(final HttpMethod method,
+                                    final Url url,
+                                    final Optional<FetcherRequestBody<?>> body) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void onFailure(final HttpMethod method,
+                                      final AbsoluteOrRelativeUrl url,
+                                      final HttpStatus status,
+                                      final Headers headers,
+                                      final String body) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void onError(final Object cause) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void onEmptyResponse() {
+                    throw new UnsupportedOperationException();
+                }
+            }
+        );
+        return findCells;
+    }
+
+    private void findCellsAndCheck(final SpreadsheetQueryDialogComponentFindCells findCells,
+                                   final RelativeUrl url,
+                                   final boolean expected) {
+        this.checkEquals(
+            expected,
+            findCells.findCells(url),
+            () -> "findCells " + url
+        );
+    }
+
+    private LocalDateTime now;
+
+    private final List<AbsoluteOrRelativeUrl> fired = Lists.array();
+
+    @Override
+    public Class<SpreadsheetQueryDialogComponentFindCells> type() {
+        return SpreadsheetQueryDialogComponentFindCells.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
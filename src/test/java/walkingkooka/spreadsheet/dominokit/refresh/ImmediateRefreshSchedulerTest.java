@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.refresh;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.dominokit.FakeRefreshContext;
+import walkingkooka.spreadsheet.dominokit.RefreshContext;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ImmediateRefreshSchedulerTest implements ClassTesting<ImmediateRefreshScheduler> {
+
+    @Test
+    public void testScheduleRefreshWithNullComponentFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ImmediateRefreshScheduler.INSTANCE.scheduleRefresh(
+                null,
+                RefreshScheduler.DEFAULT,
+                new FakeRefreshContext()
+            )
+        );
+    }
+
+    @Test
+    public void testScheduleRefreshWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ImmediateRefreshScheduler.INSTANCE.scheduleRefresh(
+                (c) -> {
+                    throw new UnsupportedOperationException();
+                },
+                RefreshScheduler.DEFAULT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testScheduleRefresh() {
+        final RefreshContext context = new FakeRefreshContext();
+        this.refreshed = null;
+
+        ImmediateRefreshScheduler.INSTANCE.scheduleRefresh(
+            (c) -> this.refreshed = c,
+            RefreshScheduler.VIEWPORT,
+            context
+        );
+
+        assertSame(
+            context,
+            this.refreshed
+        );
+    }
+
+    private RefreshContext refreshed;
+
+    @Test
+    public void testScheduleFocusWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ImmediateRefreshScheduler.INSTANCE.scheduleFocus(null)
+        );
+    }
+
+    @Test
+    public void testScheduleFocus() {
+        this.focused = false;
+
+        ImmediateRefreshScheduler.INSTANCE.scheduleFocus(
+            () -> this.focused = true
+        );
+
+        this.checkEquals(
+            true,
+            this.focused
+        );
+    }
+
+    private boolean focused;
+
+    @Test
+    public void testRefreshContextDefault() {
+        assertSame(
+            ImmediateRefreshScheduler.INSTANCE,
+            new FakeRefreshContext()
+                .refreshScheduler()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ImmediateRefreshScheduler> type() {
+        return ImmediateRefreshScheduler.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.snapshot;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SnapshotTest implements ClassTesting<Snapshot>,
+    HashCodeEqualsDefinedTesting2<Snapshot>,
+    ToStringTesting<Snapshot> {
+
+    private final static String URL = "/api/locale/*?offset=0&count=1";
+
+    private final static String CONTENT_TYPE = "LocaleHateosResourceSet";
+
+    private final static String BODY = "[]";
+
+    @Test
+    public void testWithNullUrlFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Snapshot.with(
+                null,
+                CONTENT_TYPE,
+                BODY
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContentTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Snapshot.with(
+                URL,
+                null,
+                BODY
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullBodyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Snapshot.with(
+                URL,
+                CONTENT_TYPE,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final Snapshot snapshot = Snapshot.with(
+            URL,
+            CONTENT_TYPE,
+            BODY
+        );
+
+        this.checkEquals(
+            URL,
+            snapshot.url(),
+            "url"
+        );
+        this.checkEquals(
+            CONTENT_TYPE,
+            snapshot.contentType(),
+            "contentType"
+        );
+        this.checkEquals(
+            BODY,
+            snapshot.body(),
+            "body"
+        );
+    }
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentUrl() {
+        this.checkNotEquals(
+            Snapshot.with(
+                "/api/currency/*",
+                CONTENT_TYPE,
+                BODY
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentContentType() {
+        this.checkNotEquals(
+            Snapshot.with(
+                URL,
+                "Different",
+                BODY
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentBody() {
+        this.checkNotEquals(
+            Snapshot.with(
+                URL,
+                CONTENT_TYPE,
+                "[1]"
+            )
+        );
+    }
+
+    @Override
+    public Snapshot createObject() {
+        return Snapshot.with(
+            URL,
+            CONTENT_TYPE,
+            BODY
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "\"" + URL + "\" \"" + CONTENT_TYPE + "\" \"" + BODY + "\""
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<Snapshot> type() {
+        return Snapshot.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
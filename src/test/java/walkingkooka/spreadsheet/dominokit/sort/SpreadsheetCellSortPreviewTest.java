@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.sort;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.compare.SpreadsheetComparators;
+import walkingkooka.spreadsheet.compare.provider.SpreadsheetColumnOrRowSpreadsheetComparatorNames;
+import walkingkooka.spreadsheet.compare.provider.SpreadsheetComparatorName;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnOrRowReferenceOrRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetCellSortPreviewTest implements ClassTesting<SpreadsheetCellSortPreview> {
+
+    private final static SpreadsheetCellRangeReference RANGE = SpreadsheetSelection.parseCellRange("A1:B3");
+
+    @Test
+    public void testRowsWithNullRangeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetCellSortPreview.rows(
+                null,
+                Lists.empty(),
+                (c) -> Optional.empty(),
+                (n) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testRowsWithNullComparatorNamesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetCellSortPreview.rows(
+                RANGE,
+                null,
+                (c) -> Optional.empty(),
+                (n) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testRowsWithEmptyComparatorNames() {
+        this.rowsAndCheck(
+            Lists.empty()
+        );
+    }
+
+    @Test
+    public void testRowsWithRowKey() {
+        this.rowsAndCheck(
+            Lists.of(
+                names(SpreadsheetSelection.parseRow("1"))
+            )
+        );
+    }
+
+    @Test
+    public void testRowsWithColumnRangeKey() {
+        this.rowsAndCheck(
+            Lists.of(
+                names(SpreadsheetSelection.parseColumnRange("A:B"))
+            )
+        );
+    }
+
+    @Test
+    public void testRowsWithComparatorFailure() {
+        this.rowsAndCheck(
+            Lists.of(
+                names(SpreadsheetSelection.parseColumn("A"))
+            )
+        );
+    }
+
+    @Test
+    public void testRowsWithComparatorUnexpectedFailureThrows() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> SpreadsheetCellSortPreview.rows(
+                RANGE,
+                Lists.of(
+                    names(SpreadsheetSelection.parseColumn("A"))
+                ),
+                (c) -> Optional.of("value-" + c),
+                (n) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testRows() {
+        this.rowsAndCheck(
+            Maps.of(
+                "A1", "c",
+                "A2", "a",
+                "A3", "b"
+            ),
+            "2",
+            "3",
+            "1"
+        );
+    }
+
+    @Test
+    public void testRowsEqualValuesKeepOrder() {
+        this.rowsAndCheck(
+            Maps.of(
+                "A1", "b",
+                "A2", "a",
+                "A3", "b"
+            ),
+            "2",
+            "1",
+            "3"
+        );
+    }
+
+    @Test
+    public void testRowsMissingValueSortsLast() {
+        this.rowsAndCheck(
+            Maps.of(
+                "A1", "c",
+                "A3", "a"
+            ),
+            "3",
+            "1",
+            "2"
+        );
+    }
+
+    @Test
+    public void testRowsSeveralMissingValuesKeepOrder() {
+        this.rowsAndCheck(
+            Maps.of(
+                "A2", "a"
+            ),
+            "2",
+            "1",
+            "3"
+        );
+    }
+
+    @Test
+    public void testRowsAllMissingValues() {
+        this.rowsAndCheck(
+            Maps.empty(),
+            "1",
+            "2",
+            "3"
+        );
+    }
+
+    @Test
+    public void testRowsValueWrongType() {
+        this.checkEquals(
+            Optional.<List<SpreadsheetRowReference>>empty(),
+            SpreadsheetCellSortPreview.rows(
+                RANGE,
+                Lists.of(
+                    names(SpreadsheetSelection.parseColumn("A"))
+                ),
+                (c) -> Optional.of(1),
+                (n) -> SpreadsheetComparators.text()
+            )
+        );
+    }
+
+    private void rowsAndCheck(final Map<String, String> cellToValue,
+                              final String... rows) {
+        final List<SpreadsheetRowReference> expected = Lists.array();
+        for (final String row : rows) {
+            expected.add(
+                SpreadsheetSelection.parseRow(row)
+            );
+        }
+
+        this.checkEquals(
+            Optional.of(expected),
+            SpreadsheetCellSortPreview.rows(
+                RANGE,
+                Lists.of(
+                    names(SpreadsheetSelection.parseColumn("A"))
+                ),
+                (c) -> Optional.ofNullable(
+                    cellToValue.get(
+                        c.toString()
+                    )
+                ),
+                (n) -> SpreadsheetComparators.text()
+            ),
+            cellToValue::toString
+        );
+    }
+
+    private static SpreadsheetColumnOrRowSpreadsheetComparatorNames names(final SpreadsheetColumnOrRowReferenceOrRange columnOrRow) {
+        return SpreadsheetColumnOrRowSpreadsheetComparatorNames.with(
+            columnOrRow,
+            Lists.of(
+                SpreadsheetComparatorName.with("text")
+            )
+        );
+    }
+
+    private void rowsAndCheck(final List<SpreadsheetColumnOrRowSpreadsheetComparatorNames> comparatorNames) {
+        this.checkEquals(
+            Optional.<List<SpreadsheetRowReference>>empty(),
+            SpreadsheetCellSortPreview.rows(
+                RANGE,
+                comparatorNames,
+                (c) -> Optional.of("value-" + c),
+                (n) -> {
+                    throw new IllegalArgumentException("Unknown comparator " + n);
+                }
+            )
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<SpreadsheetCellSortPreview> type() {
+        return SpreadsheetCellSortPreview.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
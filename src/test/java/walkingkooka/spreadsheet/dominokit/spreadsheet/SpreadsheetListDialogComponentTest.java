@@ -18,11 +18,13 @@
 package walkingkooka.spreadsheet.dominokit.spreadsheet;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.Url;
 import walkingkooka.net.email.EmailAddress;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.reflect.JavaVisibility;
-import walkingkooka.spreadsheet.dominokit.AppContext;
 import walkingkooka.spreadsheet.dominokit.FakeAppContext;
 import walkingkooka.spreadsheet.dominokit.dialog.DialogComponentLifecycleTesting;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcherWatcher;
@@ -35,93 +37,71 @@ import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
 import walkingkooka.spreadsheet.meta.SpreadsheetName;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Locale;
 
 public final class SpreadsheetListDialogComponentTest implements DialogComponentLifecycleTesting<SpreadsheetListDialogComponent> {
 
+    private final static String EMPTY = "SpreadsheetListDialogComponent\n" +
+        "  DialogComponent\n" +
+        "    Spreadsheet List\n" +
+        "    id=spreadsheetList-Dialog includeClose=false\n" +
+        "      SpreadsheetListTableComponent\n" +
+        "        CardComponent\n" +
+        "          Card\n" +
+        "            DataTableComponent\n" +
+        "              id=spreadsheetList-Table\n" +
+        "              COLUMN(S)\n" +
+        "                Name\n" +
+        "                Created by\n" +
+        "                Created timestamp\n" +
+        "                Last modified timestamp\n" +
+        "                Last modified\n" +
+        "                Links\n" +
+        "              PLUGINS\n" +
+        "                EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
+        "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
+        "      AnchorListComponent\n" +
+        "        FlexLayoutComponent\n" +
+        "          ROW\n" +
+        "            \"Create\" [#/create] id=spreadsheetList-create-Link\n" +
+        "            \"Reload\" [#/*/reload] mdi-reload id=spreadsheetList-reload-Link\n";
+
     @Test
     public void testEmpty() {
+        final TestSpreadsheetListDialogComponentContext context = new TestSpreadsheetListDialogComponentContext("/");
+
         this.onHistoryTokenChangeAndCheck(
-            "/",
-            "SpreadsheetListDialogComponent\n" +
-                "  DialogComponent\n" +
-                "    Spreadsheet List\n" +
-                "    id=spreadsheetList-Dialog includeClose=false\n" +
-                "      SpreadsheetListTableComponent\n" +
-                "        CardComponent\n" +
-                "          Card\n" +
-                "            DataTableComponent\n" +
-                "              id=spreadsheetList-Table\n" +
-                "              COLUMN(S)\n" +
-                "                Name\n" +
-                "                Created by\n" +
-                "                Created timestamp\n" +
-                "                Last modified timestamp\n" +
-                "                Last modified\n" +
-                "                Links\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" DISABLED id=spreadsheetList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=spreadsheetList-next-Link\n" +
-                "              PLUGINS\n" +
-                "                EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
-                "      AnchorListComponent\n" +
-                "        FlexLayoutComponent\n" +
-                "          ROW\n" +
-                "            \"Create\" [#/create] id=spreadsheetList-create-Link\n" +
-                "            \"Reload\" [#/*/reload] mdi-reload id=spreadsheetList-reload-Link\n" +
-                "            \"10 Rows\" [#/*/count/10] id=spreadsheetList-count-10-rows-Link\n" +
-                "            \"20 Rows\" [#/*/count/20] id=spreadsheetList-count-20-rows-Link\n"
+            this.dialog(context),
+            appContext("/"),
+            EMPTY
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "offset=0 count=20",
+                "offset=20 count=20"
+            ),
+            context.loads,
+            "loads"
         );
     }
 
     @Test
-    public void testSeveralRows() {
-        final AppContext context = appContext("/*/offset/1/count/3");
-
-        final SpreadsheetListDialogComponent dialog = this.dialog(
-            spreadsheetListComponentContext(context)
-        );
+    public void testOnSpreadsheetMetadataSetPage() {
+        final TestSpreadsheetListDialogComponentContext context = new TestSpreadsheetListDialogComponentContext("/");
+        final SpreadsheetListDialogComponent dialog = this.dialog(context);
 
-        // initially empty
+        // opens the dialog, otherwise the metadata's below will be ignored.
         this.onHistoryTokenChangeAndCheck(
             dialog,
-            context,
-            "SpreadsheetListDialogComponent\n" +
-                "  DialogComponent\n" +
-                "    Spreadsheet List\n" +
-                "    id=spreadsheetList-Dialog includeClose=false\n" +
-                "      SpreadsheetListTableComponent\n" +
-                "        CardComponent\n" +
-                "          Card\n" +
-                "            DataTableComponent\n" +
-                "              id=spreadsheetList-Table\n" +
-                "              COLUMN(S)\n" +
-                "                Name\n" +
-                "                Created by\n" +
-                "                Created timestamp\n" +
-                "                Last modified timestamp\n" +
-                "                Last modified\n" +
-                "                Links\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" [#/*/offset/0/count/3] id=spreadsheetList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=spreadsheetList-next-Link\n" +
-                "              PLUGINS\n" +
-                "                EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
-                "      AnchorListComponent\n" +
-                "        FlexLayoutComponent\n" +
-                "          ROW\n" +
-                "            \"Create\" [#/create] id=spreadsheetList-create-Link\n" +
-                "            \"Reload\" [#/*/offset/1/count/3/reload] mdi-reload id=spreadsheetList-reload-Link\n" +
-                "            \"10 Rows\" [#/*/offset/1/count/10] id=spreadsheetList-count-10-rows-Link\n" +
-                "            \"20 Rows\" [#/*/offset/1/count/20] id=spreadsheetList-count-20-rows-Link\n"
+            appContext("/"),
+            EMPTY
         );
 
-        // previous history token opens the diloag, otherwise the metadata's below will be ignored.
         dialog.onSpreadsheetMetadataSet(
+            HttpMethod.GET,
+            Url.parseRelative("/api/spreadsheet/*?count=20"),
             Sets.of(
                 this.spreadsheetMetadata(1, "SpreadsheetName111"),
                 this.spreadsheetMetadata(2, "SpreadsheetName222"),
@@ -129,10 +109,8 @@ public final class SpreadsheetListDialogComponentTest implements DialogComponent
             )
         );
 
-        // refresh again !
-        this.onHistoryTokenChangeAndCheck(
+        this.treePrintAndCheck(
             dialog,
-            context,
             "SpreadsheetListDialogComponent\n" +
                 "  DialogComponent\n" +
                 "    Spreadsheet List\n" +
@@ -192,20 +170,99 @@ public final class SpreadsheetListDialogComponentTest implements DialogComponent
                 "                    ROW\n" +
                 "                      \"Rename\" [#/rename/3] id=spreadsheetList-3-rename-Link\n" +
                 "                      \"Delete\" [#/delete/3] id=spreadsheetList-3-delete-Link\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" [#/*/offset/0/count/3] id=spreadsheetList-previous-Link\n" +
-                "                    \"next\" [#/*/offset/3/count/3] mdi-arrow-right id=spreadsheetList-next-Link\n" +
                 "              PLUGINS\n" +
                 "                EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
                 "            \"Create\" [#/create] id=spreadsheetList-create-Link\n" +
-                "            \"Reload\" [#/*/offset/1/count/3/reload] mdi-reload id=spreadsheetList-reload-Link\n" +
-                "            \"10 Rows\" [#/*/offset/1/count/10] id=spreadsheetList-count-10-rows-Link\n" +
-                "            \"20 Rows\" [#/*/offset/1/count/20] id=spreadsheetList-count-20-rows-Link\n"
+                "            \"Reload\" [#/*/reload] mdi-reload id=spreadsheetList-reload-Link\n"
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetMetadataSetDifferentCountIgnored() {
+        final TestSpreadsheetListDialogComponentContext context = new TestSpreadsheetListDialogComponentContext("/");
+        final SpreadsheetListDialogComponent dialog = this.dialog(context);
+
+        this.onHistoryTokenChangeAndCheck(
+            dialog,
+            appContext("/"),
+            EMPTY
+        );
+
+        // not a page requested by the dialog
+        dialog.onSpreadsheetMetadataSet(
+            HttpMethod.GET,
+            Url.parseRelative("/api/spreadsheet/*?offset=1&count=3"),
+            Sets.of(
+                this.spreadsheetMetadata(1, "SpreadsheetName111")
+            )
+        );
+
+        this.treePrintAndCheck(
+            dialog,
+            EMPTY
+        );
+    }
+
+    @Test
+    public void testReloadClearsAndLoadsPages() {
+        final TestSpreadsheetListDialogComponentContext context = new TestSpreadsheetListDialogComponentContext("/");
+        final SpreadsheetListDialogComponent dialog = this.dialog(context);
+
+        this.onHistoryTokenChangeAndCheck(
+            dialog,
+            appContext("/"),
+            EMPTY
+        );
+
+        dialog.onSpreadsheetMetadataSet(
+            HttpMethod.GET,
+            Url.parseRelative("/api/spreadsheet/*?count=20"),
+            Sets.of(
+                this.spreadsheetMetadata(1, "SpreadsheetName111")
+            )
+        );
+        context.loads.clear();
+
+        this.onHistoryTokenChangeAndCheck(
+            dialog,
+            appContext("/*/reload"),
+            "SpreadsheetListDialogComponent\n" +
+                "  DialogComponent\n" +
+                "    Spreadsheet List\n" +
+                "    id=spreadsheetList-Dialog includeClose=false\n" +
+                "      SpreadsheetListTableComponent\n" +
+                "        CardComponent\n" +
+                "          Card\n" +
+                "            DataTableComponent\n" +
+                "              id=spreadsheetList-Table\n" +
+                "              COLUMN(S)\n" +
+                "                Name\n" +
+                "                Created by\n" +
+                "                Created timestamp\n" +
+                "                Last modified timestamp\n" +
+                "                Last modified\n" +
+                "                Links\n" +
+                "              PLUGINS\n" +
+                "                EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
+                "      AnchorListComponent\n" +
+                "        FlexLayoutComponent\n" +
+                "          ROW\n" +
+                "            \"Create\" [#/create] id=spreadsheetList-create-Link\n" +
+                "            \"Reload\" [#/*/reload] mdi-reload id=spreadsheetList-reload-Link\n"
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "offset=0 count=20",
+                "offset=20 count=20"
+            ),
+            context.loads,
+            "loads"
         );
     }
 
@@ -226,14 +283,6 @@ public final class SpreadsheetListDialogComponentTest implements DialogComponent
         );
     }
 
-    private void onHistoryTokenChangeAndCheck(final String historyToken,
-                                              final String expected) {
-        this.onHistoryTokenChangeAndCheck(
-            appContext(historyToken),
-            expected
-        );
-    }
-
     private static FakeAppContext appContext(final String historyToken) {
         return new FakeAppContext() {
 
@@ -259,19 +308,46 @@ public final class SpreadsheetListDialogComponentTest implements DialogComponent
         };
     }
 
-    private void onHistoryTokenChangeAndCheck(final AppContext context,
-                                              final String expected) {
-        this.onHistoryTokenChangeAndCheck(
-            this.dialog(
-                this.spreadsheetListComponentContext(context)
-            ),
-            context,
-            expected
-        );
-    }
+    static class TestSpreadsheetListDialogComponentContext extends FakeSpreadsheetListDialogComponentContext {
+
+        TestSpreadsheetListDialogComponentContext(final String historyToken) {
+            this.historyToken = HistoryToken.parseString(historyToken);
+        }
+
+        @Override
+        public HistoryToken historyToken() {
+            return this.historyToken;
+        }
 
-    private SpreadsheetListDialogComponentContext spreadsheetListComponentContext(final AppContext context) {
-        return SpreadsheetListDialogComponentContexts.appContext(context);
+        private final HistoryToken historyToken;
+
+        @Override
+        public Runnable addHistoryWatcher(final HistoryWatcher watcher) {
+            return null;
+        }
+
+        @Override
+        public Runnable addSpreadsheetMetadataFetcherWatcher(final SpreadsheetMetadataFetcherWatcher watcher) {
+            return null;
+        }
+
+        @Override
+        public Locale locale() {
+            return Locale.forLanguageTag("EN-AU");
+        }
+
+        @Override
+        public String dialogTitle() {
+            return "Spreadsheet List";
+        }
+
+        @Override
+        public void loadSpreadsheetMetadatas(final int offset,
+                                             final int count) {
+            this.loads.add("offset=" + offset + " count=" + count);
+        }
+
+        final List<String> loads = Lists.array();
     }
 
     private SpreadsheetListDialogComponent dialog(final SpreadsheetListDialogComponentContext context) {
@@ -281,9 +357,7 @@ public final class SpreadsheetListDialogComponentTest implements DialogComponent
     @Override
     public SpreadsheetListDialogComponent createSpreadsheetDialogComponentLifecycle(final HistoryToken historyToken) {
         return SpreadsheetListDialogComponent.with(
-            this.spreadsheetListComponentContext(
-                appContext(historyToken.toString())
-            )
+            new TestSpreadsheetListDialogComponentContext(historyToken.toString())
         );
     }
 
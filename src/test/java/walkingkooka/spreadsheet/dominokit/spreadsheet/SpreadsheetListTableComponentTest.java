@@ -24,7 +24,6 @@ import walkingkooka.environment.AuditInfo;
 import walkingkooka.net.email.EmailAddress;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
-import walkingkooka.spreadsheet.dominokit.history.SpreadsheetListHistoryToken;
 import walkingkooka.spreadsheet.dominokit.value.TableComponentTesting;
 import walkingkooka.spreadsheet.meta.SpreadsheetId;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
@@ -36,6 +35,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 public final class SpreadsheetListTableComponentTest implements TableComponentTesting<HTMLDivElement, List<SpreadsheetMetadata>, SpreadsheetListTableComponent>,
     SpreadsheetMetadataTesting {
@@ -44,12 +44,11 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
 
     @Test
     public void testPrintTreeWhenEmpty() {
-        this.refreshAndCheck(
+        this.treePrintAndCheck(
             SpreadsheetListTableComponent.empty(
                 ID,
                 context("/")
             ),
-            "/",
             "SpreadsheetListTableComponent\n" +
                 "  CardComponent\n" +
                 "    Card\n" +
@@ -62,19 +61,15 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
                 "          Last modified timestamp\n" +
                 "          Last modified\n" +
                 "          Links\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" DISABLED id=Table123-previous-Link\n" +
-                "              \"next\" DISABLED mdi-arrow-right id=Table123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n"
+                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
         );
     }
 
     @Test
     public void testTableThreeColumnsThreeRows() {
-        this.refreshAndCheck(
+        this.treePrintAndCheck(
             SpreadsheetListTableComponent.empty(
                 ID,
                 context("/")
@@ -87,7 +82,6 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
                     )
                 )
             ),
-            "/",
             "SpreadsheetListTableComponent\n" +
                 "  CardComponent\n" +
                 "    Card\n" +
@@ -143,32 +137,50 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
                 "              ROW\n" +
                 "                \"Rename\" [#/rename/3] id=Table123-3-rename-Link\n" +
                 "                \"Delete\" [#/delete/3] id=Table123-3-delete-Link\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" DISABLED id=Table123-previous-Link\n" +
-                "              \"next\" [#/*/offset/2] mdi-arrow-right id=Table123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n"
+                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
         );
     }
 
     @Test
-    public void testTableThreeColumnsThreeRowsAndPrevious() {
-        this.refreshAndCheck(
-            SpreadsheetListTableComponent.empty(
-                ID,
-                context("/offset/1/count/2")
-            ).setValue(
-                Optional.of(
-                    Lists.of(
-                        spreadsheetMetadata(1, "Spreadsheet111"),
-                        spreadsheetMetadata(2, "Spreadsheet222"),
-                        spreadsheetMetadata(3, "Spreadsheet333")
-                    )
-                )
+    public void testLoadPages() {
+        final List<String> loads = Lists.array();
+
+        SpreadsheetListTableComponent.empty(
+            ID,
+            context(
+                "/",
+                loads
+            )
+        ).loadPages();
+
+        this.checkEquals(
+            Lists.of(
+                "offset=0 count=20",
+                "offset=20 count=20"
             ),
-            "/*/offset/1/count/2",
+            loads
+        );
+    }
+
+    @Test
+    public void testSetPage() {
+        final SpreadsheetListTableComponent table = SpreadsheetListTableComponent.empty(
+            ID,
+            context("/")
+        );
+        table.loadPages();
+        table.setPage(
+            OptionalInt.empty(),
+            OptionalInt.of(20),
+            Lists.of(
+                spreadsheetMetadata(1, "Spreadsheet111")
+            )
+        );
+
+        this.treePrintAndCheck(
+            table,
             "SpreadsheetListTableComponent\n" +
                 "  CardComponent\n" +
                 "    Card\n" +
@@ -196,60 +208,29 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
                 "              ROW\n" +
                 "                \"Rename\" [#/rename/1] id=Table123-1-rename-Link\n" +
                 "                \"Delete\" [#/delete/1] id=Table123-1-delete-Link\n" +
-                "          ROW 1\n" +
-                "            \"Spreadsheet222\" [#/2] id=Table123-2-Link\n" +
-                "            TextComponent\n" +
-                "              \"creator@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/12/99, 12:01 pm\"\n" +
-                "            TextComponent\n" +
-                "              \"modifier@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/1/00, 12:58 pm\"\n" +
-                "            FlexLayoutComponent\n" +
-                "              ROW\n" +
-                "                \"Rename\" [#/rename/2] id=Table123-2-rename-Link\n" +
-                "                \"Delete\" [#/delete/2] id=Table123-2-delete-Link\n" +
-                "          ROW 2\n" +
-                "            \"Spreadsheet333\" [#/3] id=Table123-3-Link\n" +
-                "            TextComponent\n" +
-                "              \"creator@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/12/99, 12:01 pm\"\n" +
-                "            TextComponent\n" +
-                "              \"modifier@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/1/00, 12:58 pm\"\n" +
-                "            FlexLayoutComponent\n" +
-                "              ROW\n" +
-                "                \"Rename\" [#/rename/3] id=Table123-3-rename-Link\n" +
-                "                \"Delete\" [#/delete/3] id=Table123-3-delete-Link\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" [#/*/offset/0/count/2] id=Table123-previous-Link\n" +
-                "              \"next\" [#/*/offset/2/count/2] mdi-arrow-right id=Table123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n"
+                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
         );
     }
 
     @Test
-    public void testTableThreeColumnsThreeRowsAndNext() {
-        this.refreshAndCheck(
-            SpreadsheetListTableComponent.empty(
-                ID,
-                context("/")
-            ).setValue(
-                Optional.of(
-                    Lists.of(
-                        spreadsheetMetadata(1, "Spreadsheet111"),
-                        spreadsheetMetadata(2, "Spreadsheet222"),
-                        spreadsheetMetadata(3, "Spreadsheet333")
-                    )
-                )
-            ),
-            "/*/count/2",
+    public void testSetPageDifferentCountIgnored() {
+        final SpreadsheetListTableComponent table = SpreadsheetListTableComponent.empty(
+            ID,
+            context("/")
+        );
+        table.loadPages();
+        table.setPage(
+            OptionalInt.of(1),
+            OptionalInt.of(3),
+            Lists.of(
+                spreadsheetMetadata(1, "Spreadsheet111")
+            )
+        );
+
+        this.treePrintAndCheck(
+            table,
             "SpreadsheetListTableComponent\n" +
                 "  CardComponent\n" +
                 "    Card\n" +
@@ -262,56 +243,9 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
                 "          Last modified timestamp\n" +
                 "          Last modified\n" +
                 "          Links\n" +
-                "        ROW(S)\n" +
-                "          ROW 0\n" +
-                "            \"Spreadsheet111\" [#/1] id=Table123-1-Link\n" +
-                "            TextComponent\n" +
-                "              \"creator@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/12/99, 12:01 pm\"\n" +
-                "            TextComponent\n" +
-                "              \"modifier@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/1/00, 12:58 pm\"\n" +
-                "            FlexLayoutComponent\n" +
-                "              ROW\n" +
-                "                \"Rename\" [#/rename/1] id=Table123-1-rename-Link\n" +
-                "                \"Delete\" [#/delete/1] id=Table123-1-delete-Link\n" +
-                "          ROW 1\n" +
-                "            \"Spreadsheet222\" [#/2] id=Table123-2-Link\n" +
-                "            TextComponent\n" +
-                "              \"creator@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/12/99, 12:01 pm\"\n" +
-                "            TextComponent\n" +
-                "              \"modifier@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/1/00, 12:58 pm\"\n" +
-                "            FlexLayoutComponent\n" +
-                "              ROW\n" +
-                "                \"Rename\" [#/rename/2] id=Table123-2-rename-Link\n" +
-                "                \"Delete\" [#/delete/2] id=Table123-2-delete-Link\n" +
-                "          ROW 2\n" +
-                "            \"Spreadsheet333\" [#/3] id=Table123-3-Link\n" +
-                "            TextComponent\n" +
-                "              \"creator@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/12/99, 12:01 pm\"\n" +
-                "            TextComponent\n" +
-                "              \"modifier@example.com\"\n" +
-                "            TextComponent\n" +
-                "              \"31/1/00, 12:58 pm\"\n" +
-                "            FlexLayoutComponent\n" +
-                "              ROW\n" +
-                "                \"Rename\" [#/rename/3] id=Table123-3-rename-Link\n" +
-                "                \"Delete\" [#/delete/3] id=Table123-3-delete-Link\n" +
-                "        CHILDREN\n" +
-                "          FlexLayoutComponent\n" +
-                "            ROW\n" +
-                "              mdi-arrow-left \"previous\" DISABLED id=Table123-previous-Link\n" +
-                "              \"next\" [#/*/offset/1/count/2] mdi-arrow-right id=Table123-next-Link\n" +
                 "        PLUGINS\n" +
-                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n"
+                "          EmptyStatePlugin (mdi-gauge-empty) \"No spreadsheets\"\n" +
+                "          VirtualScrollPlugin rowHeight=32 pageSize=20\n"
         );
     }
 
@@ -324,6 +258,14 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
     }
 
     private static FakeSpreadsheetListDialogComponentContext context(final String historyToken) {
+        return context(
+            historyToken,
+            Lists.array()
+        );
+    }
+
+    private static FakeSpreadsheetListDialogComponentContext context(final String historyToken,
+                                                                     final List<String> loads) {
         return new FakeSpreadsheetListDialogComponentContext() {
             @Override
             public HistoryToken historyToken() {
@@ -334,29 +276,13 @@ public final class SpreadsheetListTableComponentTest implements TableComponentTe
             public Locale locale() {
                 return Locale.forLanguageTag("EN-AU");
             }
-        };
-    }
-
-    private void refreshAndCheck(final SpreadsheetListTableComponent table,
-                                 final String historyToken,
-                                 final String expected) {
-        this.refreshAndCheck(
-            table,
-            HistoryToken.parseString(historyToken)
-                .cast(SpreadsheetListHistoryToken.class),
-            expected
-        );
-    }
-
-    private void refreshAndCheck(final SpreadsheetListTableComponent table,
-                                 final SpreadsheetListHistoryToken historyToken,
-                                 final String expected) {
-        table.refresh(historyToken);
 
-        this.treePrintAndCheck(
-            table,
-            expected
-        );
+            @Override
+            public void loadSpreadsheetMetadatas(final int offset,
+                                                 final int count) {
+                loads.add("offset=" + offset + " count=" + count);
+            }
+        };
     }
 
     private SpreadsheetMetadata spreadsheetMetadata(final long id,
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextPrefixIndexTest implements ClassTesting<TextPrefixIndex<?>> {
+
+    @Test
+    public void testWithNullMapFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextPrefixIndex.with(null)
+        );
+    }
+
+    @Test
+    public void testFindWithNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createIndex()
+                .find(null, 0, 1)
+        );
+    }
+
+    @Test
+    public void testFindWithNegativeOffsetFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createIndex()
+                .find("", -1, 1)
+        );
+    }
+
+    @Test
+    public void testFindWithNegativeCountFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createIndex()
+                .find("", 0, -1)
+        );
+    }
+
+    @Test
+    public void testFindEmptyText() {
+        this.findAndCheck(
+            this.createIndex(),
+            "",
+            0,
+            10,
+            1, 2, 3, 4
+        );
+    }
+
+    @Test
+    public void testFindIgnoresCase() {
+        this.findAndCheck(
+            this.createIndex(),
+            "eNGLISH",
+            0,
+            10,
+            1, 2
+        );
+    }
+
+    @Test
+    public void testFindOffsetAndCount() {
+        this.findAndCheck(
+            this.createIndex(),
+            "English",
+            1,
+            1,
+            2
+        );
+    }
+
+    @Test
+    public void testFindNone() {
+        this.findAndCheck(
+            this.createIndex(),
+            "German"
+        );
+    }
+
+    @Test
+    public void testFindNarrowingAndWidening() {
+        final TextPrefixIndex<Integer> index = this.createIndex();
+
+        this.findAndCheck(index, "E", 0, 10, 1, 2);
+        this.findAndCheck(index, "En", 0, 10, 1, 2);
+        this.findAndCheck(index, "English (N", 0, 10, 2);
+        this.findAndCheck(index, "F", 0, 10, 3, 4);
+        this.findAndCheck(index, "En", 0, 10, 1, 2);
+    }
+
+    @Test
+    public void testFindIgnoresEmptyText() {
+        this.findAndCheck(
+            TextPrefixIndex.with(
+                Maps.of(
+                    1, "",
+                    2, "A"
+                )
+            ),
+            "",
+            0,
+            10,
+            2
+        );
+    }
+
+    @Test
+    public void testCount() {
+        this.checkEquals(
+            2,
+            this.createIndex()
+                .count("english")
+        );
+    }
+
+    private TextPrefixIndex<Integer> createIndex() {
+        return TextPrefixIndex.with(
+            Maps.of(
+                1, "English (Australia)",
+                2, "English (New Zealand)",
+                3, "French (France)",
+                4, "French (Switzerland)"
+            )
+        );
+    }
+
+    private void findAndCheck(final TextPrefixIndex<Integer> index,
+                              final String text,
+                              final Integer... expected) {
+        this.findAndCheck(
+            index,
+            text,
+            0,
+            Integer.MAX_VALUE,
+            expected
+        );
+    }
+
+    private void findAndCheck(final TextPrefixIndex<Integer> index,
+                              final String text,
+                              final int offset,
+                              final int count,
+                              final Integer... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            index.find(
+                text,
+                offset,
+                count
+            ),
+            () -> "find " + text + " " + offset + " " + count
+        );
+    }
+
+    // jdk locales....................................................................................................
+
+    @Test
+    public void testFindJdkLocalesMatchesLinearScan() {
+        final Map<Locale, String> localeToText = Maps.hash();
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            localeToText.put(
+                locale,
+                locale.getDisplayName(Locale.ENGLISH)
+            );
+        }
+
+        final TextPrefixIndex<Locale> index = TextPrefixIndex.with(localeToText);
+
+        for (final String query : Lists.of("", "e", "en", "english (", "fr", "z", "zzz")) {
+            final List<String> scanned = localeToText.values()
+                .stream()
+                .filter(t -> false == t.isEmpty())
+                .map(TextPrefixIndex::normalize)
+                .filter(t -> t.startsWith(query))
+                .sorted()
+                .collect(Collectors.toList());
+
+            this.checkEquals(
+                scanned.size(),
+                index.count(query),
+                () -> "count " + query
+            );
+
+            final int count = 20;
+            this.checkEquals(
+                scanned.subList(
+                    0,
+                    Math.min(count, scanned.size())
+                ),
+                index.find(query, 0, count)
+                    .stream()
+                    .map(l -> TextPrefixIndex.normalize(localeToText.get(l)))
+                    .collect(Collectors.toList()),
+                () -> "find " + query
+            );
+        }
+    }
+
+    // benchmark........................................................................................................
+
+    /**
+     * Compares the index against a linear scan over every JDK locale and prints the average time per query. This is
+     * not part of the default test run, run it with <code>-Dbenchmark=true -Dtest=TextPrefixIndexTest</code>.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void testBenchmarkJdkLocales() {
+        final Map<Locale, String> localeToText = Maps.hash();
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String text = locale.getDisplayName(Locale.ENGLISH);
+            if (false == text.isEmpty()) {
+                localeToText.put(locale, text);
+            }
+        }
+
+        final TextPrefixIndex<Locale> index = TextPrefixIndex.with(localeToText);
+
+        final List<String> queries = Lists.of(
+            "e",
+            "en",
+            "eng",
+            "engl",
+            "english",
+            "english (",
+            "english (a",
+            "f",
+            "fr",
+            "fre",
+            "z"
+        );
+        final int rounds = 1000;
+        final int count = 20;
+
+        long indexNanos = 0;
+        long scanNanos = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            for (final String query : queries) {
+                final long start = System.nanoTime();
+                final List<Locale> found = index.find(query, 0, count);
+                final long middle = System.nanoTime();
+                final List<Locale> scanned = localeToText.entrySet()
+                    .stream()
+                    .filter(e -> TextPrefixIndex.normalize(e.getValue()).startsWith(query))
+                    .sorted(Map.Entry.comparingByValue(String.CASE_INSENSITIVE_ORDER))
+                    .limit(count)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+                final long end = System.nanoTime();
+
+                indexNanos += middle - start;
+                scanNanos += end - middle;
+
+                if (0 == round) {
+                    this.checkEquals(
+                        scanned.size(),
+                        found.size(),
+                        () -> "found count " + query
+                    );
+                }
+            }
+        }
+
+        final int total = rounds * queries.size();
+        System.out.println(
+            localeToText.size() + " locales, index " + (indexNanos / total) + "ns, linear scan " + (scanNanos / total) + "ns per query"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TextPrefixIndex<?>> type() {
+        return Cast.to(TextPrefixIndex.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -18,6 +18,7 @@
 package walkingkooka.spreadsheet.dominokit.value.cell;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.net.Url;
@@ -50,6 +51,7 @@ import walkingkooka.spreadsheet.value.SpreadsheetCell;
 import walkingkooka.validation.ValueType;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -242,6 +244,67 @@ public final class SpreadsheetCellReferencesDialogComponentTest implements Dialo
         );
     }
 
+    @Test
+    public void testOnSpreadsheetDeltaFullPageOfDependentsLoadsNextPage() {
+        final HistoryToken historyToken = HistoryToken.parseString(
+            "/123/SpreadsheetName456/cell/A1/references"
+        );
+
+        final TestAppContext context = this.appContext(historyToken);
+        final TestSpreadsheetCellReferencesDialogComponentContext dialogContext = new TestSpreadsheetCellReferencesDialogComponentContext(context);
+
+        final SpreadsheetCellReferencesDialogComponent dialog = SpreadsheetCellReferencesDialogComponent.with(dialogContext);
+        dialog.onHistoryTokenChange(
+            historyToken,
+            context
+        );
+
+        context.metadataFetcherWatchers.onSpreadsheetMetadata(
+            context.spreadsheetMetadata()
+        );
+
+        // B1 and C1 reference A1, E1 references A1, the gap produces two separate ranges
+        context.deltaFetcherWatchers.onSpreadsheetDelta(
+            HttpMethod.GET,
+            Url.parseRelative("/api/spreadsheet/123/cell/A1/references"),
+            SpreadsheetDelta.EMPTY.setReferences(
+                Maps.of(
+                    SpreadsheetSelection.parseCell("B1"),
+                    Sets.of(SpreadsheetSelection.A1),
+                    SpreadsheetSelection.parseCell("C1"),
+                    Sets.of(SpreadsheetSelection.A1),
+                    SpreadsheetSelection.parseCell("E1"),
+                    Sets.of(SpreadsheetSelection.A1)
+                )
+            )
+        );
+
+        // a full page of dependents of E1
+        final Set<SpreadsheetCell> cells = Sets.ordered();
+        for (int i = 0; i < SpreadsheetCellReferencesDialogComponentContext.DEPENDENTS_MAX_COUNT; i++) {
+            cells.add(
+                SpreadsheetSelection.parseCell("Z" + (i + 1))
+                    .setFormula(SpreadsheetFormula.EMPTY)
+            );
+        }
+
+        context.deltaFetcherWatchers.onSpreadsheetDelta(
+            HttpMethod.GET,
+            Url.parseRelative("/api/spreadsheet/123/cell/E1/references?count=100"),
+            SpreadsheetDelta.EMPTY.setCells(cells)
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "A1 ",
+                "B1:C1 /count/100",
+                "E1 /count/100",
+                "E1 /offset/100/count/100"
+            ),
+            dialogContext.loads
+        );
+    }
+
     private TestAppContext appContext(final HistoryToken historyToken) {
         return new TestAppContext(historyToken);
     }
@@ -371,8 +434,10 @@ public final class SpreadsheetCellReferencesDialogComponentTest implements Dialo
         public void loadCellReferences(final SpreadsheetId id,
                                        final SpreadsheetCellRangeReference cells,
                                        final HistoryTokenOffsetAndCount offsetAndCount) {
-            // NOP
+            this.loads.add(cells + " " + offsetAndCount);
         }
+
+        final List<String> loads = Lists.array();
     }
 
     @Override
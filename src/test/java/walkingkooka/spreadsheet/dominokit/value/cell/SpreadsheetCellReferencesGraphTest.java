@@ -0,0 +1,446 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.value.cell;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetCellReferencesGraphTest implements ClassTesting<SpreadsheetCellReferencesGraph> {
+
+    private final static SpreadsheetCellReference A1 = SpreadsheetSelection.A1;
+
+    private final static SpreadsheetCellReference B1 = SpreadsheetSelection.parseCell("B1");
+
+    private final static SpreadsheetCellReference C1 = SpreadsheetSelection.parseCell("C1");
+
+    private final static SpreadsheetCellReference D1 = SpreadsheetSelection.parseCell("D1");
+
+    @Test
+    public void testUpdateWithNullDeltaFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetCellReferencesGraph.empty()
+                .update(null)
+        );
+    }
+
+    @Test
+    public void testDependentsWithNegativeDepthFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetCellReferencesGraph.empty()
+                .dependents(
+                    A1.toCellRange(),
+                    -1
+                )
+        );
+    }
+
+    @Test
+    public void testDependentsEmpty() {
+        this.dependentsAndCheck(
+            SpreadsheetCellReferencesGraph.empty(),
+            A1,
+            2,
+            Maps.sorted()
+        );
+    }
+
+    @Test
+    public void testDependents() {
+        this.dependentsAndCheck(
+            this.chain(),
+            A1,
+            8,
+            Maps.of(
+                1, Sets.of(B1),
+                2, Sets.of(C1),
+                3, Sets.of(D1)
+            )
+        );
+    }
+
+    @Test
+    public void testDependentsDepthLimited() {
+        this.dependentsAndCheck(
+            this.chain(),
+            A1,
+            2,
+            Maps.of(
+                1, Sets.of(B1),
+                2, Sets.of(C1)
+            )
+        );
+    }
+
+    @Test
+    public void testDependentsCycleVisitedOnce() {
+        final SpreadsheetCellReferencesGraph graph = this.chain();
+        graph.update(
+            delta(A1, D1)
+        );
+
+        this.dependentsAndCheck(
+            graph,
+            A1,
+            8,
+            Maps.of(
+                1, Sets.of(B1),
+                2, Sets.of(C1),
+                3, Sets.of(D1)
+            )
+        );
+    }
+
+    @Test
+    public void testDependentsCellRangeReference() {
+        final SpreadsheetCellReferencesGraph graph = SpreadsheetCellReferencesGraph.empty();
+        graph.update(
+            delta(
+                D1,
+                SpreadsheetSelection.parseCellRange("A1:C1")
+            )
+        );
+
+        this.dependentsAndCheck(
+            graph,
+            B1,
+            8,
+            Maps.of(
+                1, Sets.of(D1)
+            )
+        );
+    }
+
+    @Test
+    public void testDependentsLabel() {
+        final SpreadsheetLabelName label = SpreadsheetSelection.labelName("Label123");
+
+        final SpreadsheetCellReferencesGraph graph = SpreadsheetCellReferencesGraph.empty();
+        graph.update(
+            delta(
+                B1,
+                label
+            ).setLabels(
+                Sets.of(
+                    label.setLabelMappingReference(A1)
+                )
+            )
+        );
+
+        this.dependentsAndCheck(
+            graph,
+            A1,
+            8,
+            Maps.of(
+                1, Sets.of(B1)
+            )
+        );
+    }
+
+    @Test
+    public void testDependentsUnknownLabel() {
+        final SpreadsheetCellReferencesGraph graph = SpreadsheetCellReferencesGraph.empty();
+        graph.update(
+            delta(
+                B1,
+                SpreadsheetSelection.labelName("Unknown404")
+            )
+        );
+
+        this.dependentsAndCheck(
+            graph,
+            A1,
+            8,
+            Maps.sorted()
+        );
+    }
+
+    @Test
+    public void testUpdateReplacesReferences() {
+        final SpreadsheetCellReferencesGraph graph = this.chain();
+
+        // C1 no longer references B1
+        graph.update(
+            SpreadsheetDelta.EMPTY.setCells(
+                Sets.of(
+                    C1.setFormula(
+                        SpreadsheetFormula.EMPTY.setText("=1")
+                    )
+                )
+            )
+        );
+
+        this.dependentsAndCheck(
+            graph,
+            A1,
+            8,
+            Maps.of(
+                1, Sets.of(B1)
+            )
+        );
+    }
+
+    @Test
+    public void testUpdateDeletedCell() {
+        final SpreadsheetCellReferencesGraph graph = this.chain();
+
+        graph.update(
+            SpreadsheetDelta.EMPTY.setDeletedCells(
+                Sets.of(B1)
+            )
+        );
+
+        this.dependentsAndCheck(
+            graph,
+            A1,
+            8,
+            Maps.sorted()
+        );
+    }
+
+    @Test
+    public void testCells() {
+        final SpreadsheetCellReferencesGraph graph = this.chain();
+
+        this.checkEquals(
+            Sets.of(
+                formula(B1, A1),
+                formula(D1, C1)
+            ),
+            graph.cells(
+                Lists.of(
+                    B1,
+                    D1,
+                    SpreadsheetSelection.parseCell("Z99")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testNotRequestedAndSetRequested() {
+        final SpreadsheetCellReferencesGraph graph = SpreadsheetCellReferencesGraph.empty();
+        graph.setRequested(
+            SpreadsheetSelection.parseCellRange("A1:B1")
+        );
+
+        this.checkEquals(
+            Sets.of(C1),
+            graph.notRequested(
+                Lists.of(A1, B1, C1)
+            )
+        );
+    }
+
+    @Test
+    public void testClear() {
+        final SpreadsheetCellReferencesGraph graph = this.chain();
+        graph.setRequested(
+            Lists.of(A1)
+        );
+        graph.clear();
+
+        this.dependentsAndCheck(
+            graph,
+            A1,
+            8,
+            Maps.sorted()
+        );
+        this.checkEquals(
+            Sets.of(A1),
+            graph.notRequested(
+                Lists.of(A1)
+            )
+        );
+    }
+
+    @Test
+    public void testRangesEmpty() {
+        this.rangesAndCheck(
+            Lists.empty()
+        );
+    }
+
+    @Test
+    public void testRangesOneCell() {
+        this.rangesAndCheck(
+            Lists.of(B1),
+            "B1"
+        );
+    }
+
+    @Test
+    public void testRangesRow() {
+        this.rangesAndCheck(
+            Lists.of(C1, A1, B1),
+            "A1:C1"
+        );
+    }
+
+    @Test
+    public void testRangesRowGap() {
+        this.rangesAndCheck(
+            Lists.of(A1, C1),
+            "A1",
+            "C1"
+        );
+    }
+
+    @Test
+    public void testRangesRectangle() {
+        this.rangesAndCheck(
+            Lists.of(
+                A1,
+                B1,
+                SpreadsheetSelection.parseCell("A2"),
+                SpreadsheetSelection.parseCell("B2"),
+                SpreadsheetSelection.parseCell("A3"),
+                SpreadsheetSelection.parseCell("B3")
+            ),
+            "A1:B3"
+        );
+    }
+
+    @Test
+    public void testRangesDistantCells() {
+        this.rangesAndCheck(
+            Lists.of(
+                A1,
+                SpreadsheetSelection.parseCell("Z99")
+            ),
+            "A1",
+            "Z99"
+        );
+    }
+
+    @Test
+    public void testRangesDifferentColumnsEachRow() {
+        this.rangesAndCheck(
+            Lists.of(
+                A1,
+                B1,
+                SpreadsheetSelection.parseCell("B2"),
+                SpreadsheetSelection.parseCell("C2")
+            ),
+            "A1:B1",
+            "B2:C2"
+        );
+    }
+
+    private void rangesAndCheck(final List<SpreadsheetCellReference> cells,
+                                final String... expected) {
+        final List<SpreadsheetCellRangeReference> ranges = Lists.array();
+        for (final String range : expected) {
+            ranges.add(
+                range.contains(":") ?
+                    SpreadsheetSelection.parseCellRange(range) :
+                    SpreadsheetSelection.parseCell(range)
+                        .toCellRange()
+            );
+        }
+
+        this.checkEquals(
+            ranges,
+            SpreadsheetCellReferencesGraph.ranges(cells),
+            cells::toString
+        );
+    }
+
+    /**
+     * Creates a graph where D1 references C1 which references B1 which references A1.
+     */
+    private SpreadsheetCellReferencesGraph chain() {
+        final SpreadsheetCellReferencesGraph graph = SpreadsheetCellReferencesGraph.empty();
+        graph.update(
+            delta(B1, A1)
+        );
+        graph.update(
+            delta(C1, B1)
+        );
+        graph.update(
+            delta(D1, C1)
+        );
+        return graph;
+    }
+
+    private static SpreadsheetDelta delta(final SpreadsheetCellReference cell,
+                                          final SpreadsheetExpressionReference reference) {
+        return SpreadsheetDelta.EMPTY.setCells(
+            Sets.of(
+                formula(cell, reference)
+            )
+        ).setReferences(
+            Maps.of(
+                cell,
+                Sets.of(reference)
+            )
+        );
+    }
+
+    private static SpreadsheetCell formula(final SpreadsheetCellReference cell,
+                                           final SpreadsheetExpressionReference reference) {
+        return cell.setFormula(
+            SpreadsheetFormula.EMPTY.setText("=" + reference)
+        );
+    }
+
+    private void dependentsAndCheck(final SpreadsheetCellReferencesGraph graph,
+                                    final SpreadsheetCellReference cell,
+                                    final int depth,
+                                    final Map<Integer, Set<SpreadsheetCellReference>> expected) {
+        this.checkEquals(
+            expected,
+            graph.dependents(
+                cell.toCellRange(),
+                depth
+            ),
+            () -> graph + " dependents " + cell + " depth " + depth
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetCellReferencesGraph> type() {
+        return SpreadsheetCellReferencesGraph.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
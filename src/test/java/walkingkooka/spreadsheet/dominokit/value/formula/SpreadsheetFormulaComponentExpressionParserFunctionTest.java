@@ -20,14 +20,22 @@ package walkingkooka.spreadsheet.dominokit.value.formula;
 import org.junit.jupiter.api.Test;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormulaParsers;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.meta.SpreadsheetName;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
 import walkingkooka.text.cursor.TextCursors;
 import walkingkooka.text.printer.TreePrintableTesting;
 import walkingkooka.util.FunctionTesting;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 public final class SpreadsheetFormulaComponentExpressionParserFunctionTest implements FunctionTesting<SpreadsheetFormulaComponentExpressionParserFunction,
     String,
     SpreadsheetFormula>,
@@ -82,10 +90,88 @@ public final class SpreadsheetFormulaComponentExpressionParserFunctionTest imple
         );
     }
 
+    @Test
+    public void testApplySameTextTwiceReturnsSameFormula() {
+        final SpreadsheetFormulaComponentExpressionParserFunction function = this.createFunction();
+        final String text = "1+2";
+
+        assertSame(
+            function.apply(text),
+            function.apply(text)
+        );
+    }
+
+    @Test
+    public void testApplyDifferentText() {
+        final SpreadsheetFormulaComponentExpressionParserFunction function = this.createFunction();
+
+        function.apply("1+2");
+
+        this.applyAndCheck(
+            function,
+            "3+4",
+            SpreadsheetFormula.parse(
+                TextCursors.charSequence("3+4"),
+                SpreadsheetFormulaParsers.expression(),
+                SPREADSHEET_PARSER_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testApplySameTextDifferentContext() {
+        final SpreadsheetParserContext[] context = new SpreadsheetParserContext[]{
+            SPREADSHEET_PARSER_CONTEXT
+        };
+        final SpreadsheetFormulaComponentExpressionParserFunction function = SpreadsheetFormulaComponentExpressionParserFunction.with(
+            () -> context[0],
+            () -> METADATA_EN_AU
+        );
+        final String text = "1+2";
+
+        final SpreadsheetFormula formula = function.apply(text);
+
+        context[0] = METADATA_EN_AU.spreadsheetParserContext(
+            SpreadsheetMetadata.NO_CELL,
+            LOCALE_CONTEXT,
+            LocalDateTime::now
+        );
+
+        assertNotSame(
+            formula,
+            function.apply(text)
+        );
+    }
+
+    @Test
+    public void testApplySameTextSameContextDifferentMetadata() {
+        final SpreadsheetMetadata[] metadata = new SpreadsheetMetadata[]{
+            METADATA_EN_AU
+        };
+        final SpreadsheetFormulaComponentExpressionParserFunction function = SpreadsheetFormulaComponentExpressionParserFunction.with(
+            () -> SPREADSHEET_PARSER_CONTEXT,
+            () -> metadata[0]
+        );
+        final String text = "1+2";
+
+        final SpreadsheetFormula formula = function.apply(text);
+
+        metadata[0] = METADATA_EN_AU.set(
+            SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+            SpreadsheetName.with("Different")
+        );
+
+        assertNotSame(
+            formula,
+            function.apply(text)
+        );
+    }
+
     @Override
     public SpreadsheetFormulaComponentExpressionParserFunction createFunction() {
         return SpreadsheetFormulaComponentExpressionParserFunction.with(
-            () -> SPREADSHEET_PARSER_CONTEXT
+            () -> SPREADSHEET_PARSER_CONTEXT,
+            () -> METADATA_EN_AU
         );
     }
 
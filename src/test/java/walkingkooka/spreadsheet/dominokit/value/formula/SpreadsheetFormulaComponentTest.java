@@ -88,7 +88,8 @@ public final class SpreadsheetFormulaComponentTest implements ValueTextBoxCompon
     public SpreadsheetFormulaComponent createComponent() {
         return SpreadsheetFormulaComponent.empty(
             SpreadsheetFormulaComponentFunctions.expressionParser(
-                () -> SPREADSHEET_PARSER_CONTEXT
+                () -> SPREADSHEET_PARSER_CONTEXT,
+                () -> METADATA_EN_AU
             )
         );
     }
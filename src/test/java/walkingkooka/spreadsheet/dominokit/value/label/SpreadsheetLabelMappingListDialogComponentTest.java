@@ -18,6 +18,7 @@
 package walkingkooka.spreadsheet.dominokit.value.label;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.net.Url;
@@ -49,6 +50,7 @@ import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
@@ -104,13 +106,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "                Cell\n" +
                 "                Formatted\n" +
                 "                Links\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" DISABLED id=SpreadsheetLabelMappingList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=SpreadsheetLabelMappingList-next-Link\n" +
                 "              PLUGINS\n" +
-                "                BodyScrollPlugin\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
@@ -154,13 +151,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "                Cell\n" +
                 "                Formatted\n" +
                 "                Links\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" DISABLED id=SpreadsheetLabelMappingList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=SpreadsheetLabelMappingList-next-Link\n" +
                 "              PLUGINS\n" +
-                "                BodyScrollPlugin\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
@@ -170,7 +162,7 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
 
         context.deltaFetcherWatchers.onSpreadsheetDelta(
             HttpMethod.GET,
-            Url.parseRelative("/api/spreadsheet/123/label/*/"),
+            Url.parseRelative("/api/spreadsheet/123/label/*?count=20"),
             SpreadsheetDelta.EMPTY.setLabels(
                 Sets.of(
                     A1LABEL.setLabelMappingReference(SpreadsheetSelection.A1),
@@ -227,13 +219,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "                        ROW\n" +
                 "                          \"References\" [#/123/SpreadsheetName456/cell/B2LABEL/references] (0) id=SpreadsheetLabelMappingList-labels-B2LABEL-references-Link\n" +
                 "                          \"Delete\" [#/123/SpreadsheetName456/label/B2LABEL/delete] id=SpreadsheetLabelMappingList-labels-B2LABEL-delete-Link\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" DISABLED id=SpreadsheetLabelMappingList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=SpreadsheetLabelMappingList-next-Link\n" +
                 "              PLUGINS\n" +
-                "                BodyScrollPlugin\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
@@ -243,7 +230,7 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
     }
 
     @Test
-    public void testOnHistoryTokenChangeWithSpreadsheetLabelMappingListHistoryTokenWithOffset() {
+    public void testOnHistoryTokenChangeWithSpreadsheetLabelMappingListHistoryTokenWithOffsetIgnored() {
         final SpreadsheetLabelMappingListHistoryToken historyToken = HistoryToken.labelMappingList(
             SPREADSHEET_ID,
             SPREADSHEET_NAME,
@@ -252,9 +239,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
 
         final TestAppContext context = this.appContext(historyToken);
 
-        final SpreadsheetLabelMappingListDialogComponent dialog = SpreadsheetLabelMappingListDialogComponent.with(
-            new TestSpreadsheetLabelMappingListDialogComponentContext(context)
-        );
+        final TestSpreadsheetLabelMappingListDialogComponentContext dialogContext = new TestSpreadsheetLabelMappingListDialogComponentContext(context);
+        final SpreadsheetLabelMappingListDialogComponent dialog = SpreadsheetLabelMappingListDialogComponent.with(dialogContext);
 
         context.metadataFetcherWatchers.onSpreadsheetMetadata(
             METADATA
@@ -277,13 +263,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "                Cell\n" +
                 "                Formatted\n" +
                 "                Links\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" [#/123/SpreadsheetName456/label/*/offset/2] id=SpreadsheetLabelMappingList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=SpreadsheetLabelMappingList-next-Link\n" +
                 "              PLUGINS\n" +
-                "                BodyScrollPlugin\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
@@ -291,12 +272,21 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "            \"Close\" [#/123/SpreadsheetName456] id=SpreadsheetLabelMappingList-close-Link\n"
         );
 
+        // offset in the history token is ignored, pages are loaded from the top
+        this.checkEquals(
+            Lists.of(
+                SPREADSHEET_ID + " " + HistoryTokenOffsetAndCount.with(OptionalInt.of(0), OptionalInt.of(20)),
+                SPREADSHEET_ID + " " + HistoryTokenOffsetAndCount.with(OptionalInt.of(20), OptionalInt.of(20))
+            ),
+            dialogContext.loads,
+            "loads"
+        );
+
         context.deltaFetcherWatchers.onSpreadsheetDelta(
             HttpMethod.GET,
-            Url.parseRelative("/api/spreadsheet/123/label/*/offset/1"),
+            Url.parseRelative("/api/spreadsheet/123/label/*?count=20"),
             SpreadsheetDelta.EMPTY.setLabels(
                 Sets.of(
-                    //A1LABEL.setLabelMappingReference(SpreadsheetSelection.A1), offset=1
                     SpreadsheetSelection.labelName("B2LABEL")
                         .setLabelMappingReference(SpreadsheetSelection.parseCell("B2")),
                     SpreadsheetSelection.labelName("C3LABEL")
@@ -352,13 +342,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "                        ROW\n" +
                 "                          \"References\" [#/123/SpreadsheetName456/cell/C3LABEL/references] (0) id=SpreadsheetLabelMappingList-labels-C3LABEL-references-Link\n" +
                 "                          \"Delete\" [#/123/SpreadsheetName456/label/C3LABEL/delete] id=SpreadsheetLabelMappingList-labels-C3LABEL-delete-Link\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" [#/123/SpreadsheetName456/label/*/offset/2] id=SpreadsheetLabelMappingList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=SpreadsheetLabelMappingList-next-Link\n" +
                 "              PLUGINS\n" +
-                "                BodyScrollPlugin\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
@@ -403,13 +388,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "                Cell\n" +
                 "                Formatted\n" +
                 "                Links\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" DISABLED id=SpreadsheetLabelMappingList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=SpreadsheetLabelMappingList-next-Link\n" +
                 "              PLUGINS\n" +
-                "                BodyScrollPlugin\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
@@ -419,10 +399,9 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
 
         context.deltaFetcherWatchers.onSpreadsheetDelta(
             HttpMethod.GET,
-            Url.parseRelative("/api/spreadsheet/123/label/*/offset/1"),
+            Url.parseRelative("/api/spreadsheet/123/cell/A1/labels?count=20"),
             SpreadsheetDelta.EMPTY.setLabels(
                 Sets.of(
-                    //A1LABEL.setLabelMappingReference(SpreadsheetSelection.A1), offset=1
                     SpreadsheetSelection.labelName("B2LABEL")
                         .setLabelMappingReference(SpreadsheetSelection.parseCell("B2")),
                     SpreadsheetSelection.labelName("C3LABEL")
@@ -478,13 +457,8 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
                 "                        ROW\n" +
                 "                          \"References\" [#/123/SpreadsheetName456/cell/C3LABEL/references] (0) id=SpreadsheetLabelMappingList-labels-C3LABEL-references-Link\n" +
                 "                          \"Delete\" [#/123/SpreadsheetName456/label/C3LABEL/delete] id=SpreadsheetLabelMappingList-labels-C3LABEL-delete-Link\n" +
-                "              CHILDREN\n" +
-                "                FlexLayoutComponent\n" +
-                "                  ROW\n" +
-                "                    mdi-arrow-left \"previous\" DISABLED id=SpreadsheetLabelMappingList-previous-Link\n" +
-                "                    \"next\" DISABLED mdi-arrow-right id=SpreadsheetLabelMappingList-next-Link\n" +
                 "              PLUGINS\n" +
-                "                BodyScrollPlugin\n" +
+                "                VirtualScrollPlugin rowHeight=32 pageSize=20\n" +
                 "      AnchorListComponent\n" +
                 "        FlexLayoutComponent\n" +
                 "          ROW\n" +
@@ -605,9 +579,11 @@ public final class SpreadsheetLabelMappingListDialogComponentTest implements Dia
         @Override
         public void loadLabelMappings(final SpreadsheetId id,
                                       final HistoryTokenOffsetAndCount offsetAndCount) {
-            // NOP
+            this.loads.add(id + " " + offsetAndCount);
         }
 
+        final List<String> loads = Lists.array();
+
         @Override
         public Optional<SpreadsheetSelection> resolveLabel(final SpreadsheetLabelName spreadsheetLabelName) {
             return this.context.resolveLabel(spreadsheetLabelName);
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.value.label;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.net.Url;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetLabelNameIndexTest implements ClassTesting<SpreadsheetLabelNameIndex> {
+
+    private final static SpreadsheetId ID = SpreadsheetId.with(1);
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetLabelNameIndex.with(null)
+        );
+    }
+
+    @Test
+    public void testFindLabelByNameStartsLoading() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        this.findLabelByNameAndCheck(
+            index,
+            "A"
+        );
+        this.findLabelByNameAndCheck(
+            index,
+            "AB"
+        );
+
+        this.checkEquals(
+            Lists.of("1 0 100"),
+            context.loads
+        );
+    }
+
+    @Test
+    public void testFindLabelByNameAfterLoad() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+        context.labelMappings(
+            "Apple",
+            "Banana",
+            "Pineapple",
+            "Apricot",
+            "Cherry"
+        );
+
+        this.findLabelByNameAndCheck(
+            index,
+            "ap",
+            "Apple",
+            "Apricot",
+            "Pineapple"
+        );
+    }
+
+    @Test
+    public void testFindLabelByNameCount() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+        context.labelMappings(
+            "Apple",
+            "Apricot",
+            "Pineapple"
+        );
+
+        this.checkEquals(
+            Optional.of(
+                Lists.of(
+                    SpreadsheetSelection.labelName("Apple")
+                )
+            ),
+            index.findLabelByName(ID, "AP", 1)
+        );
+    }
+
+    @Test
+    public void testFindLabelByNameLoadsMorePages() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+
+        final List<String> page = Lists.array();
+        for (int i = 0; i < SpreadsheetLabelNameIndex.PAGE_SIZE; i++) {
+            page.add("Label" + i);
+        }
+        context.labelMappings(page.toArray(new String[0]));
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Label"
+        );
+
+        context.labelMappings("Last");
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Las",
+            "Last"
+        );
+
+        this.checkEquals(
+            Lists.of("1 0 100", "1 100 100"),
+            context.loads
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaOtherPageIgnored() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+
+        // a page from the label list dialog, should not complete the index
+        context.labelMappingsWithUrl(
+            "/api/spreadsheet/1/label/*?offset=20&count=20",
+            "Apple"
+        );
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Ap"
+        );
+
+        context.labelMappings("Apricot");
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Ap",
+            "Apple",
+            "Apricot"
+        );
+
+        this.checkEquals(
+            Lists.of("1 0 100"),
+            context.loads
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaDeletedLabels() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+        context.labelMappings(
+            "Apple",
+            "Apricot"
+        );
+
+        context.watcher.onSpreadsheetDelta(
+            HttpMethod.DELETE,
+            Url.parseRelative("/api/spreadsheet/1/label/Apple"),
+            SpreadsheetDelta.EMPTY.setDeletedLabels(
+                Sets.of(
+                    SpreadsheetSelection.labelName("Apple")
+                )
+            )
+        );
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Ap",
+            "Apricot"
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaDifferentSpreadsheetIgnored() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+        context.labelMappings("Apple");
+
+        context.watcher.onSpreadsheetDelta(
+            HttpMethod.POST,
+            Url.parseRelative("/api/spreadsheet/2/label"),
+            SpreadsheetDelta.EMPTY.setLabels(
+                Sets.of(
+                    SpreadsheetSelection.labelName("Apricot")
+                        .setLabelMappingReference(SpreadsheetSelection.A1)
+                )
+            )
+        );
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Ap",
+            "Apple"
+        );
+    }
+
+    @Test
+    public void testOnFailureRequestedPageRetriedByNextFind() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+
+        context.watcher.onFailure(
+            HttpMethod.GET,
+            Url.parseRelative("/api/spreadsheet/1/label/*?count=" + SpreadsheetLabelNameIndex.PAGE_SIZE),
+            HttpStatusCode.INTERNAL_SERVER_ERROR.status(),
+            null, // headers
+            "Failed"
+        );
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Ap"
+        );
+
+        this.checkEquals(
+            Lists.of("1 0 100", "1 0 100"),
+            context.loads
+        );
+    }
+
+    @Test
+    public void testOnFailureOtherPageIgnored() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+
+        context.watcher.onFailure(
+            HttpMethod.GET,
+            Url.parseRelative("/api/spreadsheet/1/label/*?offset=20&count=20"),
+            HttpStatusCode.INTERNAL_SERVER_ERROR.status(),
+            null, // headers
+            "Failed"
+        );
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Ap"
+        );
+
+        this.checkEquals(
+            Lists.of("1 0 100"),
+            context.loads
+        );
+    }
+
+    @Test
+    public void testOnErrorRetriedByNextFind() {
+        final TestSpreadsheetLabelNameIndexContext context = new TestSpreadsheetLabelNameIndexContext();
+        final SpreadsheetLabelNameIndex index = SpreadsheetLabelNameIndex.with(context);
+
+        index.findLabelByName(ID, "", 10);
+
+        context.watcher.onError("Network error");
+
+        this.findLabelByNameAndCheck(
+            index,
+            "Ap"
+        );
+
+        this.checkEquals(
+            Lists.of("1 0 100", "1 0 100"),
+            context.loads
+        );
+    }
+
+    private void findLabelByNameAndCheck(final SpreadsheetLabelNameIndex index,
+                                         final String text,
+                                         final String... expected) {
+        this.checkEquals(
+            Optional.ofNullable(
+                expected.length == 0 ?
+                    null :
+                    Lists.of(expected)
+                        .stream()
+                        .map(SpreadsheetSelection::labelName)
+                        .collect(Collectors.toList())
+            ),
+            index.findLabelByName(
+                ID,
+                text,
+                10
+            ),
+            () -> "findLabelByName " + text
+        );
+    }
+
+    static final class TestSpreadsheetLabelNameIndexContext extends FakeSpreadsheetLabelNameIndexContext {
+
+        @Override
+        public void loadLabelMappings(final SpreadsheetId id,
+                                      final int offset,
+                                      final int count) {
+            this.loads.add(id + " " + offset + " " + count);
+        }
+
+        @Override
+        public Runnable addSpreadsheetDeltaFetcherWatcher(final SpreadsheetDeltaFetcherWatcher watcher) {
+            this.watcher = watcher;
+            return () -> {
+                throw new UnsupportedOperationException();
+            };
+        }
+
+        void labelMappings(final String... labels) {
+            final int offset = this.loaded;
+            this.loaded += labels.length;
+
+            this.labelMappingsWithUrl(
+                "/api/spreadsheet/1/label/*?" +
+                    (0 == offset ? "" : "offset=" + offset + "&") +
+                    "count=" + SpreadsheetLabelNameIndex.PAGE_SIZE,
+                labels
+            );
+        }
+
+        private int loaded;
+
+        void labelMappingsWithUrl(final String url,
+                                  final String... labels) {
+            final Set<SpreadsheetLabelMapping> mappings = Sets.ordered();
+            for (final String label : labels) {
+                mappings.add(
+                    SpreadsheetSelection.labelName(label)
+                        .setLabelMappingReference(SpreadsheetSelection.A1)
+                );
+            }
+
+            this.watcher.onSpreadsheetDelta(
+                HttpMethod.GET,
+                Url.parseRelative(url),
+                SpreadsheetDelta.EMPTY.setLabels(mappings)
+            );
+        }
+
+        final List<String> loads = Lists.array();
+
+        SpreadsheetDeltaFetcherWatcher watcher;
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetLabelNameIndex> type() {
+        return SpreadsheetLabelNameIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
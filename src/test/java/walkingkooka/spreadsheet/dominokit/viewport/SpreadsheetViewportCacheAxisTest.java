@@ -0,0 +1,301 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetViewportCacheAxisTest implements ClassTesting<SpreadsheetViewportCacheAxis> {
+
+    private final static double DEFAULT = 100;
+
+    @Test
+    public void testSetSizeWithNegativeIndexFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetViewportCacheAxis.empty()
+                .setSize(-1, 10)
+        );
+    }
+
+    // offset...........................................................................................................
+
+    @Test
+    public void testOffsetEmpty() {
+        this.offsetAndCheck(
+            SpreadsheetViewportCacheAxis.empty(),
+            5,
+            5 * DEFAULT
+        );
+    }
+
+    @Test
+    public void testOffsetZero() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setSize(0, 10);
+
+        this.offsetAndCheck(
+            axis,
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testOffsetWithSizes() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setSize(0, 10);
+        axis.setSize(2, 30);
+
+        this.offsetAndCheck(
+            axis,
+            4,
+            10 + DEFAULT + 30 + DEFAULT
+        );
+    }
+
+    @Test
+    public void testOffsetSizeReplaced() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setSize(1, 10);
+        axis.setSize(1, 20);
+
+        this.offsetAndCheck(
+            axis,
+            2,
+            DEFAULT + 20
+        );
+    }
+
+    @Test
+    public void testOffsetSizeRemoved() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setSize(1, 10);
+        axis.removeSize(1);
+
+        this.offsetAndCheck(
+            axis,
+            2,
+            2 * DEFAULT
+        );
+    }
+
+    @Test
+    public void testOffsetAfterGrowing() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setSize(3, 10);
+        axis.setSize(1000, 20);
+        axis.setSize(100000, 30);
+
+        this.offsetAndCheck(
+            axis,
+            200000,
+            10 + 20 + 30 + (200000 - 3) * DEFAULT
+        );
+        this.offsetAndCheck(
+            axis,
+            1001,
+            10 + 20 + (1001 - 2) * DEFAULT
+        );
+    }
+
+    @Test
+    public void testOffsetMatchesSum() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+
+        final double[] sizes = new double[500];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = 0 == i % 3 ?
+                DEFAULT :
+                i;
+            if (0 != i % 3) {
+                axis.setSize(i, i);
+            }
+        }
+
+        double expected = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            this.offsetAndCheck(
+                axis,
+                i,
+                expected
+            );
+            expected += sizes[i];
+        }
+    }
+
+    @Test
+    public void testSize() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setSize(1, 10);
+        axis.setSize(2, 20);
+
+        this.checkEquals(
+            30.0,
+            axis.size(1, 3, DEFAULT)
+        );
+    }
+
+    @Test
+    public void testClear() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setSize(1, 10);
+        axis.setHidden(2, true);
+        axis.clear();
+
+        this.offsetAndCheck(
+            axis,
+            2,
+            2 * DEFAULT
+        );
+        this.checkEquals(
+            false,
+            axis.isHidden(2)
+        );
+    }
+
+    private void offsetAndCheck(final SpreadsheetViewportCacheAxis axis,
+                                final int index,
+                                final double expected) {
+        this.checkEquals(
+            expected,
+            axis.offset(index, DEFAULT),
+            () -> "offset " + index
+        );
+    }
+
+    // hidden...........................................................................................................
+
+    @Test
+    public void testNextVisibleNoneHidden() {
+        this.nextVisibleAndCheck(
+            SpreadsheetViewportCacheAxis.empty(),
+            5,
+            6
+        );
+    }
+
+    @Test
+    public void testNextVisibleSkipsSpan() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        for (int i = 6; i < 1000; i++) {
+            axis.setHidden(i, true);
+        }
+
+        this.nextVisibleAndCheck(
+            axis,
+            5,
+            1000
+        );
+        this.previousVisibleAndCheck(
+            axis,
+            1000,
+            5
+        );
+    }
+
+    @Test
+    public void testHiddenSpansMerged() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setHidden(1, true);
+        axis.setHidden(3, true);
+        axis.setHidden(2, true);
+
+        this.checkEquals(
+            "hidden: {1=3}",
+            axis.toString()
+        );
+        this.nextVisibleAndCheck(
+            axis,
+            0,
+            4
+        );
+    }
+
+    @Test
+    public void testHiddenSpanSplit() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setHidden(1, true);
+        axis.setHidden(2, true);
+        axis.setHidden(3, true);
+        axis.setHidden(2, false);
+
+        this.checkEquals(
+            "hidden: {1=1, 3=3}",
+            axis.toString()
+        );
+        this.nextVisibleAndCheck(
+            axis,
+            0,
+            2
+        );
+        this.previousVisibleAndCheck(
+            axis,
+            4,
+            2
+        );
+    }
+
+    @Test
+    public void testPreviousVisibleNone() {
+        final SpreadsheetViewportCacheAxis axis = SpreadsheetViewportCacheAxis.empty();
+        axis.setHidden(0, true);
+        axis.setHidden(1, true);
+
+        this.previousVisibleAndCheck(
+            axis,
+            2,
+            -1
+        );
+    }
+
+    private void nextVisibleAndCheck(final SpreadsheetViewportCacheAxis axis,
+                                     final int index,
+                                     final int expected) {
+        this.checkEquals(
+            expected,
+            axis.nextVisible(index),
+            axis::toString
+        );
+    }
+
+    private void previousVisibleAndCheck(final SpreadsheetViewportCacheAxis axis,
+                                         final int index,
+                                         final int expected) {
+        this.checkEquals(
+            expected,
+            axis.previousVisible(index),
+            axis::toString
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetViewportCacheAxis> type() {
+        return SpreadsheetViewportCacheAxis.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
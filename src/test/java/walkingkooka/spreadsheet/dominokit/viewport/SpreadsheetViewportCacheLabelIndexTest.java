@@ -0,0 +1,348 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetViewportCacheLabelIndexTest implements ClassTesting<SpreadsheetViewportCacheLabelIndex> {
+
+    private final static SpreadsheetLabelName LABEL1 = SpreadsheetSelection.labelName("Label111");
+
+    private final static SpreadsheetLabelName LABEL2 = SpreadsheetSelection.labelName("Label222");
+
+    @Test
+    public void testAddWithNullRangeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportCacheLabelIndex.empty()
+                .add(
+                    null,
+                    LABEL1
+                )
+        );
+    }
+
+    @Test
+    public void testAddWithNullLabelFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportCacheLabelIndex.empty()
+                .add(
+                    SpreadsheetSelection.parseCellRange("A1:B2"),
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testLabelsEmpty() {
+        this.labelsAndCheck(
+            SpreadsheetViewportCacheLabelIndex.empty(),
+            "A1:Z99"
+        );
+    }
+
+    @Test
+    public void testLabelsCell() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("B2"),
+            LABEL1
+        );
+
+        this.labelsAndCheck(
+            index,
+            "B2",
+            LABEL1
+        );
+        this.labelsAndCheck(
+            index,
+            "A1"
+        );
+        this.labelsAndCheck(
+            index,
+            "C3"
+        );
+    }
+
+    @Test
+    public void testLabelsRangeIntersects() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("B2:C3"),
+            LABEL1
+        );
+        index.add(
+            SpreadsheetSelection.parseCellRange("E5:F6"),
+            LABEL2
+        );
+
+        this.labelsAndCheck(
+            index,
+            "A1:B2",
+            LABEL1
+        );
+        this.labelsAndCheck(
+            index,
+            "C3:E5",
+            LABEL1,
+            LABEL2
+        );
+        this.labelsAndCheck(
+            index,
+            "D4"
+        );
+        this.labelsAndCheck(
+            index,
+            "F1:F4"
+        );
+    }
+
+    @Test
+    public void testLabelsLargeRangeOverlappedByLaterSmallerRange() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:Z10000"),
+            LABEL1
+        );
+        index.add(
+            SpreadsheetSelection.parseCellRange("C3"),
+            LABEL2
+        );
+
+        this.labelsAndCheck(
+            index,
+            "Z9999",
+            LABEL1
+        );
+        this.labelsAndCheck(
+            index,
+            "C3",
+            LABEL1,
+            LABEL2
+        );
+    }
+
+    @Test
+    public void testAddSameRangeTwice() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:B2"),
+            LABEL1
+        );
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:B2"),
+            LABEL1
+        );
+
+        this.sizeAndCheck(
+            index,
+            1
+        );
+    }
+
+    @Test
+    public void testRemoveCell() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:C3"),
+            LABEL1
+        );
+        index.removeCell(
+            SpreadsheetSelection.parseCell("B2")
+        );
+
+        this.labelsAndCheck(
+            index,
+            "B2"
+        );
+
+        final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> expected = Maps.sorted();
+        for (final String cell : new String[]{"A1", "B1", "C1", "A2", "C2", "A3", "B3", "C3"}) {
+            expected.put(
+                SpreadsheetSelection.parseCell(cell),
+                Sets.of(LABEL1)
+            );
+        }
+
+        this.checkEquals(
+            expected,
+            index.toMap()
+        );
+
+        this.sizeAndCheck(
+            index,
+            4
+        );
+    }
+
+    @Test
+    public void testRemoveCellThenAddRangeAgain() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:C3"),
+            LABEL1
+        );
+        index.removeCell(
+            SpreadsheetSelection.parseCell("B2")
+        );
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:C3"),
+            LABEL1
+        );
+
+        this.labelsAndCheck(
+            index,
+            "B2",
+            LABEL1
+        );
+
+        this.sizeAndCheck(
+            index,
+            1
+        );
+    }
+
+    @Test
+    public void testRemoveOnlyCell() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1"),
+            LABEL1
+        );
+        index.removeCell(
+            SpreadsheetSelection.parseCell("A1")
+        );
+
+        this.checkEquals(
+            true,
+            index.isEmpty()
+        );
+        this.labelsAndCheck(
+            index,
+            "A1"
+        );
+    }
+
+    @Test
+    public void testRemoveCells() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:D4"),
+            LABEL1
+        );
+        index.add(
+            SpreadsheetSelection.parseCellRange("F6"),
+            LABEL2
+        );
+
+        // B2:C3 and D1 from LABEL1, nothing from LABEL2
+        index.removeCells(
+            Lists.of(
+                SpreadsheetSelection.parseCell("C3"),
+                SpreadsheetSelection.parseCell("B2"),
+                SpreadsheetSelection.parseCell("D1"),
+                SpreadsheetSelection.parseCell("C2"),
+                SpreadsheetSelection.parseCell("B3"),
+                SpreadsheetSelection.parseCell("Z99")
+            )
+        );
+
+        final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> expected = Maps.sorted();
+        for (final String cell : new String[]{"A1", "B1", "C1", "A2", "D2", "A3", "D3", "A4", "B4", "C4", "D4"}) {
+            expected.put(
+                SpreadsheetSelection.parseCell(cell),
+                Sets.of(LABEL1)
+            );
+        }
+        expected.put(
+            SpreadsheetSelection.parseCell("F6"),
+            Sets.of(LABEL2)
+        );
+
+        this.checkEquals(
+            expected,
+            index.toMap()
+        );
+    }
+
+    @Test
+    public void testClear() {
+        final SpreadsheetViewportCacheLabelIndex index = SpreadsheetViewportCacheLabelIndex.empty();
+        index.add(
+            SpreadsheetSelection.parseCellRange("A1:B2"),
+            LABEL1
+        );
+        index.clear();
+
+        this.checkEquals(
+            true,
+            index.isEmpty()
+        );
+        this.labelsAndCheck(
+            index,
+            "A1"
+        );
+    }
+
+    private void labelsAndCheck(final SpreadsheetViewportCacheLabelIndex index,
+                                final String range,
+                                final SpreadsheetLabelName... expected) {
+        this.checkEquals(
+            Sets.of(expected),
+            index.labels(
+                SpreadsheetSelection.parseCellRange(range)
+            ),
+            () -> "labels " + range
+        );
+    }
+
+    private void sizeAndCheck(final SpreadsheetViewportCacheLabelIndex index,
+                              final int expected) {
+        this.checkEquals(
+            expected,
+            index.size(),
+            index::toString
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetViewportCacheLabelIndex> type() {
+        return SpreadsheetViewportCacheLabelIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
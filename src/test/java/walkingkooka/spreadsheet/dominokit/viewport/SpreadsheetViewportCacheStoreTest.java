@@ -0,0 +1,494 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetViewportCacheStoreTest implements ClassTesting<SpreadsheetViewportCacheStore<?, ?>> {
+
+    private final static SpreadsheetCellReference A1 = SpreadsheetSelection.parseCell("A1");
+
+    private final static SpreadsheetCellReference B2 = SpreadsheetSelection.parseCell("B2");
+
+    @Test
+    public void testPutWithNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportCacheStore.cell()
+                .put(
+                    null,
+                    "value"
+                )
+        );
+    }
+
+    @Test
+    public void testPutWithNullValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportCacheStore.cell()
+                .put(
+                    A1,
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testGetMissing() {
+        this.getAndCheck(
+            SpreadsheetViewportCacheStore.cell(),
+            A1,
+            null
+        );
+    }
+
+    @Test
+    public void testPutGet() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(A1, "a1");
+        store.put(B2, "b2");
+
+        this.getAndCheck(
+            store,
+            A1,
+            "a1"
+        );
+        this.getAndCheck(
+            store,
+            B2,
+            "b2"
+        );
+        this.getAndCheck(
+            store,
+            SpreadsheetSelection.parseCell("A2"),
+            null
+        );
+        this.checkEquals(
+            2,
+            store.size()
+        );
+    }
+
+    @Test
+    public void testPutGetIgnoresReferenceKind() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(A1, "a1");
+
+        this.getAndCheck(
+            store,
+            SpreadsheetSelection.parseCell("$A$1"),
+            "a1"
+        );
+    }
+
+    @Test
+    public void testPutReplaceKeepsFlag() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(A1, "a1");
+        store.flag(A1);
+        store.put(A1, "replaced");
+
+        this.getAndCheck(
+            store,
+            A1,
+            "replaced"
+        );
+        this.checkEquals(
+            true,
+            store.isFlagged(A1)
+        );
+        this.checkEquals(
+            1,
+            store.size()
+        );
+    }
+
+    @Test
+    public void testFlagMissingNotFlagged() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.flag(A1);
+
+        this.checkEquals(
+            false,
+            store.isFlagged(A1)
+        );
+        this.checkEquals(
+            Sets.empty(),
+            store.flagged()
+        );
+    }
+
+    @Test
+    public void testFlagMissingThenPutFlagged() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.flag(SpreadsheetSelection.parseCell("$A$1"));
+        store.put(A1, "a1");
+        store.put(B2, "b2");
+
+        this.checkEquals(
+            true,
+            store.isFlagged(A1)
+        );
+        this.checkEquals(
+            Sets.of(A1),
+            store.flagged()
+        );
+    }
+
+    @Test
+    public void testFlagMissingUnflagAllThenPutNotFlagged() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.flag(A1);
+        store.unflagAll();
+        store.put(A1, "a1");
+
+        this.checkEquals(
+            false,
+            store.isFlagged(A1)
+        );
+    }
+
+    @Test
+    public void testFlagMissingRemoveThenPutNotFlagged() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.flag(A1);
+        store.remove(A1);
+        store.put(A1, "a1");
+
+        this.checkEquals(
+            false,
+            store.isFlagged(A1)
+        );
+    }
+
+    @Test
+    public void testFlagMissingClearThenPutNotFlagged() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.flag(A1);
+        store.clear();
+        store.put(A1, "a1");
+
+        this.checkEquals(
+            false,
+            store.isFlagged(A1)
+        );
+    }
+
+    @Test
+    public void testUnflagAll() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(A1, "a1");
+        store.flag(A1);
+        store.put(B2, "b2");
+        store.flag(B2);
+
+        store.unflagAll();
+
+        this.checkEquals(
+            Sets.empty(),
+            store.flagged()
+        );
+        this.getAndCheck(
+            store,
+            A1,
+            "a1"
+        );
+        this.checkEquals(
+            2,
+            store.size()
+        );
+    }
+
+    @Test
+    public void testRemove() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(A1, "a1");
+        store.flag(A1);
+        store.put(B2, "b2");
+
+        this.checkEquals(
+            "a1",
+            store.remove(A1)
+        );
+        this.getAndCheck(
+            store,
+            A1,
+            null
+        );
+        this.checkEquals(
+            false,
+            store.isFlagged(A1)
+        );
+        this.getAndCheck(
+            store,
+            B2,
+            "b2"
+        );
+    }
+
+    @Test
+    public void testPutManyRemoveHalfGrowsAndKeepsProbeChains() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        final List<SpreadsheetCellReference> cells = cells(30, 20);
+
+        for (final SpreadsheetCellReference cell : cells) {
+            store.put(
+                cell,
+                cell.toString()
+            );
+        }
+
+        int i = 0;
+        for (final SpreadsheetCellReference cell : cells) {
+            if (0 == i % 2) {
+                store.remove(cell);
+            }
+            i++;
+        }
+
+        this.checkEquals(
+            cells.size() / 2,
+            store.size()
+        );
+
+        i = 0;
+        for (final SpreadsheetCellReference cell : cells) {
+            this.getAndCheck(
+                store,
+                cell,
+                0 == i % 2 ?
+                    null :
+                    cell.toString()
+            );
+            i++;
+        }
+    }
+
+    @Test
+    public void testColumn() {
+        final SpreadsheetViewportCacheStore<SpreadsheetColumnReference, String> store = SpreadsheetViewportCacheStore.column();
+        final SpreadsheetColumnReference column = SpreadsheetSelection.parseColumn("B");
+        store.put(column, "b");
+
+        this.checkEquals(
+            "b",
+            store.get(column)
+        );
+        this.checkEquals(
+            null,
+            store.get(SpreadsheetSelection.parseColumn("C"))
+        );
+    }
+
+    @Test
+    public void testRow() {
+        final SpreadsheetViewportCacheStore<SpreadsheetRowReference, String> store = SpreadsheetViewportCacheStore.row();
+        final SpreadsheetRowReference row = SpreadsheetSelection.parseRow("2");
+        store.put(row, "2");
+
+        this.checkEquals(
+            "2",
+            store.get(row)
+        );
+        this.checkEquals(
+            null,
+            store.get(SpreadsheetSelection.parseRow("3"))
+        );
+    }
+
+    @Test
+    public void testClear() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(A1, "a1");
+        store.clear();
+
+        this.checkEquals(
+            true,
+            store.isEmpty()
+        );
+        this.getAndCheck(
+            store,
+            A1,
+            null
+        );
+    }
+
+    @Test
+    public void testToMap() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(B2, "b2");
+        store.put(A1, "a1");
+
+        this.checkEquals(
+            Maps.of(
+                A1,
+                "a1",
+                B2,
+                "b2"
+            ),
+            store.toMap()
+        );
+    }
+
+    @Test
+    public void testCopyToWithFilter() {
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        store.put(A1, "a1");
+        store.put(B2, "b2");
+
+        final SpreadsheetCellReference c3 = SpreadsheetSelection.parseCell("C3");
+        store.put(c3, "c3");
+
+        this.checkEquals(
+            Maps.of(
+                B2,
+                "b2",
+                c3,
+                "c3"
+            ),
+            store.copyTo(
+                SpreadsheetSelectionMaps.<String>cell(),
+                SpreadsheetSelection.parseCellRange("B2:C3")::test
+            )
+        );
+    }
+
+    // benchmark........................................................................................................
+
+    /**
+     * Compares looking up every cell of a 200x60 window in the store against the tree map the cache used before, and
+     * prints the average time per pass. This is not part of the default test run, run it with
+     * <code>-Dbenchmark=true -Dtest=SpreadsheetViewportCacheStoreTest</code>.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void testBenchmarkWindow() {
+        final List<SpreadsheetCellReference> cells = cells(200, 60);
+
+        final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store = SpreadsheetViewportCacheStore.cell();
+        final Map<SpreadsheetCellReference, String> map = SpreadsheetSelectionMaps.cell();
+
+        for (final SpreadsheetCellReference cell : cells) {
+            store.put(cell, "store");
+            map.put(cell, "map");
+        }
+
+        final int passes = 50;
+        long storeNanos = 0;
+        long mapNanos = 0;
+        int found = 0;
+
+        for (int i = 0; i < passes; i++) {
+            final long start = System.nanoTime();
+            for (final SpreadsheetCellReference cell : cells) {
+                if (null != store.get(cell)) {
+                    found++;
+                }
+            }
+            final long middle = System.nanoTime();
+            for (final SpreadsheetCellReference cell : cells) {
+                if (null != map.get(cell)) {
+                    found++;
+                }
+            }
+            final long end = System.nanoTime();
+
+            storeNanos += middle - start;
+            mapNanos += end - middle;
+        }
+
+        this.checkEquals(
+            passes * cells.size() * 2,
+            found
+        );
+
+        System.out.println(
+            "200x60 window lookups store: " + storeNanos / passes / 1000 + "us map: " + mapNanos / passes / 1000 + "us"
+        );
+    }
+
+    private void getAndCheck(final SpreadsheetViewportCacheStore<SpreadsheetCellReference, String> store,
+                             final SpreadsheetCellReference cell,
+                             final String expected) {
+        this.checkEquals(
+            expected,
+            store.get(cell),
+            () -> "get " + cell
+        );
+    }
+
+    private static List<SpreadsheetCellReference> cells(final int columns,
+                                                        final int rows) {
+        final List<SpreadsheetCellReference> cells = Lists.array();
+
+        for (int column = 0; column < columns; column++) {
+            final String columnName = columnName(column);
+
+            for (int row = 1; row <= rows; row++) {
+                cells.add(
+                    SpreadsheetSelection.parseCell(columnName + row)
+                );
+            }
+        }
+
+        return cells;
+    }
+
+    private static String columnName(final int column) {
+        final StringBuilder b = new StringBuilder();
+
+        int i = column + 1;
+        while (i > 0) {
+            i--;
+            b.insert(0, (char) ('A' + i % 26));
+            i = i / 26;
+        }
+
+        return b.toString();
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetViewportCacheStore<?, ?>> type() {
+        return Cast.to(SpreadsheetViewportCacheStore.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -24,6 +24,7 @@ import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.color.Color;
 import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.RelativeUrl;
 import walkingkooka.net.Url;
 import walkingkooka.net.UrlFragment;
 import walkingkooka.net.http.HttpMethod;
@@ -31,11 +32,13 @@ import walkingkooka.reflect.ClassTesting;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.spreadsheet.dominokit.AppContext;
 import walkingkooka.spreadsheet.dominokit.FakeAppContext;
+import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetDeltaFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.fetcher.SpreadsheetMetadataFetcherWatcher;
 import walkingkooka.spreadsheet.dominokit.history.HistoryToken;
 import walkingkooka.spreadsheet.dominokit.history.HistoryWatcher;
 import walkingkooka.spreadsheet.dominokit.history.HistoryWatchers;
+import walkingkooka.spreadsheet.engine.SpreadsheetCellQueryRequest;
 import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
 import walkingkooka.spreadsheet.format.pattern.SpreadsheetPattern;
 import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
@@ -173,6 +176,112 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
         );
     }
 
+    // nextVisibleRow...................................................................................................
+
+    @Test
+    public void testNextVisibleRowSkipsHidden() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY.setRows(
+                Sets.of(
+                    ROW_2.setHidden(true),
+                    ROW_3_REF.row()
+                        .setHidden(true)
+                )
+            )
+        );
+        this.checkEquals(
+            Optional.of(
+                SpreadsheetSelection.parseRow("4")
+            ),
+            cache.nextVisibleRow(ROW_1_REF),
+            cache::toString
+        );
+        this.checkEquals(
+            Optional.of(ROW_1_REF),
+            cache.previousVisibleRow(
+                SpreadsheetSelection.parseRow("4")
+            ),
+            cache::toString
+        );
+    }
+
+    @Test
+    public void testNextVisibleRowAfterUnhidden() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY.setRows(
+                Sets.of(
+                    ROW_2.setHidden(true)
+                )
+            )
+        );
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY.setRows(
+                Sets.of(
+                    ROW_2.setHidden(false)
+                )
+            )
+        );
+        this.checkEquals(
+            Optional.of(ROW_2_REF),
+            cache.nextVisibleRow(ROW_1_REF),
+            cache::toString
+        );
+    }
+
+    @Test
+    public void testNextVisibleRowLast() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        final SpreadsheetRowReference last = SpreadsheetSelection.parseRow("1048576");
+
+        this.checkEquals(
+            Optional.empty(),
+            cache.nextVisibleRow(last),
+            cache::toString
+        );
+    }
+
+    @Test
+    public void testNextVisibleColumnLast() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        final SpreadsheetColumnReference last = SpreadsheetSelection.parseColumn("XFD");
+
+        this.checkEquals(
+            Optional.empty(),
+            cache.nextVisibleColumn(last),
+            cache::toString
+        );
+    }
+
+    // columnOffset.....................................................................................................
+
+    @Test
+    public void testColumnOffset() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY.setColumnWidths(
+                Maps.of(
+                    A, 10.0,
+                    B, 20.0
+                )
+            )
+        );
+        this.checkEquals(
+            30.0,
+            cache.columnOffset(C),
+            cache::toString
+        );
+    }
+
     // clear............................................................................................................
 
     @Test
@@ -703,6 +812,325 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
         );
     }
 
+    @Test
+    public void testSetMaxCellsWithZeroFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.viewportCacheAndOpen()
+                .setMaxCells(0)
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaMaxCellsEvictsCellsOutsideWindows() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        cache.setMaxCells(2);
+
+        final SpreadsheetCell outside = SpreadsheetSelection.parseCell("Z99")
+            .setFormula(SpreadsheetFormula.EMPTY.setText("=99"));
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        A2_CELL,
+                        outside
+                    )
+                ).setWindow(WINDOW)
+        );
+
+        this.cellsAndCheck(
+            cache,
+            A1_CELL,
+            A2_CELL
+        );
+
+        this.checkEquals(
+            2,
+            cache.sizes()
+                .get("cells")
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaBelowMaxCellsKeepsCellsOutsideWindows() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+
+        final SpreadsheetCell outside = SpreadsheetSelection.parseCell("Z99")
+            .setFormula(SpreadsheetFormula.EMPTY.setText("=99"));
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        outside
+                    )
+                ).setWindow(WINDOW)
+        );
+
+        this.cellsAndCheck(
+            cache,
+            A1_CELL,
+            outside
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaMaxCellsEvictsFarthestCellsToLowWater() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        cache.setMaxCells(4); // low water 3
+
+        final SpreadsheetCell near = SpreadsheetSelection.parseCell("C4")
+            .setFormula(SpreadsheetFormula.EMPTY.setText("=4"));
+        final SpreadsheetCell middle = SpreadsheetSelection.parseCell("E5")
+            .setFormula(SpreadsheetFormula.EMPTY.setText("=5"));
+        final SpreadsheetCell far = SpreadsheetSelection.parseCell("Z99")
+            .setFormula(SpreadsheetFormula.EMPTY.setText("=99"));
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        A2_CELL,
+                        near,
+                        middle,
+                        far
+                    )
+                ).setWindow(WINDOW)
+        );
+
+        this.cellsAndCheck(
+            cache,
+            A1_CELL,
+            A2_CELL,
+            near
+        );
+    }
+
+    @Test
+    public void testOnSpreadsheetDeltaMaxCellsKeepsColumnsAndRowsOutsideWindows() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+        cache.setMaxCells(2);
+
+        final SpreadsheetCell far = SpreadsheetSelection.parseCell("Z99")
+            .setFormula(SpreadsheetFormula.EMPTY.setText("=99"));
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        A2_CELL,
+                        far
+                    )
+                ).setColumns(
+                    Sets.of(
+                        COLUMN_A,
+                        COLUMN_B,
+                        SpreadsheetSelection.parseColumn("Z")
+                            .column()
+                            .setHidden(true)
+                    )
+                ).setRows(
+                    Sets.of(
+                        ROW_1,
+                        ROW_2,
+                        SpreadsheetSelection.parseRow("99")
+                            .row()
+                            .setHidden(true)
+                    )
+                ).setWindow(WINDOW)
+        );
+
+        // the far cell is evicted
+        this.cellsAndCheck(
+            cache,
+            A1_CELL,
+            A2_CELL
+        );
+
+        final Map<String, Integer> sizes = cache.sizes();
+
+        this.checkEquals(
+            3,
+            sizes.get("columns"),
+            "columns"
+        );
+        this.checkEquals(
+            3,
+            sizes.get("rows"),
+            "rows"
+        );
+        this.checkEquals(
+            true,
+            cache.isColumnHidden(
+                SpreadsheetSelection.parseColumn("Z")
+            ),
+            "column Z hidden"
+        );
+        this.checkEquals(
+            true,
+            cache.isRowHidden(
+                SpreadsheetSelection.parseRow("99")
+            ),
+            "row 99 hidden"
+        );
+    }
+
+    @Test
+    public void testSetMatchedCellsQueriesWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.viewportCacheAndOpen()
+                .setMatchedCellsQueries(null)
+        );
+    }
+
+    @Test
+    public void testSetMatchedCellsQueriesClearsMatchedCells() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        A2_CELL
+                    )
+                ).setMatchedCells(
+                    Sets.of(
+                        A1
+                    )
+                ).setWindow(WINDOW)
+        );
+
+        cache.setMatchedCellsQueries(Sets.empty());
+
+        this.matchedCellsAndCheck(cache);
+
+        this.cellsAndCheck(
+            cache,
+            A1_CELL,
+            A2_CELL
+        );
+    }
+
+    @Test
+    public void testSetMatchedCellsQueriesThenOnSpreadsheetDeltaQueryResponse() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        A2_CELL
+                    )
+                ).setMatchedCells(
+                    Sets.of(
+                        A1
+                    )
+                ).setWindow(WINDOW)
+        );
+
+        final RelativeUrl url = SpreadsheetDeltaFetcher.queryCellsUrl(
+            ID1,
+            A1B3,
+            SpreadsheetCellQueryRequest.empty()
+        );
+
+        cache.setMatchedCellsQueries(
+            Sets.of(url)
+        );
+
+        // the query response cells only provide the references of the matched cells, the cached cells remain unchanged
+        cache.onSpreadsheetDelta(
+            METHOD,
+            url,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A2.setFormula(SpreadsheetFormula.EMPTY.setText("=999"))
+                    )
+                )
+        );
+
+        this.matchedCellsAndCheck(
+            cache,
+            A2
+        );
+
+        this.cellsAndCheck(
+            cache,
+            A1_CELL,
+            A2_CELL
+        );
+
+        this.checkEquals(
+            WINDOW,
+            cache.windows()
+        );
+    }
+
+    @Test
+    public void testSetMatchedCellsQueriesThenOnSpreadsheetDeltaQueryResponseBeforeCellsLoaded() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+
+        final RelativeUrl url = SpreadsheetDeltaFetcher.queryCellsUrl(
+            ID1,
+            A1B3,
+            SpreadsheetCellQueryRequest.empty()
+        );
+
+        cache.setMatchedCellsQueries(
+            Sets.of(url)
+        );
+
+        // the query response arrives before the matched cell is loaded
+        cache.onSpreadsheetDelta(
+            METHOD,
+            url,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A2.setFormula(SpreadsheetFormula.EMPTY.setText("=999"))
+                    )
+                )
+        );
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        A2_CELL
+                    )
+                ).setWindow(WINDOW)
+        );
+
+        this.matchedCellsAndCheck(
+            cache,
+            A2
+        );
+    }
+
     @Test
     public void testOnSpreadsheetDeltaTwiceColumnsReplaced() {
         final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
@@ -1424,6 +1852,32 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
         );
     }
 
+    @Test
+    public void testCellsRangeLargerThanCache() {
+        final SpreadsheetViewportCache cache = this.viewportCacheAndOpen();
+
+        cache.onSpreadsheetDelta(
+            METHOD,
+            URL_ID1,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        A1_CELL,
+                        A2_CELL,
+                        A3_CELL
+                    )
+                )
+        );
+
+        this.iterateAndCheck(
+            cache.cells(
+                SpreadsheetSelection.parseCellRange("A2:Z999")
+            ),
+            A2_CELL,
+            A3_CELL
+        );
+    }
+
     // cellLabels.......................................................................................................
 
     @Test
@@ -4019,7 +4473,7 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
                                final Map<SpreadsheetCellReference, SpreadsheetCell> expected) {
         this.checkEquals(
             expected,
-            cache.cells,
+            cache.cells.toMap(),
             "cells"
         );
 
@@ -4053,14 +4507,14 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
                                       final Set<SpreadsheetCellReference> matchedCells) {
         this.checkEquals(
             matchedCells,
-            cache.matchedCells,
+            cache.cells.flagged(),
             "matchedCells"
         );
 
 
         final Set<SpreadsheetCellReference> cells = SortedSets.tree();
-        cells.addAll(cache.matchedCells);
-        cells.removeAll(cache.cells.keySet());
+        cells.addAll(cache.cells.flagged());
+        cells.removeAll(cache.cells.toMap().keySet());
 
         this.checkEquals(
             Sets.empty(),
@@ -4099,7 +4553,7 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
                                  final Map<SpreadsheetColumnReference, SpreadsheetColumn> expected) {
         this.checkEquals(
             expected,
-            cache.columns,
+            cache.columns.toMap(),
             "columns"
         );
 
@@ -4125,7 +4579,7 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
 
         this.checkEquals(
             expectedLengths,
-            cache.columnWidths,
+            cache.columnWidths.toMap(),
             "columnWidths"
         );
 
@@ -4197,7 +4651,7 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
                               final Map<SpreadsheetRowReference, SpreadsheetRow> expected) {
         this.checkEquals(
             expected,
-            cache.rows,
+            cache.rows.toMap(),
             "rows"
         );
 
@@ -4223,7 +4677,7 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
 
         this.checkEquals(
             expectedLengths,
-            cache.rowHeights,
+            cache.rowHeights.toMap(),
             "rowHeights"
         );
 
@@ -4284,7 +4738,7 @@ public final class SpreadsheetViewportCacheTest implements IteratorTesting,
                                       final Map<SpreadsheetCellReference, Set<SpreadsheetLabelName>> expected) {
         this.checkEquals(
             expected,
-            cache.cellToLabels,
+            cache.labelIndex.toMap(),
             "cellToLabels"
         );
 
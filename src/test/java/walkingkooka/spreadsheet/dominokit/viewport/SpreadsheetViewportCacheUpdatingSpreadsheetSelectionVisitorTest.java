@@ -17,7 +17,6 @@
 
 package walkingkooka.spreadsheet.dominokit.viewport;
 
-import walkingkooka.collect.map.Maps;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelectionVisitorTesting;
 import walkingkooka.spreadsheet.viewport.SpreadsheetViewportWindows;
@@ -29,7 +28,7 @@ public final class SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitorTe
     public SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor createVisitor() {
         return SpreadsheetViewportCacheUpdatingSpreadsheetSelectionVisitor.accept(
             Collections.emptyList(),
-            Maps.empty(),
+            SpreadsheetViewportCacheLabelIndex.empty(),
             Collections.emptyMap(),
             SpreadsheetViewportWindows.parse("A1:Z99")
         );
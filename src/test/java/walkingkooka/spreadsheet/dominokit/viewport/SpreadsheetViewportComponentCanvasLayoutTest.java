@@ -0,0 +1,455 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetViewportComponentCanvasLayoutTest implements ClassTesting<SpreadsheetViewportComponentCanvasLayout> {
+
+    private final static SpreadsheetColumnReference A = SpreadsheetSelection.parseColumn("A");
+
+    private final static SpreadsheetColumnReference B = SpreadsheetSelection.parseColumn("B");
+
+    private final static SpreadsheetColumnReference C = SpreadsheetSelection.parseColumn("C");
+
+    private final static SpreadsheetColumnReference D = SpreadsheetSelection.parseColumn("D");
+
+    private final static SpreadsheetRowReference ROW1 = SpreadsheetSelection.parseRow("1");
+
+    private final static SpreadsheetRowReference ROW2 = SpreadsheetSelection.parseRow("2");
+
+    private final static SpreadsheetRowReference ROW3 = SpreadsheetSelection.parseRow("3");
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullColumnsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportComponentCanvasLayout.with(
+                false,
+                null,
+                SpreadsheetViewportComponentCanvasLayoutTest::columnWidth,
+                100,
+                SortedSets.of(ROW1),
+                SpreadsheetViewportComponentCanvasLayoutTest::rowHeight,
+                100
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullRowsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportComponentCanvasLayout.with(
+                false,
+                SortedSets.of(A),
+                SpreadsheetViewportComponentCanvasLayoutTest::columnWidth,
+                100,
+                null,
+                SpreadsheetViewportComponentCanvasLayoutTest::rowHeight,
+                100
+            )
+        );
+    }
+
+    // geometry.........................................................................................................
+
+    @Test
+    public void testEmpty() {
+        final SpreadsheetViewportComponentCanvasLayout layout = SpreadsheetViewportComponentCanvasLayout.EMPTY;
+
+        this.checkEquals(
+            0,
+            layout.columnCount(),
+            "columnCount"
+        );
+        this.checkEquals(
+            0,
+            layout.rowCount(),
+            "rowCount"
+        );
+        this.hitTestAndCheck(
+            layout,
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testColumnsWithoutHeaders() {
+        final SpreadsheetViewportComponentCanvasLayout layout = this.layout(false);
+
+        // D starts at 250 which is beyond the grid width of 180
+        this.checkEquals(
+            3,
+            layout.columnCount(),
+            "columnCount"
+        );
+
+        this.columnAndCheck(layout, 0, A, 0, 100);
+        this.columnAndCheck(layout, 1, B, 100, 50);
+        this.columnAndCheck(layout, 2, C, 150, 100);
+
+        this.checkEquals(
+            250.0,
+            layout.columnLeft(3),
+            "right"
+        );
+    }
+
+    @Test
+    public void testRowsWithoutHeaders() {
+        final SpreadsheetViewportComponentCanvasLayout layout = this.layout(false);
+
+        // 3 starts at 60 which is beyond the grid height of 50
+        this.checkEquals(
+            2,
+            layout.rowCount(),
+            "rowCount"
+        );
+
+        this.rowAndCheck(layout, 0, ROW1, 0, 30);
+        this.rowAndCheck(layout, 1, ROW2, 30, 30);
+
+        this.checkEquals(
+            60.0,
+            layout.rowTop(2),
+            "bottom"
+        );
+    }
+
+    @Test
+    public void testColumnsAndRowsWithHeaders() {
+        final SpreadsheetViewportComponentCanvasLayout layout = this.layout(true);
+
+        this.checkEquals(
+            3,
+            layout.columnCount(),
+            "columnCount"
+        );
+        this.columnAndCheck(layout, 0, A, 80, 100);
+        this.columnAndCheck(layout, 1, B, 180, 50);
+        this.columnAndCheck(layout, 2, C, 230, 100);
+
+        this.checkEquals(
+            2,
+            layout.rowCount(),
+            "rowCount"
+        );
+        this.rowAndCheck(layout, 0, ROW1, 30, 30);
+        this.rowAndCheck(layout, 1, ROW2, 60, 30);
+    }
+
+    @Test
+    public void testIndexOf() {
+        final SpreadsheetViewportComponentCanvasLayout layout = this.layout(false);
+
+        this.checkEquals(
+            1,
+            layout.indexOf(B),
+            "B"
+        );
+        this.checkEquals(
+            1,
+            layout.indexOf(SpreadsheetSelection.parseColumn("$B")),
+            "$B"
+        );
+        this.checkEquals(
+            -1,
+            layout.indexOf(D),
+            "D"
+        );
+        this.checkEquals(
+            1,
+            layout.indexOf(ROW2),
+            "2"
+        );
+        this.checkEquals(
+            -1,
+            layout.indexOf(ROW3),
+            "3"
+        );
+    }
+
+    private void columnAndCheck(final SpreadsheetViewportComponentCanvasLayout layout,
+                                final int index,
+                                final SpreadsheetColumnReference column,
+                                final double left,
+                                final double width) {
+        this.checkEquals(
+            column,
+            layout.column(index),
+            () -> "column " + index
+        );
+        this.checkEquals(
+            left,
+            layout.columnLeft(index),
+            () -> "columnLeft " + index
+        );
+        this.checkEquals(
+            width,
+            layout.columnWidth(index),
+            () -> "columnWidth " + index
+        );
+    }
+
+    private void rowAndCheck(final SpreadsheetViewportComponentCanvasLayout layout,
+                             final int index,
+                             final SpreadsheetRowReference row,
+                             final double top,
+                             final double height) {
+        this.checkEquals(
+            row,
+            layout.row(index),
+            () -> "row " + index
+        );
+        this.checkEquals(
+            top,
+            layout.rowTop(index),
+            () -> "rowTop " + index
+        );
+        this.checkEquals(
+            height,
+            layout.rowHeight(index),
+            () -> "rowHeight " + index
+        );
+    }
+
+    // hitTest..........................................................................................................
+
+    @Test
+    public void testHitTestFirstCell() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            0,
+            0,
+            SpreadsheetSelection.A1
+        );
+    }
+
+    @Test
+    public void testHitTestCellBeforeBoundary() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            99.9,
+            29.9,
+            SpreadsheetSelection.A1
+        );
+    }
+
+    @Test
+    public void testHitTestCellOnBoundary() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            100,
+            30,
+            SpreadsheetSelection.parseCell("B2")
+        );
+    }
+
+    @Test
+    public void testHitTestLastCell() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            249.9,
+            59.9,
+            SpreadsheetSelection.parseCell("C2")
+        );
+    }
+
+    @Test
+    public void testHitTestRightOfLastColumn() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            250,
+            0
+        );
+    }
+
+    @Test
+    public void testHitTestBelowLastRow() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            0,
+            60
+        );
+    }
+
+    @Test
+    public void testHitTestNegative() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            -1,
+            -1
+        );
+    }
+
+    @Test
+    public void testHitTestWithoutHeadersTopLeftIsCell() {
+        this.hitTestAndCheck(
+            this.layout(false),
+            10,
+            10,
+            SpreadsheetSelection.A1
+        );
+    }
+
+    @Test
+    public void testHitTestWithHeadersAllCells() {
+        this.hitTestAndCheck(
+            this.layout(true),
+            10,
+            10,
+            SpreadsheetSelection.ALL_CELLS
+        );
+    }
+
+    @Test
+    public void testHitTestWithHeadersColumn() {
+        this.hitTestAndCheck(
+            this.layout(true),
+            180,
+            10,
+            B
+        );
+    }
+
+    @Test
+    public void testHitTestWithHeadersColumnRightOfLastColumn() {
+        this.hitTestAndCheck(
+            this.layout(true),
+            330,
+            10
+        );
+    }
+
+    @Test
+    public void testHitTestWithHeadersRow() {
+        this.hitTestAndCheck(
+            this.layout(true),
+            10,
+            60,
+            ROW2
+        );
+    }
+
+    @Test
+    public void testHitTestWithHeadersRowBelowLastRow() {
+        this.hitTestAndCheck(
+            this.layout(true),
+            10,
+            90
+        );
+    }
+
+    @Test
+    public void testHitTestWithHeadersCell() {
+        this.hitTestAndCheck(
+            this.layout(true),
+            80,
+            30,
+            SpreadsheetSelection.A1
+        );
+    }
+
+    private void hitTestAndCheck(final SpreadsheetViewportComponentCanvasLayout layout,
+                                 final double x,
+                                 final double y) {
+        this.hitTestAndCheck(
+            layout,
+            x,
+            y,
+            Optional.empty()
+        );
+    }
+
+    private void hitTestAndCheck(final SpreadsheetViewportComponentCanvasLayout layout,
+                                 final double x,
+                                 final double y,
+                                 final SpreadsheetSelection expected) {
+        this.hitTestAndCheck(
+            layout,
+            x,
+            y,
+            Optional.of(expected)
+        );
+    }
+
+    private void hitTestAndCheck(final SpreadsheetViewportComponentCanvasLayout layout,
+                                 final double x,
+                                 final double y,
+                                 final Optional<SpreadsheetSelection> expected) {
+        this.checkEquals(
+            expected,
+            layout.hitTest(
+                x,
+                y
+            ),
+            () -> layout + " hitTest " + x + "," + y
+        );
+    }
+
+    /**
+     * Columns A=100, B=50, C=100, D=100 within a grid 180 wide, and rows 30 high within a grid 50 high.
+     */
+    private SpreadsheetViewportComponentCanvasLayout layout(final boolean headers) {
+        return SpreadsheetViewportComponentCanvasLayout.with(
+            headers,
+            SortedSets.of(A, B, C, D),
+            SpreadsheetViewportComponentCanvasLayoutTest::columnWidth,
+            180,
+            SortedSets.of(ROW1, ROW2, ROW3),
+            SpreadsheetViewportComponentCanvasLayoutTest::rowHeight,
+            50
+        );
+    }
+
+    private static double columnWidth(final SpreadsheetColumnReference column) {
+        return column.equalsIgnoreReferenceKind(B) ?
+            50 :
+            100;
+    }
+
+    private static double rowHeight(final SpreadsheetRowReference row) {
+        return 30;
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetViewportComponentCanvasLayout> type() {
+        return SpreadsheetViewportComponentCanvasLayout.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.text.TextNode;
+
+import java.util.Optional;
+
+public final class SpreadsheetViewportComponentCanvasTest implements ClassTesting<SpreadsheetViewportComponentCanvas> {
+
+    // text.............................................................................................................
+
+    @Test
+    public void testTextEmptyFormula() {
+        this.textAndCheck(
+            SpreadsheetSelection.A1.setFormula(SpreadsheetFormula.EMPTY),
+            false, // shouldHideZeroValues
+            false, // shouldShowFormulas
+            ""
+        );
+    }
+
+    @Test
+    public void testTextFormattedValue() {
+        this.textAndCheck(
+            SpreadsheetSelection.A1.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.text("3.00")
+                )
+            ),
+            false, // shouldHideZeroValues
+            false, // shouldShowFormulas
+            "3.00"
+        );
+    }
+
+    @Test
+    public void testTextFormattedValueBadge() {
+        this.textAndCheck(
+            SpreadsheetSelection.A1.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.badge("BadgeText111")
+                        .appendChild(
+                            TextNode.text("123")
+                        )
+                )
+            ),
+            false, // shouldHideZeroValues
+            false, // shouldShowFormulas
+            "123"
+        );
+    }
+
+    @Test
+    public void testTextShowFormulas() {
+        this.textAndCheck(
+            SpreadsheetSelection.A1.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.text("3.00")
+                )
+            ),
+            false, // shouldHideZeroValues
+            true, // shouldShowFormulas
+            "=1+2"
+        );
+    }
+
+    private void textAndCheck(final SpreadsheetCell cell,
+                              final boolean shouldHideZeroValues,
+                              final boolean shouldShowFormulas,
+                              final String expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetViewportComponentCanvas.text(
+                cell,
+                shouldHideZeroValues,
+                shouldShowFormulas
+            ),
+            cell::toString
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetViewportComponentCanvas> type() {
+        return SpreadsheetViewportComponentCanvas.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
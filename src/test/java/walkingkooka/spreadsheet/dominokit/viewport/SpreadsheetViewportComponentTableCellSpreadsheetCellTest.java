@@ -34,6 +34,7 @@ import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
 import walkingkooka.spreadsheet.value.SpreadsheetError;
 import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
 import walkingkooka.tree.text.FontStyle;
@@ -83,7 +84,6 @@ public final class SpreadsheetViewportComponentTableCellSpreadsheetCellTest exte
             "SpreadsheetViewportComponentTableCellSpreadsheetCell\n" +
                 "  TD\n" +
                 "    id=\"viewport-cell-A1\" tabIndex=0 style=\"background-color: black; box-sizing: border-box; height: 50px; min-height: 50px; min-width: 100px; width: 100px;\"\n" +
-                "      (Divide by zero is bad!)\n" +
                 "      Text \"#DIV/0! \\\"Divide by zero is bad!\\\"\"\n"
         );
     }
@@ -110,7 +110,6 @@ public final class SpreadsheetViewportComponentTableCellSpreadsheetCellTest exte
             "SpreadsheetViewportComponentTableCellSpreadsheetCell\n" +
                 "  TD\n" +
                 "    id=\"viewport-cell-A1\" tabIndex=0 style=\"background-color: black; box-sizing: border-box; height: 50px; min-height: 50px; min-width: 100px; width: 100px;\"\n" +
-                "      (BadgeText111)\n" +
                 "      Text \"123\"\n"
         );
     }
@@ -137,7 +136,6 @@ public final class SpreadsheetViewportComponentTableCellSpreadsheetCellTest exte
             "SpreadsheetViewportComponentTableCellSpreadsheetCell\n" +
                 "  TD\n" +
                 "    id=\"viewport-cell-A1\" tabIndex=0 style=\"background-color: black; box-sizing: border-box; height: 50px; min-height: 50px; min-width: 100px; width: 100px;\"\n" +
-                "      (BadgeText111)\n" +
                 "      Text \"123\"\n"
         );
     }
@@ -508,6 +506,117 @@ public final class SpreadsheetViewportComponentTableCellSpreadsheetCellTest exte
         );
     }
 
+    // tooltipText......................................................................................................
+
+    @Test
+    public void testTooltipTextWithoutErrorOrBadge() {
+        this.tooltipTextAndCheck(
+            SELECTION.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+                    .setValue(
+                        Optional.of(3)
+                    )
+            ),
+            false, // shouldHideZeroValues
+            false, // shouldShowFormulas
+            ""
+        );
+    }
+
+    @Test
+    public void testTooltipTextWithErrorWithMessage() {
+        this.tooltipTextAndCheck(
+            SELECTION.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1/0")
+                    .setValue(
+                        Optional.of(
+                            SpreadsheetErrorKind.DIV0.setMessage("Divide by zero is bad!")
+                        )
+                    )
+            ),
+            false, // shouldHideZeroValues
+            false, // shouldShowFormulas
+            "Divide by zero is bad!"
+        );
+    }
+
+    @Test
+    public void testTooltipTextWithBadge() {
+        this.tooltipTextAndCheck(
+            SELECTION.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.badge("BadgeText111")
+                        .appendChild(
+                            TextNode.text("123")
+                        )
+                )
+            ),
+            false, // shouldHideZeroValues
+            false, // shouldShowFormulas
+            "BadgeText111"
+        );
+    }
+
+    @Test
+    public void testTooltipTextWithBadgeIgnoresError() {
+        this.tooltipTextAndCheck(
+            SELECTION.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1/0")
+                    .setValue(
+                        Optional.of(
+                            SpreadsheetErrorKind.DIV0.setMessage("Divide by zero is really bad!!!")
+                        )
+                    )
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.badge("BadgeText111")
+                        .appendChild(
+                            TextNode.text("123")
+                        )
+                )
+            ),
+            false, // shouldHideZeroValues
+            false, // shouldShowFormulas
+            "BadgeText111"
+        );
+    }
+
+    @Test
+    public void testTooltipTextWithBadgeAndShowFormulas() {
+        this.tooltipTextAndCheck(
+            SELECTION.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.badge("BadgeText111")
+                        .appendChild(
+                            TextNode.text("123")
+                        )
+                )
+            ),
+            false, // shouldHideZeroValues
+            true, // shouldShowFormulas
+            ""
+        );
+    }
+
+    private void tooltipTextAndCheck(final SpreadsheetCell cell,
+                                     final boolean shouldHideZeroValues,
+                                     final boolean shouldShowFormulas,
+                                     final String expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetViewportComponentTableCellSpreadsheetCell.tooltipText(
+                cell,
+                shouldHideZeroValues,
+                shouldShowFormulas
+            ),
+            cell::toString
+        );
+    }
+
     // class............................................................................................................
 
     @Override
@@ -52,6 +52,8 @@ import walkingkooka.tree.text.TextStylePropertyName;
 import java.util.Arrays;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class SpreadsheetViewportComponentTest implements HtmlComponentTesting<SpreadsheetViewportComponent, HTMLDivElement>,
     ParseStringTesting<Optional<SpreadsheetSelection>>,
     SpreadsheetMetadataTesting {
@@ -224,6 +226,73 @@ public final class SpreadsheetViewportComponentTest implements HtmlComponentTest
         );
     }
 
+    // isCanvasRenderer.................................................................................................
+
+    @Test
+    public void testIsCanvasRendererWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportComponent.isCanvasRenderer(null)
+        );
+    }
+
+    @Test
+    public void testIsCanvasRendererEmpty() {
+        this.isCanvasRendererAndCheck(
+            "",
+            false
+        );
+    }
+
+    @Test
+    public void testIsCanvasRenderer() {
+        this.isCanvasRendererAndCheck(
+            "renderer=canvas",
+            true
+        );
+    }
+
+    @Test
+    public void testIsCanvasRendererWithQuestionMark() {
+        this.isCanvasRendererAndCheck(
+            "?renderer=canvas",
+            true
+        );
+    }
+
+    @Test
+    public void testIsCanvasRendererSeveralParameters() {
+        this.isCanvasRendererAndCheck(
+            "?log=Fetcher&renderer=canvas&metrics=overlay",
+            true
+        );
+    }
+
+    @Test
+    public void testIsCanvasRendererDifferentValue() {
+        this.isCanvasRendererAndCheck(
+            "?renderer=canvas2",
+            false
+        );
+    }
+
+    @Test
+    public void testIsCanvasRendererDifferentName() {
+        this.isCanvasRendererAndCheck(
+            "?xrenderer=canvas",
+            false
+        );
+    }
+
+    private void isCanvasRendererAndCheck(final String queryString,
+                                          final boolean expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetViewportComponent.isCanvasRenderer(queryString),
+            queryString
+        );
+    }
+
     // ParseStringTesting...............................................................................................
 
     @Override
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2023 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.dominokit.viewport;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.net.AbsoluteOrRelativeUrl;
+import walkingkooka.net.Url;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.tree.text.Length;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetViewportComponentWheelScrollTest implements ClassTesting<SpreadsheetViewportComponentWheelScroll> {
+
+    private final static AbsoluteOrRelativeUrl URL = Url.parseAbsoluteOrRelative("https://example.com/api/spreadsheet/1/cell");
+
+    @Test
+    public void testWithNullCacheFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportComponentWheelScroll.with(null)
+        );
+    }
+
+    @Test
+    public void testApplyWithinHomeCell() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(10, 5);
+
+        this.applyAndCheck(
+            scroll,
+            "B2",
+            "B2",
+            10,
+            5
+        );
+    }
+
+    @Test
+    public void testApplyCoalescesDeltas() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(60, 0);
+        scroll.add(60, 30);
+
+        this.applyAndCheck(
+            scroll,
+            "A1",
+            "B2",
+            20,
+            0
+        );
+    }
+
+    @Test
+    public void testApplySkipsHiddenRows() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(0, 35);
+
+        this.applyAndCheck(
+            scroll,
+            "A2",
+            "A5",
+            0,
+            5
+        );
+    }
+
+    @Test
+    public void testApplyNegative() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(-30, 0);
+
+        this.applyAndCheck(
+            scroll,
+            "C1",
+            "B1",
+            70,
+            0
+        );
+    }
+
+    @Test
+    public void testApplyNegativeClamped() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(-300, -300);
+
+        this.applyAndCheck(
+            scroll,
+            "B2",
+            "A1",
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testApplyWhileNavigationInFlight() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(110, 0);
+
+        this.applyAndCheck(
+            scroll,
+            "A1",
+            "B1",
+            10,
+            0
+        );
+
+        // home is still A1 because B1 has not been loaded
+        scroll.add(100, 0);
+
+        this.applyAndCheck(
+            scroll,
+            "A1",
+            "C1",
+            10,
+            0
+        );
+
+        // B1 has now loaded but C1 is still loading
+        scroll.add(100, 0);
+
+        this.applyAndCheck(
+            scroll,
+            "B1",
+            "D1",
+            10,
+            0
+        );
+    }
+
+    @Test
+    public void testApplyLastColumnClamped() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(350, 0);
+
+        this.applyAndCheck(
+            scroll,
+            "XFB1",
+            "XFD1",
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testApplyLastRowClamped() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(0, 100);
+
+        this.applyAndCheck(
+            scroll,
+            "A1048575",
+            "A1048576",
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testApplyWithoutDefaultWidthAndHeight() {
+        final SpreadsheetViewportCache cache = new SpreadsheetViewportCacheTest.TestAppContext()
+            .spreadsheetViewportCache();
+        final SpreadsheetViewportComponentWheelScroll scroll = SpreadsheetViewportComponentWheelScroll.with(cache);
+        scroll.add(-10, 10);
+
+        this.applyAndCheck(
+            scroll,
+            "B2",
+            "A2",
+            0,
+            10
+        );
+    }
+
+    @Test
+    public void testResetIfHomeChanged() {
+        final SpreadsheetViewportComponentWheelScroll scroll = this.createScroll();
+        scroll.add(110, 0);
+        scroll.apply(SpreadsheetSelection.A1);
+
+        this.checkEquals(
+            false,
+            scroll.resetIfHomeChanged(SpreadsheetSelection.A1),
+            "previous home still loading"
+        );
+        this.checkEquals(
+            false,
+            scroll.resetIfHomeChanged(SpreadsheetSelection.parseCell("B1")),
+            "new home"
+        );
+        this.checkEquals(
+            true,
+            scroll.resetIfHomeChanged(SpreadsheetSelection.parseCell("Z99")),
+            "home changed elsewhere"
+        );
+        this.checkEquals(
+            0.0,
+            scroll.offsetX()
+        );
+    }
+
+    /**
+     * Columns are 100 pixels wide and rows 30 pixels high except hidden rows 3 and 4.
+     */
+    private SpreadsheetViewportComponentWheelScroll createScroll() {
+        final SpreadsheetViewportCache cache = new SpreadsheetViewportCacheTest.TestAppContext()
+            .spreadsheetViewportCache();
+        cache.spreadsheetId = SpreadsheetId.parse("1");
+        cache.defaultWidth = Length.pixel(100.0);
+        cache.defaultHeight = Length.pixel(30.0);
+
+        cache.onSpreadsheetDelta(
+            HttpMethod.GET,
+            URL,
+            SpreadsheetDelta.EMPTY.setRows(
+                Sets.of(
+                    SpreadsheetSelection.parseRow("3")
+                        .row()
+                        .setHidden(true),
+                    SpreadsheetSelection.parseRow("4")
+                        .row()
+                        .setHidden(true)
+                )
+            ).setRowHeights(
+                Maps.of(
+                    SpreadsheetSelection.parseRow("3"), 0.0,
+                    SpreadsheetSelection.parseRow("4"), 0.0
+                )
+            )
+        );
+
+        return SpreadsheetViewportComponentWheelScroll.with(cache);
+    }
+
+    private void applyAndCheck(final SpreadsheetViewportComponentWheelScroll scroll,
+                               final String home,
+                               final String expectedHome,
+                               final double expectedOffsetX,
+                               final double expectedOffsetY) {
+        final SpreadsheetCellReference newHome = scroll.apply(
+            SpreadsheetSelection.parseCell(home)
+        );
+
+        this.checkEquals(
+            SpreadsheetSelection.parseCell(expectedHome),
+            newHome,
+            scroll::toString
+        );
+        this.checkEquals(
+            expectedOffsetX,
+            scroll.offsetX(),
+            "offsetX"
+        );
+        this.checkEquals(
+            expectedOffsetY,
+            scroll.offsetY(),
+            "offsetY"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetViewportComponentWheelScroll> type() {
+        return SpreadsheetViewportComponentWheelScroll.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
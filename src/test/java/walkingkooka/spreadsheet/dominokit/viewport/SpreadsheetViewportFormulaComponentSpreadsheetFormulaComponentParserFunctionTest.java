@@ -19,9 +19,58 @@ package walkingkooka.spreadsheet.dominokit.viewport;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
 import walkingkooka.util.FunctionTesting;
 
-public final class SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunctionTest implements FunctionTesting<SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction, String, SpreadsheetFormula> {
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunctionTest implements FunctionTesting<SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction, String, SpreadsheetFormula>,
+    SpreadsheetMetadataTesting {
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction.with(
+                null,
+                () -> METADATA_EN_AU
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullMetadataFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction.with(
+                () -> SPREADSHEET_PARSER_CONTEXT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testApplyEmpty() {
+        final String text = "";
+
+        this.applyAndCheck(
+            text,
+            SpreadsheetFormula.EMPTY.setText(text)
+        );
+    }
+
+    @Test
+    public void testApplyValue() {
+        final String text = "123";
+
+        this.applyAndCheck(
+            text,
+            SpreadsheetFormula.EMPTY.setText(text)
+        );
+    }
 
     @Test
     public void testApplyValidExpression() {
@@ -40,12 +89,22 @@ public final class SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponen
         this.applyAndCheck(
             text,
             SpreadsheetFormula.EMPTY.setText(text)
+                .setValue(
+                    Optional.of(
+                        SpreadsheetErrorKind.ERROR.setMessage(
+                            "End of text, expected LAMBDA_FUNCTION | NAMED_FUNCTION | \"TRUE\" | \"FALSE\" | LABEL | CELL_RANGE | CELL | GROUP | NEGATIVE | \"#.#E+#;#.#%;#.#;#%;#\" | TEXT | \"#NULL!\" | \"#DIV/0!\" | \"#VALUE!\" | \"#REF!\" | \"#NAME?\" | \"#NAME?\" | \"#NUM!\" | \"#N/A\" | \"#ERROR\" | \"#SPILL!\" | \"#CALC!\""
+                        )
+                    )
+                )
         );
     }
 
     @Override
     public SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction createFunction() {
-        return SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction.empty();
+        return SpreadsheetViewportFormulaComponentSpreadsheetFormulaComponentParserFunction.with(
+            () -> SPREADSHEET_PARSER_CONTEXT,
+            () -> METADATA_EN_AU
+        );
     }
 
     // Class............................................................................................................
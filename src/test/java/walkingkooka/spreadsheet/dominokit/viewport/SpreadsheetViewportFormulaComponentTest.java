@@ -40,6 +40,7 @@ import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
 import walkingkooka.spreadsheet.meta.SpreadsheetName;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
@@ -332,6 +333,11 @@ public final class SpreadsheetViewportFormulaComponentTest implements HtmlCompon
             );
         }
 
+        @Override
+        public SpreadsheetParserContext spreadsheetParserContext() {
+            return SPREADSHEET_PARSER_CONTEXT;
+        }
+
         @Override
         public SpreadsheetViewportCache spreadsheetViewportCache() {
             return this.cache;